@@ -9,14 +9,27 @@ import io.github.maseev.alpaca.api.order.OrderAPI;
 import io.github.maseev.alpaca.api.position.PositionAPI;
 import io.github.maseev.alpaca.api.streaming.StreamingAPI;
 import io.github.maseev.alpaca.api.streaming.SubscriptionManager;
+import io.github.maseev.alpaca.http.ClientOptions;
 import io.github.maseev.alpaca.http.HttpClient;
+import io.github.maseev.alpaca.http.ImmutableClientOptions;
+import io.github.maseev.alpaca.http.coalesce.RequestCoalescer;
+import io.github.maseev.alpaca.http.ratelimit.RateLimiter;
+import io.github.maseev.alpaca.http.transport.AsyncHttpClientTransport;
+import io.github.maseev.alpaca.http.transport.PoolStats;
+import io.github.maseev.alpaca.http.transport.Transport;
+import io.github.maseev.alpaca.http.warmup.ConnectionWarmer;
+import io.github.maseev.alpaca.http.warmup.WarmUp;
 import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.AsyncHttpClientConfig;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 import static io.github.maseev.alpaca.api.AlpacaAPI.Version.V1;
+import static java.util.Arrays.asList;
 import static org.asynchttpclient.Dsl.asyncHttpClient;
 
 public class AlpacaAPI implements Closeable {
@@ -47,6 +60,11 @@ public class AlpacaAPI implements Closeable {
   private static final String APCA_API_DATA_URL = "https://data.alpaca.markets";
 
   private final AsyncHttpClient client;
+  private final Transport transport;
+  private final RateLimiter rateLimiter;
+  private final RequestCoalescer coalescer;
+  private final ConnectionWarmer warmer;
+  private final CompletableFuture<Void> warmedUp;
 
   private final AccountAPI accountAPI;
   private final OrderAPI orderAPI;
@@ -58,10 +76,18 @@ public class AlpacaAPI implements Closeable {
   private final StreamingAPI streamingAPI;
 
   public AlpacaAPI(String baseTradingUrl, String baseDataUrl, String baseStreamingUrl,
-                   String keyId, String secretKey, AsyncHttpClientConfig config) {
+                   String keyId, String secretKey, AsyncHttpClientConfig config,
+                   ClientOptions options) {
     client = config == null ? asyncHttpClient() : asyncHttpClient(config);
 
-    HttpClient httpClient = new HttpClient(baseTradingUrl, keyId, secretKey, client);
+    coalescer = options.coalescedEndpoints().isEmpty() ? null : new RequestCoalescer();
+
+    transport =
+      options.transport() == null ? new AsyncHttpClientTransport(client) : options.transport();
+
+    HttpClient httpClient =
+      new HttpClient(baseTradingUrl, keyId, secretKey, transport, options, coalescer);
+    rateLimiter = httpClient.getRateLimiter();
 
     accountAPI = new AccountAPI(httpClient);
     orderAPI = new OrderAPI(httpClient);
@@ -69,17 +95,45 @@ public class AlpacaAPI implements Closeable {
     assetAPI = new AssetAPI(httpClient);
     calendarAPI = new CalendarAPI(httpClient);
     clockAPI = new ClockAPI(httpClient);
-    barAPI = new BarAPI(new HttpClient(baseDataUrl, keyId, secretKey, client));
+    HttpClient dataHttpClient =
+      new HttpClient(baseDataUrl, keyId, secretKey, transport, options, coalescer);
+    barAPI = new BarAPI(dataHttpClient);
 
     streamingAPI =
       new StreamingAPI(
-        new HttpClient(getStreamingUrl(baseStreamingUrl), keyId, secretKey, client),
-        keyId, secretKey, new SubscriptionManager());
+        new HttpClient(getStreamingUrl(baseStreamingUrl), keyId, secretKey, client,
+          ImmutableClientOptions.builder()
+            .metrics(options.metrics())
+            .lazyOrders(options.lazyOrders())
+            .symbolTable(options.symbolTable())
+            .jsonProfile(options.jsonProfile())
+            .build()),
+        client, keyId, secretKey, new SubscriptionManager());
+
+    WarmUp warmUp = options.warmUp();
+
+    if (warmUp == null) {
+      warmer = null;
+      warmedUp = CompletableFuture.completedFuture(null);
+    } else {
+      warmer = new ConnectionWarmer(asList(httpClient, dataHttpClient), warmUp);
+      warmedUp = warmUp.streaming()
+        ? CompletableFuture.allOf(warmer.start(),
+            CompletableFuture.runAsync(this::connectStreaming, options.callbackExecutor()))
+        : warmer.start();
+    }
+  }
+
+  public AlpacaAPI(String baseTradingUrl, String baseDataUrl, String baseStreamingUrl,
+                   String keyId, String secretKey, AsyncHttpClientConfig config) {
+    this(baseTradingUrl, baseDataUrl, baseStreamingUrl, keyId, secretKey, config,
+      ImmutableClientOptions.builder().build());
   }
 
   public AlpacaAPI(String baseTradingUrl, String baseDataUrl, String baseStreamingUrl,
                    String keyId, String secretKey) {
-    this(baseTradingUrl, baseDataUrl, baseStreamingUrl, keyId, secretKey, null);
+    this(baseTradingUrl, baseDataUrl, baseStreamingUrl, keyId, secretKey,
+      (AsyncHttpClientConfig) null);
   }
 
   /**
@@ -93,15 +147,43 @@ public class AlpacaAPI implements Closeable {
    *                  Alpaca's website
    */
   public AlpacaAPI(Type type, Version version, String keyId, String secretKey) {
+    this(type, version, keyId, secretKey, ImmutableClientOptions.builder().build());
+  }
+
+  /**
+   * Constructs a main API class which provides access to Alpaca's services
+   *
+   * @param type      {@link Type#TEST TEST} is for paper trading (a real-time simulation
+   *                  environment), {@link Type#LIVE LIVE} is for trading with real money
+   * @param version   Alpaca API version.
+   * @param keyId     API key ID
+   * @param secretKey Secret key. Both {@code secretKey} and {@code keyId} can be obtained via
+   *                  Alpaca's website
+   * @param options   Optional behaviour of the HTTP layer, e.g. client-side rate limiting
+   */
+  public AlpacaAPI(Type type, Version version, String keyId, String secretKey,
+                   ClientOptions options) {
     this(getBaseUrl(type) + version,
       APCA_API_DATA_URL + V1,
       getBaseUrl(type),
-      keyId, secretKey);
+      keyId, secretKey, null, options);
   }
 
   @Override
   public void close() throws IOException {
-    client.close();
+    if (warmer != null) {
+      warmer.close();
+    }
+
+    try {
+      transport.close();
+    } finally {
+      // the default transport wraps the client, so it's closed along with it
+      if (!(transport instanceof AsyncHttpClientTransport)
+        || ((AsyncHttpClientTransport) transport).getClient() != client) {
+        client.close();
+      }
+    }
   }
 
   public AccountAPI account() {
@@ -136,6 +218,51 @@ public class AlpacaAPI implements Closeable {
     return streamingAPI;
   }
 
+  /**
+   * @return the rate limiter guarding the API key's budget, which reports how many requests are
+   * queued and how long they waited, or {@code null} if rate limiting is turned off
+   */
+  public RateLimiter rateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * @return the coalescer which merges identical concurrent requests and counts how many of them
+   * were merged, or {@code null} if no endpoint is coalesced
+   */
+  public RequestCoalescer coalescer() {
+    return coalescer;
+  }
+
+  /**
+   * @return a future which completes once the connections requested by
+   * {@link ClientOptions#warmUp()} have been opened (and the streaming API has been connected if
+   * requested); it's already completed if there's nothing to warm up. Failing to open a REST
+   * connection doesn't fail the future, failing to connect the streaming API does
+   */
+  public CompletableFuture<Void> warmedUp() {
+    return warmedUp;
+  }
+
+  /**
+   * @return the current state of the REST connection pool or {@code null} if the transport
+   * doesn't expose it
+   */
+  public PoolStats poolStats() {
+    return transport.poolStats();
+  }
+
+  private void connectStreaming() {
+    try {
+      streamingAPI.connect();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(ex);
+    } catch (ExecutionException | IOException ex) {
+      throw new CompletionException(ex);
+    }
+  }
+
   private static String getBaseUrl(Type type) {
     switch (type) {
       case TEST:
@@ -2,14 +2,9 @@ package io.github.maseev.alpaca.api.account;
 
 import io.github.maseev.alpaca.api.account.entity.Account;
 import io.github.maseev.alpaca.http.HttpClient;
-import io.github.maseev.alpaca.http.exception.APIException;
-import io.github.maseev.alpaca.http.transformer.ValueTransformer;
-import org.asynchttpclient.ListenableFuture;
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.Listenable;
+import io.github.maseev.alpaca.http.transformer.Transformers;
 
-import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 
 import static io.github.maseev.alpaca.http.HttpClient.HttpMethod.GET;
 
@@ -25,7 +20,7 @@ import static io.github.maseev.alpaca.http.HttpClient.HttpMethod.GET;
  */
 public class AccountAPI {
 
-  static final String ENDPOINT = "/account";
+  public static final String ENDPOINT = "/account";
 
   private final HttpClient httpClient;
 
@@ -38,15 +33,7 @@ public class AccountAPI {
    *
    * @return the {@link Account} associated with the API key
    */
-  public CompletableFuture<Account> get() {
-    ListenableFuture<Response> future = httpClient.prepare(GET, ENDPOINT).execute();
-
-    return future.toCompletableFuture().thenApply( x-> {
-      try {
-        return new ValueTransformer<>(Account.class).transform(x.getResponseBody());
-      } catch (APIException | IOException e) {
-        throw new CompletionException(e);
-      }
-    });
+  public Listenable<Account> get() {
+    return httpClient.prepare(GET, ENDPOINT).execute(Transformers.ACCOUNT);
   }
 }
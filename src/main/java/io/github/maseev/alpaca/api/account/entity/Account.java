@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.github.maseev.alpaca.api.AlpacaAPI;
 import io.github.maseev.alpaca.api.util.Available;
+import io.github.maseev.alpaca.http.json.DateTimeDeserializer;
 import io.github.maseev.alpaca.http.json.util.DateFormatUtil;
 import org.immutables.value.Value;
 import org.jetbrains.annotations.Nullable;
@@ -145,6 +146,7 @@ public interface Account {
    */
   @JsonProperty("created_at")
   @JsonFormat(pattern = DateFormatUtil.DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime createdAt();
 
   /**
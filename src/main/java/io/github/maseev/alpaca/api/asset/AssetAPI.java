@@ -1,21 +1,13 @@
 package io.github.maseev.alpaca.api.asset;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import io.github.maseev.alpaca.api.asset.entity.Asset;
 import io.github.maseev.alpaca.api.asset.entity.AssetClass;
 import io.github.maseev.alpaca.http.HttpClient;
 import io.github.maseev.alpaca.http.Listenable;
-import io.github.maseev.alpaca.http.exception.APIException;
 import io.github.maseev.alpaca.http.exception.EntityNotFoundException;
-import io.github.maseev.alpaca.http.transformer.GenericTransformer;
-import io.github.maseev.alpaca.http.transformer.ValueTransformer;
-import org.asynchttpclient.ListenableFuture;
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.transformer.Transformers;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 
 import static io.github.maseev.alpaca.http.util.StringUtil.requireNonEmpty;
 
@@ -27,7 +19,7 @@ import static io.github.maseev.alpaca.http.util.StringUtil.requireNonEmpty;
  */
 public class AssetAPI {
 
-  static final String ENDPOINT = "/assets";
+  public static final String ENDPOINT = "/assets";
 
   private final HttpClient httpClient;
 
@@ -43,13 +35,10 @@ public class AssetAPI {
    * @return a list of {@link Asset}
    */
   public Listenable<List<Asset>> get(Asset.Status status, AssetClass assetClass) {
-    ListenableFuture<Response> future =
-      httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT)
-        .addQueryParam("status", status.toString())
-        .addQueryParam("asset_class", assetClass.toString())
-        .execute();
-
-    return new Listenable<>(new GenericTransformer<>(new TypeReference<List<Asset>>() {}), future);
+    return httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT)
+      .addQueryParam("status", status.toString())
+      .addQueryParam("asset_class", assetClass.toString())
+      .execute(Transformers.ASSETS);
   }
 
   /**
@@ -59,18 +48,10 @@ public class AssetAPI {
    * @return an {@link Asset} instance
    * @throws EntityNotFoundException if an asset is not found
    */
-  public CompletableFuture<Asset> get(String symbol) {
+  public Listenable<Asset> get(String symbol) {
     requireNonEmpty(symbol, "symbol");
 
-    ListenableFuture<Response> future =
-      httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT, symbol).execute();
-
-    return future.toCompletableFuture().thenApply( x-> {
-      try {
-        return new ValueTransformer<>(Asset.class).transform(x.getResponseBody());
-      } catch (APIException | IOException e) {
-        throw new CompletionException(e);
-      }
-    });
+    return httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT, symbol)
+      .execute(Transformers.ASSET);
   }
 }
@@ -1,25 +1,44 @@
 package io.github.maseev.alpaca.api.bar;
 
 import com.fasterxml.jackson.annotation.JsonValue;
-import com.fasterxml.jackson.core.type.TypeReference;
+import io.github.maseev.alpaca.api.bar.cache.BarCache;
 import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.bar.resample.Sessions;
+import io.github.maseev.alpaca.api.bar.store.BarStore;
+import io.github.maseev.alpaca.api.bar.store.StoredBars;
+import io.github.maseev.alpaca.api.bar.store.TimeRange;
 import io.github.maseev.alpaca.http.HttpClient;
-import io.github.maseev.alpaca.http.exception.APIException;
+import io.github.maseev.alpaca.http.Listenable;
+import io.github.maseev.alpaca.http.RequestBuilder;
 import io.github.maseev.alpaca.http.exception.UnprocessableException;
-import io.github.maseev.alpaca.http.transformer.GenericTransformer;
-import org.asynchttpclient.BoundRequestBuilder;
-import org.asynchttpclient.ListenableFuture;
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.json.PriceMode;
+import io.github.maseev.alpaca.http.transformer.Transformers;
+import io.github.maseev.alpaca.http.util.SchedulerUtil;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.github.maseev.alpaca.http.json.util.DateFormatUtil.format;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 
 /**
  * The bars API provides time-aggregated price and volume data.
@@ -27,15 +46,24 @@ import static java.util.Arrays.asList;
 public class BarAPI {
 
   public enum Timeframe {
-    MINUTE("1Min"),
-    FIVE_MINUTES("5Min"),
-    FIVETEEN_MINUTES("15Min"),
-    DAY("1D");
+    MINUTE("1Min", Duration.ofMinutes(1)),
+    FIVE_MINUTES("5Min", Duration.ofMinutes(5)),
+    FIVETEEN_MINUTES("15Min", Duration.ofMinutes(15)),
+    DAY("1D", Duration.ofDays(1));
 
     private final String alias;
+    private final Duration duration;
 
-    Timeframe(String alias) {
+    Timeframe(String alias, Duration duration) {
       this.alias = alias;
+      this.duration = duration;
+    }
+
+    /**
+     * @return The time span of a single bar
+     */
+    public Duration duration() {
+      return duration;
     }
 
     @Override
@@ -45,28 +73,70 @@ public class BarAPI {
     }
   }
 
-  static final String ENDPOINT = "/bars";
+  public static final String ENDPOINT = "/bars";
+
+  /**
+   * The number of requests in flight at once while a {@link BarStore} or a {@link BarCache}
+   * catches up.
+   */
+  private static final int BACKFILL_PARALLELISM = 4;
+
+  /**
+   * How many times longer than the requested range the ranges a {@link BarStore} is missing may
+   * be before the request bypasses the store.
+   */
+  static final int MAX_STORE_EXTENSION = 10;
 
   private final HttpClient httpClient;
+  private final Clock clock;
+  private final BarBatcher batcher;
 
   public BarAPI(HttpClient httpClient) {
+    this(httpClient, Clock.systemUTC());
+  }
+
+  BarAPI(HttpClient httpClient, Clock clock) {
     this.httpClient = httpClient;
+    this.clock = clock;
+    this.batcher = httpClient.getBarBatchWindow() == null
+      ? null
+      : new BarBatcher(httpClient.getBarBatchWindow(), SchedulerUtil.scheduler(), this::get);
   }
 
   /**
+   * If the client has a
+   * {@link io.github.maseev.alpaca.http.ClientOptions#barBatchWindow() bar batch window}, the
+   * request waits for requests of other symbols with the same parameters for that long and they
+   * are all sent as one request; the returned hash-map only has a key for {@code symbol}.
+   *
    * @see BarAPI#get(String[], Timeframe, OffsetDateTime, OffsetDateTime, boolean, int)
    */
-  public CompletableFuture<Map<String, List<Bar>>> get(String symbol, Timeframe timeframe,
+  public Listenable<Map<String, List<Bar>>> get(String symbol, Timeframe timeframe,
                                                 OffsetDateTime start, OffsetDateTime end,
                                                 boolean timeInclusive, int limit) {
-    return get(new String[] {symbol}, timeframe, start, end, timeInclusive, limit);
+    if (batcher == null) {
+      return get(new String[] {symbol}, timeframe, start, end, timeInclusive, limit);
+    }
+
+    validate(new String[] {symbol}, start, end, limit);
+
+    return Listenable.of(batcher.get(symbol, timeframe, start, end, timeInclusive, limit),
+      httpClient.getCallbackExecutor());
   }
 
   /**
    * Retrieves a list of bars for each requested symbol. It is guaranteed all bars are in
    * ascending order by time. Currently, no “incomplete” bars are returned. For example, a 1
    * minute bar for 09:30 will not be returned until 09:31.
-
+   *
+   * <p>If the client has a {@link io.github.maseev.alpaca.http.ClientOptions#barCache() bar cache}
+   * and the time range can't hold more than {@code limit} bars, the bars the cache covers are read
+   * from it and only the rest is fetched and cached, while the bars which may still be incomplete
+   * are always fetched. The bars are then
+   * {@link io.github.maseev.alpaca.api.bar.entity.FixedPointBar} instances regardless of the price
+   * mode. Ranges which the limit cuts short are fetched as they are, so the cache never backfills
+   * bars which wouldn't be returned.
+   *
    * @param symbols One or more (max 200) symbol names
    * @param timeframe A specific timeframe for {@link Bar} instances for every symbol
    * @param start Filter bars equal to or after this time (depending on the {@code timeInclusive})
@@ -74,15 +144,328 @@ public class BarAPI {
    * @param timeInclusive Whether or not to include the {@code start} and {@code end} parameters
    *                      into a date range
    * @param limit The maximum number of bars to be returned for each symbol. It can be between 1 and 1000
-   * @return A hash-map with a key for each symbol and the list of {@link Bar} as the values.
+   * @return A hash-map with a key for each symbol and the list of {@link Bar} as the values. The
+   * bars are {@link io.github.maseev.alpaca.api.bar.entity.FixedPointBar} instances if the client
+   * uses the {@link PriceMode#FIXED_POINT fixed-point} price mode.
    * @throws UnprocessableException in case the parameters are not well formed.
    */
-  public CompletableFuture<Map<String, List<Bar>>> get(String[] symbols, Timeframe timeframe,
-                                                       OffsetDateTime start, OffsetDateTime end,
-                                                       boolean timeInclusive, int limit) {
+  public Listenable<Map<String, List<Bar>>> get(String[] symbols, Timeframe timeframe,
+                                                OffsetDateTime start, OffsetDateTime end,
+                                                boolean timeInclusive, int limit) {
+    BarCache cache = httpClient.getBarCache();
+
+    if (cache == null) {
+      return fetch(symbols, timeframe, start, end, timeInclusive, limit);
+    }
+
+    return getCached(cache, symbols, timeframe, start, end, timeInclusive, limit);
+  }
+
+  private Listenable<Map<String, List<Bar>>> fetch(String[] symbols, Timeframe timeframe,
+                                                   OffsetDateTime start, OffsetDateTime end,
+                                                   boolean timeInclusive, int limit) {
+    return prepare(symbols, timeframe, start, end, timeInclusive, limit)
+      .execute(httpClient.getPriceMode() == PriceMode.FIXED_POINT
+        ? Transformers.FIXED_POINT_BARS
+        : Transformers.BARS);
+  }
+
+  /**
+   * @see BarAPI#getSeries(String[], Timeframe, OffsetDateTime, OffsetDateTime, boolean, int)
+   */
+  public Listenable<Map<String, BarSeries>> getSeries(String symbol, Timeframe timeframe,
+                                                      OffsetDateTime start, OffsetDateTime end,
+                                                      boolean timeInclusive, int limit) {
+    return getSeries(new String[] {symbol}, timeframe, start, end, timeInclusive, limit);
+  }
+
+  /**
+   * Retrieves the same bars as
+   * {@link BarAPI#get(String[], Timeframe, OffsetDateTime, OffsetDateTime, boolean, int)}, but
+   * decodes them straight into a columnar {@link BarSeries} per symbol instead of an object per
+   * bar, which is considerably cheaper for large requests.
+   *
+   * @return A hash-map with a key for each symbol and its {@link BarSeries} as the value.
+   * @throws UnprocessableException in case the parameters are not well formed.
+   */
+  public Listenable<Map<String, BarSeries>> getSeries(String[] symbols, Timeframe timeframe,
+                                                      OffsetDateTime start, OffsetDateTime end,
+                                                      boolean timeInclusive, int limit) {
+    return prepare(symbols, timeframe, start, end, timeInclusive, limit)
+      .execute(Transformers.BAR_SERIES);
+  }
+
+  /**
+   * Retrieves the bars of any number of symbols within any time range, e.g. to backfill a whole
+   * universe of symbols over months. The work is split into requests of at most 200 symbols and
+   * 1000 bars per symbol, i.e. into time windows of 1000 {@code timeframe}s, and at most
+   * {@code parallelism} of them are in flight at once.
+   *
+   * <p>Bars are handed over to the {@code listener} as the requests complete rather than once the
+   * whole backfill is done. The bars of a symbol always arrive in ascending order by time, and the
+   * listener is never called concurrently for the same symbol; it may be called concurrently for
+   * different symbols. It runs on the
+   * {@link io.github.maseev.alpaca.http.ClientOptions#callbackExecutor() callback executor}.
+   *
+   * @param symbols     The symbol names; duplicates are ignored
+   * @param timeframe   A specific timeframe for {@link Bar} instances for every symbol
+   * @param start       Filter bars equal to or after this time
+   * @param end         Filter bars equal to or before this time
+   * @param parallelism The maximum number of requests in flight at once
+   * @param listener    Receives the bars of every symbol as they arrive
+   * @return A {@link Listenable} which completes once all the bars are handed over. It completes
+   * exceptionally with the first failed request or listener call, after which no more requests
+   * are issued
+   */
+  public Listenable<Void> backfill(Collection<String> symbols, Timeframe timeframe,
+                                   OffsetDateTime start, OffsetDateTime end, int parallelism,
+                                   BarListener listener) {
+    validate(symbols, start, end, parallelism, listener);
+
+    BarBackfill backfill = new BarBackfill(new ArrayList<>(new LinkedHashSet<>(symbols)),
+      timeframe.duration(), start, end, parallelism, fetcher(timeframe), listener);
+
+    return Listenable.of(backfill.start(), httpClient.getCallbackExecutor());
+  }
+
+  /**
+   * Retrieves the bars of a symbol through a local {@link BarStore}: the bars the store already
+   * covers are read from disk, and only the missing time ranges are fetched and appended to it.
+   * Ranges without any bars, e.g. weekends, are remembered as well, so they aren't fetched again.
+   *
+   * <p>The store covers a single contiguous range per symbol and timeframe, so a range which
+   * doesn't touch the covered one can only be stored along with everything between the two. If
+   * that's more than {@value #MAX_STORE_EXTENSION} times as long as the requested range, e.g. a
+   * day in 2024 for a store which covers January 2019, only the requested range is fetched and
+   * it isn't stored.
+   *
+   * <p>Only complete bars are stored: bars which begin less than two {@code timeframe}s before now
+   * are neither fetched nor returned, so the most recent ones should be requested via
+   * {@link #get(String, Timeframe, OffsetDateTime, OffsetDateTime, boolean, int)}.
+   *
+   * @param store     The store to read the bars from and to append the fetched ones to
+   * @param symbol    The symbol name
+   * @param timeframe A specific timeframe for the bars
+   * @param start     Filter bars equal to or after this time
+   * @param end       Filter bars equal to or before this time
+   * @return A {@link Listenable} of the bars read straight from the memory-mapped store file, or
+   * copied onto the heap if they bypassed the store. It completes exceptionally if a request fails or the store can't be read or written
+   */
+  public Listenable<StoredBars> get(BarStore store, String symbol, Timeframe timeframe,
+                                    OffsetDateTime start, OffsetDateTime end) {
+    validate(new String[] {symbol}, start, end, 1);
+
+    Instant complete = complete(timeframe);
+    Instant from = start.toInstant();
+    Instant until = end.toInstant().plusSeconds(1);
+    Instant fetchUntil = until.isAfter(complete) ? complete : until;
+    List<CompletableFuture<Void>> syncs = new ArrayList<>();
+
+    try {
+      if (from.isBefore(fetchUntil)) {
+        TimeRange requested = TimeRange.of(from, fetchUntil);
+        List<TimeRange> missing = store.missing(symbol, timeframe, requested);
+
+        if (seconds(missing) > MAX_STORE_EXTENSION * seconds(singletonList(requested))) {
+          return Listenable.of(backfill(symbol, timeframe, requested).thenApply(StoredBars::of),
+            httpClient.getCallbackExecutor());
+        }
+
+        for (TimeRange range : missing) {
+          syncs.add(sync(store, symbol, timeframe, range));
+        }
+      }
+    } catch (IOException ex) {
+      CompletableFuture<StoredBars> failed = new CompletableFuture<>();
+      failed.completeExceptionally(ex);
+
+      return Listenable.of(failed, httpClient.getCallbackExecutor());
+    }
+
+    CompletableFuture<StoredBars> result =
+      CompletableFuture.allOf(syncs.toArray(new CompletableFuture<?>[0]))
+        .thenApply(x -> {
+          try {
+            return store.read(symbol, timeframe, from, until);
+          } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        });
+
+    return Listenable.of(result, httpClient.getCallbackExecutor());
+  }
+
+  private Listenable<Map<String, List<Bar>>> getCached(BarCache cache, String[] symbols,
+                                                       Timeframe timeframe, OffsetDateTime start,
+                                                       OffsetDateTime end, boolean timeInclusive,
+                                                       int limit) {
+    validate(symbols, start, end, limit);
+
+    Instant from = timeInclusive ? start.toInstant() : start.toInstant().plusSeconds(1);
+    Instant until = timeInclusive ? end.toInstant().plusSeconds(1) : end.toInstant();
+
+    if (!from.isBefore(until) || maxBars(timeframe, from, until) > limit) {
+      return fetch(symbols, timeframe, start, end, timeInclusive, limit);
+    }
+
+    Instant complete = complete(timeframe);
+    Instant cacheUntil = until.isAfter(complete) ? complete : until;
+    Map<String, List<Bar>> bars = new LinkedHashMap<>();
+    Map<List<TimeRange>, List<String>> missing = new HashMap<>();
+
+    for (String symbol : new LinkedHashSet<>(asList(symbols))) {
+      if (from.isBefore(cacheUntil)) {
+        BarCache.Lookup lookup = cache.lookup(symbol, timeframe, TimeRange.of(from, cacheUntil));
+
+        bars.put(symbol, new ArrayList<>(lookup.bars()));
+
+        if (!lookup.missing().isEmpty()) {
+          missing.computeIfAbsent(lookup.missing(), x -> new ArrayList<>()).add(symbol);
+        }
+      } else {
+        bars.put(symbol, new ArrayList<>());
+      }
+    }
+
+    List<CompletableFuture<Map<String, List<Bar>>>> fetches = new ArrayList<>();
+
+    for (Map.Entry<List<TimeRange>, List<String>> entry : missing.entrySet()) {
+      for (TimeRange range : entry.getKey()) {
+        fetches.add(fetchAndCache(cache, entry.getValue(), timeframe, range));
+      }
+    }
+
+    if (cacheUntil.isBefore(until)) {
+      // the bars since the cache's coverage ends may still be incomplete, there are two at most
+      Instant recent = from.isAfter(cacheUntil) ? from : cacheUntil;
+
+      fetches.add(fetch(bars.keySet().toArray(new String[0]), timeframe,
+        recent.atOffset(ZoneOffset.UTC), until.minusSeconds(1).atOffset(ZoneOffset.UTC), true,
+        BarBackfill.MAX_LIMIT));
+    }
+
+    CompletableFuture<Map<String, List<Bar>>> result =
+      CompletableFuture.allOf(fetches.toArray(new CompletableFuture<?>[0]))
+        .thenApply(x -> {
+          for (CompletableFuture<Map<String, List<Bar>>> fetched : fetches) {
+            for (Map.Entry<String, List<Bar>> entry : fetched.join().entrySet()) {
+              List<Bar> symbolBars = bars.get(entry.getKey());
+
+              if (symbolBars != null) {
+                for (Bar bar : entry.getValue()) {
+                  symbolBars.add(FixedPointBar.of(bar));
+                }
+              }
+            }
+          }
+
+          for (List<Bar> symbolBars : bars.values()) {
+            symbolBars.sort(Comparator.comparing(Bar::time));
+          }
+
+          return bars;
+        });
+
+    return Listenable.of(result, httpClient.getCallbackExecutor());
+  }
+
+  /**
+   * @return the number of bars which may begin within {@code [from, until)}, counting one more to
+   * allow for daily bars around daylight saving time changes
+   */
+  private static long maxBars(Timeframe timeframe, Instant from, Instant until) {
+    long step = timeframe.duration().getSeconds();
+    long seconds = until.getEpochSecond() - from.getEpochSecond();
+
+    return (seconds + step - 1) / step + 1;
+  }
+
+  private CompletableFuture<Map<String, List<Bar>>> fetchAndCache(BarCache cache,
+                                                                  List<String> symbols,
+                                                                  Timeframe timeframe,
+                                                                  TimeRange range) {
+    Map<String, List<Bar>> bars = new ConcurrentHashMap<>();
+
+    for (String symbol : symbols) {
+      bars.put(symbol, new ArrayList<>());
+    }
+
+    return new BarBackfill(symbols, timeframe.duration(), range.start().atOffset(ZoneOffset.UTC),
+      range.end().minusSeconds(1).atOffset(ZoneOffset.UTC), BACKFILL_PARALLELISM,
+      fetcher(timeframe), (symbol, symbolBars) -> bars.get(symbol).addAll(symbolBars))
+      .start()
+      .thenApply(x -> {
+        for (Map.Entry<String, List<Bar>> entry : bars.entrySet()) {
+          cache.put(entry.getKey(), timeframe, range, entry.getValue());
+        }
+
+        return bars;
+      });
+  }
+
+  private CompletableFuture<Void> sync(BarStore store, String symbol, Timeframe timeframe,
+                                       TimeRange range) {
+    return backfill(symbol, timeframe, range).thenAccept(bars -> {
+      try {
+        store.write(symbol, timeframe, range, bars);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+  }
+
+  /**
+   * @return the bars of the range in ascending order by time
+   */
+  private CompletableFuture<List<Bar>> backfill(String symbol, Timeframe timeframe,
+                                                TimeRange range) {
+    List<Bar> bars = new ArrayList<>();
+
+    return new BarBackfill(singletonList(symbol), timeframe.duration(),
+      range.start().atOffset(ZoneOffset.UTC), range.end().minusSeconds(1).atOffset(ZoneOffset.UTC),
+      BACKFILL_PARALLELISM, fetcher(timeframe), (x, symbolBars) -> bars.addAll(symbolBars))
+      .start()
+      .thenApply(x -> bars);
+  }
+
+  private static long seconds(List<TimeRange> ranges) {
+    long seconds = 0;
+
+    for (TimeRange range : ranges) {
+      seconds += range.end().getEpochSecond() - range.start().getEpochSecond();
+    }
+
+    return seconds;
+  }
+
+  private BarBackfill.Fetcher fetcher(Timeframe timeframe) {
+    return (symbols, from, to) -> fetch(symbols, timeframe, from, to, true, BarBackfill.MAX_LIMIT);
+  }
+
+  /**
+   * @return the time the bars before which are complete: the latest bar may be incomplete.
+   * Intraday bars are aligned to the epoch, while daily bars begin at midnight in the exchange's
+   * time zone
+   */
+  Instant complete(Timeframe timeframe) {
+    if (timeframe == Timeframe.DAY) {
+      return LocalDate.now(clock.withZone(Sessions.MARKET_ZONE))
+        .minusDays(1)
+        .atStartOfDay(Sessions.MARKET_ZONE)
+        .toInstant();
+    }
+
+    long step = timeframe.duration().getSeconds();
+
+    return Instant.ofEpochSecond(
+      (Math.floorDiv(clock.instant().getEpochSecond(), step) - 1) * step);
+  }
+
+  private RequestBuilder prepare(String[] symbols, Timeframe timeframe, OffsetDateTime start,
+                                 OffsetDateTime end, boolean timeInclusive, int limit) {
     validate(symbols, start, end, limit);
 
-    BoundRequestBuilder requestBuilder =
+    RequestBuilder requestBuilder =
       httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT, timeframe.toString())
       .addQueryParam("symbols", String.join(",", symbols))
       .addQueryParam("limit", Integer.toString(limit));
@@ -95,15 +478,34 @@ public class BarAPI {
       requestBuilder.addQueryParam("until", format(end).toString());
     }
 
-    ListenableFuture<Response> future = requestBuilder.execute();
+    return requestBuilder;
+  }
 
-    return future.toCompletableFuture().thenApply( x-> {
-      try {
-        return new GenericTransformer<>(new TypeReference<Map<String, List<Bar>>>() {}).transform(x.getResponseBody());
-      } catch (APIException | IOException e) {
-        throw new CompletionException(e);
-      }
-    });
+  private static void validate(Collection<String> symbols, OffsetDateTime start,
+                               OffsetDateTime end, int parallelism, BarListener listener) {
+    if (symbols == null) {
+      throw new IllegalArgumentException("'symbols' parameter can't be null; symbols: null");
+    }
+
+    if (symbols.isEmpty() || symbols.contains(null)) {
+      throw new IllegalArgumentException(
+        String.format("'symbols' parameter can't be empty or contain null; symbols: %s",
+          symbols));
+    }
+
+    if (start.isAfter(end)) {
+      throw new IllegalArgumentException(
+        String.format("'start' date can't be after 'end' date; start: %s, end: %s", start, end));
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException(
+        String.format("'parallelism' value must be positive; parallelism: %s", parallelism));
+    }
+
+    if (listener == null) {
+      throw new IllegalArgumentException("'listener' parameter can't be null; listener: null");
+    }
   }
 
   private static void validate(String[] symbols, OffsetDateTime start, OffsetDateTime end,
@@ -0,0 +1,212 @@
+package io.github.maseev.alpaca.api.bar;
+
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits a backfill into requests of at most {@link #MAX_SYMBOLS} symbols and
+ * {@link #MAX_LIMIT} bars per symbol and runs at most {@code parallelism} of them at once.
+ * Requests are issued window by window, so the earliest bars of every symbol arrive first. The
+ * bars of a batch of symbols are handed over to the listener in time order: a window which
+ * arrives before the preceding one is held back until that one arrives.
+ */
+final class BarBackfill {
+
+  static final int MAX_SYMBOLS = 200;
+  static final int MAX_LIMIT = 1000;
+
+  /**
+   * Fetches the bars of the given symbols within the given time range, both ends inclusive.
+   */
+  @FunctionalInterface
+  interface Fetcher {
+
+    CompletableFuture<Map<String, List<Bar>>> fetch(String[] symbols, OffsetDateTime start,
+                                                    OffsetDateTime end);
+  }
+
+  private final List<String[]> batches;
+  private final List<OffsetDateTime[]> windows;
+  private final int parallelism;
+  private final Fetcher fetcher;
+  private final BarListener listener;
+  private final Batch[] states;
+  private final AtomicInteger nextRequest = new AtomicInteger();
+  private final AtomicInteger remainingRequests;
+  private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+  BarBackfill(List<String> symbols, Duration timeframe, OffsetDateTime start, OffsetDateTime end,
+              int parallelism, Fetcher fetcher, BarListener listener) {
+    this.batches = split(symbols);
+    this.windows = split(start, end, timeframe.multipliedBy(MAX_LIMIT));
+    this.parallelism = parallelism;
+    this.fetcher = fetcher;
+    this.listener = listener;
+    this.states = new Batch[batches.size()];
+
+    for (int i = 0; i < states.length; ++i) {
+      states[i] = new Batch(batches.get(i));
+    }
+
+    this.remainingRequests = new AtomicInteger(batches.size() * windows.size());
+  }
+
+  /**
+   * @return the pending end of the backfill. It completes exceptionally with the first failure,
+   * after which no more requests are issued and no more bars are handed over
+   */
+  CompletableFuture<Void> start() {
+    int requests = remainingRequests.get();
+
+    for (int i = 0; i < Math.min(parallelism, requests); ++i) {
+      fetchNext();
+    }
+
+    return result;
+  }
+
+  /**
+   * Issues requests one after another until one of them is still pending, which continues the
+   * chain once it completes. Requests which have already completed, e.g. because they were served
+   * from a cache, are handled in the loop, so a long run of them doesn't grow the stack.
+   */
+  private void fetchNext() {
+    while (true) {
+      int request = nextRequest.getAndIncrement();
+
+      if (request >= batches.size() * windows.size() || result.isDone()) {
+        return;
+      }
+
+      int window = request / batches.size();
+      int batch = request % batches.size();
+      OffsetDateTime[] range = windows.get(window);
+      CompletableFuture<Map<String, List<Bar>>> bars;
+
+      try {
+        bars = fetcher.fetch(batches.get(batch), range[0], range[1]);
+      } catch (RuntimeException ex) {
+        result.completeExceptionally(ex);
+        return;
+      }
+
+      if (!bars.isDone()) {
+        bars.whenComplete((value, ex) -> {
+          if (arrived(batch, window, value, ex)) {
+            fetchNext();
+          }
+        });
+        return;
+      }
+
+      Map<String, List<Bar>> value;
+
+      try {
+        value = bars.join();
+      } catch (CompletionException | CancellationException ex) {
+        arrived(batch, window, null, ex);
+        return;
+      }
+
+      if (!arrived(batch, window, value, null)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return whether the next request should be issued
+   */
+  private boolean arrived(int batch, int window, Map<String, List<Bar>> value, Throwable ex) {
+    if (ex != null) {
+      result.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+        ? ex.getCause()
+        : ex);
+      return false;
+    }
+
+    if (result.isDone()) {
+      return false;
+    }
+
+    try {
+      states[batch].arrived(window, value);
+    } catch (RuntimeException listenerEx) {
+      result.completeExceptionally(listenerEx);
+      return false;
+    }
+
+    if (remainingRequests.decrementAndGet() == 0) {
+      result.complete(null);
+      return false;
+    }
+
+    return true;
+  }
+
+  private static List<String[]> split(List<String> symbols) {
+    List<String[]> batches = new ArrayList<>();
+
+    for (int from = 0; from < symbols.size(); from += MAX_SYMBOLS) {
+      List<String> batch = symbols.subList(from, Math.min(from + MAX_SYMBOLS, symbols.size()));
+
+      batches.add(batch.toArray(new String[0]));
+    }
+
+    return batches;
+  }
+
+  /**
+   * Splits the range into windows which can't hold more than {@link #MAX_LIMIT} bars. Bars are
+   * aligned to whole seconds, so a window ends a second before the next one starts.
+   */
+  private static List<OffsetDateTime[]> split(OffsetDateTime start, OffsetDateTime end,
+                                               Duration window) {
+    List<OffsetDateTime[]> windows = new ArrayList<>();
+
+    for (OffsetDateTime from = start; !from.isAfter(end); from = from.plus(window)) {
+      OffsetDateTime to = from.plus(window).minusSeconds(1);
+
+      windows.add(new OffsetDateTime[] {from, to.isAfter(end) ? end : to});
+    }
+
+    return windows;
+  }
+
+  private final class Batch {
+
+    private final String[] symbols;
+    private final Map<Integer, Map<String, List<Bar>>> arrived = new HashMap<>();
+    private int nextWindow;
+
+    private Batch(String[] symbols) {
+      this.symbols = symbols;
+    }
+
+    synchronized void arrived(int window, Map<String, List<Bar>> bars) {
+      arrived.put(window, bars);
+
+      for (Map<String, List<Bar>> next = arrived.remove(nextWindow);
+           next != null;
+           next = arrived.remove(++nextWindow)) {
+        for (String symbol : symbols) {
+          List<Bar> symbolBars = next.get(symbol);
+
+          if (symbolBars != null && !symbolBars.isEmpty()) {
+            listener.onBars(symbol, symbolBars);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package io.github.maseev.alpaca.api.bar;
+
+import io.github.maseev.alpaca.api.bar.BarAPI.Timeframe;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merges single-symbol requests for the same timeframe, time range and limit which are made
+ * within a short window into a single request for all their symbols. A batch is sent once the
+ * window since its first request elapses or once it has {@link BarBackfill#MAX_SYMBOLS} symbols,
+ * and every request gets its own copy of the bars of its symbol out of the combined response.
+ */
+final class BarBatcher {
+
+  /**
+   * Fetches the bars of the given symbols.
+   */
+  @FunctionalInterface
+  interface Fetcher {
+
+    CompletableFuture<Map<String, List<Bar>>> fetch(String[] symbols, Timeframe timeframe,
+                                                    OffsetDateTime start, OffsetDateTime end,
+                                                    boolean timeInclusive, int limit);
+  }
+
+  private final long window;
+  private final ScheduledExecutorService scheduler;
+  private final Fetcher fetcher;
+  private final Map<String, Batch> pendingBatches = new HashMap<>();
+  private final LongAdder sentRequests = new LongAdder();
+  private final LongAdder mergedRequests = new LongAdder();
+
+  BarBatcher(Duration window, ScheduledExecutorService scheduler, Fetcher fetcher) {
+    this.window = window.toNanos();
+    this.scheduler = scheduler;
+    this.fetcher = fetcher;
+  }
+
+  CompletableFuture<Map<String, List<Bar>>> get(String symbol, Timeframe timeframe,
+                                                OffsetDateTime start, OffsetDateTime end,
+                                                boolean timeInclusive, int limit) {
+    String key = timeframe + " " + start.toInstant() + ' ' + end.toInstant() + ' '
+      + timeInclusive + ' ' + limit;
+    CompletableFuture<Map<String, List<Bar>>> future = new CompletableFuture<>();
+    Batch full = null;
+
+    synchronized (pendingBatches) {
+      Batch batch = pendingBatches.get(key);
+
+      if (batch == null) {
+        batch = new Batch(key, timeframe, start, end, timeInclusive, limit);
+        pendingBatches.put(key, batch);
+
+        Batch scheduled = batch;
+        scheduler.schedule(() -> send(scheduled), window, TimeUnit.NANOSECONDS);
+      } else {
+        mergedRequests.increment();
+      }
+
+      batch.requests.computeIfAbsent(symbol, x -> new ArrayList<>()).add(future);
+
+      // a full batch leaves the pending ones right away, so no other request can join it
+      if (batch.requests.size() == BarBackfill.MAX_SYMBOLS) {
+        pendingBatches.remove(key);
+        full = batch;
+      }
+    }
+
+    if (full != null) {
+      fetch(full);
+    }
+
+    return future;
+  }
+
+  /**
+   * @return the number of requests which actually reached the server
+   */
+  long sentRequests() {
+    return sentRequests.sum();
+  }
+
+  /**
+   * @return the number of requests which were merged into a request of another symbol
+   */
+  long mergedRequests() {
+    return mergedRequests.sum();
+  }
+
+  private void send(Batch batch) {
+    synchronized (pendingBatches) {
+      if (!pendingBatches.remove(batch.key, batch)) {
+        return;
+      }
+    }
+
+    fetch(batch);
+  }
+
+  /**
+   * Sends a batch which has already been taken out of the pending ones.
+   */
+  private void fetch(Batch batch) {
+    sentRequests.increment();
+
+    CompletableFuture<Map<String, List<Bar>>> bars;
+
+    try {
+      bars = fetcher.fetch(batch.requests.keySet().toArray(new String[0]), batch.timeframe,
+        batch.start, batch.end, batch.timeInclusive, batch.limit);
+    } catch (RuntimeException ex) {
+      bars = new CompletableFuture<>();
+      bars.completeExceptionally(ex);
+    }
+
+    bars.whenComplete((result, ex) -> {
+      for (Map.Entry<String, List<CompletableFuture<Map<String, List<Bar>>>>> entry
+        : batch.requests.entrySet()) {
+        for (CompletableFuture<Map<String, List<Bar>>> future : entry.getValue()) {
+          if (ex != null) {
+            future.completeExceptionally(ex);
+          } else if (result.containsKey(entry.getKey())) {
+            // every request gets its own list, so one caller modifying it doesn't affect the others
+            future.complete(Collections.singletonMap(entry.getKey(),
+              new ArrayList<>(result.get(entry.getKey()))));
+          } else {
+            future.complete(Collections.emptyMap());
+          }
+        }
+      }
+    });
+  }
+
+  private static final class Batch {
+
+    private final String key;
+    private final Timeframe timeframe;
+    private final OffsetDateTime start;
+    private final OffsetDateTime end;
+    private final boolean timeInclusive;
+    private final int limit;
+    /**
+     * The pending requests by symbol; the same symbol may be requested several times.
+     */
+    private final Map<String, List<CompletableFuture<Map<String, List<Bar>>>>> requests =
+      new LinkedHashMap<>();
+
+    private Batch(String key, Timeframe timeframe, OffsetDateTime start, OffsetDateTime end,
+                  boolean timeInclusive, int limit) {
+      this.key = key;
+      this.timeframe = timeframe;
+      this.start = start;
+      this.end = end;
+      this.timeInclusive = timeInclusive;
+      this.limit = limit;
+    }
+  }
+}
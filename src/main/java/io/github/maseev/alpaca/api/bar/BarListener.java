@@ -0,0 +1,20 @@
+package io.github.maseev.alpaca.api.bar;
+
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+
+import java.util.List;
+
+/**
+ * Receives the bars of a
+ * {@link BarAPI#backfill(java.util.Collection, BarAPI.Timeframe, java.time.OffsetDateTime,
+ * java.time.OffsetDateTime, int, BarListener) backfill} as they arrive.
+ */
+@FunctionalInterface
+public interface BarListener {
+
+  /**
+   * @param symbol the symbol the bars belong to
+   * @param bars   the next bars of the symbol in ascending order by time; never empty
+   */
+  void onBars(String symbol, List<Bar> bars);
+}
@@ -0,0 +1,345 @@
+package io.github.maseev.alpaca.api.bar.cache;
+
+import io.github.maseev.alpaca.api.bar.BarAPI.Timeframe;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.bar.store.TimeRange;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A size-bounded cache of bars which may be shared by every client in a process, so strategies
+ * which request overlapping symbols and time ranges only fetch each bar once. Set it via
+ * {@link io.github.maseev.alpaca.http.ClientOptions#barCache()} and
+ * {@link io.github.maseev.alpaca.api.bar.BarAPI} consults it transparently.
+ *
+ * <p>The cache remembers which time ranges of a symbol and timeframe it covers, including the
+ * parts without any bars, so a request which only partly overlaps them just fetches the rest.
+ * Every covered range keeps its bars off-heap as fixed-width records of scaled longs and is
+ * charged a fixed {@linkplain #SEGMENT_OVERHEAD overhead} on top, so ranges without any bars still
+ * count. Once the ranges take more than the given size, the least recently used ones are evicted.
+ */
+public final class BarCache {
+
+  private static final int RECORD_SIZE = 6 * Long.BYTES;
+  private static final int TIME = 0;
+  private static final int OPEN = Long.BYTES;
+  private static final int HIGH = 2 * Long.BYTES;
+  private static final int LOW = 3 * Long.BYTES;
+  private static final int CLOSE = 4 * Long.BYTES;
+  private static final int VOLUME = 5 * Long.BYTES;
+  /**
+   * The approximate number of bytes a covered range takes besides its records: the range itself,
+   * its buffer and their entries in the lookup and usage maps.
+   */
+  static final int SEGMENT_OVERHEAD = 256;
+
+  private final long maxSize;
+  private final Map<String, NavigableMap<Long, Segment>> segments = new HashMap<>();
+  private final LinkedHashMap<Segment, Segment> usage = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * @param maxSize the maximum number of bytes the cached ranges take; a bar takes
+   *                {@value #RECORD_SIZE} off-heap and a range {@value #SEGMENT_OVERHEAD} on top
+   * @throws IllegalArgumentException if {@code maxSize} isn't positive
+   */
+  public BarCache(long maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException(
+        String.format("'maxSize' must be positive; maxSize: %s", maxSize));
+    }
+
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Reads the cached bars of the range and counts a hit if it's covered completely or a miss
+   * otherwise.
+   */
+  public synchronized Lookup lookup(String symbol, Timeframe timeframe, TimeRange range) {
+    long from = range.start().getEpochSecond();
+    long to = range.end().getEpochSecond();
+    List<FixedPointBar> bars = new ArrayList<>();
+    List<TimeRange> missing = new ArrayList<>();
+    long covered = from;
+
+    for (Segment segment : overlapping(key(symbol, timeframe), from, to)) {
+      usage.get(segment);
+
+      if (segment.from > covered) {
+        missing.add(range(covered, segment.from));
+      }
+
+      segment.read(Math.max(from, segment.from), Math.min(to, segment.to), bars);
+      covered = segment.to;
+    }
+
+    if (covered < to) {
+      missing.add(range(covered, to));
+    }
+
+    if (missing.isEmpty()) {
+      ++hits;
+    } else {
+      ++misses;
+    }
+
+    return new Lookup(bars, missing);
+  }
+
+  /**
+   * Caches the bars of the range and marks it as covered, even if there are no bars in it. The
+   * parts of the range which are already covered are left as they are.
+   *
+   * @param bars the bars of the range in ascending order by time
+   */
+  public synchronized void put(String symbol, Timeframe timeframe, TimeRange range,
+                               List<? extends Bar> bars) {
+    String key = key(symbol, timeframe);
+    long from = range.start().getEpochSecond();
+    long to = range.end().getEpochSecond();
+    List<long[]> gaps = new ArrayList<>();
+    long covered = from;
+
+    for (Segment segment : overlapping(key, from, to)) {
+      if (segment.from > covered) {
+        gaps.add(new long[] {covered, segment.from});
+      }
+
+      covered = Math.max(covered, segment.to);
+    }
+
+    if (covered < to) {
+      gaps.add(new long[] {covered, to});
+    }
+
+    for (long[] gap : gaps) {
+      Segment segment = Segment.of(key, gap[0], gap[1], bars);
+
+      if (segment.size() > maxSize) {
+        continue;
+      }
+
+      segments.computeIfAbsent(key, x -> new TreeMap<>()).put(segment.from, segment);
+      usage.put(segment, segment);
+      size += segment.size();
+    }
+
+    evict();
+  }
+
+  /**
+   * @return the number of lookups which were served from the cache completely
+   */
+  public synchronized long hits() {
+    return hits;
+  }
+
+  /**
+   * @return the number of lookups which had to fetch at least a part of the range
+   */
+  public synchronized long misses() {
+    return misses;
+  }
+
+  /**
+   * @return the number of covered ranges evicted to stay within the size
+   */
+  public synchronized long evictions() {
+    return evictions;
+  }
+
+  /**
+   * @return the number of bytes the cached ranges take, including their fixed overhead
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  public long maxSize() {
+    return maxSize;
+  }
+
+  private List<Segment> overlapping(String key, long from, long to) {
+    NavigableMap<Long, Segment> symbolSegments = segments.get(key);
+    List<Segment> overlapping = new ArrayList<>();
+
+    if (symbolSegments == null) {
+      return overlapping;
+    }
+
+    Long first = symbolSegments.floorKey(from);
+
+    for (Segment segment
+      : symbolSegments.tailMap(first == null ? from : first, true).values()) {
+      if (segment.from >= to) {
+        break;
+      }
+
+      if (segment.to > from) {
+        overlapping.add(segment);
+      }
+    }
+
+    return overlapping;
+  }
+
+  private void evict() {
+    Iterator<Segment> leastRecentlyUsed = usage.keySet().iterator();
+
+    while (size > maxSize && leastRecentlyUsed.hasNext()) {
+      Segment segment = leastRecentlyUsed.next();
+      NavigableMap<Long, Segment> symbolSegments = segments.get(segment.key);
+
+      leastRecentlyUsed.remove();
+      symbolSegments.remove(segment.from);
+
+      if (symbolSegments.isEmpty()) {
+        segments.remove(segment.key);
+      }
+
+      size -= segment.size();
+      ++evictions;
+    }
+  }
+
+  private static String key(String symbol, Timeframe timeframe) {
+    return symbol + ' ' + timeframe;
+  }
+
+  private static TimeRange range(long from, long to) {
+    return TimeRange.of(Instant.ofEpochSecond(from), Instant.ofEpochSecond(to));
+  }
+
+  /**
+   * The outcome of a {@link #lookup(String, Timeframe, TimeRange) lookup}.
+   */
+  public static final class Lookup {
+
+    private final List<FixedPointBar> bars;
+    private final List<TimeRange> missing;
+
+    private Lookup(List<FixedPointBar> bars, List<TimeRange> missing) {
+      this.bars = bars;
+      this.missing = missing;
+    }
+
+    /**
+     * @return the cached bars of the range in ascending order by time
+     */
+    public List<FixedPointBar> bars() {
+      return bars;
+    }
+
+    /**
+     * @return the parts of the range which aren't cached, in ascending order by time
+     */
+    public List<TimeRange> missing() {
+      return missing;
+    }
+  }
+
+  /**
+   * The bars of a covered range of a symbol and timeframe, stored off-heap.
+   */
+  private static final class Segment {
+
+    private final String key;
+    private final long from;
+    private final long to;
+    private final ByteBuffer records;
+    private final int count;
+
+    private Segment(String key, long from, long to, ByteBuffer records, int count) {
+      this.key = key;
+      this.from = from;
+      this.to = to;
+      this.records = records;
+      this.count = count;
+    }
+
+    static Segment of(String key, long from, long to, List<? extends Bar> bars) {
+      int count = 0;
+      long last = Long.MIN_VALUE;
+
+      for (Bar bar : bars) {
+        long time = bar.time().getEpochSecond();
+
+        if (time >= from && time < to && time > last) {
+          ++count;
+          last = time;
+        }
+      }
+
+      ByteBuffer records = ByteBuffer.allocateDirect(count * RECORD_SIZE);
+      int offset = 0;
+      last = Long.MIN_VALUE;
+
+      for (Bar bar : bars) {
+        long time = bar.time().getEpochSecond();
+
+        if (time >= from && time < to && time > last) {
+          records.putLong(offset + TIME, time);
+          records.putLong(offset + OPEN, bar.openPriceE8());
+          records.putLong(offset + HIGH, bar.highPriceE8());
+          records.putLong(offset + LOW, bar.lowPriceE8());
+          records.putLong(offset + CLOSE, bar.closePriceE8());
+          records.putLong(offset + VOLUME, bar.volume());
+          offset += RECORD_SIZE;
+          last = time;
+        }
+      }
+
+      return new Segment(key, from, to, records, count);
+    }
+
+    long size() {
+      return SEGMENT_OVERHEAD + (long) count * RECORD_SIZE;
+    }
+
+    void read(long from, long to, List<FixedPointBar> bars) {
+      for (int i = indexOf(from); i < count; ++i) {
+        int offset = i * RECORD_SIZE;
+        long time = records.getLong(offset + TIME);
+
+        if (time >= to) {
+          break;
+        }
+
+        bars.add(new FixedPointBar(time, records.getLong(offset + OPEN),
+          records.getLong(offset + HIGH), records.getLong(offset + LOW),
+          records.getLong(offset + CLOSE), records.getLong(offset + VOLUME)));
+      }
+    }
+
+    private int indexOf(long epochSecond) {
+      int low = 0;
+      int high = count;
+
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+
+        if (records.getLong(middle * RECORD_SIZE + TIME) < epochSecond) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+
+      return low;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package io.github.maseev.alpaca.api.bar.entity;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.github.maseev.alpaca.api.util.Price;
 import io.github.maseev.alpaca.http.json.UnixTimeDeserializer;
 import org.immutables.value.Value;
 
@@ -35,4 +36,32 @@ public interface Bar {
 
   @JsonProperty("v")
   long volume();
+
+  /**
+   * @return the open price as a {@link Price scaled long}
+   */
+  default long openPriceE8() {
+    return Price.toE8(openPrice());
+  }
+
+  /**
+   * @return the high price as a {@link Price scaled long}
+   */
+  default long highPriceE8() {
+    return Price.toE8(highPrice());
+  }
+
+  /**
+   * @return the low price as a {@link Price scaled long}
+   */
+  default long lowPriceE8() {
+    return Price.toE8(lowPrice());
+  }
+
+  /**
+   * @return the close price as a {@link Price scaled long}
+   */
+  default long closePriceE8() {
+    return Price.toE8(closePrice());
+  }
 }
@@ -0,0 +1,372 @@
+package io.github.maseev.alpaca.api.bar.entity;
+
+import io.github.maseev.alpaca.api.util.Price;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Bars of a single symbol stored column by column: one primitive array per field instead of an
+ * object per bar. Prices are {@link Price scaled longs}. The bars are in ascending order by time.
+ *
+ * <p>A series is immutable. {@link #window(int, int) Windows} share the columns of the series
+ * they're taken from, so neither they nor {@link Cursor cursors} copy or allocate anything per
+ * bar.
+ */
+public final class BarSeries {
+
+  private static final BarSeries EMPTY = new BarSeries(new long[0], new long[0], new long[0],
+    new long[0], new long[0], new long[0], 0, 0);
+
+  private final long[] epochSeconds;
+  private final long[] openPrices;
+  private final long[] highPrices;
+  private final long[] lowPrices;
+  private final long[] closePrices;
+  private final long[] volumes;
+  private final int offset;
+  private final int size;
+
+  private BarSeries(long[] epochSeconds, long[] openPrices, long[] highPrices, long[] lowPrices,
+                    long[] closePrices, long[] volumes, int offset, int size) {
+    this.epochSeconds = epochSeconds;
+    this.openPrices = openPrices;
+    this.highPrices = highPrices;
+    this.lowPrices = lowPrices;
+    this.closePrices = closePrices;
+    this.volumes = volumes;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  public static BarSeries empty() {
+    return EMPTY;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return the beginning time of the {@code index}-th bar as a Unix epoch in seconds
+   */
+  public long epochSecond(int index) {
+    return epochSeconds[checkIndex(index)];
+  }
+
+  public long openPriceE8(int index) {
+    return openPrices[checkIndex(index)];
+  }
+
+  public long highPriceE8(int index) {
+    return highPrices[checkIndex(index)];
+  }
+
+  public long lowPriceE8(int index) {
+    return lowPrices[checkIndex(index)];
+  }
+
+  public long closePriceE8(int index) {
+    return closePrices[checkIndex(index)];
+  }
+
+  public long volume(int index) {
+    return volumes[checkIndex(index)];
+  }
+
+  /**
+   * @return the {@code index}-th bar as a new object
+   */
+  public FixedPointBar bar(int index) {
+    int i = checkIndex(index);
+
+    return new FixedPointBar(epochSeconds[i], openPrices[i], highPrices[i], lowPrices[i],
+      closePrices[i], volumes[i]);
+  }
+
+  /**
+   * @param from the index of the first bar, inclusive
+   * @param to   the index of the last bar, exclusive
+   * @return a view of the bars between {@code from} and {@code to} which shares the columns of
+   * this series
+   * @throws IndexOutOfBoundsException if the range is out of this series
+   */
+  public BarSeries window(int from, int to) {
+    if (from < 0 || to > size || from > to) {
+      throw new IndexOutOfBoundsException(
+        String.format("Window [%s, %s) is out of the series of %s bars", from, to, size));
+    }
+
+    if (from == 0 && to == size) {
+      return this;
+    }
+
+    return new BarSeries(epochSeconds, openPrices, highPrices, lowPrices, closePrices, volumes,
+      offset + from, to - from);
+  }
+
+  /**
+   * @return a view of the bars which begin at or after {@code start} and before {@code end}
+   */
+  public BarSeries window(Instant start, Instant end) {
+    int from = indexOf(start.getEpochSecond());
+
+    return window(from, Math.max(from, indexOf(end.getEpochSecond())));
+  }
+
+  /**
+   * @return a view of the last {@code count} bars, or of all of them if there are fewer
+   */
+  public BarSeries last(int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException(
+        String.format("'count' can't be negative; count: %s", count));
+    }
+
+    return window(Math.max(0, size - count), size);
+  }
+
+  /**
+   * @return the index of the first bar which begins at or after {@code epochSecond};
+   * {@link #size()} if there's none
+   */
+  public int indexOf(long epochSecond) {
+    int low = offset;
+    int high = offset + size;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (epochSeconds[middle] < epochSecond) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low - offset;
+  }
+
+  /**
+   * @return a new cursor positioned before the first bar
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof BarSeries)) {
+      return false;
+    }
+
+    BarSeries other = (BarSeries) o;
+
+    if (size != other.size) {
+      return false;
+    }
+
+    for (int i = 0; i < size; ++i) {
+      int a = offset + i;
+      int b = other.offset + i;
+
+      if (epochSeconds[a] != other.epochSeconds[b]
+        || openPrices[a] != other.openPrices[b]
+        || highPrices[a] != other.highPrices[b]
+        || lowPrices[a] != other.lowPrices[b]
+        || closePrices[a] != other.closePrices[b]
+        || volumes[a] != other.volumes[b]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = 5381;
+
+    for (int i = offset; i < offset + size; ++i) {
+      h += (h << 5) + Long.hashCode(epochSeconds[i]);
+      h += (h << 5) + Long.hashCode(closePrices[i]);
+    }
+
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    if (size == 0) {
+      return "BarSeries{size=0}";
+    }
+
+    return "BarSeries{size=" + size
+      + ", from=" + Instant.ofEpochSecond(epochSeconds[offset])
+      + ", to=" + Instant.ofEpochSecond(epochSeconds[offset + size - 1]) + "}";
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(
+        String.format("Index %s is out of the series of %s bars", index, size));
+    }
+
+    return offset + index;
+  }
+
+  /**
+   * A forward-only pointer to the bars of a series, which reads the columns in place:
+   *
+   * <pre>{@code
+   * BarSeries.Cursor cursor = series.cursor();
+   *
+   * while (cursor.next()) {
+   *   sum += cursor.closePriceE8();
+   * }
+   * }</pre>
+   *
+   * <p>The accessors may only be called once {@link #next()} has returned {@code true}.
+   */
+  public final class Cursor {
+
+    private int position = offset - 1;
+
+    private Cursor() {
+    }
+
+    /**
+     * Moves the cursor to the next bar.
+     *
+     * @return {@code false} if there are no more bars
+     */
+    public boolean next() {
+      if (position + 1 >= offset + size) {
+        position = offset + size;
+        return false;
+      }
+
+      ++position;
+      return true;
+    }
+
+    /**
+     * @return the index of the current bar within the series
+     */
+    public int index() {
+      return position - offset;
+    }
+
+    public long epochSecond() {
+      return epochSeconds[position];
+    }
+
+    public long openPriceE8() {
+      return openPrices[position];
+    }
+
+    public long highPriceE8() {
+      return highPrices[position];
+    }
+
+    public long lowPriceE8() {
+      return lowPrices[position];
+    }
+
+    public long closePriceE8() {
+      return closePrices[position];
+    }
+
+    public long volume() {
+      return volumes[position];
+    }
+  }
+
+  /**
+   * Collects bars into a new series. Bars must be added in ascending order by time.
+   */
+  public static final class Builder {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] epochSeconds = new long[INITIAL_CAPACITY];
+    private long[] openPrices = new long[INITIAL_CAPACITY];
+    private long[] highPrices = new long[INITIAL_CAPACITY];
+    private long[] lowPrices = new long[INITIAL_CAPACITY];
+    private long[] closePrices = new long[INITIAL_CAPACITY];
+    private long[] volumes = new long[INITIAL_CAPACITY];
+    private int size;
+
+    private Builder() {
+    }
+
+    public Builder add(long epochSecond, long openPrice, long highPrice, long lowPrice,
+                       long closePrice, long volume) {
+      if (size > 0 && epochSecond < epochSeconds[size - 1]) {
+        throw new IllegalArgumentException(
+          String.format("Bars must be in ascending order by time; previous: %s, next: %s",
+            epochSeconds[size - 1], epochSecond));
+      }
+
+      if (size == epochSeconds.length) {
+        int capacity = size * 2;
+
+        epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+        openPrices = Arrays.copyOf(openPrices, capacity);
+        highPrices = Arrays.copyOf(highPrices, capacity);
+        lowPrices = Arrays.copyOf(lowPrices, capacity);
+        closePrices = Arrays.copyOf(closePrices, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+      }
+
+      epochSeconds[size] = epochSecond;
+      openPrices[size] = openPrice;
+      highPrices[size] = highPrice;
+      lowPrices[size] = lowPrice;
+      closePrices[size] = closePrice;
+      volumes[size] = volume;
+      ++size;
+
+      return this;
+    }
+
+    public Builder add(Bar bar) {
+      return add(bar.time().getEpochSecond(), bar.openPriceE8(), bar.highPriceE8(),
+        bar.lowPriceE8(), bar.closePriceE8(), bar.volume());
+    }
+
+    /**
+     * Creates the series. The builder mustn't be used afterwards, since the series takes over its
+     * columns.
+     */
+    public BarSeries build() {
+      if (size == 0) {
+        return EMPTY;
+      }
+
+      BarSeries series = new BarSeries(epochSeconds, openPrices, highPrices, lowPrices,
+        closePrices, volumes, 0, size);
+
+      epochSeconds = null;
+      openPrices = null;
+      highPrices = null;
+      lowPrices = null;
+      closePrices = null;
+      volumes = null;
+
+      return series;
+    }
+  }
+}
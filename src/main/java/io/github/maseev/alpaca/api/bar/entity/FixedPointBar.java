@@ -0,0 +1,151 @@
+package io.github.maseev.alpaca.api.bar.entity;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.github.maseev.alpaca.api.util.Price;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A {@link Bar} which keeps its prices as {@link Price scaled longs}, so it takes a single object
+ * instead of seven. It's what bars are decoded into in the
+ * {@link io.github.maseev.alpaca.http.json.PriceMode#FIXED_POINT fixed-point} mode. The
+ * {@code BigDecimal} accessors create a new object on every call.
+ *
+ * <p>Fixed-point bars are only equal to other fixed-point bars.
+ */
+@JsonSerialize(as = FixedPointBar.class)
+@JsonDeserialize(as = FixedPointBar.class)
+public final class FixedPointBar implements Bar {
+
+  private final long epochSecond;
+  private final long openPrice;
+  private final long highPrice;
+  private final long lowPrice;
+  private final long closePrice;
+  private final long volume;
+
+  /**
+   * @param epochSecond the beginning time of the bar as a Unix epoch in seconds
+   * @param openPrice   the scaled open price
+   * @param highPrice   the scaled high price
+   * @param lowPrice    the scaled low price
+   * @param closePrice  the scaled close price
+   * @param volume      the volume
+   */
+  public FixedPointBar(long epochSecond, long openPrice, long highPrice, long lowPrice,
+                       long closePrice, long volume) {
+    this.epochSecond = epochSecond;
+    this.openPrice = openPrice;
+    this.highPrice = highPrice;
+    this.lowPrice = lowPrice;
+    this.closePrice = closePrice;
+    this.volume = volume;
+  }
+
+  public static FixedPointBar of(Bar bar) {
+    if (bar instanceof FixedPointBar) {
+      return (FixedPointBar) bar;
+    }
+
+    return new FixedPointBar(bar.time().getEpochSecond(), bar.openPriceE8(), bar.highPriceE8(),
+      bar.lowPriceE8(), bar.closePriceE8(), bar.volume());
+  }
+
+  @Override
+  public Instant time() {
+    return Instant.ofEpochSecond(epochSecond);
+  }
+
+  public long epochSecond() {
+    return epochSecond;
+  }
+
+  @Override
+  public BigDecimal openPrice() {
+    return Price.toBigDecimal(openPrice);
+  }
+
+  @Override
+  public BigDecimal highPrice() {
+    return Price.toBigDecimal(highPrice);
+  }
+
+  @Override
+  public BigDecimal lowPrice() {
+    return Price.toBigDecimal(lowPrice);
+  }
+
+  @Override
+  public BigDecimal closePrice() {
+    return Price.toBigDecimal(closePrice);
+  }
+
+  @Override
+  public long openPriceE8() {
+    return openPrice;
+  }
+
+  @Override
+  public long highPriceE8() {
+    return highPrice;
+  }
+
+  @Override
+  public long lowPriceE8() {
+    return lowPrice;
+  }
+
+  @Override
+  public long closePriceE8() {
+    return closePrice;
+  }
+
+  @Override
+  public long volume() {
+    return volume;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof FixedPointBar)) {
+      return false;
+    }
+
+    FixedPointBar other = (FixedPointBar) o;
+
+    return epochSecond == other.epochSecond
+      && openPrice == other.openPrice
+      && highPrice == other.highPrice
+      && lowPrice == other.lowPrice
+      && closePrice == other.closePrice
+      && volume == other.volume;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = 5381;
+    h += (h << 5) + Long.hashCode(epochSecond);
+    h += (h << 5) + Long.hashCode(openPrice);
+    h += (h << 5) + Long.hashCode(highPrice);
+    h += (h << 5) + Long.hashCode(lowPrice);
+    h += (h << 5) + Long.hashCode(closePrice);
+    h += (h << 5) + Long.hashCode(volume);
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    return "FixedPointBar{time=" + time()
+      + ", openPrice=" + Price.toString(openPrice)
+      + ", highPrice=" + Price.toString(highPrice)
+      + ", lowPrice=" + Price.toString(lowPrice)
+      + ", closePrice=" + Price.toString(closePrice)
+      + ", volume=" + volume + "}";
+  }
+}
@@ -0,0 +1,241 @@
+package io.github.maseev.alpaca.api.bar.resample;
+
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Builds bars of any {@link Resolution} from 1-minute bars. Bars are added one by one in
+ * ascending order by time, e.g. as they arrive, and every bar is handed over to the
+ * {@link BarSink} as soon as the last minute of its time span has been added; a bar which is
+ * still being built is available via {@link #current()} and is handed over by {@link #flush()}.
+ *
+ * <p>Intraday bars are aligned to the start of the day in the given time zone, e.g. 30-minute
+ * bars begin at 9:00 and 9:30, while daily, weekly and monthly bars follow the calendar. With
+ * {@link Sessions}, intraday bars are aligned to the session open and end at the session close
+ * instead, daily bars span a session, and bars outside of sessions are dropped.
+ *
+ * <p>Adding a bar doesn't allocate anything: the bar being built is kept in primitive fields and
+ * calendar computations only happen once per built bar. A resampler isn't thread-safe.
+ */
+public final class BarResampler {
+
+  private static final long MINUTE = 60;
+
+  private final Resolution resolution;
+  private final ZoneId zone;
+  private final Sessions sessions;
+  private final BarSink sink;
+
+  /**
+   * The span of time the current computation holds for: either a part of the bar being built
+   * or, if {@link #skipping}, a time without sessions.
+   */
+  private long segmentStart = Long.MAX_VALUE;
+  private long segmentEnd = Long.MIN_VALUE;
+  private boolean skipping;
+  private long barTime;
+  private long barEnd;
+  private long lastTime = Long.MIN_VALUE;
+
+  private boolean building;
+  private long time;
+  private long openPrice;
+  private long highPrice;
+  private long lowPrice;
+  private long closePrice;
+  private long volume;
+
+  /**
+   * Creates a resampler which aligns bars to the calendar of {@link Sessions#MARKET_ZONE}.
+   */
+  public BarResampler(Resolution resolution, BarSink sink) {
+    this(resolution, Sessions.MARKET_ZONE, null, sink);
+  }
+
+  /**
+   * @param zone     the time zone the bars are aligned in
+   * @param sessions the sessions the bars are aligned to; {@code null} means bars are aligned to
+   *                 the calendar only and none of them are dropped
+   */
+  public BarResampler(Resolution resolution, ZoneId zone, Sessions sessions, BarSink sink) {
+    this.resolution = resolution;
+    this.zone = zone;
+    this.sessions = sessions;
+    this.sink = sink;
+  }
+
+  /**
+   * Resamples a whole series of 1-minute bars at once.
+   */
+  public static BarSeries resample(BarSeries bars, Resolution resolution, ZoneId zone,
+                                   Sessions sessions) {
+    BarSeries.Builder builder = BarSeries.builder();
+    BarResampler resampler = new BarResampler(resolution, zone, sessions, builder::add);
+
+    for (int i = 0; i < bars.size(); ++i) {
+      resampler.add(bars.epochSecond(i), bars.openPriceE8(i), bars.highPriceE8(i),
+        bars.lowPriceE8(i), bars.closePriceE8(i), bars.volume(i));
+    }
+
+    resampler.flush();
+
+    return builder.build();
+  }
+
+  public void add(Bar bar) {
+    add(bar.time().getEpochSecond(), bar.openPriceE8(), bar.highPriceE8(), bar.lowPriceE8(),
+      bar.closePriceE8(), bar.volume());
+  }
+
+  /**
+   * Adds the next 1-minute bar.
+   *
+   * @param epochSecond the beginning time of the bar as a Unix epoch in seconds
+   * @throws IllegalArgumentException if the bar doesn't begin after the previous one
+   */
+  public void add(long epochSecond, long openPrice, long highPrice, long lowPrice,
+                  long closePrice, long volume) {
+    if (epochSecond <= lastTime) {
+      throw new IllegalArgumentException(
+        String.format("Bars must be in ascending order by time; previous: %s, next: %s",
+          lastTime, epochSecond));
+    }
+
+    lastTime = epochSecond;
+
+    if (epochSecond >= segmentEnd || epochSecond < segmentStart) {
+      locate(epochSecond);
+    }
+
+    if (skipping) {
+      return;
+    }
+
+    if (building && barTime == time) {
+      this.highPrice = Math.max(this.highPrice, highPrice);
+      this.lowPrice = Math.min(this.lowPrice, lowPrice);
+      this.closePrice = closePrice;
+      this.volume += volume;
+    } else {
+      flush();
+
+      building = true;
+      this.time = barTime;
+      this.openPrice = openPrice;
+      this.highPrice = highPrice;
+      this.lowPrice = lowPrice;
+      this.closePrice = closePrice;
+      this.volume = volume;
+    }
+
+    if (epochSecond + MINUTE >= barEnd) {
+      flush();
+    }
+  }
+
+  /**
+   * Hands the bar which is being built over to the sink, even though its time span isn't over.
+   */
+  public void flush() {
+    if (building) {
+      building = false;
+      sink.onBar(time, openPrice, highPrice, lowPrice, closePrice, volume);
+    }
+  }
+
+  /**
+   * @return the bar which is being built or {@code null} if there's none
+   */
+  public FixedPointBar current() {
+    return building
+      ? new FixedPointBar(time, openPrice, highPrice, lowPrice, closePrice, volume)
+      : null;
+  }
+
+  /**
+   * Computes the segment the time belongs to and the bar it's part of.
+   */
+  private void locate(long epochSecond) {
+    skipping = false;
+
+    if (sessions == null) {
+      if (resolution.unit() == Resolution.Unit.MINUTES) {
+        long step = resolution.seconds();
+        long offset = zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond))
+          .getTotalSeconds();
+
+        barTime = Math.floorDiv(epochSecond + offset, step) * step - offset;
+        barEnd = barTime + step;
+      } else {
+        alignToCalendar(epochSecond);
+      }
+
+      segmentStart = barTime;
+      segmentEnd = barEnd;
+      return;
+    }
+
+    int session = sessions.indexOf(epochSecond);
+
+    if (session == sessions.size() || epochSecond < sessions.open(session)) {
+      skipping = true;
+      segmentStart = epochSecond;
+      segmentEnd = session == sessions.size() ? Long.MAX_VALUE : sessions.open(session);
+      return;
+    }
+
+    long open = sessions.open(session);
+    long close = sessions.close(session);
+
+    switch (resolution.unit()) {
+      case MINUTES:
+        long step = resolution.seconds();
+
+        barTime = open + Math.floorDiv(epochSecond - open, step) * step;
+        barEnd = Math.min(barTime + step, close);
+        segmentStart = barTime;
+        segmentEnd = barEnd;
+        break;
+      case DAY:
+        barTime = open;
+        barEnd = close;
+        segmentStart = open;
+        segmentEnd = close;
+        break;
+      default:
+        alignToCalendar(open);
+        segmentStart = open;
+        segmentEnd = Math.min(close, barEnd);
+    }
+  }
+
+  private void alignToCalendar(long epochSecond) {
+    LocalDate date = Instant.ofEpochSecond(epochSecond).atZone(zone).toLocalDate();
+    LocalDate start;
+    LocalDate end;
+
+    switch (resolution.unit()) {
+      case DAY:
+        start = date;
+        end = date.plusDays(1);
+        break;
+      case WEEK:
+        start = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        end = start.plusWeeks(1);
+        break;
+      default:
+        start = date.withDayOfMonth(1);
+        end = start.plusMonths(1);
+    }
+
+    barTime = start.atStartOfDay(zone).toEpochSecond();
+    barEnd = end.atStartOfDay(zone).toEpochSecond();
+  }
+}
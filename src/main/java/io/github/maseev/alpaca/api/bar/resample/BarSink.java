@@ -0,0 +1,15 @@
+package io.github.maseev.alpaca.api.bar.resample;
+
+/**
+ * Receives the bars a {@link BarResampler} builds as primitives, so handing them over doesn't
+ * allocate anything. Prices are {@link io.github.maseev.alpaca.api.util.Price scaled longs}.
+ */
+@FunctionalInterface
+public interface BarSink {
+
+  /**
+   * @param epochSecond the beginning time of the bar as a Unix epoch in seconds
+   */
+  void onBar(long epochSecond, long openPrice, long highPrice, long lowPrice, long closePrice,
+             long volume);
+}
@@ -0,0 +1,92 @@
+package io.github.maseev.alpaca.api.bar.resample;
+
+/**
+ * The time span of the bars a {@link BarResampler} builds: either a multiple of a minute, e.g.
+ * 2 minutes or an hour, or a calendar unit, i.e. a day, a week or a month.
+ */
+public final class Resolution {
+
+  enum Unit {
+    MINUTES,
+    DAY,
+    WEEK,
+    MONTH
+  }
+
+  public static final Resolution DAY = new Resolution(Unit.DAY, 1);
+
+  /**
+   * Weeks begin on Monday.
+   */
+  public static final Resolution WEEK = new Resolution(Unit.WEEK, 1);
+
+  public static final Resolution MONTH = new Resolution(Unit.MONTH, 1);
+
+  private final Unit unit;
+  private final int minutes;
+
+  private Resolution(Unit unit, int minutes) {
+    this.unit = unit;
+    this.minutes = minutes;
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code minutes} isn't within [1, 1440]
+   */
+  public static Resolution minutes(int minutes) {
+    if (minutes < 1 || minutes > 24 * 60) {
+      throw new IllegalArgumentException(
+        String.format("'minutes' must be within [1, 1440]; minutes: %s", minutes));
+    }
+
+    return new Resolution(Unit.MINUTES, minutes);
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code hours} isn't within [1, 24]
+   */
+  public static Resolution hours(int hours) {
+    if (hours < 1 || hours > 24) {
+      throw new IllegalArgumentException(
+        String.format("'hours' must be within [1, 24]; hours: %s", hours));
+    }
+
+    return minutes(hours * 60);
+  }
+
+  Unit unit() {
+    return unit;
+  }
+
+  /**
+   * @return the length of a bar in seconds if it's a multiple of a minute
+   */
+  long seconds() {
+    return minutes * 60L;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof Resolution)) {
+      return false;
+    }
+
+    Resolution that = (Resolution) o;
+
+    return unit == that.unit && minutes == that.minutes;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * unit.hashCode() + minutes;
+  }
+
+  @Override
+  public String toString() {
+    return unit == Unit.MINUTES ? minutes + "Min" : unit.toString();
+  }
+}
@@ -0,0 +1,95 @@
+package io.github.maseev.alpaca.api.bar.resample;
+
+import io.github.maseev.alpaca.api.calendar.entity.Calendar;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The trading sessions of the market, e.g. as returned by
+ * {@link io.github.maseev.alpaca.api.calendar.CalendarAPI}, as two sorted arrays of epoch
+ * seconds. They make a {@link BarResampler} align intraday bars to the session open, end them at
+ * the session close, build daily bars from the session's hours only and drop the bars outside of
+ * sessions.
+ */
+public final class Sessions {
+
+  /**
+   * The time zone the market's calendar is in.
+   */
+  public static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+
+  private final long[] opens;
+  private final long[] closes;
+
+  private Sessions(long[] opens, long[] closes) {
+    this.opens = opens;
+    this.closes = closes;
+  }
+
+  /**
+   * @param calendar the trading days in any order
+   */
+  public static Sessions of(List<Calendar> calendar) {
+    List<Calendar> days = new ArrayList<>(calendar);
+    days.sort(Comparator.comparing(Calendar::date));
+
+    long[] opens = new long[days.size()];
+    long[] closes = new long[days.size()];
+
+    for (int i = 0; i < days.size(); ++i) {
+      Calendar day = days.get(i);
+
+      opens[i] = day.date().atTime(day.open()).atZone(MARKET_ZONE).toEpochSecond();
+      closes[i] = day.date().atTime(day.close()).atZone(MARKET_ZONE).toEpochSecond();
+
+      if (closes[i] <= opens[i] || i > 0 && opens[i] < closes[i - 1]) {
+        throw new IllegalArgumentException(
+          String.format("Sessions must not be empty or overlap; day: %s", day));
+      }
+    }
+
+    return new Sessions(opens, closes);
+  }
+
+  public int size() {
+    return opens.length;
+  }
+
+  /**
+   * @return the time the {@code index}-th session opens at as a Unix epoch in seconds
+   */
+  public long open(int index) {
+    return opens[index];
+  }
+
+  /**
+   * @return the time the {@code index}-th session closes at as a Unix epoch in seconds
+   */
+  public long close(int index) {
+    return closes[index];
+  }
+
+  /**
+   * @return the index of the first session which closes after {@code epochSecond};
+   * {@link #size()} if there's none
+   */
+  int indexOf(long epochSecond) {
+    int low = 0;
+    int high = closes.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (closes[middle] <= epochSecond) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+}
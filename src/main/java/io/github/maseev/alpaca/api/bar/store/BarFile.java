@@ -0,0 +1,371 @@
+package io.github.maseev.alpaca.api.bar.store;
+
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bars of a single symbol and timeframe in a memory-mapped file: a header followed by
+ * fixed-width records in ascending order by time.
+ *
+ * <pre>
+ * header:  magic (int) | version (int) | record size (int) | reserved (int)
+ *          covered from (long) | covered to (long) | record count (long) | reserved
+ * record:  epoch second | open | high | low | close | volume (6 longs, prices scaled by 10^8)
+ * </pre>
+ *
+ * <p>The file covers a single contiguous time range: bars newer than it are appended in place,
+ * while bars older than it are written along with the existing ones into a new file which then
+ * replaces the old one. Appending only writes beyond the published record count, and rewriting
+ * leaves the old mapping intact, so readers never need a lock: they work with an immutable
+ * {@link Snapshot} of the mapping, the coverage and the count.
+ */
+final class BarFile implements Closeable {
+
+  static final int RECORD_SIZE = 6 * Long.BYTES;
+  static final int TIME = 0;
+  static final int OPEN = Long.BYTES;
+  static final int HIGH = 2 * Long.BYTES;
+  static final int LOW = 3 * Long.BYTES;
+  static final int CLOSE = 4 * Long.BYTES;
+  static final int VOLUME = 5 * Long.BYTES;
+
+  static final int HEADER_SIZE = 64;
+
+  private static final int MAGIC = 0x41424152; // ABAR
+  private static final int VERSION = 1;
+  private static final int MAGIC_OFFSET = 0;
+  private static final int VERSION_OFFSET = 4;
+  private static final int RECORD_SIZE_OFFSET = 8;
+  private static final int FROM_OFFSET = 16;
+  private static final int TO_OFFSET = 24;
+  private static final int COUNT_OFFSET = 32;
+
+  private static final int MIN_CAPACITY = 1024;
+  private static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+  private final Path path;
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private volatile Snapshot snapshot;
+
+  private BarFile(Path path) {
+    this.path = path;
+  }
+
+  /**
+   * Maps the file, creating an empty one if there's none. Only the header is read.
+   *
+   * @throws StreamCorruptedException if the file isn't a bar file or has an unsupported version
+   */
+  static BarFile open(Path path) throws IOException {
+    BarFile file = new BarFile(path);
+
+    file.map();
+
+    return file;
+  }
+
+  /**
+   * @return the bars which begin at or after {@code start} and before {@code end}
+   */
+  StoredBars read(long start, long end) {
+    Snapshot current = snapshot;
+    int from = indexOf(current.buffer, HEADER_SIZE, current.count, start);
+    int to = indexOf(current.buffer, HEADER_SIZE, current.count, end);
+
+    return new StoredBars(current.buffer, HEADER_SIZE + from * RECORD_SIZE, Math.max(to - from, 0));
+  }
+
+  /**
+   * @return the ranges which have to be written for the file to cover {@code [start, end)}; at
+   * most two of them, one before and one after the covered range. The file covers a single
+   * contiguous range, so a range which doesn't touch it is extended up to it: e.g. a range
+   * entirely before the covered one yields {@code [start, covered from)}
+   */
+  List<long[]> missing(long start, long end) {
+    Snapshot current = snapshot;
+    List<long[]> missing = new ArrayList<>(2);
+
+    if (start >= end) {
+      return missing;
+    }
+
+    if (current.from == current.to) {
+      missing.add(new long[] {start, end});
+      return missing;
+    }
+
+    if (start < current.from) {
+      missing.add(new long[] {start, current.from});
+    }
+
+    if (end > current.to) {
+      missing.add(new long[] {current.to, end});
+    }
+
+    return missing;
+  }
+
+  /**
+   * Adds the bars of {@code [start, end)} and extends the covered range by it. Bars outside of
+   * the range or within the already covered one are skipped, so ranges may overlap.
+   *
+   * @throws IllegalArgumentException if the range would leave a gap in the covered range
+   */
+  synchronized void write(long start, long end, List<? extends Bar> bars) throws IOException {
+    Snapshot current = snapshot;
+
+    if (start >= end) {
+      return;
+    }
+
+    if (current.from == current.to) {
+      append(start, end, bars, start, end);
+      return;
+    }
+
+    if (start > current.to || end < current.from) {
+      throw new IllegalArgumentException(String.format(
+        "The range would leave a gap; covered: [%s, %s), range: [%s, %s)",
+        current.from, current.to, start, end));
+    }
+
+    if (start < current.from) {
+      prepend(start, bars);
+    }
+
+    if (end > current.to) {
+      append(current.to, end, bars, snapshot.from, end);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    buffer.force();
+    channel.close();
+  }
+
+  /**
+   * @return the index of the first of {@code size} records which begins at or after
+   * {@code epochSecond}; {@code size} if there's none
+   */
+  static int indexOf(ByteBuffer buffer, int offset, int size, long epochSecond) {
+    int low = 0;
+    int high = size;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (buffer.getLong(offset + middle * RECORD_SIZE + TIME) < epochSecond) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  private void map() throws IOException {
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+      StandardOpenOption.WRITE);
+
+    if (channel.size() == 0) {
+      remap(MIN_CAPACITY);
+      buffer.putInt(MAGIC_OFFSET, MAGIC);
+      buffer.putInt(VERSION_OFFSET, VERSION);
+      buffer.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+      publish(0, 0, 0);
+      return;
+    }
+
+    if (channel.size() < HEADER_SIZE) {
+      throw new StreamCorruptedException(String.format("%s isn't a bar file", path));
+    }
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    channel.read(header, 0);
+
+    if (header.getInt(MAGIC_OFFSET) != MAGIC
+      || header.getInt(RECORD_SIZE_OFFSET) != RECORD_SIZE) {
+      throw new StreamCorruptedException(String.format("%s isn't a bar file", path));
+    }
+
+    if (header.getInt(VERSION_OFFSET) != VERSION) {
+      throw new StreamCorruptedException(String.format("%s has unsupported version %s", path,
+        header.getInt(VERSION_OFFSET)));
+    }
+
+    long count = header.getLong(COUNT_OFFSET);
+
+    if (count < 0 || count > MAX_CAPACITY
+      || channel.size() < HEADER_SIZE + count * RECORD_SIZE) {
+      throw new StreamCorruptedException(
+        String.format("%s is truncated; records: %s, size: %s", path, count, channel.size()));
+    }
+
+    remap(Math.max((int) count, MIN_CAPACITY));
+    snapshot = new Snapshot(buffer, (int) count, header.getLong(FROM_OFFSET),
+      header.getLong(TO_OFFSET));
+  }
+
+  /**
+   * Maps the file with room for {@code capacity} records; mapping beyond its end grows it.
+   */
+  private void remap(int capacity) throws IOException {
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+      HEADER_SIZE + (long) capacity * RECORD_SIZE);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private void append(long start, long end, List<? extends Bar> bars, long from, long to)
+    throws IOException {
+    int count = snapshot.count;
+    long last = count == 0 ? Long.MIN_VALUE : epochSecond(count - 1);
+
+    for (Bar bar : bars) {
+      long time = bar.time().getEpochSecond();
+
+      if (time < start || time >= end || time <= last) {
+        continue;
+      }
+
+      ensureCapacity(count + 1);
+      put(buffer, HEADER_SIZE + count * RECORD_SIZE, time, bar);
+      last = time;
+      ++count;
+    }
+
+    publish(from, to, count);
+  }
+
+  /**
+   * Writes the bars older than the covered range and then the existing records into a new file
+   * which replaces this one.
+   */
+  private void prepend(long start, List<? extends Bar> bars) throws IOException {
+    Snapshot current = snapshot;
+    List<Bar> older = new ArrayList<>();
+    long last = Long.MIN_VALUE;
+
+    for (Bar bar : bars) {
+      long time = bar.time().getEpochSecond();
+
+      if (time >= start && time < current.from && time > last) {
+        older.add(bar);
+        last = time;
+      }
+    }
+
+    int count = older.size() + current.count;
+
+    if (count > MAX_CAPACITY) {
+      throw new IOException(String.format("%s can't hold more than %s bars", path, MAX_CAPACITY));
+    }
+
+    ByteBuffer content =
+      ByteBuffer.allocate(HEADER_SIZE + count * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    content.putInt(MAGIC_OFFSET, MAGIC);
+    content.putInt(VERSION_OFFSET, VERSION);
+    content.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+    content.putLong(FROM_OFFSET, start);
+    content.putLong(TO_OFFSET, current.to);
+    content.putLong(COUNT_OFFSET, count);
+
+    for (int i = 0; i < older.size(); ++i) {
+      Bar bar = older.get(i);
+
+      put(content, HEADER_SIZE + i * RECORD_SIZE, bar.time().getEpochSecond(), bar);
+    }
+
+    ByteBuffer existing = current.buffer.duplicate();
+    existing.limit(HEADER_SIZE + current.count * RECORD_SIZE).position(HEADER_SIZE);
+    content.position(HEADER_SIZE + older.size() * RECORD_SIZE);
+    content.put(existing);
+    content.flip();
+
+    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+    try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+      StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (content.hasRemaining()) {
+        out.write(content);
+      }
+
+      out.force(true);
+    }
+
+    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+      StandardCopyOption.ATOMIC_MOVE);
+
+    // the old mapping stays valid for the readers which still hold it
+    channel.close();
+    map();
+  }
+
+  private void ensureCapacity(int count) throws IOException {
+    if (HEADER_SIZE + (long) count * RECORD_SIZE <= buffer.capacity()) {
+      return;
+    }
+
+    if (count > MAX_CAPACITY) {
+      throw new IOException(String.format("%s can't hold more than %s bars", path, MAX_CAPACITY));
+    }
+
+    int capacity = (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+
+    remap((int) Math.min(Math.max((long) capacity * 2, count), MAX_CAPACITY));
+  }
+
+  private long epochSecond(int index) {
+    return buffer.getLong(HEADER_SIZE + index * RECORD_SIZE + TIME);
+  }
+
+  /**
+   * Writes the header fields which describe the records and then makes them visible to readers.
+   */
+  private void publish(long from, long to, int count) {
+    buffer.putLong(FROM_OFFSET, from);
+    buffer.putLong(TO_OFFSET, to);
+    buffer.putLong(COUNT_OFFSET, count);
+    snapshot = new Snapshot(buffer, count, from, to);
+  }
+
+  static void put(ByteBuffer buffer, int offset, long time, Bar bar) {
+    buffer.putLong(offset + TIME, time);
+    buffer.putLong(offset + OPEN, bar.openPriceE8());
+    buffer.putLong(offset + HIGH, bar.highPriceE8());
+    buffer.putLong(offset + LOW, bar.lowPriceE8());
+    buffer.putLong(offset + CLOSE, bar.closePriceE8());
+    buffer.putLong(offset + VOLUME, bar.volume());
+  }
+
+  private static final class Snapshot {
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final long from;
+    private final long to;
+
+    private Snapshot(ByteBuffer buffer, int count, long from, long to) {
+      this.buffer = buffer;
+      this.count = count;
+      this.from = from;
+      this.to = to;
+    }
+  }
+}
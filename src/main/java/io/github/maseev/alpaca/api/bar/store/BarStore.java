@@ -0,0 +1,143 @@
+package io.github.maseev.alpaca.api.bar.store;
+
+import io.github.maseev.alpaca.api.bar.BarAPI.Timeframe;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A local, append-only store of bars with one memory-mapped file per symbol and timeframe. It
+ * remembers which time range every file covers, including the parts without any bars, so
+ * {@link io.github.maseev.alpaca.api.bar.BarAPI#get(BarStore, String, Timeframe,
+ * java.time.OffsetDateTime, java.time.OffsetDateTime) BarAPI} only fetches the ranges it hasn't
+ * seen yet.
+ *
+ * <p>Files are mapped on first use and only their headers are read, so opening a store is cheap
+ * regardless of its size. {@link #read(String, Timeframe, Instant, Instant) Reads} don't copy the
+ * bars and never block writes; both are safe to run concurrently within a process. A store
+ * directory mustn't be shared by several processes at once.
+ */
+public final class BarStore implements Closeable {
+
+  private static final String EXTENSION = ".bars";
+
+  private final Path directory;
+  private final ConcurrentMap<String, BarFile> files = new ConcurrentHashMap<>();
+
+  /**
+   * @param directory the directory which holds the files; it's created if it doesn't exist
+   */
+  public BarStore(Path directory) throws IOException {
+    this.directory = Files.createDirectories(directory);
+  }
+
+  /**
+   * @return the stored bars which begin at or after {@code start} and before {@code end}
+   */
+  public StoredBars read(String symbol, Timeframe timeframe, Instant start, Instant end)
+    throws IOException {
+    return file(symbol, timeframe).read(start.getEpochSecond(), end.getEpochSecond());
+  }
+
+  /**
+   * @return the ranges which have to be {@link #write written} for the store to cover the given
+   * one, in ascending order by time. The store only covers a contiguous range per symbol and
+   * timeframe, so they reach up to the covered range even if the given one doesn't, and they may
+   * be far longer than it
+   */
+  public List<TimeRange> missing(String symbol, Timeframe timeframe, TimeRange range)
+    throws IOException {
+    List<TimeRange> missing = new ArrayList<>(2);
+
+    for (long[] gap : file(symbol, timeframe).missing(range.start().getEpochSecond(),
+      range.end().getEpochSecond())) {
+      missing.add(TimeRange.of(Instant.ofEpochSecond(gap[0]), Instant.ofEpochSecond(gap[1])));
+    }
+
+    return missing;
+  }
+
+  /**
+   * Stores the bars of the range and marks the range as covered, even if there are no bars in it.
+   * Bars outside of the range and within the already covered one are skipped.
+   *
+   * @param bars the bars of the range in ascending order by time
+   * @throws IllegalArgumentException if the range would leave a gap between it and the covered
+   *                                  range, i.e. it neither overlaps nor adjoins it
+   */
+  public void write(String symbol, Timeframe timeframe, TimeRange range,
+                    List<? extends Bar> bars) throws IOException {
+    file(symbol, timeframe).write(range.start().getEpochSecond(), range.end().getEpochSecond(),
+      bars);
+  }
+
+  /**
+   * Flushes and closes every file. Views which have been read stay valid.
+   */
+  @Override
+  public void close() throws IOException {
+    IOException failure = null;
+
+    for (BarFile file : files.values()) {
+      try {
+        file.close();
+      } catch (IOException ex) {
+        if (failure == null) {
+          failure = ex;
+        } else {
+          failure.addSuppressed(ex);
+        }
+      }
+    }
+
+    files.clear();
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private BarFile file(String symbol, Timeframe timeframe) throws IOException {
+    String name = fileName(symbol, timeframe);
+
+    try {
+      return files.computeIfAbsent(name, x -> {
+        try {
+          return BarFile.open(directory.resolve(name));
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      });
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private static String fileName(String symbol, Timeframe timeframe) {
+    for (int i = 0; i < symbol.length(); ++i) {
+      char c = symbol.charAt(i);
+
+      if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9'
+        || c == '.' || c == '-' || c == '_')) {
+        throw new IllegalArgumentException(
+          String.format("'symbol' can't be stored; symbol: %s", symbol));
+      }
+    }
+
+    if (symbol.isEmpty() || symbol.startsWith(".")) {
+      throw new IllegalArgumentException(
+        String.format("'symbol' can't be stored; symbol: %s", symbol));
+    }
+
+    return symbol + '-' + timeframe + EXTENSION;
+  }
+}
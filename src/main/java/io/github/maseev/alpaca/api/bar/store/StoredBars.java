@@ -0,0 +1,123 @@
+package io.github.maseev.alpaca.api.bar.store;
+
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Bars of a single symbol read straight from the memory-mapped file of a {@link BarStore}, i.e.
+ * without copying them onto the heap. Prices are
+ * {@link io.github.maseev.alpaca.api.util.Price scaled longs}. The bars are in ascending order by
+ * time.
+ *
+ * <p>The view is immutable: bars which are appended to the store later aren't visible through
+ * it, and it stays readable even if the store rewrites the file. Bars which weren't stored are
+ * {@link #of(List) copied} into the same layout on the heap.
+ */
+public final class StoredBars {
+
+  private final ByteBuffer buffer;
+  private final int offset;
+  private final int size;
+
+  StoredBars(ByteBuffer buffer, int offset, int size) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  /**
+   * @param bars the bars in ascending order by time
+   * @return the bars copied into a heap buffer laid out like a store file
+   */
+  public static StoredBars of(List<? extends Bar> bars) {
+    ByteBuffer buffer =
+      ByteBuffer.allocate(bars.size() * BarFile.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    for (int i = 0; i < bars.size(); ++i) {
+      Bar bar = bars.get(i);
+
+      BarFile.put(buffer, i * BarFile.RECORD_SIZE, bar.time().getEpochSecond(), bar);
+    }
+
+    return new StoredBars(buffer, 0, bars.size());
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return the beginning time of the {@code index}-th bar as a Unix epoch in seconds
+   */
+  public long epochSecond(int index) {
+    return field(index, BarFile.TIME);
+  }
+
+  public long openPriceE8(int index) {
+    return field(index, BarFile.OPEN);
+  }
+
+  public long highPriceE8(int index) {
+    return field(index, BarFile.HIGH);
+  }
+
+  public long lowPriceE8(int index) {
+    return field(index, BarFile.LOW);
+  }
+
+  public long closePriceE8(int index) {
+    return field(index, BarFile.CLOSE);
+  }
+
+  public long volume(int index) {
+    return field(index, BarFile.VOLUME);
+  }
+
+  /**
+   * @return the {@code index}-th bar as a new object
+   */
+  public FixedPointBar bar(int index) {
+    return new FixedPointBar(epochSecond(index), openPriceE8(index), highPriceE8(index),
+      lowPriceE8(index), closePriceE8(index), volume(index));
+  }
+
+  /**
+   * @return the index of the first bar which begins at or after {@code epochSecond};
+   * {@link #size()} if there's none
+   */
+  public int indexOf(long epochSecond) {
+    return BarFile.indexOf(buffer, offset, size, epochSecond);
+  }
+
+  /**
+   * @return the bars copied onto the heap as a {@link BarSeries}
+   */
+  public BarSeries toSeries() {
+    BarSeries.Builder builder = BarSeries.builder();
+
+    for (int i = 0; i < size; ++i) {
+      builder.add(epochSecond(i), openPriceE8(i), highPriceE8(i), lowPriceE8(i), closePriceE8(i),
+        volume(i));
+    }
+
+    return builder.build();
+  }
+
+  private long field(int index, int field) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(
+        String.format("Index %s is out of %s bars", index, size));
+    }
+
+    return buffer.getLong(offset + index * BarFile.RECORD_SIZE + field);
+  }
+}
@@ -0,0 +1,66 @@
+package io.github.maseev.alpaca.api.bar.store;
+
+import java.time.Instant;
+
+/**
+ * A half-open range of time: from {@link #start()}, inclusive, to {@link #end()}, exclusive.
+ */
+public final class TimeRange {
+
+  private final Instant start;
+  private final Instant end;
+
+  private TimeRange(Instant start, Instant end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code start} is after {@code end}
+   */
+  public static TimeRange of(Instant start, Instant end) {
+    if (start.isAfter(end)) {
+      throw new IllegalArgumentException(
+        String.format("'start' can't be after 'end'; start: %s, end: %s", start, end));
+    }
+
+    return new TimeRange(start, end);
+  }
+
+  public Instant start() {
+    return start;
+  }
+
+  public Instant end() {
+    return end;
+  }
+
+  public boolean isEmpty() {
+    return start.equals(end);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof TimeRange)) {
+      return false;
+    }
+
+    TimeRange that = (TimeRange) o;
+
+    return start.equals(that.start) && end.equals(that.end);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * start.hashCode() + end.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "[" + start + ", " + end + ')';
+  }
+}
@@ -2,14 +2,9 @@ package io.github.maseev.alpaca.api.clock;
 
 import io.github.maseev.alpaca.api.clock.entity.Clock;
 import io.github.maseev.alpaca.http.HttpClient;
-import io.github.maseev.alpaca.http.exception.APIException;
-import io.github.maseev.alpaca.http.transformer.ValueTransformer;
-import org.asynchttpclient.ListenableFuture;
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.Listenable;
+import io.github.maseev.alpaca.http.transformer.Transformers;
 
-import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 
 /**
  * The clock API serves the current market timestamp, whether or not the market is currently open,
@@ -17,7 +12,7 @@ import java.util.concurrent.CompletionException;
  */
 public class ClockAPI {
 
-  static final String ENDPOINT = "/clock";
+  public static final String ENDPOINT = "/clock";
 
   private final HttpClient httpClient;
 
@@ -30,16 +25,8 @@ public class ClockAPI {
    *
    * @return the market {@link Clock}
    */
-  public CompletableFuture<Clock> get() {
-    ListenableFuture<Response> future =
-      httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT).execute();
-
-    return future.toCompletableFuture().thenApply( x-> {
-      try {
-        return new ValueTransformer<>(Clock.class).transform(x.getResponseBody());
-      } catch (APIException | IOException e) {
-        throw new CompletionException(e);
-      }
-    });
+  public Listenable<Clock> get() {
+    return httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT)
+      .execute(Transformers.CLOCK);
   }
 }
@@ -2,30 +2,25 @@ package io.github.maseev.alpaca.api.order;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.github.maseev.alpaca.api.order.entity.Order;
 import io.github.maseev.alpaca.api.order.entity.OrderRequest;
 import io.github.maseev.alpaca.api.streaming.StreamingAPI;
 import io.github.maseev.alpaca.http.HttpClient;
 import io.github.maseev.alpaca.http.Listenable;
-import io.github.maseev.alpaca.http.exception.APIException;
+import io.github.maseev.alpaca.http.RequestBuilder;
 import io.github.maseev.alpaca.http.exception.EntityNotFoundException;
 import io.github.maseev.alpaca.http.exception.ForbiddenException;
 import io.github.maseev.alpaca.http.exception.UnprocessableException;
+import io.github.maseev.alpaca.http.json.JsonProfile;
 import io.github.maseev.alpaca.http.json.util.DateFormatUtil;
-import io.github.maseev.alpaca.http.transformer.GenericTransformer;
-import io.github.maseev.alpaca.http.transformer.ValueTransformer;
-import org.asynchttpclient.ListenableFuture;
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.transformer.Transformers;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 
-import static io.github.maseev.alpaca.http.json.util.JsonUtil.toJson;
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.writerFor;
 import static io.github.maseev.alpaca.http.util.StringUtil.requireNonEmpty;
 import static java.lang.String.format;
 
@@ -63,7 +58,7 @@ public class OrderAPI {
     }
   }
 
-  static final String ENDPOINT = "/orders";
+  public static final String ENDPOINT = "/orders";
   static final String GET_BY_CLIENT_ORDER_ID_ENDPOINT =
     ENDPOINT + ":by_client_order_id";
 
@@ -71,9 +66,15 @@ public class OrderAPI {
     DateTimeFormatter.ofPattern(DateFormatUtil.DATE_TIME_NO_NANOSECONDS_FORMAT);
 
   private final HttpClient httpClient;
+  private final ObjectWriter requestWriter;
 
   public OrderAPI(HttpClient httpClient) {
     this.httpClient = httpClient;
+
+    JsonProfile jsonProfile = httpClient.getJsonProfile();
+    this.requestWriter = jsonProfile == null
+      ? writerFor(OrderRequest.class)
+      : writerFor(jsonProfile, OrderRequest.class);
   }
 
   /**
@@ -86,23 +87,22 @@ public class OrderAPI {
    * @param until     The response will include only ones submitted until this timestamp
    *                  (exclusive)
    * @param direction The chronological order of response based on the submission time
-   * @return a list of {@link Order} for the account
+   * @return a list of {@link Order} for the account; the orders are
+   * {@link io.github.maseev.alpaca.api.order.entity.LazyOrder lazy} if
+   * {@link io.github.maseev.alpaca.http.ClientOptions#lazyOrders()} is on
    */
   public Listenable<List<Order>> get(Status status, int limit, LocalDateTime after,
                                      LocalDateTime until,
                                      Direction direction) {
     validate(limit, after, until);
 
-    ListenableFuture<Response> future =
-      httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT)
-        .addQueryParam("status", status.toString())
-        .addQueryParam("limit", Integer.toString(limit))
-        .addQueryParam("after", PATTERN.format(after))
-        .addQueryParam("until", PATTERN.format(until))
-        .addQueryParam("direction", direction.toString())
-        .execute();
-
-    return new Listenable<>(new GenericTransformer<>(new TypeReference<List<Order>>() {}), future);
+    return httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT)
+      .addQueryParam("status", status.toString())
+      .addQueryParam("limit", Integer.toString(limit))
+      .addQueryParam("after", PATTERN.format(after))
+      .addQueryParam("until", PATTERN.format(until))
+      .addQueryParam("direction", direction.toString())
+      .execute(httpClient.isLazyOrders() ? Transformers.LAZY_ORDERS : Transformers.ORDERS);
   }
 
   /**
@@ -117,12 +117,16 @@ public class OrderAPI {
    * @throws UnprocessableException  if the input parameters are not recognized
    */
   public Listenable<Order> place(OrderRequest request) throws JsonProcessingException {
-    ListenableFuture<Response> future =
+    RequestBuilder requestBuilder =
       httpClient.prepare(HttpClient.HttpMethod.POST, ENDPOINT)
-        .setBody(toJson(request))
-        .execute();
+        .setBody(requestWriter.writeValueAsBytes(request));
+
+    // the server rejects a duplicate client order ID, so such an order can't be placed twice
+    if (request.clientOrderId() != null) {
+      requestBuilder.retryable();
+    }
 
-    return new Listenable<>(new ValueTransformer<>(Order.class), future);
+    return requestBuilder.execute(Transformers.ORDER);
   }
 
   /**
@@ -135,10 +139,8 @@ public class OrderAPI {
   public Listenable<Order> get(String orderId) {
     requireNonEmpty(orderId, "orderId");
 
-    ListenableFuture<Response> future =
-      httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT, orderId).execute();
-
-    return new Listenable<>(new ValueTransformer<>(Order.class), future);
+    return httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT, orderId)
+      .execute(Transformers.ORDER);
   }
 
   /**
@@ -151,12 +153,9 @@ public class OrderAPI {
   public Listenable<Order> getByClientOrderId(String clientOrderId) {
     requireNonEmpty(clientOrderId, "clientOrderId");
 
-    ListenableFuture<Response> future =
-      httpClient.prepare(HttpClient.HttpMethod.GET, GET_BY_CLIENT_ORDER_ID_ENDPOINT)
-        .addQueryParam("client_order_id", clientOrderId)
-        .execute();
-
-    return new Listenable<>(new ValueTransformer<>(Order.class), future);
+    return httpClient.prepare(HttpClient.HttpMethod.GET, GET_BY_CLIENT_ORDER_ID_ENDPOINT)
+      .addQueryParam("client_order_id", clientOrderId)
+      .execute(Transformers.ORDER);
   }
 
   /**
@@ -167,20 +166,11 @@ public class OrderAPI {
    * @throws UnprocessableException  if an Order is no longer cancelable (e.g. {@link
    *                                 Order.Status#FILLED})
    */
-  public CompletableFuture<Void> cancel(String orderId) {
+  public Listenable<Void> cancel(String orderId) {
     requireNonEmpty(orderId, "orderId");
 
-    ListenableFuture<Response> future =
-      httpClient.prepare(HttpClient.HttpMethod.DELETE, ENDPOINT, orderId).execute();
-
-    return future.toCompletableFuture().thenApply( x-> {
-      try {
-        return new ValueTransformer<>(Void.class).transform(x.getResponseBody());
-      } catch (APIException | IOException e) {
-        throw new CompletionException(e);
-      }
-    });
-
+    return httpClient.prepare(HttpClient.HttpMethod.DELETE, ENDPOINT, orderId)
+      .execute(Transformers.VOID);
   }
 
   private static void validate(int limit, LocalDateTime after, LocalDateTime until) {
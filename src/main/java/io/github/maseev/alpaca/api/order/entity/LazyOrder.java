@@ -0,0 +1,663 @@
+package io.github.maseev.alpaca.api.order.entity;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.github.maseev.alpaca.api.asset.entity.AssetClass;
+import io.github.maseev.alpaca.http.json.DateTimeDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An {@link Order} which keeps the raw UTF-8 JSON it was read from and decodes each field on
+ * first use. Reading it only finds where the values of the fields are, so a handler which looks at
+ * a few fields, e.g. {@link #id()} and {@link #status()}, doesn't pay for decoding the timestamps,
+ * prices and enums it never touches.
+ *
+ * <p>Unknown fields are ignored. Required fields which are missing or {@code null} are reported
+ * when the order is read, but a malformed value is only reported by its accessor, with an
+ * {@link IllegalStateException}.
+ *
+ * <p>Lazy orders are only equal to other lazy orders; {@link #toImmutable()} decodes every field
+ * into a regular {@link ImmutableOrder}, which is also what a lazy order is serialized as.
+ */
+@JsonSerialize
+public final class LazyOrder implements Order {
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private static final String[] FIELDS = {
+    "id", "client_order_id", "created_at", "updated_at", "submitted_at", "filled_at",
+    "expired_at", "canceled_at", "failed_at", "asset_id", "symbol", "asset_class", "qty",
+    "filled_qty", "type", "order_type", "side", "time_in_force", "limit_price", "stop_price",
+    "filled_avg_price", "status", "extended_hours"
+  };
+
+  private static final int ID = 0;
+  private static final int CLIENT_ORDER_ID = 1;
+  private static final int CREATED_AT = 2;
+  private static final int UPDATED_AT = 3;
+  private static final int SUBMITTED_AT = 4;
+  private static final int FILLED_AT = 5;
+  private static final int EXPIRED_AT = 6;
+  private static final int CANCELED_AT = 7;
+  private static final int FAILED_AT = 8;
+  private static final int ASSET_ID = 9;
+  private static final int SYMBOL = 10;
+  private static final int ASSET_CLASS = 11;
+  private static final int QTY = 12;
+  private static final int FILLED_QTY = 13;
+  private static final int TYPE = 14;
+  private static final int ORDER_TYPE = 15;
+  private static final int SIDE = 16;
+  private static final int TIME_IN_FORCE = 17;
+  private static final int LIMIT_PRICE = 18;
+  private static final int STOP_PRICE = 19;
+  private static final int FILLED_AVG_PRICE = 20;
+  private static final int STATUS = 21;
+  private static final int EXTENDED_HOURS = 22;
+
+  private static final int[] REQUIRED = {
+    ID, CLIENT_ORDER_ID, CREATED_AT, ASSET_ID, SYMBOL, ASSET_CLASS, QTY, FILLED_QTY, TYPE,
+    ORDER_TYPE, SIDE, TIME_IN_FORCE, STATUS
+  };
+
+  private static final byte[][] FIELD_NAMES = new byte[FIELDS.length][];
+
+  static {
+    for (int i = 0; i < FIELDS.length; ++i) {
+      FIELD_NAMES[i] = FIELDS[i].getBytes(StandardCharsets.US_ASCII);
+    }
+  }
+
+  private static final AssetClass[] ASSET_CLASSES = AssetClass.values();
+  private static final Type[] TYPES = Type.values();
+  private static final Side[] SIDES = Side.values();
+  private static final TimeInForce[] TIME_IN_FORCES = TimeInForce.values();
+  private static final Status[] STATUSES = Status.values();
+
+  private static final Object UNSET = new Object();
+
+  private final byte[] json;
+  /**
+   * The start and the end of the value of every field in {@link #json}; {@code -1} if the field
+   * is absent.
+   */
+  private final int[] positions;
+  private final Object[] values;
+
+  private LazyOrder(byte[] json, int[] positions) {
+    this.json = json;
+    this.positions = positions;
+    this.values = new Object[FIELDS.length];
+
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = UNSET;
+    }
+  }
+
+  /**
+   * Finds the fields of a single order. {@code json} is kept as is, so it mustn't be modified
+   * afterwards.
+   *
+   * @param json   the buffer which holds the order
+   * @param offset the offset of the order within {@code json}
+   * @param length the length of the order
+   * @throws IllegalArgumentException if the JSON is malformed or a required field is missing or
+   *                                  {@code null}
+   */
+  public static LazyOrder of(byte[] json, int offset, int length) {
+    int end = offset + length;
+    int start = skipWhitespace(json, offset, end);
+    int[] positions = new int[FIELDS.length * 2];
+
+    int i = skipWhitespace(json, index(json, start, end, positions), end);
+
+    if (i != end) {
+      throw malformed(json, i);
+    }
+
+    return new LazyOrder(json, positions);
+  }
+
+  /**
+   * Finds the fields of every order in a JSON array of orders. The orders share {@code json}, so
+   * it mustn't be modified afterwards.
+   *
+   * @throws IllegalArgumentException if the JSON is malformed or a required field is missing or
+   *                                  {@code null}
+   */
+  public static List<Order> listOf(byte[] json, int offset, int length) {
+    int end = offset + length;
+    int i = skipWhitespace(json, offset, end);
+
+    if (i == end || json[i] != '[') {
+      throw malformed(json, i);
+    }
+
+    List<Order> orders = new ArrayList<>();
+    i = skipWhitespace(json, i + 1, end);
+
+    if (i < end && json[i] == ']') {
+      return orders;
+    }
+
+    while (true) {
+      int[] positions = new int[FIELDS.length * 2];
+      i = skipWhitespace(json, index(json, i, end, positions), end);
+      orders.add(new LazyOrder(json, positions));
+
+      if (i == end) {
+        throw malformed(json, i);
+      }
+
+      if (json[i] == ']') {
+        return orders;
+      }
+
+      if (json[i] != ',') {
+        throw malformed(json, i);
+      }
+
+      i = skipWhitespace(json, i + 1, end);
+    }
+  }
+
+  /**
+   * @return a regular order with every field decoded
+   */
+  @JsonValue
+  public ImmutableOrder toImmutable() {
+    return ImmutableOrder.copyOf(this);
+  }
+
+  @Override
+  public String id() {
+    return (String) get(ID);
+  }
+
+  @Override
+  public String clientOrderId() {
+    return (String) get(CLIENT_ORDER_ID);
+  }
+
+  @Override
+  public LocalDateTime createdAt() {
+    return (LocalDateTime) get(CREATED_AT);
+  }
+
+  @Override
+  public LocalDateTime updatedAt() {
+    return (LocalDateTime) get(UPDATED_AT);
+  }
+
+  @Override
+  public LocalDateTime submittedAt() {
+    return (LocalDateTime) get(SUBMITTED_AT);
+  }
+
+  @Override
+  public LocalDateTime filledAt() {
+    return (LocalDateTime) get(FILLED_AT);
+  }
+
+  @Override
+  public LocalDateTime expiredAt() {
+    return (LocalDateTime) get(EXPIRED_AT);
+  }
+
+  @Override
+  public LocalDateTime canceledAt() {
+    return (LocalDateTime) get(CANCELED_AT);
+  }
+
+  @Override
+  public LocalDateTime failedAt() {
+    return (LocalDateTime) get(FAILED_AT);
+  }
+
+  @Override
+  public String assetId() {
+    return (String) get(ASSET_ID);
+  }
+
+  @Override
+  public String symbol() {
+    return (String) get(SYMBOL);
+  }
+
+  @Override
+  public AssetClass assetClass() {
+    return (AssetClass) get(ASSET_CLASS);
+  }
+
+  @Override
+  public long qty() {
+    return (Long) get(QTY);
+  }
+
+  @Override
+  public long filledQty() {
+    return (Long) get(FILLED_QTY);
+  }
+
+  @Override
+  public Type type() {
+    return (Type) get(TYPE);
+  }
+
+  @Override
+  public Type orderType() {
+    return (Type) get(ORDER_TYPE);
+  }
+
+  @Override
+  public Side side() {
+    return (Side) get(SIDE);
+  }
+
+  @Override
+  public TimeInForce timeInForce() {
+    return (TimeInForce) get(TIME_IN_FORCE);
+  }
+
+  @Override
+  public BigDecimal limitPrice() {
+    return (BigDecimal) get(LIMIT_PRICE);
+  }
+
+  @Override
+  public BigDecimal stopPrice() {
+    return (BigDecimal) get(STOP_PRICE);
+  }
+
+  @Override
+  public BigDecimal filledAvgPrice() {
+    return (BigDecimal) get(FILLED_AVG_PRICE);
+  }
+
+  @Override
+  public Status status() {
+    return (Status) get(STATUS);
+  }
+
+  @Override
+  public Boolean extendedHours() {
+    return (Boolean) get(EXTENDED_HOURS);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    return o instanceof LazyOrder && toImmutable().equals(((LazyOrder) o).toImmutable());
+  }
+
+  @Override
+  public int hashCode() {
+    return toImmutable().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "LazyOrder{" + new String(json, positions[ID * 2], positions[ID * 2 + 1]
+      - positions[ID * 2], StandardCharsets.UTF_8) + "}";
+  }
+
+  /**
+   * Returns the decoded value of a field, decoding it the first time. Values are immutable, so a
+   * race only costs decoding a field twice.
+   */
+  private Object get(int field) {
+    Object value = values[field];
+
+    if (value == UNSET) {
+      value = decode(field);
+      values[field] = value;
+    }
+
+    return value;
+  }
+
+  private Object decode(int field) {
+    int start = positions[field * 2];
+    int end = positions[field * 2 + 1];
+
+    if (start < 0 || isNull(json, start, end)) {
+      return null;
+    }
+
+    try {
+      switch (field) {
+        case CREATED_AT:
+        case UPDATED_AT:
+        case SUBMITTED_AT:
+        case FILLED_AT:
+        case EXPIRED_AT:
+        case CANCELED_AT:
+        case FAILED_AT:
+          char[] text = chars(start, end);
+          return DateTimeDeserializer.parse(text, 0, text.length);
+        case ASSET_CLASS:
+          return enumValue(ASSET_CLASSES, start, end, field);
+        case QTY:
+        case FILLED_QTY:
+          return longValue(start, end);
+        case TYPE:
+        case ORDER_TYPE:
+          return enumValue(TYPES, start, end, field);
+        case SIDE:
+          return enumValue(SIDES, start, end, field);
+        case TIME_IN_FORCE:
+          return enumValue(TIME_IN_FORCES, start, end, field);
+        case LIMIT_PRICE:
+        case STOP_PRICE:
+        case FILLED_AVG_PRICE:
+          return new BigDecimal(chars(start, end));
+        case STATUS:
+          return enumValue(STATUSES, start, end, field);
+        case EXTENDED_HOURS:
+          return booleanValue(start, end, field);
+        default:
+          return string(start, end);
+      }
+    } catch (NumberFormatException | DateTimeParseException ex) {
+      throw new IllegalStateException(String.format("Malformed '%s' field of the order: %s",
+        FIELDS[field], new String(json, start, end - start, StandardCharsets.UTF_8)), ex);
+    }
+  }
+
+  private static boolean isNull(byte[] json, int start, int end) {
+    return end - start == 4 && json[start] == 'n' && json[start + 1] == 'u'
+      && json[start + 2] == 'l' && json[start + 3] == 'l';
+  }
+
+  private boolean isQuoted(int start, int end) {
+    return end - start >= 2 && json[start] == '"';
+  }
+
+  private String string(int start, int end) {
+    if (!isQuoted(start, end)) {
+      return new String(json, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    for (int i = start + 1; i < end - 1; ++i) {
+      if (json[i] == '\\') {
+        return unescape(start, end);
+      }
+    }
+
+    return new String(json, start + 1, end - start - 2, StandardCharsets.UTF_8);
+  }
+
+  private String unescape(int start, int end) {
+    try (JsonParser parser = FACTORY.createParser(json, start, end - start)) {
+      parser.nextToken();
+      return parser.getText();
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * @return the text of the value without quotes and surrounding whitespace as characters; the
+   * values this is used for are plain ASCII
+   */
+  private char[] chars(int start, int end) {
+    if (isQuoted(start, end)) {
+      ++start;
+      --end;
+    }
+
+    while (start < end && json[start] <= ' ') {
+      ++start;
+    }
+
+    while (end > start && json[end - 1] <= ' ') {
+      --end;
+    }
+
+    char[] text = new char[end - start];
+
+    for (int i = 0; i < text.length; ++i) {
+      text[i] = (char) (json[start + i] & 0xFF);
+    }
+
+    return text;
+  }
+
+  private Long longValue(int start, int end) {
+    char[] text = chars(start, end);
+
+    return Long.parseLong(new String(text));
+  }
+
+  private Boolean booleanValue(int start, int end, int field) {
+    char[] text = chars(start, end);
+
+    if (text.length == 4 && text[0] == 't' && text[1] == 'r' && text[2] == 'u'
+      && text[3] == 'e') {
+      return Boolean.TRUE;
+    }
+
+    if (text.length == 5 && text[0] == 'f' && text[1] == 'a' && text[2] == 'l'
+      && text[3] == 's' && text[4] == 'e') {
+      return Boolean.FALSE;
+    }
+
+    throw new IllegalStateException(String.format("Malformed '%s' field of the order: %s",
+      FIELDS[field], new String(text)));
+  }
+
+  private <E extends Enum<E>> E enumValue(E[] constants, int start, int end, int field) {
+    if (isQuoted(start, end)) {
+      for (E constant : constants) {
+        if (matches(constant.toString(), start + 1, end - 1)) {
+          return constant;
+        }
+      }
+    }
+
+    throw new IllegalStateException(String.format("Unknown '%s' of the order: %s",
+      FIELDS[field], new String(json, start, end - start, StandardCharsets.UTF_8)));
+  }
+
+  private boolean matches(String text, int start, int end) {
+    if (text.length() != end - start) {
+      return false;
+    }
+
+    for (int i = 0; i < text.length(); ++i) {
+      if (text.charAt(i) != json[start + i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Records where the value of every known field of the object at {@code start} is.
+   *
+   * @return the position right after the object
+   */
+  private static int index(byte[] json, int start, int end, int[] positions) {
+    Arrays.fill(positions, -1);
+
+    if (start >= end || json[start] != '{') {
+      throw malformed(json, start);
+    }
+
+    int i = skipWhitespace(json, start + 1, end);
+
+    if (i < end && json[i] == '}') {
+      checkRequired(json, positions);
+      return i + 1;
+    }
+
+    while (true) {
+      if (i >= end || json[i] != '"') {
+        throw malformed(json, i);
+      }
+
+      int nameStart = i + 1;
+      i = skipString(json, i, end);
+      int field = field(json, nameStart, i - 1);
+
+      i = skipWhitespace(json, i, end);
+
+      if (i >= end || json[i] != ':') {
+        throw malformed(json, i);
+      }
+
+      int valueStart = skipWhitespace(json, i + 1, end);
+      int valueEnd = skipValue(json, valueStart, end);
+
+      if (field >= 0) {
+        positions[field * 2] = valueStart;
+        positions[field * 2 + 1] = valueEnd;
+      }
+
+      i = skipWhitespace(json, valueEnd, end);
+
+      if (i >= end) {
+        throw malformed(json, i);
+      }
+
+      if (json[i] == '}') {
+        checkRequired(json, positions);
+        return i + 1;
+      }
+
+      if (json[i] != ',') {
+        throw malformed(json, i);
+      }
+
+      i = skipWhitespace(json, i + 1, end);
+    }
+  }
+
+  private static void checkRequired(byte[] json, int[] positions) {
+    for (int field : REQUIRED) {
+      int start = positions[field * 2];
+
+      if (start < 0) {
+        throw new IllegalArgumentException(String.format(
+          "Cannot read an order, required field '%s' is missing", FIELDS[field]));
+      }
+
+      if (isNull(json, start, positions[field * 2 + 1])) {
+        throw new IllegalArgumentException(String.format(
+          "Cannot read an order, required field '%s' is null", FIELDS[field]));
+      }
+    }
+  }
+
+  private static int field(byte[] json, int start, int end) {
+    for (int field = 0; field < FIELD_NAMES.length; ++field) {
+      byte[] name = FIELD_NAMES[field];
+
+      if (name.length == end - start) {
+        int i = 0;
+
+        while (i < name.length && name[i] == json[start + i]) {
+          ++i;
+        }
+
+        if (i == name.length) {
+          return field;
+        }
+      }
+    }
+
+    return -1;
+  }
+
+  private static int skipWhitespace(byte[] json, int i, int end) {
+    while (i < end && (json[i] == ' ' || json[i] == '\n' || json[i] == '\r' || json[i] == '\t')) {
+      ++i;
+    }
+
+    return i;
+  }
+
+  /**
+   * @return the position right after the closing quote of the string at {@code i}
+   */
+  private static int skipString(byte[] json, int i, int end) {
+    for (++i; i < end; ++i) {
+      if (json[i] == '\\') {
+        ++i;
+      } else if (json[i] == '"') {
+        return i + 1;
+      }
+    }
+
+    throw malformed(json, end);
+  }
+
+  /**
+   * @return the position right after the value at {@code i}
+   */
+  private static int skipValue(byte[] json, int i, int end) {
+    if (i >= end) {
+      throw malformed(json, i);
+    }
+
+    byte c = json[i];
+
+    if (c == '"') {
+      return skipString(json, i, end);
+    }
+
+    if (c == '{' || c == '[') {
+      int depth = 0;
+
+      while (i < end) {
+        c = json[i];
+
+        if (c == '"') {
+          i = skipString(json, i, end);
+          continue;
+        }
+
+        if (c == '{' || c == '[') {
+          ++depth;
+        } else if ((c == '}' || c == ']') && --depth == 0) {
+          return i + 1;
+        }
+
+        ++i;
+      }
+
+      throw malformed(json, end);
+    }
+
+    int start = i;
+
+    while (i < end && json[i] != ',' && json[i] != '}' && json[i] != ']' && json[i] > ' ') {
+      ++i;
+    }
+
+    if (i == start) {
+      throw malformed(json, i);
+    }
+
+    return i;
+  }
+
+  private static IllegalArgumentException malformed(byte[] json, int position) {
+    return new IllegalArgumentException(
+      String.format("Cannot read an order, malformed JSON at byte %s", position));
+  }
+}
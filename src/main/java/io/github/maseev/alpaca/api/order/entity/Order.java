@@ -7,6 +7,8 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.github.maseev.alpaca.api.asset.entity.AssetClass;
 import io.github.maseev.alpaca.api.util.Available;
+import io.github.maseev.alpaca.api.util.Price;
+import io.github.maseev.alpaca.http.json.DateTimeDeserializer;
 import org.immutables.value.Value;
 import org.jetbrains.annotations.Nullable;
 
@@ -226,36 +228,43 @@ public interface Order {
 
   @JsonProperty("created_at")
   @JsonFormat(pattern = DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime createdAt();
 
   @Nullable
   @JsonProperty("updated_at")
   @JsonFormat(pattern = DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime updatedAt();
 
   @Nullable
   @JsonProperty("submitted_at")
   @JsonFormat(pattern = DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime submittedAt();
 
   @Nullable
   @JsonProperty("filled_at")
   @JsonFormat(pattern = DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime filledAt();
 
   @Nullable
   @JsonProperty("expired_at")
   @JsonFormat(pattern = DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime expiredAt();
 
   @Nullable
   @JsonProperty("canceled_at")
   @JsonFormat(pattern = DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime canceledAt();
 
   @Nullable
   @JsonProperty("failed_at")
   @JsonFormat(pattern = DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime failedAt();
 
   @JsonProperty("asset_id")
@@ -302,4 +311,28 @@ public interface Order {
   @Available(in = V2)
   @JsonProperty("extended_hours")
   Boolean extendedHours();
+
+  /**
+   * @return the limit price as a {@link Price scaled long}
+   * or {@link Price#NONE} if there's none
+   */
+  default long limitPriceE8() {
+    return Price.toE8(limitPrice());
+  }
+
+  /**
+   * @return the stop price as a {@link Price scaled long}
+   * or {@link Price#NONE} if there's none
+   */
+  default long stopPriceE8() {
+    return Price.toE8(stopPrice());
+  }
+
+  /**
+   * @return the average fill price as a {@link Price scaled long}
+   * or {@link Price#NONE} if there's none
+   */
+  default long filledAvgPriceE8() {
+    return Price.toE8(filledAvgPrice());
+  }
 }
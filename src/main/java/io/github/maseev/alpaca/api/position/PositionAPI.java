@@ -1,20 +1,12 @@
 package io.github.maseev.alpaca.api.position;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import io.github.maseev.alpaca.api.position.entity.Position;
 import io.github.maseev.alpaca.http.HttpClient;
 import io.github.maseev.alpaca.http.Listenable;
-import io.github.maseev.alpaca.http.exception.APIException;
 import io.github.maseev.alpaca.http.exception.EntityNotFoundException;
-import io.github.maseev.alpaca.http.transformer.GenericTransformer;
-import io.github.maseev.alpaca.http.transformer.ValueTransformer;
-import org.asynchttpclient.ListenableFuture;
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.transformer.Transformers;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 
 import static io.github.maseev.alpaca.http.util.StringUtil.requireNonEmpty;
 
@@ -26,7 +18,7 @@ import static io.github.maseev.alpaca.http.util.StringUtil.requireNonEmpty;
  */
 public class PositionAPI {
 
-  static final String ENDPOINT = "/positions";
+  public static final String ENDPOINT = "/positions";
 
   private final HttpClient httpClient;
 
@@ -40,10 +32,8 @@ public class PositionAPI {
    * @return a list of {@link Position}
    */
   public Listenable<List<Position>> get() {
-    ListenableFuture<Response> future =
-      httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT).execute();
-
-    return new Listenable<>(new GenericTransformer<>(new TypeReference<List<Position>>() {}), future);
+    return httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT)
+      .execute(Transformers.POSITIONS);
   }
 
   /**
@@ -53,18 +43,10 @@ public class PositionAPI {
    * @return a list of {@link Position} for the given symbol
    * @throws EntityNotFoundException if a {@link Position} is not found
    */
-  public CompletableFuture<Position> get(String symbol) {
+  public Listenable<Position> get(String symbol) {
     requireNonEmpty(symbol, "symbol");
 
-    ListenableFuture<Response> future =
-      httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT, symbol).execute();
-
-    return future.toCompletableFuture().thenApply( x-> {
-      try {
-        return new ValueTransformer<>(Position.class).transform(x.getResponseBody());
-      } catch (APIException | IOException e) {
-        throw new CompletionException(e);
-      }
-    });
+    return httpClient.prepare(HttpClient.HttpMethod.GET, ENDPOINT, symbol)
+      .execute(Transformers.POSITION);
   }
 }
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.github.maseev.alpaca.api.asset.entity.AssetClass;
 import io.github.maseev.alpaca.api.entity.Exchange;
+import io.github.maseev.alpaca.api.util.Price;
 import org.immutables.value.Value;
 
 import java.math.BigDecimal;
@@ -114,4 +115,53 @@ public interface Position {
    */
   @JsonProperty("change_today")
   BigDecimal changeToday();
+
+  /**
+   * @return the average entry price as a {@link Price scaled long}
+   */
+  default long avgEntryPriceE8() {
+    return Price.toE8(avgEntryPrice());
+  }
+
+  /**
+   * @return the market value as a {@link Price scaled long}
+   */
+  default long marketValueE8() {
+    return Price.toE8(marketValue());
+  }
+
+  /**
+   * @return the cost basis as a {@link Price scaled long}
+   */
+  default long costBasisE8() {
+    return Price.toE8(costBasis());
+  }
+
+  /**
+   * @return the unrealized profit/loss as a {@link Price scaled long}
+   */
+  default long unrealizedPlE8() {
+    return Price.toE8(unrealizedPl());
+  }
+
+  /**
+   * @return the unrealized profit/loss for the day as a {@link Price scaled long}
+   */
+  default long unrealizedIntradayPlE8() {
+    return Price.toE8(unrealizedIntradayPl());
+  }
+
+  /**
+   * @return the current price as a {@link Price scaled long}
+   */
+  default long currentPriceE8() {
+    return Price.toE8(currentPrice());
+  }
+
+  /**
+   * @return the last day’s price as a {@link Price scaled long}
+   */
+  default long lastdayPriceE8() {
+    return Price.toE8(lastdayPrice());
+  }
 }
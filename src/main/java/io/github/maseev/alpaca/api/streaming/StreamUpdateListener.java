@@ -1,6 +1,8 @@
 package io.github.maseev.alpaca.api.streaming;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.maseev.alpaca.api.order.entity.LazyOrder;
 import io.github.maseev.alpaca.api.streaming.entity.ConnectionClose;
 import io.github.maseev.alpaca.api.streaming.entity.ConnectionCrash;
 import io.github.maseev.alpaca.api.streaming.entity.ImmutableConnectionClose;
@@ -8,14 +10,24 @@ import io.github.maseev.alpaca.api.streaming.entity.ImmutableConnectionCrash;
 import io.github.maseev.alpaca.api.streaming.exception.AuthorizationException;
 import io.github.maseev.alpaca.api.streaming.exception.SubscriptionException;
 import io.github.maseev.alpaca.api.streaming.message.*;
+import io.github.maseev.alpaca.http.json.JsonProfile;
+import io.github.maseev.alpaca.http.json.SymbolTable;
+import io.github.maseev.alpaca.http.metrics.FrameEvent;
+import io.github.maseev.alpaca.http.metrics.Metrics;
+import io.github.maseev.alpaca.http.metrics.NoopMetrics;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
 import org.asynchttpclient.ws.WebSocket;
 import org.asynchttpclient.ws.WebSocketListener;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Set;
 
 import static io.github.maseev.alpaca.http.json.util.JsonUtil.fromJson;
-import static io.github.maseev.alpaca.http.json.util.JsonUtil.toJson;
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.readerFor;
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.writerFor;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 
@@ -49,14 +61,60 @@ class StreamUpdateListener implements WebSocketListener {
   private final String keyId;
   private final String secretKey;
   private final SubscriptionManager subscriptionManager;
+  private final Metrics metrics;
+  private final ObjectReader updateReader;
+  private final ObjectWriter authenticationWriter;
+  private final ObjectWriter subscriptionWriter;
   private WebSocket websocket;
   private MessagePipeline pipeline = MessagePipeline.CONNECTED;
 
   StreamUpdateListener(String keyId, String secretKey,
                        SubscriptionManager subscriptionManager) {
+    this(keyId, secretKey, subscriptionManager, NoopMetrics.INSTANCE);
+  }
+
+  StreamUpdateListener(String keyId, String secretKey,
+                       SubscriptionManager subscriptionManager, Metrics metrics) {
+    this(keyId, secretKey, subscriptionManager, metrics, false, null, null);
+  }
+
+  /**
+   * @param lazyOrders  whether the orders of trade updates are read into {@link LazyOrder lazy
+   *                    orders}
+   * @param symbolTable the dictionary symbols and asset ids are interned into; may be
+   *                    {@code null}
+   * @param jsonProfile the profile of the mapper updates are decoded and messages are encoded
+   *                    with; {@code null} means the default one
+   */
+  StreamUpdateListener(String keyId, String secretKey,
+                       SubscriptionManager subscriptionManager, Metrics metrics,
+                       boolean lazyOrders, SymbolTable symbolTable, JsonProfile jsonProfile) {
     this.keyId = keyId;
     this.secretKey = secretKey;
     this.subscriptionManager = subscriptionManager;
+    this.metrics = metrics;
+
+    ObjectReader reader = jsonProfile == null
+      ? readerFor(StreamUpdate.class)
+      : readerFor(jsonProfile, StreamUpdate.class);
+
+    if (lazyOrders) {
+      reader = reader.withAttribute(LazyOrder.class, Boolean.TRUE);
+    }
+
+    if (symbolTable != null) {
+      reader = reader.withAttribute(SymbolTable.class, symbolTable);
+    }
+
+    this.updateReader = reader;
+
+    if (jsonProfile == null) {
+      this.authenticationWriter = writerFor(AuthenticationMessage.class);
+      this.subscriptionWriter = writerFor(SubscriptionMessage.class);
+    } else {
+      this.authenticationWriter = writerFor(jsonProfile, AuthenticationMessage.class);
+      this.subscriptionWriter = writerFor(jsonProfile, SubscriptionMessage.class);
+    }
   }
 
   @Override
@@ -71,7 +129,7 @@ class StreamUpdateListener implements WebSocketListener {
           .build())
         .build();
 
-    sendMessage(authenticationMessage);
+    sendMessage(authenticationWriter, authenticationMessage);
   }
 
   @Override
@@ -95,7 +153,7 @@ class StreamUpdateListener implements WebSocketListener {
                 .build())
               .build();
 
-          sendMessage(subscribtionMessage);
+          sendMessage(subscriptionWriter, subscribtionMessage);
           break;
         case SUBSCRIBTION_SENT:
           SubscriptionResponse subscribtionResponse =
@@ -107,9 +165,27 @@ class StreamUpdateListener implements WebSocketListener {
           }
           break;
         case SUBSCRIBED:
-          StreamUpdate streamUpdate = fromJson(payload, StreamUpdate.class);
+          Object context = metrics.frameReceived();
+          long receivedAt = System.nanoTime();
+          long parsedAt = 0;
+          String stream = null;
+
+          try {
+            StreamUpdate streamUpdate = updateReader.readValue(payload);
+            parsedAt = System.nanoTime();
+            stream = streamUpdate.stream().toString();
+
+            subscriptionManager.invoke(streamUpdate.data());
+          } finally {
+            long processedAt = System.nanoTime();
 
-          subscriptionManager.invoke(streamUpdate.data());
+            if (stream == null) {
+              parsedAt = processedAt;
+            }
+
+            metrics.frameProcessed(new FrameEvent(stream, payload.length,
+              parsedAt - receivedAt, processedAt - parsedAt, context));
+          }
           break;
         default:
           throw new IllegalArgumentException(
@@ -151,13 +227,23 @@ class StreamUpdateListener implements WebSocketListener {
     subscriptionManager.invoke(connectionCrash);
   }
 
-  private void sendMessage(Object message) {
-    try {
-      websocket.sendTextFrame(toJson(message));
-    } catch (JsonProcessingException e) {
+  /**
+   * Encodes the message straight into a pooled buffer which is handed over to the WebSocket as
+   * is; Netty releases it once the frame is written.
+   */
+  private void sendMessage(ObjectWriter writer, Object message) {
+    ByteBuf frame = ByteBufAllocator.DEFAULT.buffer();
+
+    try (OutputStream out = new ByteBufOutputStream(frame)) {
+      writer.writeValue(out, message);
+    } catch (IOException e) {
+      frame.release();
       close();
       onError(e);
+      return;
     }
+
+    websocket.sendTextFrame(frame, true, 0);
   }
 
   private void updatePipeline() {
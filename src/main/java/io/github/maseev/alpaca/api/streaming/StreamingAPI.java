@@ -6,11 +6,15 @@ import io.github.maseev.alpaca.api.streaming.listener.ConnectionCloseListener;
 import io.github.maseev.alpaca.api.streaming.listener.ConnectionCrashListener;
 import io.github.maseev.alpaca.api.streaming.listener.TradeUpdateListener;
 import io.github.maseev.alpaca.http.HttpClient;
+import io.github.maseev.alpaca.http.transport.TransportRequest;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.BoundRequestBuilder;
 import org.asynchttpclient.ws.WebSocket;
 import org.asynchttpclient.ws.WebSocketUpgradeHandler;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 public class StreamingAPI implements Closeable {
@@ -18,14 +22,21 @@ public class StreamingAPI implements Closeable {
   private static final String STREAMING_ENDPOINT = "/stream";
 
   private final HttpClient httpClient;
+  private final AsyncHttpClient client;
   private final String keyId;
   private final String secretKey;
   private final SubscriptionManager subscriptionManager;
   private WebSocket connection;
 
-  public StreamingAPI(HttpClient httpClient, String keyId, String secretKey,
-                      SubscriptionManager subscriptionManager) {
+  /**
+   * @param httpClient prepares the request to the streaming endpoint and provides the options of
+   *                   the connection, e.g. the metrics
+   * @param client     opens the WebSocket connection
+   */
+  public StreamingAPI(HttpClient httpClient, AsyncHttpClient client, String keyId,
+                      String secretKey, SubscriptionManager subscriptionManager) {
     this.httpClient = httpClient;
+    this.client = client;
     this.keyId = keyId;
     this.secretKey = secretKey;
     this.subscriptionManager = subscriptionManager;
@@ -38,9 +49,19 @@ public class StreamingAPI implements Closeable {
   public synchronized void connect() throws ExecutionException, InterruptedException, IOException {
     close();
 
-    connection = httpClient.prepare(HttpClient.HttpMethod.GET, STREAMING_ENDPOINT)
+    TransportRequest request =
+      httpClient.prepare(HttpClient.HttpMethod.GET, STREAMING_ENDPOINT).toTransportRequest();
+    BoundRequestBuilder requestBuilder = client.prepareGet(request.getUrl());
+
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      requestBuilder.addHeader(header.getKey(), header.getValue());
+    }
+
+    connection = requestBuilder
       .execute(new WebSocketUpgradeHandler.Builder()
-        .addWebSocketListener(new StreamUpdateListener(keyId, secretKey, subscriptionManager))
+        .addWebSocketListener(new StreamUpdateListener(keyId, secretKey, subscriptionManager,
+          httpClient.getMetrics(), httpClient.isLazyOrders(), httpClient.getSymbolTable(),
+          httpClient.getJsonProfile()))
         .build())
       .get();
   }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.github.maseev.alpaca.api.account.entity.Account;
+import io.github.maseev.alpaca.http.json.DateTimeDeserializer;
 import io.github.maseev.alpaca.http.json.util.DateFormatUtil;
 import org.immutables.value.Value;
 import org.jetbrains.annotations.Nullable;
@@ -21,15 +22,18 @@ public interface AccountUpdate extends Event {
 
   @JsonProperty("created_at")
   @JsonFormat(pattern = DateFormatUtil.DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime createdAt();
 
   @JsonProperty("updated_at")
   @JsonFormat(pattern = DateFormatUtil.DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime updatedAt();
 
   @Nullable
   @JsonProperty("deleted_at")
   @JsonFormat(pattern = DateFormatUtil.DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime deletedAt();
 
   Account.Status status();
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.util.Price;
+import io.github.maseev.alpaca.http.json.DateTimeDeserializer;
 import io.github.maseev.alpaca.http.json.util.DateFormatUtil;
 import org.immutables.value.Value;
 import org.jetbrains.annotations.Nullable;
@@ -48,7 +50,16 @@ public interface TradeUpdate extends Event {
 
   @Nullable
   @JsonFormat(pattern = DateFormatUtil.DATE_TIME_FORMAT)
+  @JsonDeserialize(using = DateTimeDeserializer.class)
   LocalDateTime timestamp();
 
   Order order();
+
+  /**
+   * @return the fill price as a {@link Price scaled long}
+   * or {@link Price#NONE} if there's none
+   */
+  default long priceE8() {
+    return Price.toE8(price());
+  }
 }
@@ -0,0 +1,175 @@
+package io.github.maseev.alpaca.api.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point prices: a price is a {@code long} holding the amount in units of
+ * 10<sup>-{@value #SCALE}</sup>, e.g. {@code 172.26} is {@code 17_226_000_000}. Such prices take
+ * no memory on their own and are compared and summed with plain arithmetic. Every Alpaca tick size
+ * (down to 0.0001 for stocks below $1) is represented exactly, so converting a price to a scaled
+ * {@code long} and back yields the same amount. Amounts up to about 92 billion are supported.
+ */
+public final class Price {
+
+  /**
+   * The number of decimal places of a scaled price.
+   */
+  public static final int SCALE = 8;
+
+  /**
+   * The scaled value of {@code 1}.
+   */
+  public static final long ONE = 100_000_000L;
+
+  /**
+   * Stands for a missing (i.e. {@code null}) price.
+   */
+  public static final long NONE = Long.MIN_VALUE;
+
+  private static final int MAX_DIGITS = 18;
+
+  private Price() {
+  }
+
+  /**
+   * @param price the price or {@code null}
+   * @return the scaled price or {@link #NONE} if {@code price} is {@code null}
+   * @throws ArithmeticException if {@code price} has more than {@value #SCALE} significant
+   *                             decimal places or is out of range
+   */
+  public static long toE8(BigDecimal price) {
+    if (price == null) {
+      return NONE;
+    }
+
+    long value = price.movePointRight(SCALE).longValueExact();
+
+    if (value == NONE) {
+      throw new ArithmeticException("Overflow");
+    }
+
+    return value;
+  }
+
+  /**
+   * @param price the scaled price or {@link #NONE}
+   * @return the price without trailing zeros, e.g. {@code 172.3} for {@code 17_230_000_000}, or
+   * {@code null} if {@code price} is {@link #NONE}
+   */
+  public static BigDecimal toBigDecimal(long price) {
+    if (price == NONE) {
+      return null;
+    }
+
+    int scale = SCALE;
+
+    while (scale > 0 && price % 10 == 0) {
+      price /= 10;
+      --scale;
+    }
+
+    return BigDecimal.valueOf(price, scale);
+  }
+
+  /**
+   * @param price a decimal number such as {@code 172.26} or {@code -0.0001}
+   * @return the scaled price
+   * @throws NumberFormatException if {@code price} isn't a plain decimal number, has more than
+   *                               {@value #SCALE} significant decimal places or is out of range
+   */
+  public static long parse(CharSequence price) {
+    char[] chars = new char[price.length()];
+
+    for (int i = 0; i < chars.length; ++i) {
+      chars[i] = price.charAt(i);
+    }
+
+    return parse(chars, 0, chars.length);
+  }
+
+  /**
+   * Parses a decimal number without allocating anything, e.g. straight from a JSON parser's
+   * buffer.
+   *
+   * @see #parse(CharSequence)
+   */
+  public static long parse(char[] text, int offset, int length) {
+    int i = offset;
+    int end = offset + length;
+    boolean negative = false;
+
+    if (i < end && (text[i] == '-' || text[i] == '+')) {
+      negative = text[i] == '-';
+      ++i;
+    }
+
+    long value = 0;
+    int digits = 0;
+    int fractionDigits = -1;
+    boolean empty = true;
+
+    for (; i < end; ++i) {
+      char c = text[i];
+
+      if (c == '.' && fractionDigits < 0) {
+        fractionDigits = 0;
+        continue;
+      }
+
+      int digit = c - '0';
+
+      if (digit < 0 || digit > 9) {
+        throw invalid(text, offset, length);
+      }
+
+      empty = false;
+
+      if (fractionDigits >= 0) {
+        if (fractionDigits == SCALE) {
+          // only trailing zeros may go beyond the scale
+          if (digit != 0) {
+            throw invalid(text, offset, length);
+          }
+
+          continue;
+        }
+
+        ++fractionDigits;
+      }
+
+      if ((value != 0 || digit != 0) && ++digits > MAX_DIGITS) {
+        throw invalid(text, offset, length);
+      }
+
+      value = value * 10 + digit;
+    }
+
+    if (empty) {
+      throw invalid(text, offset, length);
+    }
+
+    for (int scale = Math.max(fractionDigits, 0); scale < SCALE; ++scale) {
+      if (value > Long.MAX_VALUE / 10) {
+        throw invalid(text, offset, length);
+      }
+
+      value *= 10;
+    }
+
+    return negative ? -value : value;
+  }
+
+  /**
+   * @param price the scaled price
+   * @return the price as a plain decimal number without trailing zeros, e.g. {@code "172.3"}
+   */
+  public static String toString(long price) {
+    return price == NONE ? "null" : toBigDecimal(price).toPlainString();
+  }
+
+  private static NumberFormatException invalid(char[] text, int offset, int length) {
+    return new NumberFormatException(
+      String.format("Not a price with up to %s decimal places: %s", SCALE,
+        new String(text, offset, length)));
+  }
+}
@@ -0,0 +1,58 @@
+package io.github.maseev.alpaca.binary;
+
+/**
+ * The layout of a binary entity stream shared by {@link BinaryWriter} and {@link BinaryReader}.
+ *
+ * <p>A stream starts with {@link #MAGIC} and the {@link #VERSION} of the format, followed by
+ * records. A record is the varint tag of the entity and its fields in the order of the entity's
+ * schema, i.e. the order {@link BinaryWriter} writes them in:
+ *
+ * <ul>
+ * <li>integers are varints; signed ones are zigzag-encoded first, so small negative values stay
+ * short;</li>
+ * <li>decimals (prices, quantities) are fixed-point: a tag which holds the scale, followed by the
+ * unscaled value as a signed varint. {@code 0} stands for {@code null}. Values which don't fit
+ * into a {@code long} are written as the bytes of their {@link java.math.BigInteger};</li>
+ * <li>timestamps are a tag which holds the nanoseconds ({@code 0} stands for {@code null})
+ * followed by the epoch second as a signed varint;</li>
+ * <li>strings are {@code 0} for {@code null}, {@code 1} for a lowercase UUID followed by its 16
+ * bytes or the length plus {@code 2} followed by the UTF-8 bytes;</li>
+ * <li>symbols, asset ids and enum constants are dictionary-coded: the first occurrence of a value
+ * is {@code 1} followed by the string, which gives it the next index of the stream's dictionary;
+ * later occurrences are the index plus {@code 2}. {@code 0} stands for {@code null}. Enum
+ * constants are stored by name, so reordering constants doesn't break existing streams.</li>
+ * </ul>
+ */
+final class BinaryFormat {
+
+  static final byte[] MAGIC = {'A', 'P', 'C', 'A'};
+
+  static final int VERSION = 1;
+
+  static final int ORDER = 1;
+  static final int POSITION = 2;
+  static final int BAR = 3;
+  static final int ASSET = 4;
+
+  static final int NULL = 0;
+
+  static final int UUID = 1;
+  static final int STRING_LENGTH_OFFSET = 2;
+
+  static final int NEW_SYMBOL = 1;
+  static final int SYMBOL_INDEX_OFFSET = 2;
+
+  static final int FALSE = 1;
+  static final int TRUE = 2;
+
+  private BinaryFormat() {
+  }
+
+  static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -0,0 +1,463 @@
+package io.github.maseev.alpaca.binary;
+
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.asset.entity.AssetClass;
+import io.github.maseev.alpaca.api.asset.entity.ImmutableAsset;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.ImmutableBar;
+import io.github.maseev.alpaca.api.entity.Exchange;
+import io.github.maseev.alpaca.api.order.entity.ImmutableOrder;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.position.entity.ImmutablePosition;
+import io.github.maseev.alpaca.api.position.entity.Position;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.maseev.alpaca.binary.BinaryFormat.unZigZag;
+
+/**
+ * Reads entities written by {@link BinaryWriter} one by one, so a stream doesn't need to fit into
+ * memory at once. Entities are read into their {@code Immutable*} implementations. It isn't
+ * thread-safe.
+ *
+ * <pre>{@code
+ * try (BinaryReader reader = new BinaryReader(Files.newInputStream(path))) {
+ *   Order order;
+ *
+ *   while ((order = reader.read(Order.class)) != null) {
+ *     ...
+ *   }
+ * }
+ * }</pre>
+ */
+public final class BinaryReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final InputStream in;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private final List<String> dictionary = new ArrayList<>();
+  private final int version;
+  private int position;
+  private int limit;
+
+  /**
+   * Creates a reader and reads the header of the stream.
+   *
+   * @throws StreamCorruptedException if the stream isn't a binary entity stream or it's written by
+   *                                  a newer version of the format
+   */
+  public BinaryReader(InputStream in) throws IOException {
+    this.in = in;
+
+    for (byte b : BinaryFormat.MAGIC) {
+      if (!fill(1) || buffer[position++] != b) {
+        throw new StreamCorruptedException("Not a binary entity stream");
+      }
+    }
+
+    long version = readVarLong();
+
+    if (version < 1 || version > BinaryFormat.VERSION) {
+      throw new StreamCorruptedException(String.format(
+        "Unsupported version of the binary entity stream: %s; supported: %s", version,
+        BinaryFormat.VERSION));
+    }
+
+    this.version = (int) version;
+  }
+
+  /**
+   * @return the version of the format the stream is written in
+   */
+  public int version() {
+    return version;
+  }
+
+  /**
+   * @return the next entity, i.e. an {@link Order}, a {@link Position}, a {@link Bar} or an
+   * {@link Asset}, or {@code null} if the stream has ended
+   * @throws StreamCorruptedException if the stream is malformed
+   * @throws EOFException             if the stream ends in the middle of an entity
+   */
+  public Object read() throws IOException {
+    if (!fill(1)) {
+      return null;
+    }
+
+    int tag = (int) readVarLong();
+
+    switch (tag) {
+      case BinaryFormat.ORDER:
+        return readOrder();
+      case BinaryFormat.POSITION:
+        return readPosition();
+      case BinaryFormat.BAR:
+        return readBar();
+      case BinaryFormat.ASSET:
+        return readAsset();
+      default:
+        throw new StreamCorruptedException(String.format("Unknown entity tag: %s", tag));
+    }
+  }
+
+  /**
+   * @return the next entity or {@code null} if the stream has ended
+   * @throws StreamCorruptedException if the next entity isn't of the given type
+   */
+  public <T> T read(Class<T> type) throws IOException {
+    Object entity = read();
+
+    if (entity != null && !type.isInstance(entity)) {
+      throw new StreamCorruptedException(String.format("Expected %s, but got %s",
+        type.getSimpleName(), entity.getClass().getSimpleName()));
+    }
+
+    return type.cast(entity);
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private Order readOrder() throws IOException {
+    return build(() -> ImmutableOrder.builder()
+      .id(readString())
+      .clientOrderId(readString())
+      .createdAt(readDateTime())
+      .updatedAt(readDateTime())
+      .submittedAt(readDateTime())
+      .filledAt(readDateTime())
+      .expiredAt(readDateTime())
+      .canceledAt(readDateTime())
+      .failedAt(readDateTime())
+      .assetId(readSymbol())
+      .symbol(readSymbol())
+      .assetClass(readEnum(AssetClass.class))
+      .qty(readSignedVarLong())
+      .filledQty(readSignedVarLong())
+      .type(readEnum(Order.Type.class))
+      .orderType(readEnum(Order.Type.class))
+      .side(readEnum(Order.Side.class))
+      .timeInForce(readEnum(Order.TimeInForce.class))
+      .limitPrice(readDecimal())
+      .stopPrice(readDecimal())
+      .filledAvgPrice(readDecimal())
+      .status(readEnum(Order.Status.class))
+      .extendedHours(readBoolean())
+      .build());
+  }
+
+  private Position readPosition() throws IOException {
+    return build(() -> ImmutablePosition.builder()
+      .assetId(readSymbol())
+      .symbol(readSymbol())
+      .exchange(readEnum(Exchange.class))
+      .assetClass(readEnum(AssetClass.class))
+      .avgEntryPrice(readDecimal())
+      .qty(readSignedVarLong())
+      .side(readEnum(Position.Side.class))
+      .marketValue(readDecimal())
+      .costBasis(readDecimal())
+      .unrealizedPl(readDecimal())
+      .unrealizedPlpc(readDecimal())
+      .unrealizedIntradayPl(readDecimal())
+      .unrealizedIntradayPlpc(readDecimal())
+      .currentPrice(readDecimal())
+      .lastdayPrice(readDecimal())
+      .changeToday(readDecimal())
+      .build());
+  }
+
+  private Bar readBar() throws IOException {
+    return build(() -> ImmutableBar.builder()
+      .time(readInstant())
+      .openPrice(readDecimal())
+      .highPrice(readDecimal())
+      .lowPrice(readDecimal())
+      .closePrice(readDecimal())
+      .volume(readSignedVarLong())
+      .build());
+  }
+
+  private Asset readAsset() throws IOException {
+    return build(() -> ImmutableAsset.builder()
+      .id(readSymbol())
+      .assetClass(readEnum(AssetClass.class))
+      .clazz(readEnum(AssetClass.class))
+      .exchange(readEnum(Exchange.class))
+      .symbol(readSymbol())
+      .status(readEnum(Asset.Status.class))
+      .tradable(readBoolean())
+      .marginable(readBoolean())
+      .shortable(readBoolean())
+      .easyToBorrow(readBoolean())
+      .build());
+  }
+
+  /**
+   * Builds an entity turning the builder's errors (e.g. a missing required field) into
+   * {@link StreamCorruptedException}.
+   */
+  private static <T> T build(EntityBuilder<T> builder) throws IOException {
+    try {
+      return builder.build();
+    } catch (IllegalStateException | NullPointerException ex) {
+      StreamCorruptedException exception = new StreamCorruptedException(ex.getMessage());
+      exception.initCause(ex);
+      throw exception;
+    }
+  }
+
+  private long readVarLong() throws IOException {
+    long value = 0;
+
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      if (!fill(1)) {
+        throw new EOFException();
+      }
+
+      byte b = buffer[position++];
+      value |= (long) (b & 0x7F) << shift;
+
+      if (b >= 0) {
+        return value;
+      }
+    }
+
+    throw new StreamCorruptedException("Malformed varint");
+  }
+
+  private long readSignedVarLong() throws IOException {
+    return unZigZag(readVarLong());
+  }
+
+  private int readLength() throws IOException {
+    long length = readVarLong();
+
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new StreamCorruptedException(String.format("Malformed length: %s", length));
+    }
+
+    return (int) length;
+  }
+
+  private Boolean readBoolean() throws IOException {
+    long value = readVarLong();
+
+    if (value == BinaryFormat.NULL) {
+      return null;
+    }
+
+    if (value == BinaryFormat.FALSE || value == BinaryFormat.TRUE) {
+      return value == BinaryFormat.TRUE;
+    }
+
+    throw new StreamCorruptedException(String.format("Malformed boolean: %s", value));
+  }
+
+  private BigDecimal readDecimal() throws IOException {
+    long tag = readVarLong();
+
+    if (tag == BinaryFormat.NULL) {
+      return null;
+    }
+
+    long scale = unZigZag((tag - 1) >>> 1);
+
+    if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+      throw new StreamCorruptedException(String.format("Malformed scale: %s", scale));
+    }
+
+    if ((tag & 1) == 1) {
+      return BigDecimal.valueOf(readSignedVarLong(), (int) scale);
+    }
+
+    return new BigDecimal(new BigInteger(readBytes(readLength())), (int) scale);
+  }
+
+  private LocalDateTime readDateTime() throws IOException {
+    long nano = readVarLong();
+
+    if (nano == BinaryFormat.NULL) {
+      return null;
+    }
+
+    return LocalDateTime.ofEpochSecond(readSignedVarLong(), checkNano(nano - 1), ZoneOffset.UTC);
+  }
+
+  private Instant readInstant() throws IOException {
+    long nano = readVarLong();
+
+    if (nano == BinaryFormat.NULL) {
+      return null;
+    }
+
+    return Instant.ofEpochSecond(readSignedVarLong(), checkNano(nano - 1));
+  }
+
+  private static int checkNano(long nano) throws StreamCorruptedException {
+    if (nano >= 1_000_000_000L) {
+      throw new StreamCorruptedException(String.format("Malformed nanoseconds: %s", nano));
+    }
+
+    return (int) nano;
+  }
+
+  private <E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+    String name = readSymbol();
+
+    if (name == null) {
+      return null;
+    }
+
+    try {
+      return Enum.valueOf(type, name);
+    } catch (IllegalArgumentException ex) {
+      throw new StreamCorruptedException(
+        String.format("Unknown %s constant: %s", type.getSimpleName(), name));
+    }
+  }
+
+  private String readSymbol() throws IOException {
+    long tag = readVarLong();
+
+    if (tag == BinaryFormat.NULL) {
+      return null;
+    }
+
+    if (tag == BinaryFormat.NEW_SYMBOL) {
+      String value = readString();
+
+      if (value == null) {
+        throw new StreamCorruptedException("A dictionary entry can't be null");
+      }
+
+      dictionary.add(value);
+      return value;
+    }
+
+    long index = tag - BinaryFormat.SYMBOL_INDEX_OFFSET;
+
+    if (index < 0 || index >= dictionary.size()) {
+      throw new StreamCorruptedException(String.format("Unknown dictionary index: %s", index));
+    }
+
+    return dictionary.get((int) index);
+  }
+
+  private String readString() throws IOException {
+    long tag = readVarLong();
+
+    if (tag == BinaryFormat.NULL) {
+      return null;
+    }
+
+    if (tag == BinaryFormat.UUID) {
+      if (!fill(16)) {
+        throw new EOFException();
+      }
+
+      char[] uuid = new char[36];
+      int j = 0;
+
+      for (int i = 0; i < 16; ++i) {
+        if (j == 8 || j == 13 || j == 18 || j == 23) {
+          uuid[j++] = '-';
+        }
+
+        byte b = buffer[position++];
+        uuid[j++] = HEX_DIGITS[(b >> 4) & 0xF];
+        uuid[j++] = HEX_DIGITS[b & 0xF];
+      }
+
+      return new String(uuid);
+    }
+
+    long length = tag - BinaryFormat.STRING_LENGTH_OFFSET;
+
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new StreamCorruptedException(String.format("Malformed length: %s", length));
+    }
+
+    if (length <= buffer.length) {
+      if (!fill((int) length)) {
+        throw new EOFException();
+      }
+
+      String value = new String(buffer, position, (int) length, StandardCharsets.UTF_8);
+      position += (int) length;
+
+      return value;
+    }
+
+    return new String(readBytes((int) length), StandardCharsets.UTF_8);
+  }
+
+  private byte[] readBytes(int length) throws IOException {
+    byte[] bytes = new byte[length];
+    int read = Math.min(length, limit - position);
+
+    System.arraycopy(buffer, position, bytes, 0, read);
+    position += read;
+
+    while (read < length) {
+      int n = in.read(bytes, read, length - read);
+
+      if (n < 0) {
+        throw new EOFException();
+      }
+
+      read += n;
+    }
+
+    return bytes;
+  }
+
+  /**
+   * Makes sure the buffer holds at least {@code length} unread bytes.
+   *
+   * @return {@code false} if the stream ends before that
+   */
+  private boolean fill(int length) throws IOException {
+    if (limit - position >= length) {
+      return true;
+    }
+
+    System.arraycopy(buffer, position, buffer, 0, limit - position);
+    limit -= position;
+    position = 0;
+
+    while (limit < length) {
+      int n = in.read(buffer, limit, buffer.length - limit);
+
+      if (n < 0) {
+        return false;
+      }
+
+      limit += n;
+    }
+
+    return true;
+  }
+
+  @FunctionalInterface
+  private interface EntityBuilder<T> {
+
+    T build() throws IOException;
+  }
+}
@@ -0,0 +1,309 @@
+package io.github.maseev.alpaca.binary;
+
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.position.entity.Position;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.github.maseev.alpaca.binary.BinaryFormat.zigZag;
+
+/**
+ * Writes entities into a compact binary stream which {@link BinaryReader} reads back, e.g. to
+ * persist snapshots between restarts. The layout is described in {@link BinaryFormat}; a stream
+ * is typically several times smaller than the same entities as JSON.
+ *
+ * <p>Writes are buffered, so the writer must be {@link #flush() flushed} or {@link #close()
+ * closed} once done. It isn't thread-safe.
+ *
+ * <pre>{@code
+ * try (BinaryWriter writer = new BinaryWriter(Files.newOutputStream(path))) {
+ *   for (Order order : orders) {
+ *     writer.write(order);
+ *   }
+ * }
+ * }</pre>
+ */
+public final class BinaryWriter implements Closeable, Flushable {
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final int MAX_VARINT_LENGTH = 10;
+
+  private final OutputStream out;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private final Map<String, Integer> dictionary = new HashMap<>();
+  private int position;
+
+  /**
+   * Creates a writer and writes the header of the stream.
+   */
+  public BinaryWriter(OutputStream out) throws IOException {
+    this.out = out;
+
+    writeBytes(BinaryFormat.MAGIC, 0, BinaryFormat.MAGIC.length);
+    writeVarLong(BinaryFormat.VERSION);
+  }
+
+  public void write(Order order) throws IOException {
+    writeVarLong(BinaryFormat.ORDER);
+    writeString(order.id());
+    writeString(order.clientOrderId());
+    writeDateTime(order.createdAt());
+    writeDateTime(order.updatedAt());
+    writeDateTime(order.submittedAt());
+    writeDateTime(order.filledAt());
+    writeDateTime(order.expiredAt());
+    writeDateTime(order.canceledAt());
+    writeDateTime(order.failedAt());
+    writeSymbol(order.assetId());
+    writeSymbol(order.symbol());
+    writeEnum(order.assetClass());
+    writeSignedVarLong(order.qty());
+    writeSignedVarLong(order.filledQty());
+    writeEnum(order.type());
+    writeEnum(order.orderType());
+    writeEnum(order.side());
+    writeEnum(order.timeInForce());
+    writeDecimal(order.limitPrice());
+    writeDecimal(order.stopPrice());
+    writeDecimal(order.filledAvgPrice());
+    writeEnum(order.status());
+    writeBoolean(order.extendedHours());
+  }
+
+  public void write(Position position) throws IOException {
+    writeVarLong(BinaryFormat.POSITION);
+    writeSymbol(position.assetId());
+    writeSymbol(position.symbol());
+    writeEnum(position.exchange());
+    writeEnum(position.assetClass());
+    writeDecimal(position.avgEntryPrice());
+    writeSignedVarLong(position.qty());
+    writeEnum(position.side());
+    writeDecimal(position.marketValue());
+    writeDecimal(position.costBasis());
+    writeDecimal(position.unrealizedPl());
+    writeDecimal(position.unrealizedPlpc());
+    writeDecimal(position.unrealizedIntradayPl());
+    writeDecimal(position.unrealizedIntradayPlpc());
+    writeDecimal(position.currentPrice());
+    writeDecimal(position.lastdayPrice());
+    writeDecimal(position.changeToday());
+  }
+
+  public void write(Bar bar) throws IOException {
+    writeVarLong(BinaryFormat.BAR);
+    writeInstant(bar.time());
+    writeDecimal(bar.openPrice());
+    writeDecimal(bar.highPrice());
+    writeDecimal(bar.lowPrice());
+    writeDecimal(bar.closePrice());
+    writeSignedVarLong(bar.volume());
+  }
+
+  public void write(Asset asset) throws IOException {
+    writeVarLong(BinaryFormat.ASSET);
+    writeSymbol(asset.id());
+    writeEnum(asset.assetClass());
+    writeEnum(asset.clazz());
+    writeEnum(asset.exchange());
+    writeSymbol(asset.symbol());
+    writeEnum(asset.status());
+    writeBoolean(asset.tradable());
+    writeBoolean(asset.marginable());
+    writeBoolean(asset.shortable());
+    writeBoolean(asset.easyToBorrow());
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (position > 0) {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      out.close();
+    }
+  }
+
+  private void writeVarLong(long value) throws IOException {
+    ensureCapacity(MAX_VARINT_LENGTH);
+
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+
+    buffer[position++] = (byte) value;
+  }
+
+  private void writeSignedVarLong(long value) throws IOException {
+    writeVarLong(zigZag(value));
+  }
+
+  private void writeBoolean(Boolean value) throws IOException {
+    writeVarLong(value == null
+      ? BinaryFormat.NULL
+      : value ? BinaryFormat.TRUE : BinaryFormat.FALSE);
+  }
+
+  private void writeDecimal(BigDecimal value) throws IOException {
+    if (value == null) {
+      writeVarLong(BinaryFormat.NULL);
+      return;
+    }
+
+    long scale = zigZag(value.scale());
+    BigInteger unscaled = value.unscaledValue();
+
+    if (unscaled.bitLength() < Long.SIZE) {
+      writeVarLong(scale * 2 + 1);
+      writeSignedVarLong(unscaled.longValue());
+    } else {
+      byte[] bytes = unscaled.toByteArray();
+
+      writeVarLong(scale * 2 + 2);
+      writeVarLong(bytes.length);
+      writeBytes(bytes, 0, bytes.length);
+    }
+  }
+
+  private void writeDateTime(LocalDateTime value) throws IOException {
+    if (value == null) {
+      writeVarLong(BinaryFormat.NULL);
+      return;
+    }
+
+    writeVarLong(value.getNano() + 1L);
+    writeSignedVarLong(value.toEpochSecond(ZoneOffset.UTC));
+  }
+
+  private void writeInstant(Instant value) throws IOException {
+    if (value == null) {
+      writeVarLong(BinaryFormat.NULL);
+      return;
+    }
+
+    writeVarLong(value.getNano() + 1L);
+    writeSignedVarLong(value.getEpochSecond());
+  }
+
+  private void writeEnum(Enum<?> value) throws IOException {
+    writeSymbol(value == null ? null : value.name());
+  }
+
+  private void writeSymbol(String value) throws IOException {
+    if (value == null) {
+      writeVarLong(BinaryFormat.NULL);
+      return;
+    }
+
+    Integer index = dictionary.get(value);
+
+    if (index != null) {
+      writeVarLong(index + (long) BinaryFormat.SYMBOL_INDEX_OFFSET);
+      return;
+    }
+
+    dictionary.put(value, dictionary.size());
+    writeVarLong(BinaryFormat.NEW_SYMBOL);
+    writeString(value);
+  }
+
+  private void writeString(String value) throws IOException {
+    if (value == null) {
+      writeVarLong(BinaryFormat.NULL);
+      return;
+    }
+
+    if (isUuid(value)) {
+      writeVarLong(BinaryFormat.UUID);
+      ensureCapacity(16);
+
+      for (int i = 0; i < value.length(); ++i) {
+        if (i == 8 || i == 13 || i == 18 || i == 23) {
+          continue;
+        }
+
+        int high = Character.digit(value.charAt(i), 16);
+        int low = Character.digit(value.charAt(++i), 16);
+
+        buffer[position++] = (byte) (high << 4 | low);
+      }
+
+      return;
+    }
+
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+    writeVarLong(bytes.length + (long) BinaryFormat.STRING_LENGTH_OFFSET);
+    writeBytes(bytes, 0, bytes.length);
+  }
+
+  private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+    if (length > buffer.length) {
+      flushBuffer();
+      out.write(bytes, offset, length);
+      return;
+    }
+
+    ensureCapacity(length);
+    System.arraycopy(bytes, offset, buffer, position, length);
+    position += length;
+  }
+
+  private void ensureCapacity(int length) throws IOException {
+    if (buffer.length - position < length) {
+      flushBuffer();
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    out.write(buffer, 0, position);
+    position = 0;
+  }
+
+  /**
+   * @return whether {@code value} is a UUID in the canonical lowercase form, so it can be written
+   * as 16 bytes and read back as the same string
+   */
+  private static boolean isUuid(String value) {
+    if (value.length() != 36) {
+      return false;
+    }
+
+    for (int i = 0; i < 36; ++i) {
+      char c = value.charAt(i);
+
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (c != '-') {
+          return false;
+        }
+      } else if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
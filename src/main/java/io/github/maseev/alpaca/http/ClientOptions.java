@@ -0,0 +1,141 @@
+package io.github.maseev.alpaca.http;
+
+import io.github.maseev.alpaca.api.bar.cache.BarCache;
+import io.github.maseev.alpaca.http.json.JsonProfile;
+import io.github.maseev.alpaca.http.json.PriceMode;
+import io.github.maseev.alpaca.http.json.SymbolTable;
+import io.github.maseev.alpaca.http.metrics.Metrics;
+import io.github.maseev.alpaca.http.metrics.NoopMetrics;
+import io.github.maseev.alpaca.http.ratelimit.RateLimit;
+import io.github.maseev.alpaca.http.retry.RetryPolicy;
+import io.github.maseev.alpaca.http.transport.Transport;
+import io.github.maseev.alpaca.http.warmup.WarmUp;
+import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Optional behaviour of the HTTP layer shared by all the REST APIs. Everything is turned off by
+ * default.
+ */
+@Value.Immutable
+public interface ClientOptions {
+
+  /**
+   * @return The client-side request budget per API key; requests beyond it are queued until
+   * the budget allows them to go out. {@code null} sends every request right away
+   */
+  @Nullable
+  RateLimit rateLimit();
+
+  /**
+   * @return The retry policy applied to every endpoint which doesn't have its own one.
+   * {@code null} means failed requests aren't retried
+   */
+  @Nullable
+  RetryPolicy retryPolicy();
+
+  /**
+   * @return Retry policies for particular endpoints keyed by the endpoint's path, e.g.
+   * {@code OrderAPI.ENDPOINT}. A policy applies to every request whose path starts with the key;
+   * the longest key wins
+   */
+  Map<String, RetryPolicy> endpointRetryPolicies();
+
+  /**
+   * @return Endpoints whose identical concurrent {@code GET} requests share a single round trip,
+   * e.g. {@code ClockAPI.ENDPOINT}. A request is coalesced if its path starts with one of them
+   */
+  Set<String> coalescedEndpoints();
+
+  /**
+   * @return The executor which decodes responses and runs {@link Listenable} callbacks; defaults to
+   * {@link ForkJoinPool#commonPool()}. It keeps the HTTP client's I/O threads free, so a slow
+   * callback can't stall other connections
+   */
+  @Value.Default
+  default Executor callbackExecutor() {
+    return ForkJoinPool.commonPool();
+  }
+
+  /**
+   * @return The transport the REST requests are sent through, e.g.
+   * {@link io.github.maseev.alpaca.http.transport.Transports#javaHttpClient()} for HTTP/2. It's
+   * closed along with {@link io.github.maseev.alpaca.api.AlpacaAPI}. {@code null} means the
+   * {@code AsyncHttpClient} transport is used. The streaming API always uses
+   * {@code AsyncHttpClient}
+   */
+  @Nullable
+  Transport transport();
+
+  /**
+   * @return Receives the timings and the outcome of every REST request, e.g.
+   * {@link io.github.maseev.alpaca.http.metrics.InMemoryMetrics}; nothing is recorded by default
+   */
+  @Value.Default
+  default Metrics metrics() {
+    return NoopMetrics.INSTANCE;
+  }
+
+  /**
+   * @return Connections to open at startup and keep alive, so the first order doesn't pay for
+   * the connection setup. {@code null} means connections are opened on demand
+   */
+  @Nullable
+  WarmUp warmUp();
+
+  /**
+   * @return How prices of bars are decoded; defaults to {@link PriceMode#BIG_DECIMAL}.
+   * {@link PriceMode#FIXED_POINT} saves memory and CPU for bar-heavy workloads
+   */
+  @Value.Default
+  default PriceMode priceMode() {
+    return PriceMode.BIG_DECIMAL;
+  }
+
+  /**
+   * @return Whether lists of orders and the orders of trade updates are read into
+   * {@link io.github.maseev.alpaca.api.order.entity.LazyOrder lazy orders}, which only decode the
+   * fields that are actually used; {@code false} by default
+   */
+  @Value.Default
+  default boolean lazyOrders() {
+    return false;
+  }
+
+  /**
+   * @return The dictionary which symbols and asset ids of decoded entities are interned into, so
+   * long-running processes keep a single copy of each of them; it may be shared by several
+   * clients. {@code null} means every entity holds its own copies
+   */
+  @Nullable
+  SymbolTable symbolTable();
+
+  /**
+   * @return How the Jackson mapper which decodes responses and streaming updates and encodes
+   * requests is set up, e.g. with every entity's deserializer resolved at startup. {@code null} means
+   * the default mapper is used
+   */
+  @Nullable
+  JsonProfile jsonProfile();
+
+  /**
+   * @return The cache bars are read through, so overlapping requests only fetch each bar once; it
+   * may be shared by several clients. {@code null} means every request is sent as it is
+   */
+  @Nullable
+  BarCache barCache();
+
+  /**
+   * @return How long a single-symbol bar request waits for requests of other symbols with the
+   * same timeframe, time range and limit, so they're all sent as one request of up to 200
+   * symbols. {@code null} means every request is sent right away
+   */
+  @Nullable
+  Duration barBatchWindow();
+}
@@ -1,8 +1,36 @@
 package io.github.maseev.alpaca.http;
 
+import io.github.maseev.alpaca.api.bar.cache.BarCache;
+import io.github.maseev.alpaca.http.coalesce.RequestCoalescer;
+import io.github.maseev.alpaca.http.json.JsonProfile;
+import io.github.maseev.alpaca.http.json.PriceMode;
+import io.github.maseev.alpaca.http.json.SymbolTable;
+import io.github.maseev.alpaca.http.json.util.JsonUtil;
+import io.github.maseev.alpaca.http.metrics.Metrics;
+import io.github.maseev.alpaca.http.metrics.RequestTrace;
+import io.github.maseev.alpaca.http.ratelimit.RateLimiter;
+import io.github.maseev.alpaca.http.retry.RetryExecutor;
+import io.github.maseev.alpaca.http.retry.RetryPolicy;
+import io.github.maseev.alpaca.http.transformer.Transformer;
+import io.github.maseev.alpaca.http.transport.AsyncHttpClientTransport;
+import io.github.maseev.alpaca.http.transport.Transport;
+import io.github.maseev.alpaca.http.transport.TransportRequest;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 import io.github.maseev.alpaca.http.util.ContentType;
 import org.asynchttpclient.AsyncHttpClient;
-import org.asynchttpclient.BoundRequestBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 public class HttpClient {
 
@@ -14,33 +42,362 @@ public class HttpClient {
 
   private static final String APCA_API_KEY_ID = "APCA-API-KEY-ID";
   private static final String APCA_API_SECRET_KEY = "APCA-API-SECRET-KEY";
+  private static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+  private static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+  private static final String HEAD = "HEAD";
 
   private final String baseUrl;
   private final String keyId;
   private final String secretKey;
-  private final AsyncHttpClient client;
+  private final Transport transport;
+  private final RateLimiter rateLimiter;
+  private final RetryExecutor retryExecutor;
+  private final Map<String, RetryExecutor> endpointRetryExecutors;
+  private final Set<String> coalescedEndpoints;
+  private final RequestCoalescer coalescer;
+  private final Executor callbackExecutor;
+  private final Metrics metrics;
+  private final PriceMode priceMode;
+  private final boolean lazyOrders;
+  private final SymbolTable symbolTable;
+  private final JsonProfile jsonProfile;
+  private final BarCache barCache;
+  private final Duration barBatchWindow;
+  /**
+   * The shared transformers bound to {@link #jsonProfile} and {@link #symbolTable}, so the readers
+   * are only derived once.
+   */
+  private final Map<Transformer<?>, Transformer<?>> boundTransformers = new ConcurrentHashMap<>();
 
   public HttpClient(String baseUrl, String keyId, String secretKey, AsyncHttpClient client) {
+    this(baseUrl, keyId, secretKey, client, ImmutableClientOptions.builder().build());
+  }
+
+  public HttpClient(String baseUrl, String keyId, String secretKey, AsyncHttpClient client,
+                    ClientOptions options) {
+    this(baseUrl, keyId, secretKey, client, options,
+      options.coalescedEndpoints().isEmpty() ? null : new RequestCoalescer());
+  }
+
+  /**
+   * @param coalescer merges identical concurrent requests to
+   *                  {@link ClientOptions#coalescedEndpoints() coalesced endpoints}; it may be
+   *                  shared by several clients
+   */
+  public HttpClient(String baseUrl, String keyId, String secretKey, AsyncHttpClient client,
+                    ClientOptions options, RequestCoalescer coalescer) {
+    this(baseUrl, keyId, secretKey, new AsyncHttpClientTransport(client), options, coalescer);
+  }
+
+  /**
+   * @param transport sends the requests
+   * @param coalescer merges identical concurrent requests to
+   *                  {@link ClientOptions#coalescedEndpoints() coalesced endpoints}; it may be
+   *                  shared by several clients
+   */
+  public HttpClient(String baseUrl, String keyId, String secretKey, Transport transport,
+                    ClientOptions options, RequestCoalescer coalescer) {
     this.baseUrl = baseUrl;
     this.keyId = keyId;
     this.secretKey = secretKey;
-    this.client = client;
+    this.transport = transport;
+    this.rateLimiter = options.rateLimit() == null
+      ? null
+      : RateLimiter.forKey(keyId, URI.create(baseUrl).getAuthority(), options.rateLimit());
+    this.retryExecutor =
+      options.retryPolicy() == null ? null : new RetryExecutor(options.retryPolicy());
+    this.endpointRetryExecutors = new HashMap<>();
+
+    for (Map.Entry<String, RetryPolicy> entry : options.endpointRetryPolicies().entrySet()) {
+      endpointRetryExecutors.put(entry.getKey(), new RetryExecutor(entry.getValue()));
+    }
+
+    this.coalescedEndpoints = options.coalescedEndpoints();
+    this.coalescer = coalescedEndpoints.isEmpty() ? null : coalescer;
+    this.callbackExecutor = options.callbackExecutor();
+    this.metrics = options.metrics();
+    this.priceMode = options.priceMode();
+    this.lazyOrders = options.lazyOrders();
+    this.symbolTable = options.symbolTable();
+    this.jsonProfile = options.jsonProfile();
+    this.barCache = options.barCache();
+    this.barBatchWindow = options.barBatchWindow();
+
+    if (jsonProfile != null) {
+      JsonUtil.initialize(jsonProfile);
+    }
   }
 
-  public BoundRequestBuilder prepare(HttpMethod method, String endpoint) {
-    BoundRequestBuilder requestBuilder =
-      client.prepare(method.toString(), baseUrl + endpoint)
+  public RequestBuilder prepare(HttpMethod method, String endpoint) {
+    return newRequest(method, endpoint, endpoint);
+  }
+
+  public RequestBuilder prepare(HttpMethod method, String endpoint, String pathParameter) {
+    return newRequest(method, endpoint + '/' + pathParameter, endpoint + "/*");
+  }
+
+  private RequestBuilder newRequest(HttpMethod method, String endpoint, String endpointTemplate) {
+    RequestBuilder requestBuilder =
+      new RequestBuilder(this, method, baseUrl, endpoint, endpointTemplate)
         .addHeader(APCA_API_KEY_ID, keyId)
         .addHeader(APCA_API_SECRET_KEY, secretKey);
 
-    if (method == HttpMethod.DELETE) {
-      return requestBuilder;
+    if (method != HttpMethod.DELETE) {
+      requestBuilder.addHeader(ContentType.CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON);
+    }
+
+    return requestBuilder;
+  }
+
+  /**
+   * Sends a bare {@code HEAD} request for the base URL straight to the transport, so it opens (or
+   * touches) a pooled connection to the host. The request bypasses the rate limiter, retries and
+   * metrics, and its response, whatever the status code, is only good for keeping the connection
+   * busy.
+   *
+   * @return a future which completes once the response has arrived
+   */
+  public CompletableFuture<TransportResponse> touchConnection() {
+    return transport.execute(
+      new TransportRequest(HEAD, baseUrl, Collections.emptyMap(), null));
+  }
+
+  public Transport getTransport() {
+    return transport;
+  }
+
+  /**
+   * @return the rate limiter guarding the API key's budget or {@code null} if requests aren't
+   * rate limited
+   */
+  public RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * @return the coalescer which merges identical concurrent requests or {@code null} if requests
+   * aren't coalesced
+   */
+  public RequestCoalescer getCoalescer() {
+    return coalescer;
+  }
+
+  /**
+   * @return the executor which decodes responses and runs callbacks
+   */
+  public Executor getCallbackExecutor() {
+    return callbackExecutor;
+  }
+
+  public Metrics getMetrics() {
+    return metrics;
+  }
+
+  public PriceMode getPriceMode() {
+    return priceMode;
+  }
+
+  /**
+   * @return whether lists of orders are read into
+   * {@link io.github.maseev.alpaca.api.order.entity.LazyOrder lazy orders}
+   */
+  public boolean isLazyOrders() {
+    return lazyOrders;
+  }
+
+  /**
+   * @return the dictionary decoded identifiers are interned into or {@code null} if they aren't
+   * interned
+   */
+  public SymbolTable getSymbolTable() {
+    return symbolTable;
+  }
+
+  /**
+   * @return the profile of the mapper responses are decoded with or {@code null} if they're
+   * decoded with the default one
+   */
+  public JsonProfile getJsonProfile() {
+    return jsonProfile;
+  }
+
+  /**
+   * @return the cache bars are read through or {@code null} if they aren't cached
+   */
+  public BarCache getBarCache() {
+    return barCache;
+  }
+
+  /**
+   * @return how long single-symbol bar requests wait to be batched or {@code null} if they
+   * aren't batched
+   */
+  public Duration getBarBatchWindow() {
+    return barBatchWindow;
+  }
+
+  <T> Listenable<T> execute(RequestBuilder request, Transformer<T> transformer) {
+    RequestTrace trace = newTrace(request);
+
+    if (jsonProfile != null || symbolTable != null) {
+      transformer = bind(transformer);
+    }
+    CompletableFuture<T> result;
+
+    if (coalescer != null && isCoalesced(request)) {
+      result = coalescer.execute(getKey(request), transformer, trace,
+        () -> executeOffEventLoop(request, trace));
+    } else {
+      result = transformer.transform(executeOffEventLoop(request, trace), trace);
+    }
+
+    result.whenComplete((value, ex) -> trace.completed());
+
+    return Listenable.of(result, callbackExecutor);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Transformer<T> bind(Transformer<T> transformer) {
+    return (Transformer<T>) boundTransformers.computeIfAbsent(transformer, x -> {
+      Transformer<?> bound = jsonProfile == null ? x : x.withProfile(jsonProfile);
+
+      return symbolTable == null ? bound : bound.withAttribute(SymbolTable.class, symbolTable);
+    });
+  }
+
+  /**
+   * Hands the response over to the callback executor, so decoding it and everything chained to it
+   * doesn't run on the I/O thread which received it.
+   */
+  private CompletableFuture<TransportResponse> executeOffEventLoop(RequestBuilder request,
+                                                                   RequestTrace trace) {
+    return execute(request, trace).whenCompleteAsync((response, ex) -> {
+    }, callbackExecutor);
+  }
+
+  CompletableFuture<TransportResponse> execute(RequestBuilder request) {
+    RequestTrace trace = newTrace(request);
+
+    return execute(request, trace).whenComplete((response, ex) -> trace.completed());
+  }
+
+  private CompletableFuture<TransportResponse> execute(RequestBuilder request,
+                                                       RequestTrace trace) {
+    RetryExecutor executor = getRetryExecutor(request.getEndpoint());
+
+    if (executor == null
+      || !(request.isRetryable() || executor.getPolicy().retryNonIdempotent())) {
+      return send(request, trace);
     }
 
-    return requestBuilder.addHeader(ContentType.CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON);
+    return executor.execute(() -> send(request, trace));
   }
 
-  public BoundRequestBuilder prepare(HttpMethod method, String endpoint, String pathParameter) {
-    return prepare(method, endpoint + '/' + pathParameter);
+  private RequestTrace newTrace(RequestBuilder request) {
+    return new RequestTrace(metrics, request.getMethod().toString(),
+      request.getEndpointTemplate());
+  }
+
+  private boolean isCoalesced(RequestBuilder request) {
+    if (request.getMethod() != HttpMethod.GET) {
+      return false;
+    }
+
+    for (String endpoint : coalescedEndpoints) {
+      if (request.getEndpoint().startsWith(endpoint)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private String getKey(RequestBuilder request) {
+    StringBuilder key = new StringBuilder()
+      .append(request.getMethod())
+      .append(' ')
+      .append(baseUrl)
+      .append(request.getEndpoint());
+
+    List<Map.Entry<String, String>> queryParams = new ArrayList<>(request.getQueryParams());
+    queryParams.sort(Map.Entry.<String, String>comparingByKey()
+      .thenComparing(Map.Entry.comparingByValue()));
+
+    char separator = '?';
+
+    for (Map.Entry<String, String> param : queryParams) {
+      key.append(separator).append(param.getKey()).append('=').append(param.getValue());
+      separator = '&';
+    }
+
+    return key.toString();
+  }
+
+  private RetryExecutor getRetryExecutor(String endpoint) {
+    RetryExecutor executor = retryExecutor;
+    int longestMatch = -1;
+
+    for (Map.Entry<String, RetryExecutor> entry : endpointRetryExecutors.entrySet()) {
+      String prefix = entry.getKey();
+
+      if (endpoint.startsWith(prefix) && prefix.length() > longestMatch) {
+        executor = entry.getValue();
+        longestMatch = prefix.length();
+      }
+    }
+
+    return executor;
+  }
+
+  private CompletableFuture<TransportResponse> send(RequestBuilder request, RequestTrace trace) {
+    trace.attemptQueued();
+
+    if (rateLimiter == null) {
+      return sendNow(request, trace);
+    }
+
+    CompletableFuture<TransportResponse> future =
+      rateLimiter.acquire()
+        .thenCompose(permit -> sendNow(request, trace));
+
+    if (!rateLimiter.isSyncWithServer()) {
+      return future;
+    }
+
+    return future.whenComplete((response, ex) -> {
+      if (response != null) {
+        syncRateLimit(response);
+      }
+    });
+  }
+
+  private CompletableFuture<TransportResponse> sendNow(RequestBuilder request,
+                                                       RequestTrace trace) {
+    trace.attemptSent();
+
+    return transport.execute(request.toTransportRequest())
+      .whenComplete((response, ex) ->
+        trace.attemptCompleted(response == null ? 0 : response.getStatusCode()));
+  }
+
+  private void syncRateLimit(TransportResponse response) {
+    boolean throttled = response.getStatusCode() == HttpCode.TOO_MANY_REQUESTS.getCode();
+    String remaining = response.getHeader(RATE_LIMIT_REMAINING);
+
+    if (remaining == null && !throttled) {
+      return;
+    }
+
+    try {
+      String reset = response.getHeader(RATE_LIMIT_RESET);
+      Duration untilReset = reset == null
+        ? Duration.ZERO
+        : Duration.ofMillis(
+            TimeUnit.SECONDS.toMillis(Long.parseLong(reset.trim())) - System.currentTimeMillis());
+
+      rateLimiter.update(throttled ? 0 : Long.parseLong(remaining.trim()), untilReset);
+    } catch (NumberFormatException ex) {
+      // the budget is only advisory, so malformed headers are ignored
+    }
   }
 }
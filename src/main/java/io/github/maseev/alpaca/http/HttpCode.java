@@ -7,8 +7,8 @@ import io.github.maseev.alpaca.http.exception.ForbiddenException;
 import io.github.maseev.alpaca.http.exception.UnrecognizedServerErrorException;
 import io.github.maseev.alpaca.http.exception.RateLimitException;
 import io.github.maseev.alpaca.http.exception.UnprocessableException;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 import java.util.function.Function;
-import org.asynchttpclient.Response;
 
 public enum HttpCode {
 
@@ -22,14 +22,14 @@ public enum HttpCode {
   INTERNAL_SERVER_ERROR(999, UnrecognizedServerErrorException::new);
 
   private final int code;
-  private final Function<Response, APIException> exceptionSupplier;
+  private final Function<TransportResponse, APIException> exceptionSupplier;
 
   HttpCode(int code) {
     this.code = code;
     exceptionSupplier = null;
   }
 
-  HttpCode(int code, Function<Response, APIException> exceptionSupplier) {
+  HttpCode(int code, Function<TransportResponse, APIException> exceptionSupplier) {
     this.code = code;
     this.exceptionSupplier = exceptionSupplier;
   }
@@ -38,7 +38,7 @@ public enum HttpCode {
     return code;
   }
 
-  public void doThrow(Response response) throws APIException {
+  public void doThrow(TransportResponse response) throws APIException {
     if (exceptionSupplier != null) {
       throw exceptionSupplier.apply(response);
     }
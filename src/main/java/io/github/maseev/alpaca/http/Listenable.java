@@ -2,46 +2,177 @@ package io.github.maseev.alpaca.http;
 
 import io.github.maseev.alpaca.http.exception.APIException;
 import io.github.maseev.alpaca.http.exception.InternalException;
-import io.github.maseev.alpaca.http.transformer.Transformer;
+import io.github.maseev.alpaca.http.util.SchedulerUtil;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import org.asynchttpclient.ListenableFuture;
-import org.asynchttpclient.Response;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-public final class Listenable<T> {
+/**
+ * The result of an API call. It's a regular {@link CompletableFuture}, so it can be composed with
+ * {@code thenApply}, {@code thenCompose} and the like, and it never requires blocking a thread.
+ * The response is decoded on the {@link ClientOptions#callbackExecutor() callback executor}, so
+ * neither decoding nor callbacks run on the HTTP client's I/O threads.
+ *
+ * <p>If the request fails, the future completes exceptionally with an {@link APIException}:
+ * {@link #await()} throws it and {@link #onComplete(ResponseHandler)} hands it over as it is, while
+ * {@link #get()} wraps it into an {@link ExecutionException} and {@link #join()} into a
+ * {@link CompletionException}, like any other {@link CompletableFuture}.
+ *
+ * <p>Only the client completes a {@link Listenable}: {@link #complete(Object)},
+ * {@link #completeExceptionally(Throwable)} and the other methods which would replace the response
+ * throw {@link UnsupportedOperationException}. Cancelling it only affects this future.
+ * For the same reason {@code orTimeout} and {@code completeOnTimeout} return a dependent future
+ * which times out instead of this one.
+ */
+public final class Listenable<T> extends CompletableFuture<T> {
 
-  private final Transformer<T> transformer;
-  private final ListenableFuture<Response> future;
+  private final Executor executor;
 
-  public Listenable(Transformer<T> transformer, ListenableFuture<Response> future) {
-    this.transformer = transformer;
-    this.future = future;
+  private Listenable(Executor executor) {
+    this.executor = executor;
   }
 
-  public void onComplete(ResponseHandler<T> responseHandler) {
-    future.addListener(() -> {
-      try {
-        responseHandler.onSuccess(transform());
-      } catch (APIException ex) {
-        responseHandler.onError(ex);
+  /**
+   * @param future   the pending value
+   * @param executor the executor which runs {@link #onComplete(ResponseHandler) callbacks}
+   * @return a {@link Listenable} which completes along with {@code future}
+   */
+  public static <T> Listenable<T> of(CompletableFuture<T> future, Executor executor) {
+    Listenable<T> listenable = new Listenable<>(executor);
+
+    future.whenComplete((result, throwable) -> {
+      if (throwable == null) {
+        listenable.resolve(result);
+      } else {
+        listenable.fail(throwable);
       }
-    }, null);
+    });
+
+    return listenable;
   }
 
-  public T await() throws APIException {
-    return transform();
+  @Override
+  public boolean complete(T value) {
+    throw new UnsupportedOperationException("A Listenable is only completed by the client");
   }
 
-  private T transform() throws APIException {
-    try {
-      Response response = future.get();
+  @Override
+  public boolean completeExceptionally(Throwable ex) {
+    throw new UnsupportedOperationException("A Listenable is only completed by the client");
+  }
+
+  @Override
+  public void obtrudeValue(T value) {
+    throw new UnsupportedOperationException("A Listenable is only completed by the client");
+  }
+
+  @Override
+  public void obtrudeException(Throwable ex) {
+    throw new UnsupportedOperationException("A Listenable is only completed by the client");
+  }
+
+  // the methods below override the ones CompletableFuture has since Java 9
+
+  public CompletableFuture<T> completeAsync(Supplier<? extends T> supplier, Executor executor) {
+    throw new UnsupportedOperationException("A Listenable is only completed by the client");
+  }
+
+  public CompletableFuture<T> completeAsync(Supplier<? extends T> supplier) {
+    throw new UnsupportedOperationException("A Listenable is only completed by the client");
+  }
+
+  /**
+   * @return a dependent future which completes with {@code value} unless this one completes
+   * within the timeout
+   */
+  public CompletableFuture<T> completeOnTimeout(T value, long timeout, TimeUnit unit) {
+    return copyWithTimeout(timeout, unit, copy -> copy.complete(value));
+  }
+
+  /**
+   * @return a dependent future which completes exceptionally with a {@link TimeoutException}
+   * unless this one completes within the timeout
+   */
+  public CompletableFuture<T> orTimeout(long timeout, TimeUnit unit) {
+    return copyWithTimeout(timeout, unit,
+      copy -> copy.completeExceptionally(new TimeoutException()));
+  }
+
+  /**
+   * Registers a callback which is run on the callback executor once the value is available.
+   */
+  public void onComplete(ResponseHandler<T> responseHandler) {
+    whenCompleteAsync((result, throwable) -> {
+      if (throwable == null) {
+        responseHandler.onSuccess(result);
+      } else {
+        responseHandler.onError(toAPIException(throwable));
+      }
+    }, executor);
+  }
 
-      return transformer.transform(response);
+  /**
+   * Blocks the current thread until the value is available.
+   */
+  public T await() throws APIException {
+    try {
+      return get();
     } catch (InterruptedException ex) {
       Thread.currentThread().interrupt();
       throw new InternalException(ex);
     } catch (ExecutionException | CancellationException ex) {
-      throw new InternalException(ex);
+      throw toAPIException(ex);
+    }
+  }
+
+  /**
+   * @return the executor which runs decoding and callbacks
+   */
+  public Executor executor() {
+    return executor;
+  }
+
+  private CompletableFuture<T> copyWithTimeout(long timeout, TimeUnit unit,
+                                               Consumer<CompletableFuture<T>> onTimeout) {
+    CompletableFuture<T> copy = thenApply(Function.identity());
+
+    if (!copy.isDone()) {
+      ScheduledFuture<?> timer =
+        SchedulerUtil.scheduler().schedule(() -> onTimeout.accept(copy), timeout, unit);
+      copy.whenComplete((result, throwable) -> timer.cancel(false));
+    }
+
+    return copy;
+  }
+
+  private void resolve(T value) {
+    super.complete(value);
+  }
+
+  private void fail(Throwable ex) {
+    super.completeExceptionally(ex);
+  }
+
+  private static APIException toAPIException(Throwable throwable) {
+    Throwable cause = throwable;
+
+    if ((throwable instanceof ExecutionException || throwable instanceof CompletionException)
+      && throwable.getCause() != null) {
+      cause = throwable.getCause();
     }
+
+    if (cause instanceof APIException) {
+      return (APIException) cause;
+    }
+
+    return new InternalException(throwable);
   }
 }
@@ -0,0 +1,153 @@
+package io.github.maseev.alpaca.http;
+
+import io.github.maseev.alpaca.http.transformer.Transformer;
+import io.github.maseev.alpaca.http.transport.TransportRequest;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A request prepared by {@link HttpClient}. Executing it goes through the client's request
+ * pipeline (e.g. the rate limiter) rather than straight to the wire.
+ */
+public class RequestBuilder {
+
+  private final HttpClient httpClient;
+  private final HttpClient.HttpMethod method;
+  private final String baseUrl;
+  private final String endpoint;
+  private final String endpointTemplate;
+  private final Map<String, String> headers = new LinkedHashMap<>();
+  private final List<Map.Entry<String, String>> queryParams = new ArrayList<>();
+
+  private byte[] body;
+  private boolean retryable;
+
+  RequestBuilder(HttpClient httpClient, HttpClient.HttpMethod method, String baseUrl,
+                 String endpoint, String endpointTemplate) {
+    this.httpClient = httpClient;
+    this.method = method;
+    this.baseUrl = baseUrl;
+    this.endpoint = endpoint;
+    this.endpointTemplate = endpointTemplate;
+    this.retryable = method != HttpClient.HttpMethod.POST;
+  }
+
+  public RequestBuilder addHeader(String name, String value) {
+    headers.put(name, value);
+
+    return this;
+  }
+
+  public RequestBuilder addQueryParam(String name, String value) {
+    queryParams.add(new AbstractMap.SimpleImmutableEntry<>(name, value));
+
+    return this;
+  }
+
+  public RequestBuilder setBody(String body) {
+    this.body = body.getBytes(StandardCharsets.UTF_8);
+
+    return this;
+  }
+
+  /**
+   * @param body the UTF-8 encoded body; it's sent as is, so it mustn't be modified afterwards
+   */
+  public RequestBuilder setBody(byte[] body) {
+    this.body = body;
+
+    return this;
+  }
+
+  /**
+   * Marks a request with a non-idempotent method as safe to retry, e.g. because the server
+   * deduplicates it.
+   */
+  public RequestBuilder retryable() {
+    retryable = true;
+
+    return this;
+  }
+
+  public CompletableFuture<TransportResponse> execute() {
+    return httpClient.execute(this);
+  }
+
+  /**
+   * Executes the request and decodes its response.
+   *
+   * @param transformer decodes the response
+   * @return the pending decoded value
+   */
+  public <T> Listenable<T> execute(Transformer<T> transformer) {
+    return httpClient.execute(this, transformer);
+  }
+
+  HttpClient.HttpMethod getMethod() {
+    return method;
+  }
+
+  String getEndpoint() {
+    return endpoint;
+  }
+
+  /**
+   * @return the endpoint with its path parameter replaced by {@code *}, e.g. {@code /orders/*},
+   * so that metrics don't get a separate entry for every order
+   */
+  String getEndpointTemplate() {
+    return endpointTemplate;
+  }
+
+  String getUrl() {
+    return baseUrl + endpoint;
+  }
+
+  Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  List<Map.Entry<String, String>> getQueryParams() {
+    return queryParams;
+  }
+
+  boolean isRetryable() {
+    return retryable;
+  }
+
+  /**
+   * @return the request as it's handed over to the transport, e.g. to open a WebSocket connection
+   * with the same URL and headers outside of the request pipeline
+   */
+  public TransportRequest toTransportRequest() {
+    StringBuilder url = new StringBuilder(getUrl());
+    char separator = '?';
+
+    for (Map.Entry<String, String> param : queryParams) {
+      url.append(separator)
+        .append(encode(param.getKey()))
+        .append('=')
+        .append(encode(param.getValue()));
+      separator = '&';
+    }
+
+    return new TransportRequest(method.toString(), url.toString(), headers, body);
+  }
+
+  private static String encode(String value) {
+    try {
+      return URLEncoder.encode(value, StandardCharsets.UTF_8.name()).replace("+", "%20");
+    } catch (UnsupportedEncodingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package io.github.maseev.alpaca.http.coalesce;
+
+import io.github.maseev.alpaca.http.metrics.RequestTrace;
+import io.github.maseev.alpaca.http.transformer.Transformer;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Merges identical requests which are in flight at the same time: only the first one goes to the
+ * server, the rest share its response and its decoded value. A request is forgotten as soon as its
+ * response arrives, so a later identical request always reaches the server. Decoded lists and maps
+ * are copied for every caller, so one caller modifying its value doesn't affect the others.
+ */
+public class RequestCoalescer {
+
+  private final Map<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+  private final LongAdder sentRequests = new LongAdder();
+  private final LongAdder mergedRequests = new LongAdder();
+
+  /**
+   * @param key         identifies the request, e.g. its method, URL and query parameters
+   * @param transformer decodes the response
+   * @param request     sends the request if there's no identical one in flight
+   * @return the pending decoded value
+   */
+  public <T> CompletableFuture<T> execute(String key, Transformer<T> transformer,
+                                          Supplier<CompletableFuture<TransportResponse>> request) {
+    return execute(key, transformer, null, request);
+  }
+
+  /**
+   * @param key         identifies the request, e.g. its method, URL and query parameters
+   * @param transformer decodes the response
+   * @param trace       the trace of the request the decoding time is added to if this request
+   *                    is the one which decodes the response; may be {@code null}
+   * @param request     sends the request if there's no identical one in flight
+   * @return the pending decoded value
+   */
+  public <T> CompletableFuture<T> execute(String key, Transformer<T> transformer,
+                                          RequestTrace trace,
+                                          Supplier<CompletableFuture<TransportResponse>> request) {
+    InFlightRequest inFlightRequest = inFlightRequests.get(key);
+
+    if (inFlightRequest == null) {
+      InFlightRequest newRequest = new InFlightRequest();
+      inFlightRequest = inFlightRequests.putIfAbsent(key, newRequest);
+
+      if (inFlightRequest == null) {
+        sentRequests.increment();
+        send(key, newRequest, request);
+
+        return newRequest.decode(transformer, trace);
+      }
+    }
+
+    mergedRequests.increment();
+
+    return inFlightRequest.decode(transformer, trace);
+  }
+
+  /**
+   * @return the number of requests which actually reached the server
+   */
+  public long sentRequests() {
+    return sentRequests.sum();
+  }
+
+  /**
+   * @return the number of requests which were served by an identical request in flight
+   */
+  public long mergedRequests() {
+    return mergedRequests.sum();
+  }
+
+  /**
+   * @return the number of distinct requests currently in flight
+   */
+  public int inFlightRequests() {
+    return inFlightRequests.size();
+  }
+
+  private void send(String key, InFlightRequest inFlightRequest,
+                    Supplier<CompletableFuture<TransportResponse>> request) {
+    CompletableFuture<TransportResponse> response;
+
+    try {
+      response = request.get();
+    } catch (RuntimeException ex) {
+      inFlightRequests.remove(key, inFlightRequest);
+      inFlightRequest.response.completeExceptionally(ex);
+      return;
+    }
+
+    response.whenComplete((result, ex) -> {
+      inFlightRequests.remove(key, inFlightRequest);
+
+      if (ex != null) {
+        inFlightRequest.response.completeExceptionally(ex);
+      } else {
+        inFlightRequest.response.complete(result);
+      }
+    });
+  }
+
+  private static final class InFlightRequest {
+
+    private final CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+    private final Map<Transformer<?>, CompletableFuture<?>> decoded = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> decode(Transformer<T> transformer, RequestTrace trace) {
+      CompletableFuture<T> value = (CompletableFuture<T>)
+        decoded.computeIfAbsent(transformer, key -> transformer.transform(response, trace));
+
+      // every caller gets its own future, so completing or cancelling it doesn't affect the others
+      return value.thenApply(InFlightRequest::copy);
+    }
+
+    /**
+     * Copies the decoded lists and maps; the entities themselves are immutable.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T value) {
+      if (value instanceof List) {
+        List<Object> copy = new ArrayList<>(((List<?>) value).size());
+
+        for (Object element : (List<?>) value) {
+          copy.add(copy(element));
+        }
+
+        return (T) copy;
+      }
+
+      if (value instanceof Map) {
+        Map<Object, Object> copy = new LinkedHashMap<>();
+
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+          copy.put(entry.getKey(), copy(entry.getValue()));
+        }
+
+        return (T) copy;
+      }
+
+      return value;
+    }
+  }
+}
@@ -1,10 +1,10 @@
 package io.github.maseev.alpaca.http.exception;
 
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 
 public class AuthenticationException extends ResponseException {
 
-  public AuthenticationException(Response response) {
+  public AuthenticationException(TransportResponse response) {
     super("Authentication error has occured", response);
   }
 }
@@ -1,10 +1,10 @@
 package io.github.maseev.alpaca.http.exception;
 
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 
 public class EntityNotFoundException extends ResponseException {
 
-  public EntityNotFoundException(Response response) {
+  public EntityNotFoundException(TransportResponse response) {
     super("The entity doesn't exist", response);
   }
 }
@@ -1,10 +1,10 @@
 package io.github.maseev.alpaca.http.exception;
 
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 
 public class ForbiddenException extends ResponseException {
 
-  public ForbiddenException(Response response) {
+  public ForbiddenException(TransportResponse response) {
     super("Buying power is not sufficient", response);
   }
 }
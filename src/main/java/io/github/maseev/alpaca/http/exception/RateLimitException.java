@@ -1,10 +1,10 @@
 package io.github.maseev.alpaca.http.exception;
 
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 
 public class RateLimitException extends ResponseException {
 
-  public RateLimitException(Response response) {
+  public RateLimitException(TransportResponse response) {
     super("Rate limit is exceeded", response);
   }
 }
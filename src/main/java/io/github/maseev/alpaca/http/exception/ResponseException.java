@@ -1,12 +1,12 @@
 package io.github.maseev.alpaca.http.exception;
 
-import static java.lang.String.format;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 
-import org.asynchttpclient.Response;
+import static java.lang.String.format;
 
 public abstract class ResponseException extends APIException {
 
-  protected ResponseException(String message, Response response) {
+  protected ResponseException(String message, TransportResponse response) {
     super(format("%s, status code: %s, response body: %s",
       message, response.getStatusCode(), response.getResponseBody()));
   }
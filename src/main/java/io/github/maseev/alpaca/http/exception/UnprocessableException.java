@@ -1,10 +1,10 @@
 package io.github.maseev.alpaca.http.exception;
 
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 
 public class UnprocessableException extends ResponseException {
 
-  public UnprocessableException(Response response) {
+  public UnprocessableException(TransportResponse response) {
     super("Unable to process the request", response);
   }
 }
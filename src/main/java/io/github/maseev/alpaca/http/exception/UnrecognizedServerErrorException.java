@@ -1,10 +1,10 @@
 package io.github.maseev.alpaca.http.exception;
 
-import org.asynchttpclient.Response;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 
 public class UnrecognizedServerErrorException extends ResponseException {
 
-  public UnrecognizedServerErrorException(Response response) {
+  public UnrecognizedServerErrorException(TransportResponse response) {
     super("Internal server error", response);
   }
 }
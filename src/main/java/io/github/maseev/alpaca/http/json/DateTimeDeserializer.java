@@ -0,0 +1,143 @@
+package io.github.maseev.alpaca.http.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import io.github.maseev.alpaca.http.json.util.DateFormatUtil;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads timestamps in the {@link DateFormatUtil#DATE_TIME_FORMAT} format, e.g.
+ * {@code 2018-10-05T05:48:59.123456Z}, straight from the parser's character buffer without
+ * creating a {@link String} or going through {@link DateTimeFormatter}. Anything which doesn't
+ * have the exact layout Alpaca sends (a fraction of 4, 6 or 9 digits, or none) is handed over to
+ * the formatter, so the result is always the same as with
+ * {@code @JsonFormat(pattern = DATE_TIME_FORMAT)}.
+ */
+public class DateTimeDeserializer extends JsonDeserializer<LocalDateTime> {
+
+  private static final DateTimeFormatter FORMATTER =
+    DateTimeFormatter.ofPattern(DateFormatUtil.DATE_TIME_FORMAT);
+
+  private static final int FRACTION_OFFSET = 20;
+  private static final int[] NANOS_MULTIPLIERS = {
+    1_000_000_000, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+  };
+
+  @Override
+  public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    if (token != JsonToken.VALUE_STRING) {
+      return ctxt.readValue(p, LocalDateTime.class);
+    }
+
+    LocalDateTime value =
+      parseLayout(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+
+    if (value != null) {
+      return value;
+    }
+
+    String text = p.getText().trim();
+
+    if (text.isEmpty()) {
+      return null;
+    }
+
+    try {
+      return LocalDateTime.parse(text, FORMATTER);
+    } catch (DateTimeParseException ex) {
+      return (LocalDateTime) ctxt.handleWeirdStringValue(LocalDateTime.class, text,
+        "Failed to deserialize java.time.LocalDateTime: (%s) %s", ex.getClass().getName(),
+        ex.getMessage());
+    }
+  }
+
+  /**
+   * Parses a timestamp the same way the deserializer does, but outside of Jackson.
+   *
+   * @return the timestamp or {@code null} if the text is blank
+   * @throws DateTimeParseException if the text isn't a timestamp in the expected format
+   */
+  public static LocalDateTime parse(char[] text, int offset, int length) {
+    LocalDateTime value = parseLayout(text, offset, length);
+
+    if (value != null) {
+      return value;
+    }
+
+    String trimmed = new String(text, offset, length).trim();
+
+    return trimmed.isEmpty() ? null : LocalDateTime.parse(trimmed, FORMATTER);
+  }
+
+  /**
+   * @return the timestamp or {@code null} if {@code text} doesn't have the exact layout
+   */
+  private static LocalDateTime parseLayout(char[] text, int offset, int length) {
+    int fractionLength = length - FRACTION_OFFSET - 1;
+
+    if (fractionLength != 0 && fractionLength != 4 && fractionLength != 6
+      && fractionLength != 9) {
+      return null;
+    }
+
+    int end = offset + length;
+
+    if (text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+      || text[offset + 13] != ':' || text[offset + 16] != ':' || text[offset + 19] != '.'
+      || text[end - 1] != 'Z') {
+      return null;
+    }
+
+    int year = digits(text, offset, 4);
+    int month = digits(text, offset + 5, 2);
+    int day = digits(text, offset + 8, 2);
+    int hour = digits(text, offset + 11, 2);
+    int minute = digits(text, offset + 14, 2);
+    int second = digits(text, offset + 17, 2);
+    int fraction = fractionLength == 0 ? 0 : digits(text, offset + FRACTION_OFFSET, fractionLength);
+
+    if ((year | month | day | hour | minute | second | fraction) < 0) {
+      return null;
+    }
+
+    try {
+      return LocalDateTime.of(year, month, day, hour, minute, second,
+        fraction * NANOS_MULTIPLIERS[fractionLength]);
+    } catch (DateTimeException ex) {
+      // e.g. February 30th; let the formatter report it
+      return null;
+    }
+  }
+
+  /**
+   * @return the value of {@code count} decimal digits or {@code -1} if there's a non-digit
+   */
+  private static int digits(char[] text, int offset, int count) {
+    int value = 0;
+
+    for (int i = offset; i < offset + count; ++i) {
+      int digit = text[i] - '0';
+
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+
+      value = value * 10 + digit;
+    }
+
+    return value;
+  }
+}
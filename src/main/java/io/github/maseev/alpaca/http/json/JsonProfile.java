@@ -0,0 +1,42 @@
+package io.github.maseev.alpaca.http.json;
+
+import org.immutables.value.Value;
+
+/**
+ * How the Jackson mapper which decodes responses and streaming updates and encodes requests is set
+ * up. Every distinct
+ * profile gets its own mapper, which is shared by all the clients configured with an equal
+ * profile. The default profile keeps the mapper the library has always used.
+ */
+@Value.Immutable
+public interface JsonProfile {
+
+  /**
+   * @return Whether or not Jackson modules found on the classpath are registered as well; it scans
+   * the classpath when the mapper is created and lets unrelated modules change how entities are
+   * read. {@code true} by default
+   */
+  @Value.Default
+  default boolean discoverModules() {
+    return true;
+  }
+
+  /**
+   * @return Whether or not the mapper features the entities don't need are turned off, e.g.
+   * interning of field names and flushing after every written value. {@code false} by default
+   */
+  @Value.Default
+  default boolean lean() {
+    return false;
+  }
+
+  /**
+   * @return Whether or not the serializers and deserializers of every entity are resolved when
+   * the mapper is created rather than on the first request which needs them. {@code false} by
+   * default
+   */
+  @Value.Default
+  default boolean warmUp() {
+    return false;
+  }
+}
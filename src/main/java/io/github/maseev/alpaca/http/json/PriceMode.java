@@ -0,0 +1,21 @@
+package io.github.maseev.alpaca.http.json;
+
+/**
+ * How prices of the bulk entities are decoded.
+ */
+public enum PriceMode {
+
+  /**
+   * Every price is decoded into a {@link java.math.BigDecimal}.
+   */
+  BIG_DECIMAL,
+
+  /**
+   * Prices are decoded straight into {@link io.github.maseev.alpaca.api.util.Price scaled longs}
+   * without creating any intermediate objects. It applies to bars, which are then represented by
+   * {@link io.github.maseev.alpaca.api.bar.entity.FixedPointBar}; their {@code BigDecimal}
+   * accessors still work, but create a new object on every call, so the {@code *E8()} accessors
+   * should be preferred
+   */
+  FIXED_POINT
+}
@@ -1,38 +1,100 @@
 package io.github.maseev.alpaca.http.json;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.github.maseev.alpaca.api.streaming.Stream;
 import io.github.maseev.alpaca.api.streaming.entity.Event;
 import io.github.maseev.alpaca.api.streaming.message.ImmutableStreamUpdate;
 import io.github.maseev.alpaca.api.streaming.message.StreamUpdate;
 
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.Map;
 
+/**
+ * Reads a streaming update in a single pass over the parser's tokens. The {@code data} field is
+ * decoded straight into the {@link Stream#getTargetClass() event type} of the stream; only if it
+ * comes before the {@code stream} field, its tokens are buffered until the type is known.
+ */
 public class StreamUpdateDeserializer extends JsonDeserializer<StreamUpdate> {
 
+  private static final Stream[] STREAMS = Stream.values();
+
   @Override
   public StreamUpdate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-    ObjectMapper mapper = (ObjectMapper) p.getCodec();
-    ObjectNode obj = mapper.readTree(p);
-    Iterator<Map.Entry<String, JsonNode>> fields = obj.fields();
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.START_OBJECT) {
+      token = p.nextToken();
+    } else if (token != JsonToken.FIELD_NAME) {
+      return (StreamUpdate) ctxt.handleUnexpectedToken(StreamUpdate.class, p);
+    }
+
+    Stream stream = null;
+    Event event = null;
+    TokenBuffer data = null;
+
+    for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String field = p.getCurrentName();
+      p.nextToken();
+
+      if ("stream".equals(field)) {
+        stream = readStream(p, ctxt);
+
+        if (data != null) {
+          event = readEvent(data.asParser(p.getCodec()), ctxt, stream);
+          data = null;
+        }
+      } else if ("data".equals(field)) {
+        if (stream != null) {
+          event = ctxt.readValue(p, stream.getTargetClass());
+        } else {
+          data = new TokenBuffer(p, ctxt);
+          data.copyCurrentStructure(p);
+        }
+      } else {
+        p.skipChildren();
+      }
+    }
 
-    Map.Entry<String, JsonNode>  streamField = fields.next();
-    String streamFieldValue = streamField.getValue().asText();
-    Stream stream = Stream.valueOf(streamFieldValue.toUpperCase());
+    try {
+      return ImmutableStreamUpdate.builder()
+        .stream(stream)
+        .data(event)
+        .build();
+    } catch (IllegalStateException | NullPointerException ex) {
+      // either field is missing or null
+      throw ctxt.instantiationException(StreamUpdate.class, ex);
+    }
+  }
+
+  private static Stream readStream(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (p.getCurrentToken() != JsonToken.VALUE_STRING) {
+      return (Stream) ctxt.handleUnexpectedToken(Stream.class, p);
+    }
+
+    String name = p.getText();
+
+    for (Stream stream : STREAMS) {
+      if (stream.toString().equals(name)) {
+        return stream;
+      }
+    }
+
+    try {
+      return Stream.valueOf(name.toUpperCase());
+    } catch (IllegalArgumentException ex) {
+      return (Stream) ctxt.handleWeirdStringValue(Stream.class, name, "unknown stream");
+    }
+  }
 
-    Map.Entry<String, JsonNode> dataField = fields.next();
-    Event event = mapper.readValue(dataField.getValue().traverse(), stream.getTargetClass());
+  private static Event readEvent(JsonParser data, DeserializationContext ctxt, Stream stream)
+    throws IOException {
+    try (JsonParser parser = data) {
+      parser.nextToken();
 
-    return ImmutableStreamUpdate.builder()
-      .stream(stream)
-      .data(event)
-      .build();
+      return ctxt.readValue(parser, stream.getTargetClass());
+    }
   }
 }
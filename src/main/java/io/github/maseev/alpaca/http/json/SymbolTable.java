@@ -0,0 +1,212 @@
+package io.github.maseev.alpaca.http.json;
+
+/**
+ * A bounded, thread-safe dictionary of the identifiers which repeat across entities, i.e. symbols
+ * and asset ids. Decoding goes through it if it's set in
+ * {@link io.github.maseev.alpaca.http.ClientOptions#symbolTable()}, so every order, position,
+ * trade update and asset which refers to {@code AAPL} shares a single {@code "AAPL"} string
+ * instead of holding its own copy.
+ *
+ * <p>Every interned value is also given a compact id: ids are assigned in the order the values
+ * are first seen, starting from {@code 0}, so they may index plain arrays. Values are never
+ * evicted, which keeps ids stable for the lifetime of the table. Once the table holds
+ * {@link #capacity()} values, new ones are no longer interned and don't get an id.
+ *
+ * <p>Looking up a value which is already interned is lock-free and, when it's read straight from
+ * the parser's buffer, doesn't allocate anything.
+ */
+public final class SymbolTable {
+
+  /**
+   * The id of a value which isn't in the table.
+   */
+  public static final int NO_ID = -1;
+
+  private static final int MAX_CAPACITY = 1 << 24;
+
+  private final int capacity;
+  private final Entry[] entries;
+  private final String[] values;
+  /**
+   * Written after the entry and the value of a new id, so reading it first makes them visible.
+   */
+  private volatile int size;
+
+  /**
+   * @param capacity the maximum number of values to intern
+   * @throws IllegalArgumentException if {@code capacity} isn't positive or exceeds 2<sup>24</sup>
+   */
+  public SymbolTable(int capacity) {
+    if (capacity <= 0 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException(
+        String.format("'capacity' must be within [1, %s]; capacity: %s", MAX_CAPACITY, capacity));
+    }
+
+    this.capacity = capacity;
+    // at most half full, so probe sequences stay short
+    this.entries = new Entry[Integer.highestOneBit(capacity * 2 - 1) << 1];
+    this.values = new String[capacity];
+  }
+
+  /**
+   * @return the interned value equal to the given characters, or a new string if the table is
+   * full and doesn't hold it
+   */
+  public String intern(char[] text, int offset, int length) {
+    int hash = hash(text, offset, length);
+    Entry entry = find(text, offset, length, hash);
+
+    if (entry != null) {
+      return entry.value;
+    }
+
+    return add(new String(text, offset, length), hash);
+  }
+
+  /**
+   * @return the interned value equal to {@code value}, or {@code value} itself if the table is
+   * full and doesn't hold it
+   */
+  public String intern(String value) {
+    Entry entry = find(value, value.hashCode());
+
+    return entry == null ? add(value, value.hashCode()) : entry.value;
+  }
+
+  /**
+   * @return the id of {@code value} or {@link #NO_ID} if it isn't interned
+   */
+  public int id(String value) {
+    Entry entry = find(value, value.hashCode());
+
+    return entry == null ? NO_ID : entry.id;
+  }
+
+  /**
+   * @return the value with the given id
+   * @throws IndexOutOfBoundsException if there's no such id
+   */
+  public String value(int id) {
+    if (id < 0 || id >= size) {
+      throw new IndexOutOfBoundsException(
+        String.format("Id %s is out of the table of %s values", id, size));
+    }
+
+    return values[id];
+  }
+
+  /**
+   * @return the number of interned values
+   */
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  private Entry find(char[] text, int offset, int length, int hash) {
+    if (size == 0) {
+      return null;
+    }
+
+    int mask = entries.length - 1;
+
+    for (int i = hash & mask; ; i = (i + 1) & mask) {
+      Entry entry = entries[i];
+
+      if (entry == null) {
+        return null;
+      }
+
+      if (entry.hash == hash && entry.matches(text, offset, length)) {
+        return entry;
+      }
+    }
+  }
+
+  private Entry find(String value, int hash) {
+    if (size == 0) {
+      return null;
+    }
+
+    int mask = entries.length - 1;
+
+    for (int i = hash & mask; ; i = (i + 1) & mask) {
+      Entry entry = entries[i];
+
+      if (entry == null) {
+        return null;
+      }
+
+      if (entry.hash == hash && entry.value.equals(value)) {
+        return entry;
+      }
+    }
+  }
+
+  private synchronized String add(String value, int hash) {
+    int mask = entries.length - 1;
+    int i = hash & mask;
+
+    // another thread may have added it since the lock-free lookup
+    for (Entry entry = entries[i]; entry != null; entry = entries[i = (i + 1) & mask]) {
+      if (entry.hash == hash && entry.value.equals(value)) {
+        return entry.value;
+      }
+    }
+
+    int id = size;
+
+    if (id == capacity) {
+      return value;
+    }
+
+    values[id] = value;
+    entries[i] = new Entry(value, hash, id);
+    size = id + 1;
+
+    return value;
+  }
+
+  /**
+   * @return the same hash as {@link String#hashCode()} of the characters
+   */
+  private static int hash(char[] text, int offset, int length) {
+    int hash = 0;
+
+    for (int i = offset; i < offset + length; ++i) {
+      hash = 31 * hash + text[i];
+    }
+
+    return hash;
+  }
+
+  private static final class Entry {
+
+    private final String value;
+    private final int hash;
+    private final int id;
+
+    private Entry(String value, int hash, int id) {
+      this.value = value;
+      this.hash = hash;
+      this.id = id;
+    }
+
+    private boolean matches(char[] text, int offset, int length) {
+      if (value.length() != length) {
+        return false;
+      }
+
+      for (int i = 0; i < length; ++i) {
+        if (value.charAt(i) != text[offset + i]) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
+}
@@ -1,17 +1,73 @@
 package io.github.maseev.alpaca.http.json;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import java.io.IOException;
 import java.time.Instant;
 
+/**
+ * Reads a Unix epoch in seconds, either as a number or as a string. Numbers and plain digit
+ * strings are read without creating any intermediate objects.
+ */
 public class UnixTimeDeserializer extends JsonDeserializer<Instant> {
 
+  private static final int MAX_DIGITS = 18;
+
   @Override
   public Instant deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_NUMBER_INT) {
+      return Instant.ofEpochSecond(p.getLongValue());
+    }
+
+    if (token == JsonToken.VALUE_STRING) {
+      long seconds = parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+
+      if (seconds >= 0) {
+        return Instant.ofEpochSecond(seconds);
+      }
+    }
+
     String timestamp = p.getText().trim();
 
     return Instant.ofEpochSecond(Long.valueOf(timestamp));
   }
+
+  /**
+   * @return the value of a non-negative number surrounded by optional whitespace or {@code -1} if
+   * the text is anything else
+   */
+  static long parse(char[] text, int offset, int length) {
+    int start = offset;
+    int end = offset + length;
+
+    while (start < end && text[start] <= ' ') {
+      ++start;
+    }
+
+    while (end > start && text[end - 1] <= ' ') {
+      --end;
+    }
+
+    if (start == end || end - start > MAX_DIGITS) {
+      return -1;
+    }
+
+    long value = 0;
+
+    for (int i = start; i < end; ++i) {
+      int digit = text[i] - '0';
+
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+
+      value = value * 10 + digit;
+    }
+
+    return value;
+  }
 }
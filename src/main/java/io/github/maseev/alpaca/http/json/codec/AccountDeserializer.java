@@ -0,0 +1,126 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.account.entity.Account;
+import io.github.maseev.alpaca.api.account.entity.ImmutableAccount;
+import io.github.maseev.alpaca.http.json.codec.CodecUtil.EnumLookup;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBigDecimal;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBoolean;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBooleanObject;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readDateTime;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readEnum;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readInteger;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readString;
+
+class AccountDeserializer extends EntityDeserializer<ImmutableAccount, ImmutableAccount.Builder> {
+
+  static final EnumLookup<Account.Status> STATUSES = EnumLookup.byName(Account.Status.class);
+
+  AccountDeserializer() {
+    super(ImmutableAccount.class);
+  }
+
+  @Override
+  ImmutableAccount.Builder newBuilder() {
+    return ImmutableAccount.builder();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt,
+                    ImmutableAccount.Builder builder) throws IOException {
+    switch (field) {
+      case "id":
+        builder.id(readString(p, ctxt));
+        return true;
+      case "account_number":
+        builder.accountNumber(readString(p, ctxt));
+        return true;
+      case "status":
+        builder.status(readEnum(p, ctxt, STATUSES));
+        return true;
+      case "currency":
+        builder.currency(readString(p, ctxt));
+        return true;
+      case "buying_power":
+        builder.buyingPower(readBigDecimal(p, ctxt));
+        return true;
+      case "regt_buying_power":
+        builder.regtBuyingPower(readBigDecimal(p, ctxt));
+        return true;
+      case "daytrading_buying_power":
+        builder.dayTradingBuyingPower(readBigDecimal(p, ctxt));
+        return true;
+      case "cash":
+        builder.cash(readBigDecimal(p, ctxt));
+        return true;
+      case "cash_withdrawable":
+        builder.cashWithdrawable(readBigDecimal(p, ctxt));
+        return true;
+      case "portfolio_value":
+        builder.portfolioValue(readBigDecimal(p, ctxt));
+        return true;
+      case "pattern_day_trader":
+        builder.patternDayTrader(readBoolean(p, ctxt));
+        return true;
+      case "trading_blocked":
+        builder.tradingBlocked(readBoolean(p, ctxt));
+        return true;
+      case "transfers_blocked":
+        builder.transfersBlocked(readBoolean(p, ctxt));
+        return true;
+      case "account_blocked":
+        builder.accountBlocked(readBoolean(p, ctxt));
+        return true;
+      case "trade_suspended_by_user":
+        builder.tradeSuspendedByUser(readBoolean(p, ctxt));
+        return true;
+      case "created_at":
+        builder.createdAt(readDateTime(p, ctxt));
+        return true;
+      case "shorting_enabled":
+        builder.shortingEnabled(readBooleanObject(p, ctxt));
+        return true;
+      case "multiplier":
+        builder.multiplier(readInteger(p, ctxt));
+        return true;
+      case "long_market_value":
+        builder.longMarketValue(readBigDecimal(p, ctxt));
+        return true;
+      case "short_market_value":
+        builder.shortMarketValue(readBigDecimal(p, ctxt));
+        return true;
+      case "equity":
+        builder.equity(readBigDecimal(p, ctxt));
+        return true;
+      case "last_equity":
+        builder.lastEquity(readBigDecimal(p, ctxt));
+        return true;
+      case "initial_margin":
+        builder.initialMargin(readBigDecimal(p, ctxt));
+        return true;
+      case "maintenance_margin":
+        builder.maintenanceMargin(readBigDecimal(p, ctxt));
+        return true;
+      case "last_maintenance_margin":
+        builder.lastMaintenanceMargin(readBigDecimal(p, ctxt));
+        return true;
+      case "daytrade_count":
+        builder.daytradeCount(readBigDecimal(p, ctxt));
+        return true;
+      case "sma":
+        builder.sma(readBigDecimal(p, ctxt));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  ImmutableAccount build(ImmutableAccount.Builder builder) {
+    return builder.build();
+  }
+}
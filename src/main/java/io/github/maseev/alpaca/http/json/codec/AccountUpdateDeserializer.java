@@ -0,0 +1,64 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.streaming.entity.ImmutableAccountUpdate;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.AccountDeserializer.STATUSES;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBigDecimal;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readDateTime;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readEnum;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readString;
+
+class AccountUpdateDeserializer
+  extends EntityDeserializer<ImmutableAccountUpdate, ImmutableAccountUpdate.Builder> {
+
+  AccountUpdateDeserializer() {
+    super(ImmutableAccountUpdate.class);
+  }
+
+  @Override
+  ImmutableAccountUpdate.Builder newBuilder() {
+    return ImmutableAccountUpdate.builder();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt,
+                    ImmutableAccountUpdate.Builder builder) throws IOException {
+    switch (field) {
+      case "id":
+        builder.id(readString(p, ctxt));
+        return true;
+      case "created_at":
+        builder.createdAt(readDateTime(p, ctxt));
+        return true;
+      case "updated_at":
+        builder.updatedAt(readDateTime(p, ctxt));
+        return true;
+      case "deleted_at":
+        builder.deletedAt(readDateTime(p, ctxt));
+        return true;
+      case "status":
+        builder.status(readEnum(p, ctxt, STATUSES));
+        return true;
+      case "currency":
+        builder.currency(readString(p, ctxt));
+        return true;
+      case "cash":
+        builder.cash(readBigDecimal(p, ctxt));
+        return true;
+      case "cash_withdrawable":
+        builder.cashWithdrawable(readBigDecimal(p, ctxt));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  ImmutableAccountUpdate build(ImmutableAccountUpdate.Builder builder) {
+    return builder.build();
+  }
+}
@@ -0,0 +1,77 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.asset.entity.AssetClass;
+import io.github.maseev.alpaca.api.asset.entity.ImmutableAsset;
+import io.github.maseev.alpaca.api.entity.Exchange;
+import io.github.maseev.alpaca.http.json.codec.CodecUtil.EnumLookup;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBoolean;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBooleanObject;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readEnum;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readSymbol;
+
+class AssetDeserializer extends EntityDeserializer<ImmutableAsset, ImmutableAsset.Builder> {
+
+  static final EnumLookup<AssetClass> ASSET_CLASSES = EnumLookup.byValue(AssetClass.class);
+  static final EnumLookup<Exchange> EXCHANGES = EnumLookup.byName(Exchange.class);
+
+  private static final EnumLookup<Asset.Status> STATUSES = EnumLookup.byValue(Asset.Status.class);
+
+  AssetDeserializer() {
+    super(ImmutableAsset.class);
+  }
+
+  @Override
+  ImmutableAsset.Builder newBuilder() {
+    return ImmutableAsset.builder();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt,
+                    ImmutableAsset.Builder builder) throws IOException {
+    switch (field) {
+      case "id":
+        builder.id(readSymbol(p, ctxt));
+        return true;
+      case "asset_class":
+        builder.assetClass(readEnum(p, ctxt, ASSET_CLASSES));
+        return true;
+      case "class":
+        builder.clazz(readEnum(p, ctxt, ASSET_CLASSES));
+        return true;
+      case "exchange":
+        builder.exchange(readEnum(p, ctxt, EXCHANGES));
+        return true;
+      case "symbol":
+        builder.symbol(readSymbol(p, ctxt));
+        return true;
+      case "status":
+        builder.status(readEnum(p, ctxt, STATUSES));
+        return true;
+      case "tradable":
+        builder.tradable(readBoolean(p, ctxt));
+        return true;
+      case "marginable":
+        builder.marginable(readBooleanObject(p, ctxt));
+        return true;
+      case "shortable":
+        builder.shortable(readBooleanObject(p, ctxt));
+        return true;
+      case "easy_to_borrow":
+        builder.easyToBorrow(readBooleanObject(p, ctxt));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  ImmutableAsset build(ImmutableAsset.Builder builder) {
+    return builder.build();
+  }
+}
@@ -0,0 +1,55 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.bar.entity.ImmutableBar;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBigDecimal;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readLong;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readUnixTime;
+
+class BarDeserializer extends EntityDeserializer<ImmutableBar, ImmutableBar.Builder> {
+
+  BarDeserializer() {
+    super(ImmutableBar.class);
+  }
+
+  @Override
+  ImmutableBar.Builder newBuilder() {
+    return ImmutableBar.builder();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt,
+                    ImmutableBar.Builder builder) throws IOException {
+    switch (field) {
+      case "t":
+        builder.time(readUnixTime(p, ctxt));
+        return true;
+      case "o":
+        builder.openPrice(readBigDecimal(p, ctxt));
+        return true;
+      case "h":
+        builder.highPrice(readBigDecimal(p, ctxt));
+        return true;
+      case "l":
+        builder.lowPrice(readBigDecimal(p, ctxt));
+        return true;
+      case "c":
+        builder.closePrice(readBigDecimal(p, ctxt));
+        return true;
+      case "v":
+        builder.volume(readLong(p, ctxt));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  ImmutableBar build(ImmutableBar.Builder builder) {
+    return builder.build();
+  }
+}
@@ -0,0 +1,101 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.util.Price;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readLong;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readPriceE8;
+
+/**
+ * Reads an array of bars straight into the columns of a {@link BarSeries}, so no object is
+ * created per bar.
+ */
+class BarSeriesDeserializer extends StdDeserializer<BarSeries> {
+
+  BarSeriesDeserializer() {
+    super(BarSeries.class);
+  }
+
+  @Override
+  public BarSeries deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (p.getCurrentToken() != JsonToken.START_ARRAY) {
+      return (BarSeries) ctxt.handleUnexpectedToken(handledType(), p);
+    }
+
+    BarSeries.Builder builder = BarSeries.builder();
+
+    for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+      if (token != JsonToken.START_OBJECT) {
+        return (BarSeries) ctxt.handleUnexpectedToken(handledType(), p);
+      }
+
+      readBar(p, ctxt, builder);
+    }
+
+    return builder.build();
+  }
+
+  @Override
+  public BarSeries getNullValue(DeserializationContext ctxt) {
+    return BarSeries.empty();
+  }
+
+  private void readBar(JsonParser p, DeserializationContext ctxt, BarSeries.Builder builder)
+    throws IOException {
+    long epochSecond = 0;
+    long openPrice = Price.NONE;
+    long highPrice = Price.NONE;
+    long lowPrice = Price.NONE;
+    long closePrice = Price.NONE;
+    long volume = 0;
+    int set = 0;
+
+    for (JsonToken token = p.nextToken(); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String field = p.getCurrentName();
+      p.nextToken();
+
+      switch (field) {
+        case "t":
+          epochSecond = readLong(p, ctxt);
+          set |= 1;
+          break;
+        case "o":
+          openPrice = readPriceE8(p, ctxt);
+          break;
+        case "h":
+          highPrice = readPriceE8(p, ctxt);
+          break;
+        case "l":
+          lowPrice = readPriceE8(p, ctxt);
+          break;
+        case "c":
+          closePrice = readPriceE8(p, ctxt);
+          break;
+        case "v":
+          volume = readLong(p, ctxt);
+          set |= 2;
+          break;
+        default:
+          ctxt.handleUnknownProperty(p, this, handledType(), field);
+      }
+    }
+
+    if (set != 3 || openPrice == Price.NONE || highPrice == Price.NONE
+      || lowPrice == Price.NONE || closePrice == Price.NONE) {
+      throw ctxt.instantiationException(handledType(),
+        "Cannot build a bar, some of required attributes are not set");
+    }
+
+    try {
+      builder.add(epochSecond, openPrice, highPrice, lowPrice, closePrice, volume);
+    } catch (IllegalArgumentException ex) {
+      throw ctxt.instantiationException(handledType(), ex);
+    }
+  }
+}
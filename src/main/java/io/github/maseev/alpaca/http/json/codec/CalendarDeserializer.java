@@ -0,0 +1,46 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.calendar.entity.ImmutableCalendar;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readLocalDate;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readLocalTime;
+
+class CalendarDeserializer
+  extends EntityDeserializer<ImmutableCalendar, ImmutableCalendar.Builder> {
+
+  CalendarDeserializer() {
+    super(ImmutableCalendar.class);
+  }
+
+  @Override
+  ImmutableCalendar.Builder newBuilder() {
+    return ImmutableCalendar.builder();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt,
+                    ImmutableCalendar.Builder builder) throws IOException {
+    switch (field) {
+      case "date":
+        builder.date(readLocalDate(p, ctxt));
+        return true;
+      case "open":
+        builder.open(readLocalTime(p, ctxt));
+        return true;
+      case "close":
+        builder.close(readLocalTime(p, ctxt));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  ImmutableCalendar build(ImmutableCalendar.Builder builder) {
+    return builder.build();
+  }
+}
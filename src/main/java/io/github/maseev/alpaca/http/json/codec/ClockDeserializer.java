@@ -0,0 +1,48 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.clock.entity.ImmutableClock;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBoolean;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readOffsetDateTime;
+
+class ClockDeserializer extends EntityDeserializer<ImmutableClock, ImmutableClock.Builder> {
+
+  ClockDeserializer() {
+    super(ImmutableClock.class);
+  }
+
+  @Override
+  ImmutableClock.Builder newBuilder() {
+    return ImmutableClock.builder();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt,
+                    ImmutableClock.Builder builder) throws IOException {
+    switch (field) {
+      case "timestamp":
+        builder.timestamp(readOffsetDateTime(p, ctxt));
+        return true;
+      case "is_open":
+        builder.isOpen(readBoolean(p, ctxt));
+        return true;
+      case "next_open":
+        builder.nextOpen(readOffsetDateTime(p, ctxt));
+        return true;
+      case "next_close":
+        builder.nextClose(readOffsetDateTime(p, ctxt));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  ImmutableClock build(ImmutableClock.Builder builder) {
+    return builder.build();
+  }
+}
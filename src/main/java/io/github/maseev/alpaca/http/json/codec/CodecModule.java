@@ -0,0 +1,78 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.maseev.alpaca.api.account.entity.Account;
+import io.github.maseev.alpaca.api.account.entity.ImmutableAccount;
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.asset.entity.ImmutableAsset;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.bar.entity.ImmutableBar;
+import io.github.maseev.alpaca.api.calendar.entity.Calendar;
+import io.github.maseev.alpaca.api.calendar.entity.ImmutableCalendar;
+import io.github.maseev.alpaca.api.clock.entity.Clock;
+import io.github.maseev.alpaca.api.clock.entity.ImmutableClock;
+import io.github.maseev.alpaca.api.order.entity.ImmutableOrder;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.position.entity.ImmutablePosition;
+import io.github.maseev.alpaca.api.position.entity.Position;
+import io.github.maseev.alpaca.api.streaming.entity.AccountUpdate;
+import io.github.maseev.alpaca.api.streaming.entity.ImmutableAccountUpdate;
+import io.github.maseev.alpaca.api.streaming.entity.ImmutableTradeUpdate;
+import io.github.maseev.alpaca.api.streaming.entity.TradeUpdate;
+
+/**
+ * Registers hand-written streaming deserializers for the entities, which read the parser's
+ * tokens straight into the Immutables builders. Unlike the reflective binding of the
+ * {@code @JsonDeserialize(as = Immutable*.class)} annotations, they don't need any introspection
+ * when a type is used for the first time and don't allocate an intermediate object per entity.
+ *
+ * <p>Every deserializer is registered for both the entity's interface and its immutable
+ * implementation, since Jackson looks the deserializer up by the latter when it follows the
+ * {@code as} annotation.
+ */
+public class CodecModule extends SimpleModule {
+
+  public CodecModule() {
+    super(CodecModule.class.getSimpleName());
+
+    AccountDeserializer account = new AccountDeserializer();
+    addDeserializer(Account.class, account);
+    addDeserializer(ImmutableAccount.class, account);
+
+    AssetDeserializer asset = new AssetDeserializer();
+    addDeserializer(Asset.class, asset);
+    addDeserializer(ImmutableAsset.class, asset);
+
+    BarDeserializer bar = new BarDeserializer();
+    addDeserializer(Bar.class, bar);
+    addDeserializer(ImmutableBar.class, bar);
+    addDeserializer(FixedPointBar.class, new FixedPointBarDeserializer());
+    addDeserializer(BarSeries.class, new BarSeriesDeserializer());
+
+    CalendarDeserializer calendar = new CalendarDeserializer();
+    addDeserializer(Calendar.class, calendar);
+    addDeserializer(ImmutableCalendar.class, calendar);
+
+    ClockDeserializer clock = new ClockDeserializer();
+    addDeserializer(Clock.class, clock);
+    addDeserializer(ImmutableClock.class, clock);
+
+    OrderDeserializer order = new OrderDeserializer();
+    addDeserializer(Order.class, order);
+    addDeserializer(ImmutableOrder.class, order);
+
+    PositionDeserializer position = new PositionDeserializer();
+    addDeserializer(Position.class, position);
+    addDeserializer(ImmutablePosition.class, position);
+
+    AccountUpdateDeserializer accountUpdate = new AccountUpdateDeserializer();
+    addDeserializer(AccountUpdate.class, accountUpdate);
+    addDeserializer(ImmutableAccountUpdate.class, accountUpdate);
+
+    TradeUpdateDeserializer tradeUpdate = new TradeUpdateDeserializer();
+    addDeserializer(TradeUpdate.class, tradeUpdate);
+    addDeserializer(ImmutableTradeUpdate.class, tradeUpdate);
+  }
+}
@@ -0,0 +1,344 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import io.github.maseev.alpaca.api.util.Price;
+import io.github.maseev.alpaca.http.json.DateTimeDeserializer;
+import io.github.maseev.alpaca.http.json.SymbolTable;
+import io.github.maseev.alpaca.http.json.UnixTimeDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads scalar values the way Jackson's own deserializers (including the {@code jsr310} ones) do
+ * for the common tokens. Anything unusual is handed over to Jackson, so the results (and the
+ * errors) stay the same as with reflective binding.
+ */
+final class CodecUtil {
+
+  private static final DateTimeDeserializer DATE_TIME_DESERIALIZER = new DateTimeDeserializer();
+  private static final UnixTimeDeserializer UNIX_TIME_DESERIALIZER = new UnixTimeDeserializer();
+
+  private CodecUtil() {
+  }
+
+  /**
+   * Reads a price as a {@link Price scaled long} straight from the parser's buffer. Values which
+   * aren't plain decimal numbers are read as a {@link BigDecimal} first.
+   */
+  static long readPriceE8(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+      || token == JsonToken.VALUE_STRING) {
+      try {
+        return Price.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+      } catch (NumberFormatException ex) {
+        // e.g. an exponent or whitespace
+      }
+    }
+
+    BigDecimal value = readBigDecimal(p, ctxt);
+
+    try {
+      return Price.toE8(value);
+    } catch (ArithmeticException ex) {
+      return (Long) ctxt.handleWeirdNumberValue(Long.class, value, "%s", ex.getMessage());
+    }
+  }
+
+  static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_STRING) {
+      return p.getText();
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, String.class);
+  }
+
+  /**
+   * Reads a string which repeats across entities, e.g. a symbol. If the {@link SymbolTable}
+   * attribute of the context is set, the string is interned straight from the parser's buffer.
+   */
+  static String readSymbol(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (p.getCurrentToken() == JsonToken.VALUE_STRING) {
+      SymbolTable symbolTable = (SymbolTable) ctxt.getAttribute(SymbolTable.class);
+
+      if (symbolTable != null) {
+        return symbolTable.intern(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+      }
+    }
+
+    return readString(p, ctxt);
+  }
+
+  static BigDecimal readBigDecimal(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+      return p.getDecimalValue();
+    }
+
+    if (token == JsonToken.VALUE_STRING) {
+      String text = p.getText().trim();
+
+      if (!text.isEmpty()) {
+        try {
+          return new BigDecimal(text);
+        } catch (NumberFormatException ex) {
+          // let Jackson report it
+        }
+      }
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, BigDecimal.class);
+  }
+
+  static long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_NUMBER_INT) {
+      return p.getLongValue();
+    }
+
+    if (token == JsonToken.VALUE_STRING) {
+      Long value = parseLong(p.getText());
+
+      if (value != null) {
+        return value;
+      }
+    }
+
+    return ctxt.readValue(p, Long.TYPE);
+  }
+
+  static Long readLongObject(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (p.getCurrentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return readLong(p, ctxt);
+  }
+
+  static Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() == JsonParser.NumberType.INT) {
+      return p.getIntValue();
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, Integer.class);
+  }
+
+  static boolean readBoolean(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_TRUE) {
+      return true;
+    }
+
+    if (token == JsonToken.VALUE_FALSE) {
+      return false;
+    }
+
+    return ctxt.readValue(p, Boolean.TYPE);
+  }
+
+  static Boolean readBooleanObject(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (p.getCurrentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return readBoolean(p, ctxt);
+  }
+
+  /**
+   * Reads a timestamp in the Alpaca format with {@link DateTimeDeserializer}.
+   */
+  static LocalDateTime readDateTime(JsonParser p, DeserializationContext ctxt)
+    throws IOException {
+    return DATE_TIME_DESERIALIZER.deserialize(p, ctxt);
+  }
+
+  /**
+   * Reads an ISO-8601 timestamp with an offset and adjusts it to the context time zone, unless
+   * {@link DeserializationFeature#ADJUST_DATES_TO_CONTEXT_TIME_ZONE} is turned off.
+   */
+  static OffsetDateTime readOffsetDateTime(JsonParser p, DeserializationContext ctxt)
+    throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_STRING) {
+      String text = p.getText().trim();
+
+      if (!text.isEmpty()) {
+        try {
+          OffsetDateTime value =
+            OffsetDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+
+          if (!ctxt.isEnabled(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)) {
+            return value;
+          }
+
+          ZoneId zone = ctxt.getTimeZone().toZoneId();
+
+          return value.withOffsetSameInstant(zone.getRules().getOffset(value.toLocalDateTime()));
+        } catch (DateTimeParseException ex) {
+          // let Jackson report it
+        }
+      }
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, OffsetDateTime.class);
+  }
+
+  static LocalDate readLocalDate(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_STRING) {
+      String text = p.getText().trim();
+
+      if (text.length() == 10) {
+        try {
+          return LocalDate.parse(text);
+        } catch (DateTimeParseException ex) {
+          // let Jackson report it
+        }
+      }
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, LocalDate.class);
+  }
+
+  static LocalTime readLocalTime(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_STRING) {
+      String text = p.getText().trim();
+
+      if (!text.isEmpty() && text.indexOf('T') < 0) {
+        try {
+          return LocalTime.parse(text);
+        } catch (DateTimeParseException ex) {
+          // let Jackson report it
+        }
+      }
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, LocalTime.class);
+  }
+
+  /**
+   * Reads a Unix epoch in seconds with {@link UnixTimeDeserializer}.
+   */
+  static Instant readUnixTime(JsonParser p, DeserializationContext ctxt) throws IOException {
+    return UNIX_TIME_DESERIALIZER.deserialize(p, ctxt);
+  }
+
+  static <E extends Enum<E>> E readEnum(JsonParser p, DeserializationContext ctxt,
+                                        EnumLookup<E> lookup) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.VALUE_STRING) {
+      E value = lookup.get(p.getText());
+
+      if (value != null) {
+        return value;
+      }
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, lookup.type);
+  }
+
+  private static Long parseLong(String text) {
+    String value = text.trim();
+
+    if (value.isEmpty()) {
+      return null;
+    }
+
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Maps the JSON representation of an enum's constants to the constants.
+   */
+  static final class EnumLookup<E extends Enum<E>> {
+
+    private final Class<E> type;
+    private final Map<String, E> values = new HashMap<>();
+
+    private EnumLookup(Class<E> type, Function<E, String> name) {
+      this.type = type;
+
+      for (E value : type.getEnumConstants()) {
+        values.put(name.apply(value), value);
+      }
+    }
+
+    /**
+     * For enums which are represented by their {@code @JsonValue toString()}.
+     */
+    static <E extends Enum<E>> EnumLookup<E> byValue(Class<E> type) {
+      return new EnumLookup<>(type, Enum::toString);
+    }
+
+    /**
+     * For enums which are represented by their names.
+     */
+    static <E extends Enum<E>> EnumLookup<E> byName(Class<E> type) {
+      return new EnumLookup<>(type, Enum::name);
+    }
+
+    E get(String name) {
+      return values.get(name);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads an entity field by field straight from the parser's tokens into its Immutables builder,
+ * so neither reflection nor an intermediate tree is involved. Unknown fields are handled the way
+ * Jackson handles them, i.e. according to
+ * {@link com.fasterxml.jackson.databind.DeserializationFeature#FAIL_ON_UNKNOWN_PROPERTIES}.
+ *
+ * @param <T> the entity type
+ * @param <B> the entity's builder type
+ */
+abstract class EntityDeserializer<T, B> extends StdDeserializer<T> {
+
+  EntityDeserializer(Class<T> type) {
+    super(type);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.getCurrentToken();
+
+    if (token == JsonToken.START_OBJECT) {
+      token = p.nextToken();
+    } else if (token != JsonToken.FIELD_NAME) {
+      return (T) ctxt.handleUnexpectedToken(handledType(), p);
+    }
+
+    B builder = newBuilder();
+
+    for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String field = p.getCurrentName();
+      p.nextToken();
+
+      if (!readField(field, p, ctxt, builder)) {
+        ctxt.handleUnknownProperty(p, this, handledType(), field);
+      }
+    }
+
+    try {
+      return build(builder);
+    } catch (IllegalStateException | NullPointerException ex) {
+      // a required field is missing or null
+      throw ctxt.instantiationException(handledType(), ex);
+    }
+  }
+
+  abstract B newBuilder();
+
+  /**
+   * Reads the value of the field the parser points to into {@code builder}.
+   *
+   * @return {@code false} if the field is unknown
+   */
+  abstract boolean readField(String field, JsonParser p, DeserializationContext ctxt, B builder)
+    throws IOException;
+
+  abstract T build(B builder);
+}
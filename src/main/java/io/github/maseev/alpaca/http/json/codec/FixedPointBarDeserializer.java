@@ -0,0 +1,76 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.util.Price;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readLong;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readPriceE8;
+
+class FixedPointBarDeserializer
+  extends EntityDeserializer<FixedPointBar, FixedPointBarDeserializer.Fields> {
+
+  FixedPointBarDeserializer() {
+    super(FixedPointBar.class);
+  }
+
+  @Override
+  Fields newBuilder() {
+    return new Fields();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt, Fields fields)
+    throws IOException {
+    switch (field) {
+      case "t":
+        fields.epochSecond = readLong(p, ctxt);
+        fields.set |= 1;
+        return true;
+      case "o":
+        fields.openPrice = readPriceE8(p, ctxt);
+        return true;
+      case "h":
+        fields.highPrice = readPriceE8(p, ctxt);
+        return true;
+      case "l":
+        fields.lowPrice = readPriceE8(p, ctxt);
+        return true;
+      case "c":
+        fields.closePrice = readPriceE8(p, ctxt);
+        return true;
+      case "v":
+        fields.volume = readLong(p, ctxt);
+        fields.set |= 2;
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  FixedPointBar build(Fields fields) {
+    if (fields.set != 3 || fields.openPrice == Price.NONE || fields.highPrice == Price.NONE
+      || fields.lowPrice == Price.NONE || fields.closePrice == Price.NONE) {
+      throw new IllegalStateException(
+        "Cannot build FixedPointBar, some of required attributes are not set");
+    }
+
+    return new FixedPointBar(fields.epochSecond, fields.openPrice, fields.highPrice,
+      fields.lowPrice, fields.closePrice, fields.volume);
+  }
+
+  static final class Fields {
+
+    private long epochSecond;
+    private long openPrice = Price.NONE;
+    private long highPrice = Price.NONE;
+    private long lowPrice = Price.NONE;
+    private long closePrice = Price.NONE;
+    private long volume;
+    private int set;
+  }
+}
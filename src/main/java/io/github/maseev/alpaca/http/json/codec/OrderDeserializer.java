@@ -0,0 +1,119 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.order.entity.ImmutableOrder;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.http.json.codec.CodecUtil.EnumLookup;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.AssetDeserializer.ASSET_CLASSES;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBigDecimal;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBooleanObject;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readDateTime;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readEnum;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readLong;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readString;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readSymbol;
+
+class OrderDeserializer extends EntityDeserializer<ImmutableOrder, ImmutableOrder.Builder> {
+
+  private static final EnumLookup<Order.Type> TYPES = EnumLookup.byValue(Order.Type.class);
+  private static final EnumLookup<Order.Side> SIDES = EnumLookup.byValue(Order.Side.class);
+  private static final EnumLookup<Order.TimeInForce> TIME_IN_FORCES =
+    EnumLookup.byValue(Order.TimeInForce.class);
+  private static final EnumLookup<Order.Status> STATUSES = EnumLookup.byValue(Order.Status.class);
+
+  OrderDeserializer() {
+    super(ImmutableOrder.class);
+  }
+
+  @Override
+  ImmutableOrder.Builder newBuilder() {
+    return ImmutableOrder.builder();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt,
+                    ImmutableOrder.Builder builder) throws IOException {
+    switch (field) {
+      case "id":
+        builder.id(readString(p, ctxt));
+        return true;
+      case "client_order_id":
+        builder.clientOrderId(readString(p, ctxt));
+        return true;
+      case "created_at":
+        builder.createdAt(readDateTime(p, ctxt));
+        return true;
+      case "updated_at":
+        builder.updatedAt(readDateTime(p, ctxt));
+        return true;
+      case "submitted_at":
+        builder.submittedAt(readDateTime(p, ctxt));
+        return true;
+      case "filled_at":
+        builder.filledAt(readDateTime(p, ctxt));
+        return true;
+      case "expired_at":
+        builder.expiredAt(readDateTime(p, ctxt));
+        return true;
+      case "canceled_at":
+        builder.canceledAt(readDateTime(p, ctxt));
+        return true;
+      case "failed_at":
+        builder.failedAt(readDateTime(p, ctxt));
+        return true;
+      case "asset_id":
+        builder.assetId(readSymbol(p, ctxt));
+        return true;
+      case "symbol":
+        builder.symbol(readSymbol(p, ctxt));
+        return true;
+      case "asset_class":
+        builder.assetClass(readEnum(p, ctxt, ASSET_CLASSES));
+        return true;
+      case "qty":
+        builder.qty(readLong(p, ctxt));
+        return true;
+      case "filled_qty":
+        builder.filledQty(readLong(p, ctxt));
+        return true;
+      case "type":
+        builder.type(readEnum(p, ctxt, TYPES));
+        return true;
+      case "order_type":
+        builder.orderType(readEnum(p, ctxt, TYPES));
+        return true;
+      case "side":
+        builder.side(readEnum(p, ctxt, SIDES));
+        return true;
+      case "time_in_force":
+        builder.timeInForce(readEnum(p, ctxt, TIME_IN_FORCES));
+        return true;
+      case "limit_price":
+        builder.limitPrice(readBigDecimal(p, ctxt));
+        return true;
+      case "stop_price":
+        builder.stopPrice(readBigDecimal(p, ctxt));
+        return true;
+      case "filled_avg_price":
+        builder.filledAvgPrice(readBigDecimal(p, ctxt));
+        return true;
+      case "status":
+        builder.status(readEnum(p, ctxt, STATUSES));
+        return true;
+      case "extended_hours":
+        builder.extendedHours(readBooleanObject(p, ctxt));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  ImmutableOrder build(ImmutableOrder.Builder builder) {
+    return builder.build();
+  }
+}
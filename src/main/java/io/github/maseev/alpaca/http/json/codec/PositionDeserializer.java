@@ -0,0 +1,93 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.position.entity.ImmutablePosition;
+import io.github.maseev.alpaca.api.position.entity.Position;
+import io.github.maseev.alpaca.http.json.codec.CodecUtil.EnumLookup;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.AssetDeserializer.ASSET_CLASSES;
+import static io.github.maseev.alpaca.http.json.codec.AssetDeserializer.EXCHANGES;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBigDecimal;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readEnum;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readLong;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readSymbol;
+
+class PositionDeserializer
+  extends EntityDeserializer<ImmutablePosition, ImmutablePosition.Builder> {
+
+  private static final EnumLookup<Position.Side> SIDES = EnumLookup.byValue(Position.Side.class);
+
+  PositionDeserializer() {
+    super(ImmutablePosition.class);
+  }
+
+  @Override
+  ImmutablePosition.Builder newBuilder() {
+    return ImmutablePosition.builder();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt,
+                    ImmutablePosition.Builder builder) throws IOException {
+    switch (field) {
+      case "asset_id":
+        builder.assetId(readSymbol(p, ctxt));
+        return true;
+      case "symbol":
+        builder.symbol(readSymbol(p, ctxt));
+        return true;
+      case "exchange":
+        builder.exchange(readEnum(p, ctxt, EXCHANGES));
+        return true;
+      case "asset_class":
+        builder.assetClass(readEnum(p, ctxt, ASSET_CLASSES));
+        return true;
+      case "avg_entry_price":
+        builder.avgEntryPrice(readBigDecimal(p, ctxt));
+        return true;
+      case "qty":
+        builder.qty(readLong(p, ctxt));
+        return true;
+      case "side":
+        builder.side(readEnum(p, ctxt, SIDES));
+        return true;
+      case "market_value":
+        builder.marketValue(readBigDecimal(p, ctxt));
+        return true;
+      case "cost_basis":
+        builder.costBasis(readBigDecimal(p, ctxt));
+        return true;
+      case "unrealized_pl":
+        builder.unrealizedPl(readBigDecimal(p, ctxt));
+        return true;
+      case "unrealized_plpc":
+        builder.unrealizedPlpc(readBigDecimal(p, ctxt));
+        return true;
+      case "unrealized_intraday_pl":
+        builder.unrealizedIntradayPl(readBigDecimal(p, ctxt));
+        return true;
+      case "unrealized_intraday_plpc":
+        builder.unrealizedIntradayPlpc(readBigDecimal(p, ctxt));
+        return true;
+      case "current_price":
+        builder.currentPrice(readBigDecimal(p, ctxt));
+        return true;
+      case "lastday_price":
+        builder.lastdayPrice(readBigDecimal(p, ctxt));
+        return true;
+      case "change_today":
+        builder.changeToday(readBigDecimal(p, ctxt));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  ImmutablePosition build(ImmutablePosition.Builder builder) {
+    return builder.build();
+  }
+}
@@ -0,0 +1,168 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import io.github.maseev.alpaca.api.order.entity.LazyOrder;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.streaming.entity.ImmutableTradeUpdate;
+import io.github.maseev.alpaca.api.streaming.entity.TradeUpdate;
+import io.github.maseev.alpaca.http.json.codec.CodecUtil.EnumLookup;
+
+import java.io.IOException;
+
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readBigDecimal;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readDateTime;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readEnum;
+import static io.github.maseev.alpaca.http.json.codec.CodecUtil.readLongObject;
+
+/**
+ * Reads trade updates. If the {@link LazyOrder} attribute of the context is {@code true}, the
+ * order is kept as JSON in a {@link LazyOrder} instead of being decoded right away. When the
+ * update is parsed from a byte array, the order keeps a slice of that array rather than a copy,
+ * so the array mustn't be modified afterwards.
+ */
+class TradeUpdateDeserializer
+  extends EntityDeserializer<ImmutableTradeUpdate, ImmutableTradeUpdate.Builder> {
+
+  private static final EnumLookup<TradeUpdate.EventType> EVENT_TYPES =
+    EnumLookup.byValue(TradeUpdate.EventType.class);
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private final OrderDeserializer orderDeserializer = new OrderDeserializer();
+
+  TradeUpdateDeserializer() {
+    super(ImmutableTradeUpdate.class);
+  }
+
+  @Override
+  ImmutableTradeUpdate.Builder newBuilder() {
+    return ImmutableTradeUpdate.builder();
+  }
+
+  @Override
+  boolean readField(String field, JsonParser p, DeserializationContext ctxt,
+                    ImmutableTradeUpdate.Builder builder) throws IOException {
+    switch (field) {
+      case "event":
+        builder.event(readEnum(p, ctxt, EVENT_TYPES));
+        return true;
+      case "qty":
+        builder.qty(readLongObject(p, ctxt));
+        return true;
+      case "price":
+        builder.price(readBigDecimal(p, ctxt));
+        return true;
+      case "timestamp":
+        builder.timestamp(readDateTime(p, ctxt));
+        return true;
+      case "order":
+        builder.order(readOrder(p, ctxt));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private Order readOrder(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (p.getCurrentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    if (ctxt.getAttribute(LazyOrder.class) != Boolean.TRUE) {
+      return orderDeserializer.deserialize(p, ctxt);
+    }
+
+    if (p.getCurrentToken() != JsonToken.START_OBJECT) {
+      return (Order) ctxt.handleUnexpectedToken(Order.class, p);
+    }
+
+    byte[] json;
+    int offset;
+    int length;
+    JsonLocation start = p.getTokenLocation();
+
+    if (isRawObject(start)) {
+      // the update is parsed straight from its payload, so the order can point into it
+      json = (byte[]) start.getSourceRef();
+      offset = (int) start.getByteOffset();
+      p.skipChildren();
+      length = (int) p.getCurrentLocation().getByteOffset() - offset;
+    } else {
+      ByteArrayBuilder bytes = new ByteArrayBuilder();
+
+      try (JsonGenerator generator = FACTORY.createGenerator(bytes)) {
+        copyOrder(p, generator);
+      }
+
+      json = bytes.toByteArray();
+      offset = 0;
+      length = json.length;
+    }
+
+    try {
+      return LazyOrder.of(json, offset, length);
+    } catch (IllegalArgumentException ex) {
+      throw ctxt.instantiationException(Order.class, ex);
+    }
+  }
+
+  /**
+   * @return whether the object which begins at {@code start} can be read straight from the
+   * parser's input: the parser reads a whole byte array, e.g. the payload of a streaming update,
+   * rather than a stream or characters. Byte offsets are relative to the start of the input, so
+   * the opening brace must be where the offset points.
+   */
+  private static boolean isRawObject(JsonLocation start) {
+    if (!(start.getSourceRef() instanceof byte[])) {
+      return false;
+    }
+
+    byte[] input = (byte[]) start.getSourceRef();
+    long offset = start.getByteOffset();
+
+    return offset >= 0 && offset < input.length && input[(int) offset] == '{';
+  }
+
+  /**
+   * Copies the object the parser points at. Unlike {@link JsonGenerator#copyCurrentStructure}
+   * it keeps numbers as they're written, so prices sent as JSON numbers don't go through
+   * {@code double}.
+   */
+  private static void copyOrder(JsonParser p, JsonGenerator generator) throws IOException {
+    int depth = 0;
+
+    do {
+      JsonToken token = p.getCurrentToken();
+
+      switch (token) {
+        case START_OBJECT:
+        case START_ARRAY:
+          ++depth;
+          generator.copyCurrentEvent(p);
+          break;
+        case END_OBJECT:
+        case END_ARRAY:
+          --depth;
+          generator.copyCurrentEvent(p);
+          break;
+        case VALUE_NUMBER_INT:
+        case VALUE_NUMBER_FLOAT:
+          generator.writeNumber(p.getText());
+          break;
+        default:
+          generator.copyCurrentEvent(p);
+      }
+    } while (depth > 0 && p.nextToken() != null);
+  }
+
+  @Override
+  ImmutableTradeUpdate build(ImmutableTradeUpdate.Builder builder) {
+    return builder.build();
+  }
+}
@@ -1,24 +1,41 @@
 package io.github.maseev.alpaca.http.json.util;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.maseev.alpaca.api.account.entity.Account;
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.calendar.entity.Calendar;
+import io.github.maseev.alpaca.api.clock.entity.Clock;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.order.entity.OrderRequest;
+import io.github.maseev.alpaca.api.position.entity.Position;
+import io.github.maseev.alpaca.api.streaming.message.StreamUpdate;
+import io.github.maseev.alpaca.http.json.ImmutableJsonProfile;
+import io.github.maseev.alpaca.http.json.JsonProfile;
+import io.github.maseev.alpaca.http.json.codec.CodecModule;
 
-final class JsonMapper {
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-  private static final ObjectMapper MAPPER;
+final class JsonMapper {
 
-  static {
-    MAPPER = new ObjectMapper();
+  private static final JsonProfile DEFAULT_PROFILE = ImmutableJsonProfile.builder().build();
 
-    MAPPER.configure(JsonGenerator.Feature.WRITE_NUMBERS_AS_STRINGS, true);
-    MAPPER.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-    MAPPER.configure(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
+  private static final ObjectMapper MAPPER = create(DEFAULT_PROFILE);
 
-    MAPPER.registerModule(new JavaTimeModule());
-    MAPPER.findAndRegisterModules();
-  }
+  private static final ConcurrentMap<JsonProfile, ObjectMapper> MAPPERS =
+    new ConcurrentHashMap<>();
 
   private JsonMapper() {
   }
@@ -26,4 +43,77 @@ final class JsonMapper {
   static ObjectMapper getMapper() {
     return MAPPER;
   }
+
+  /**
+   * @return the mapper set up according to {@code profile}; it's created once per distinct
+   * profile
+   */
+  static ObjectMapper getMapper(JsonProfile profile) {
+    if (profile.equals(DEFAULT_PROFILE)) {
+      return MAPPER;
+    }
+
+    return MAPPERS.computeIfAbsent(profile, JsonMapper::create);
+  }
+
+  private static ObjectMapper create(JsonProfile profile) {
+    ObjectMapper mapper = new ObjectMapper();
+
+    mapper.configure(JsonGenerator.Feature.WRITE_NUMBERS_AS_STRINGS, true);
+    mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    mapper.configure(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
+
+    if (profile.lean()) {
+      // field names are canonicalized per parser anyway, interning them only costs a lookup
+      mapper.getFactory().configure(JsonFactory.Feature.INTERN_FIELD_NAMES, false);
+      mapper.configure(MapperFeature.USE_GETTERS_AS_SETTERS, false);
+      mapper.configure(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, false);
+    }
+
+    mapper.registerModule(new JavaTimeModule());
+
+    if (profile.discoverModules()) {
+      mapper.findAndRegisterModules();
+    }
+
+    mapper.registerModule(new CodecModule());
+
+    if (profile.warmUp()) {
+      warmUp(mapper);
+    }
+
+    return mapper;
+  }
+
+  /**
+   * Resolves the root deserializers of every entity the API returns and the serializer of order
+   * requests, so they're cached by the mapper before the first request.
+   */
+  private static void warmUp(ObjectMapper mapper) {
+    TypeFactory types = mapper.getTypeFactory();
+    JavaType barList = types.constructCollectionType(List.class, Bar.class);
+    JavaType fixedPointBarList = types.constructCollectionType(List.class, FixedPointBar.class);
+
+    JavaType[] entities = {
+      types.constructType(Account.class),
+      types.constructType(Asset.class),
+      types.constructCollectionType(List.class, Asset.class),
+      types.constructMapType(Map.class, types.constructType(String.class), barList),
+      types.constructMapType(Map.class, types.constructType(String.class), fixedPointBarList),
+      types.constructMapType(Map.class, String.class, BarSeries.class),
+      types.constructCollectionType(List.class, Calendar.class),
+      types.constructType(Clock.class),
+      types.constructType(Order.class),
+      types.constructCollectionType(List.class, Order.class),
+      types.constructType(Position.class),
+      types.constructCollectionType(List.class, Position.class),
+      types.constructType(StreamUpdate.class)
+    };
+
+    for (JavaType entity : entities) {
+      mapper.readerFor(entity);
+    }
+
+    mapper.writerFor(OrderRequest.class);
+  }
 }
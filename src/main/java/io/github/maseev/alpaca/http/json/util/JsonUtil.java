@@ -2,6 +2,9 @@ package io.github.maseev.alpaca.http.json.util;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.maseev.alpaca.http.json.JsonProfile;
 import java.io.IOException;
 
 public final class JsonUtil {
@@ -9,10 +12,61 @@ public final class JsonUtil {
   private JsonUtil() {
   }
 
+  /**
+   * Creates the mapper of the given profile unless it already exists, so the cost of setting it up
+   * and {@link JsonProfile#warmUp() warming it up} is paid at startup rather than by the first
+   * request.
+   */
+  public static void initialize(JsonProfile profile) {
+    JsonMapper.getMapper(profile);
+  }
+
   public static String toJson(Object object) throws JsonProcessingException {
     return JsonMapper.getMapper().writeValueAsString(object);
   }
 
+  /**
+   * Creates a reader which has its root type and deserializer already resolved, so reusing it
+   * avoids a type lookup on every call.
+   */
+  public static ObjectReader readerFor(Class<?> clazz) {
+    return JsonMapper.getMapper().readerFor(clazz);
+  }
+
+  public static ObjectReader readerFor(TypeReference<?> typeReference) {
+    return JsonMapper.getMapper().readerFor(typeReference);
+  }
+
+  /**
+   * Creates a reader backed by the mapper of the given profile.
+   */
+  public static ObjectReader readerFor(JsonProfile profile, Class<?> clazz) {
+    return JsonMapper.getMapper(profile).readerFor(clazz);
+  }
+
+  /**
+   * Creates a reader backed by the mapper of the given profile.
+   */
+  public static ObjectReader readerFor(JsonProfile profile, TypeReference<?> typeReference) {
+    return JsonMapper.getMapper(profile).readerFor(typeReference);
+  }
+
+  /**
+   * Creates a writer which has its root type and serializer already resolved. Its
+   * {@link ObjectWriter#writeValueAsBytes(Object)} encodes straight to UTF-8 through Jackson's
+   * recycled per-thread buffers, without building a {@link String} first.
+   */
+  public static ObjectWriter writerFor(Class<?> clazz) {
+    return JsonMapper.getMapper().writerFor(clazz);
+  }
+
+  /**
+   * Creates a writer backed by the mapper of the given profile.
+   */
+  public static ObjectWriter writerFor(JsonProfile profile, Class<?> clazz) {
+    return JsonMapper.getMapper(profile).writerFor(clazz);
+  }
+
   public static <T> T fromJson(String json, Class<T> clazz) throws IOException {
     return JsonMapper.getMapper().readValue(json, clazz);
   }
@@ -21,7 +75,17 @@ public final class JsonUtil {
     return JsonMapper.getMapper().readValue(json, clazz);
   }
 
+  public static <T> T fromJson(byte[] json, int offset, int length, Class<T> clazz)
+    throws IOException {
+    return JsonMapper.getMapper().readValue(json, offset, length, clazz);
+  }
+
   public static <T> T fromJson(String json, TypeReference<T> typeReference) throws IOException {
     return JsonMapper.getMapper().readValue(json, typeReference);
   }
+
+  public static <T> T fromJson(byte[] json, int offset, int length,
+                               TypeReference<T> typeReference) throws IOException {
+    return JsonMapper.getMapper().readValue(json, offset, length, typeReference);
+  }
 }
@@ -0,0 +1,27 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import org.immutables.value.Value;
+
+import java.util.Map;
+
+@Value.Immutable
+public interface EndpointSnapshot {
+
+  String method();
+
+  /**
+   * @return The endpoint template, e.g. {@code /orders/*}
+   */
+  String endpoint();
+
+  /**
+   * @return The number of requests which were in flight when the snapshot was taken
+   */
+  int inFlight();
+
+  /**
+   * @return Measurements keyed by the status code; {@code 0} stands for requests which failed
+   * without a response
+   */
+  Map<Integer, StatusSnapshot> statuses();
+}
@@ -0,0 +1,37 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+
+public final class FlightRecorder {
+
+  private static final String FLIGHT_RECORDER_METRICS =
+    "io.github.maseev.alpaca.http.metrics.FlightRecorderMetrics";
+
+  private FlightRecorder() {
+  }
+
+  /**
+   * Creates metrics which emit Java Flight Recorder events for every REST request
+   * ({@code io.github.maseev.alpaca.Request}) and every streaming update
+   * ({@code io.github.maseev.alpaca.StreamFrame}), so they can be lined up with GC pauses and
+   * other JVM events in a recording. Disabled events cost next to nothing. They're shipped in the
+   * Java 11 part of the multi-release jar, so they're only available when running on Java 11 or
+   * newer.
+   *
+   * @return new Java Flight Recorder metrics
+   * @throws UnsupportedOperationException if the runtime doesn't provide {@code jdk.jfr}
+   */
+  public static Metrics metrics() {
+    try {
+      return (Metrics) Class.forName(FLIGHT_RECORDER_METRICS)
+        .getConstructor()
+        .newInstance();
+    } catch (ClassNotFoundException | NoClassDefFoundError ex) {
+      throw new UnsupportedOperationException(
+        "Java Flight Recorder events require Java 11 or newer", ex);
+    } catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+      | InvocationTargetException ex) {
+      throw new IllegalStateException("couldn't create Java Flight Recorder metrics", ex);
+    }
+  }
+}
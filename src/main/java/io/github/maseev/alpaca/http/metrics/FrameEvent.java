@@ -0,0 +1,55 @@
+package io.github.maseev.alpaca.http.metrics;
+
+public final class FrameEvent {
+
+  private final String stream;
+  private final int payloadSize;
+  private final long parseTime;
+  private final long dispatchTime;
+  private final Object context;
+
+  public FrameEvent(String stream, int payloadSize, long parseTime, long dispatchTime,
+                    Object context) {
+    this.stream = stream;
+    this.payloadSize = payloadSize;
+    this.parseTime = parseTime;
+    this.dispatchTime = dispatchTime;
+    this.context = context;
+  }
+
+  /**
+   * @return the stream the update belongs to, e.g. {@code trade_updates}, or {@code null} if the
+   * frame couldn't be parsed
+   */
+  public String getStream() {
+    return stream;
+  }
+
+  /**
+   * @return the size of the frame's payload in bytes
+   */
+  public int getPayloadSize() {
+    return payloadSize;
+  }
+
+  /**
+   * @return the time in nanoseconds it took to parse the frame
+   */
+  public long getParseTime() {
+    return parseTime;
+  }
+
+  /**
+   * @return the time in nanoseconds it took to run the listeners subscribed to the update
+   */
+  public long getDispatchTime() {
+    return dispatchTime;
+  }
+
+  /**
+   * @return the context returned by {@link Metrics#frameReceived()}
+   */
+  public Object getContext() {
+    return context;
+  }
+}
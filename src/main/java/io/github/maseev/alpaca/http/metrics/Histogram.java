@@ -0,0 +1,70 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values with log-linear buckets in the spirit of
+ * HdrHistogram: every power of two is split into 16 linear sub-buckets, so any recorded value is
+ * reported with a relative error of at most 1/16 while the whole {@code long} range fits into
+ * less than a thousand buckets. Recording is a couple of atomic increments.
+ */
+public final class Histogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long value) {
+    long sample = Math.max(0, value);
+
+    counts.incrementAndGet(index(sample));
+    sum.add(sample);
+
+    long currentMax = max.get();
+
+    while (sample > currentMax && !max.compareAndSet(currentMax, sample)) {
+      currentMax = max.get();
+    }
+  }
+
+  public HistogramSnapshot snapshot() {
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+
+    for (int i = 0; i < BUCKETS; ++i) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+
+    return new HistogramSnapshot(snapshot, count, sum.sum(), max.get());
+  }
+
+  static int index(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+
+    int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long subBucket = index % SUB_BUCKETS;
+    long lowerBound = (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+
+    return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+}
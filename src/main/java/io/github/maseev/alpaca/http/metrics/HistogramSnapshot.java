@@ -0,0 +1,69 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import static java.lang.String.format;
+
+/**
+ * A point-in-time copy of a {@link Histogram}. Values are in nanoseconds when it comes to
+ * timings.
+ */
+public final class HistogramSnapshot {
+
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  HistogramSnapshot(long[] counts, long count, long sum, long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /**
+   * @param percentile a percentile between 0 and 100, e.g. 99.9
+   * @return the value below which the given percentage of the recorded values fall (within the
+   * histogram's precision)
+   */
+  public long getPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException(
+        format("'percentile' must be between 0 and 100; percentile: %s", percentile));
+    }
+
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+
+    for (int i = 0; i < counts.length; ++i) {
+      seen += counts[i];
+
+      if (seen >= rank) {
+        return Math.min(Histogram.upperBound(i), max);
+      }
+    }
+
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return format("count=%d, mean=%.0f, p50=%d, p99=%d, p99.9=%d, max=%d",
+      count, getMean(), getPercentile(50), getPercentile(99), getPercentile(99.9), max);
+  }
+}
@@ -0,0 +1,112 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps per-endpoint and per-status-code measurements in memory. Recording is lock-free; a
+ * {@link #snapshot() snapshot} can be taken at any time, e.g. to log or export it periodically.
+ */
+public class InMemoryMetrics implements Metrics {
+
+  private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+  @Override
+  public void requestStarted(String method, String endpoint) {
+    getEndpoint(method, endpoint).inFlight.incrementAndGet();
+  }
+
+  @Override
+  public void requestCompleted(RequestEvent event) {
+    EndpointMetrics endpoint = getEndpoint(event.getMethod(), event.getEndpoint());
+
+    endpoint.inFlight.decrementAndGet();
+    endpoint.statuses.computeIfAbsent(event.getStatusCode(), status -> new StatusMetrics())
+      .record(event);
+  }
+
+  /**
+   * @return measurements keyed by the method and the endpoint template, e.g.
+   * {@code GET /orders/*}
+   */
+  public Map<String, EndpointSnapshot> snapshot() {
+    Map<String, EndpointSnapshot> snapshot = new TreeMap<>();
+
+    for (Map.Entry<String, EndpointMetrics> entry : endpoints.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().snapshot());
+    }
+
+    return snapshot;
+  }
+
+  private EndpointMetrics getEndpoint(String method, String endpoint) {
+    String key = method + ' ' + endpoint;
+    EndpointMetrics metrics = endpoints.get(key);
+
+    if (metrics == null) {
+      metrics = endpoints.computeIfAbsent(key, k -> new EndpointMetrics(method, endpoint));
+    }
+
+    return metrics;
+  }
+
+  private static final class EndpointMetrics {
+
+    private final String method;
+    private final String endpoint;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentMap<Integer, StatusMetrics> statuses = new ConcurrentHashMap<>();
+
+    EndpointMetrics(String method, String endpoint) {
+      this.method = method;
+      this.endpoint = endpoint;
+    }
+
+    EndpointSnapshot snapshot() {
+      ImmutableEndpointSnapshot.Builder snapshot = ImmutableEndpointSnapshot.builder()
+        .method(method)
+        .endpoint(endpoint)
+        .inFlight(inFlight.get());
+
+      for (Map.Entry<Integer, StatusMetrics> entry : statuses.entrySet()) {
+        snapshot.putStatuses(entry.getKey(), entry.getValue().snapshot());
+      }
+
+      return snapshot.build();
+    }
+  }
+
+  private static final class StatusMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final Histogram queueTime = new Histogram();
+    private final Histogram networkTime = new Histogram();
+    private final Histogram decodeTime = new Histogram();
+    private final Histogram totalTime = new Histogram();
+
+    void record(RequestEvent event) {
+      requests.increment();
+      attempts.add(event.getAttempts());
+      queueTime.record(event.getQueueTime());
+      networkTime.record(event.getNetworkTime());
+      decodeTime.record(event.getDecodeTime());
+      totalTime.record(event.getTotalTime());
+    }
+
+    StatusSnapshot snapshot() {
+      return ImmutableStatusSnapshot.builder()
+        .requests(requests.sum())
+        .attempts(attempts.sum())
+        .queueTime(queueTime.snapshot())
+        .networkTime(networkTime.snapshot())
+        .decodeTime(decodeTime.snapshot())
+        .totalTime(totalTime.snapshot())
+        .build();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package io.github.maseev.alpaca.http.metrics;
+
+/**
+ * Receives measurements of the REST requests. Implementations must be thread-safe and cheap, since
+ * they are called on the request path.
+ */
+public interface Metrics {
+
+  /**
+   * Called once a request is about to be sent for the first time.
+   *
+   * @param method   HTTP method
+   * @param endpoint the endpoint template, e.g. {@code /orders} or {@code /orders/*}
+   */
+  void requestStarted(String method, String endpoint);
+
+  /**
+   * Called instead of {@link #requestStarted(String, String)} by the client. Implementations
+   * which need to carry state from the start of a request to its completion, e.g. a started
+   * timer, override it; by default it delegates to {@link #requestStarted(String, String)}.
+   *
+   * @return an arbitrary context which is handed back via {@link RequestEvent#getContext()}; may
+   * be {@code null}
+   */
+  default Object requestStartedWithContext(String method, String endpoint) {
+    requestStarted(method, endpoint);
+
+    return null;
+  }
+
+  /**
+   * Called once a request has completed, successfully or not, and its response has been decoded.
+   */
+  void requestCompleted(RequestEvent event);
+
+  /**
+   * Called once a streaming update frame has arrived, before it's parsed.
+   *
+   * @return an arbitrary context which is handed back via {@link FrameEvent#getContext()}; may be
+   * {@code null}
+   */
+  default Object frameReceived() {
+    return null;
+  }
+
+  /**
+   * Called once a streaming update frame has been parsed and dispatched to the listeners.
+   */
+  default void frameProcessed(FrameEvent event) {
+  }
+}
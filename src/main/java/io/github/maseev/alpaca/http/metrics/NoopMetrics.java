@@ -0,0 +1,17 @@
+package io.github.maseev.alpaca.http.metrics;
+
+public final class NoopMetrics implements Metrics {
+
+  public static final NoopMetrics INSTANCE = new NoopMetrics();
+
+  private NoopMetrics() {
+  }
+
+  @Override
+  public void requestStarted(String method, String endpoint) {
+  }
+
+  @Override
+  public void requestCompleted(RequestEvent event) {
+  }
+}
@@ -0,0 +1,98 @@
+package io.github.maseev.alpaca.http.metrics;
+
+public final class RequestEvent {
+
+  private final String method;
+  private final String endpoint;
+  private final int statusCode;
+  private final int attempts;
+  private final long queueTime;
+  private final long networkTime;
+  private final long decodeTime;
+  private final long totalTime;
+  private final int responseSize;
+  private final Object context;
+
+  public RequestEvent(String method, String endpoint, int statusCode, int attempts,
+                      long queueTime, long networkTime, long decodeTime, long totalTime,
+                      int responseSize, Object context) {
+    this.method = method;
+    this.endpoint = endpoint;
+    this.statusCode = statusCode;
+    this.attempts = attempts;
+    this.queueTime = queueTime;
+    this.networkTime = networkTime;
+    this.decodeTime = decodeTime;
+    this.totalTime = totalTime;
+    this.responseSize = responseSize;
+    this.context = context;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  /**
+   * @return the endpoint template, e.g. {@code /orders} or {@code /orders/*}, so requests to the
+   * same endpoint with different path parameters are accounted together
+   */
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  /**
+   * @return the status code of the last response or {@code 0} if no response was received
+   */
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * @return the time in nanoseconds the request spent waiting for the rate limiter
+   */
+  public long getQueueTime() {
+    return queueTime;
+  }
+
+  /**
+   * @return the time in nanoseconds between handing the request over to the transport and
+   * receiving the response, summed up over all attempts
+   */
+  public long getNetworkTime() {
+    return networkTime;
+  }
+
+  /**
+   * @return the time in nanoseconds it took to decode the response
+   */
+  public long getDecodeTime() {
+    return decodeTime;
+  }
+
+  /**
+   * @return the time in nanoseconds from executing the request till the decoded value was
+   * available, including retry delays
+   */
+  public long getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * @return the size of the decoded response body in bytes or {@code 0} if no response was
+   * decoded
+   */
+  public int getResponseSize() {
+    return responseSize;
+  }
+
+  /**
+   * @return the context returned by {@link Metrics#requestStartedWithContext(String, String)}
+   */
+  public Object getContext() {
+    return context;
+  }
+}
@@ -0,0 +1,88 @@
+package io.github.maseev.alpaca.http.metrics;
+
+/**
+ * Collects the timings of a single logical request (all its attempts) and reports them to
+ * {@link Metrics} once it completes. The stages of a request happen one after another, each one
+ * being triggered by the completion of the previous one, so the trace doesn't need any
+ * synchronization.
+ */
+public final class RequestTrace {
+
+  private final Metrics metrics;
+  private final String method;
+  private final String endpoint;
+  private final long createdAt;
+
+  private boolean started;
+  private boolean completed;
+  private int attempts;
+  private int statusCode;
+  private long queuedAt;
+  private long sentAt;
+  private long queueTime;
+  private long networkTime;
+  private long decodeTime;
+  private int responseSize;
+  private Object context;
+
+  public RequestTrace(Metrics metrics, String method, String endpoint) {
+    this.metrics = metrics;
+    this.method = method;
+    this.endpoint = endpoint;
+    this.createdAt = System.nanoTime();
+  }
+
+  /**
+   * Marks the beginning of an attempt; the request may wait for the rate limiter after that.
+   */
+  public void attemptQueued() {
+    if (!started) {
+      started = true;
+      context = metrics.requestStartedWithContext(method, endpoint);
+    }
+
+    attempts++;
+    queuedAt = System.nanoTime();
+  }
+
+  /**
+   * Marks the moment the request is handed over to the transport.
+   */
+  public void attemptSent() {
+    sentAt = System.nanoTime();
+    queueTime += sentAt - queuedAt;
+  }
+
+  /**
+   * Marks the moment the response (or a failure) is received.
+   *
+   * @param statusCode the status code of the response or {@code 0} if there's no response
+   */
+  public void attemptCompleted(int statusCode) {
+    networkTime += System.nanoTime() - sentAt;
+    this.statusCode = statusCode;
+  }
+
+  /**
+   * @param decodeTime   the time in nanoseconds it took to decode the response
+   * @param responseSize the size of the response body in bytes
+   */
+  public void decoded(long decodeTime, int responseSize) {
+    this.decodeTime += decodeTime;
+    this.responseSize = responseSize;
+  }
+
+  /**
+   * Reports the request to {@link Metrics}. It's a no-op if the request has never been sent, e.g.
+   * because an identical request in flight served it.
+   */
+  public void completed() {
+    if (!started || completed) {
+      return;
+    }
+
+    completed = true;
+    metrics.requestCompleted(new RequestEvent(method, endpoint, statusCode, attempts, queueTime,
+      networkTime, decodeTime, System.nanoTime() - createdAt, responseSize, context));
+  }
+}
@@ -0,0 +1,27 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import org.immutables.value.Value;
+
+/**
+ * Measurements of the requests to an endpoint which completed with the same status code. Timings
+ * are in nanoseconds.
+ */
+@Value.Immutable
+public interface StatusSnapshot {
+
+  long requests();
+
+  /**
+   * @return The total number of attempts, which is greater than {@link #requests()} if some of
+   * the requests were retried
+   */
+  long attempts();
+
+  HistogramSnapshot queueTime();
+
+  HistogramSnapshot networkTime();
+
+  HistogramSnapshot decodeTime();
+
+  HistogramSnapshot totalTime();
+}
@@ -0,0 +1,63 @@
+package io.github.maseev.alpaca.http.ratelimit;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+@Value.Immutable
+public interface RateLimit {
+
+  /**
+   * @return The number of requests allowed within a {@link RateLimit#period() period}
+   */
+  int permits();
+
+  Duration period();
+
+  /**
+   * @return The number of requests which can be sent back to back when the budget hasn't been
+   * touched for a while; defaults to {@link RateLimit#permits() permits}
+   */
+  @Value.Default
+  default int burst() {
+    return permits();
+  }
+
+  /**
+   * @return Whether or not the remaining budget reported by the server in the
+   * {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset} headers should be taken into account
+   */
+  @Value.Default
+  default boolean syncWithServer() {
+    return true;
+  }
+
+  @Value.Check
+  default void check() {
+    if (permits() <= 0) {
+      throw new IllegalStateException(format("'permits' must be positive; permits: %s", permits()));
+    }
+
+    if (burst() <= 0) {
+      throw new IllegalStateException(format("'burst' must be positive; burst: %s", burst()));
+    }
+
+    if (period().isNegative() || period().isZero()) {
+      throw new IllegalStateException(format("'period' must be positive; period: %s", period()));
+    }
+  }
+
+  /**
+   * @param permits the number of requests allowed per minute. Alpaca allows 200 requests per
+   *                minute per API key
+   * @return a rate limit of {@code permits} requests per minute
+   */
+  static RateLimit perMinute(int permits) {
+    return ImmutableRateLimit.builder()
+      .permits(permits)
+      .period(Duration.ofMinutes(1))
+      .build();
+  }
+}
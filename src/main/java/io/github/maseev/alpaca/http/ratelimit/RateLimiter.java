@@ -0,0 +1,180 @@
+package io.github.maseev.alpaca.http.ratelimit;
+
+import io.github.maseev.alpaca.http.util.SchedulerUtil;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A lock-free token bucket. Instead of keeping a token count, it keeps the theoretical arrival
+ * time of the next request (GCRA), so taking a permit is a single CAS on an {@link AtomicLong}.
+ * Requests which exceed the budget aren't rejected; they are handed a future which completes once
+ * the permit becomes available, so no thread is ever blocked while waiting.
+ */
+public class RateLimiter {
+
+  private static final Map<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+  private static final CompletableFuture<Void> NO_WAIT = CompletableFuture.completedFuture(null);
+
+  private final RateLimit rateLimit;
+  private final long interval;
+  private final long tolerance;
+  private final boolean syncWithServer;
+  private final LongSupplier clock;
+  private final ScheduledExecutorService scheduler;
+  private final AtomicLong theoreticalArrivalTime;
+
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final LongAdder delayedRequests = new LongAdder();
+  private final LongAdder totalWaitTime = new LongAdder();
+
+  public RateLimiter(RateLimit rateLimit) {
+    this(rateLimit, System::nanoTime, SchedulerUtil.scheduler());
+  }
+
+  RateLimiter(RateLimit rateLimit, LongSupplier clock, ScheduledExecutorService scheduler) {
+    this.rateLimit = rateLimit;
+    this.interval = Math.max(1, rateLimit.period().toNanos() / rateLimit.permits());
+    this.tolerance = interval * rateLimit.burst();
+    this.syncWithServer = rateLimit.syncWithServer();
+    this.clock = clock;
+    this.scheduler = scheduler;
+    this.theoreticalArrivalTime = new AtomicLong(clock.getAsLong());
+  }
+
+  /**
+   * Returns the rate limiter which guards the budget of the given API key on the given host. All
+   * the clients which use the same key to talk to the same host share one limiter, while e.g. the
+   * trading and the market data hosts have budgets of their own.
+   *
+   * @param keyId     API key ID
+   * @param host      the host the requests go to, e.g. {@code api.alpaca.markets}
+   * @param rateLimit the budget to enforce
+   * @return the rate limiter for the key and the host
+   * @throws IllegalStateException if the key already has a limiter for the host with a different
+   *                               budget
+   */
+  public static RateLimiter forKey(String keyId, String host, RateLimit rateLimit) {
+    RateLimiter rateLimiter =
+      LIMITERS.computeIfAbsent(keyId + ' ' + host, key -> new RateLimiter(rateLimit));
+
+    if (!rateLimiter.rateLimit.equals(rateLimit)) {
+      throw new IllegalStateException(
+        String.format("The API key already has a different rate limit for %s; "
+          + "rate limit: %s, requested rate limit: %s", host, rateLimiter.rateLimit, rateLimit));
+    }
+
+    return rateLimiter;
+  }
+
+  /**
+   * @return the budget the limiter enforces
+   */
+  public RateLimit rateLimit() {
+    return rateLimit;
+  }
+
+  /**
+   * Takes a permit.
+   *
+   * @return a future which completes once the request is allowed to go out. It's already completed
+   * if there's enough budget left
+   */
+  public CompletableFuture<Void> acquire() {
+    long delay = reserve();
+
+    if (delay <= 0) {
+      return NO_WAIT;
+    }
+
+    queueDepth.incrementAndGet();
+    delayedRequests.increment();
+    totalWaitTime.add(delay);
+
+    CompletableFuture<Void> permit = new CompletableFuture<>();
+
+    scheduler.schedule(() -> {
+      queueDepth.decrementAndGet();
+      permit.complete(null);
+    }, delay, TimeUnit.NANOSECONDS);
+
+    return permit;
+  }
+
+  /**
+   * Aligns the local budget with the one reported by the server. The budget is only ever lowered,
+   * so requests which are already in flight aren't double counted.
+   *
+   * @param remaining  the number of requests the server still allows
+   * @param untilReset the time left until the server replenishes the budget
+   */
+  public void update(long remaining, Duration untilReset) {
+    long now = clock.getAsLong();
+    long target;
+
+    if (remaining > 0) {
+      target = now + tolerance - remaining * interval;
+    } else {
+      long reset = untilReset.isNegative() ? 0 : untilReset.toNanos();
+      target = now + reset + tolerance - interval;
+    }
+
+    while (true) {
+      long current = theoreticalArrivalTime.get();
+
+      if (target - current <= 0 || theoreticalArrivalTime.compareAndSet(current, target)) {
+        return;
+      }
+    }
+  }
+
+  public boolean isSyncWithServer() {
+    return syncWithServer;
+  }
+
+  /**
+   * @return the number of requests which are currently waiting for a permit
+   */
+  public int queueDepth() {
+    return queueDepth.get();
+  }
+
+  /**
+   * @return the total number of requests which had to wait for a permit
+   */
+  public long delayedRequests() {
+    return delayedRequests.sum();
+  }
+
+  /**
+   * @return the total time requests spent waiting for a permit
+   */
+  public Duration totalWaitTime() {
+    return Duration.ofNanos(totalWaitTime.sum());
+  }
+
+  /**
+   * @return the delay in nanoseconds the caller has to wait before sending the request
+   */
+  long reserve() {
+    long now = clock.getAsLong();
+
+    while (true) {
+      long current = theoreticalArrivalTime.get();
+      long next = (current - now > 0 ? current : now) + interval;
+
+      if (theoreticalArrivalTime.compareAndSet(current, next)) {
+        return next - tolerance - now;
+      }
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package io.github.maseev.alpaca.http.retry;
+
+import io.github.maseev.alpaca.http.HttpCode;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
+import io.github.maseev.alpaca.http.util.SchedulerUtil;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executes a request according to a {@link RetryPolicy}. Attempts are rescheduled on a shared
+ * scheduler, so no thread is blocked between them. Once the policy gives up, the last response
+ * (or error) is returned, so the caller sees the same outcome it would have seen without retries.
+ */
+public class RetryExecutor {
+
+  private static final String RETRY_AFTER = "Retry-After";
+  private static final long NO_RETRY = -1;
+
+  private final RetryPolicy policy;
+  private final ScheduledExecutorService scheduler;
+
+  public RetryExecutor(RetryPolicy policy) {
+    this(policy, SchedulerUtil.scheduler());
+  }
+
+  RetryExecutor(RetryPolicy policy, ScheduledExecutorService scheduler) {
+    this.policy = policy;
+    this.scheduler = scheduler;
+  }
+
+  public RetryPolicy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * @param request sends a single attempt of the request
+   * @return the response to the last attempt
+   */
+  public CompletableFuture<TransportResponse> execute(Supplier<CompletableFuture<TransportResponse>> request) {
+    CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+
+    attempt(request, result, 1, System.nanoTime());
+
+    return result;
+  }
+
+  private void attempt(Supplier<CompletableFuture<TransportResponse>> request,
+                       CompletableFuture<TransportResponse> result, int attempt, long startedAt) {
+    request.get().whenComplete((response, ex) -> {
+      long delay = delay(attempt, response, ex);
+
+      if (delay != NO_RETRY && withinDeadline(startedAt, delay)) {
+        scheduler.schedule(() -> attempt(request, result, attempt + 1, startedAt),
+          delay, TimeUnit.NANOSECONDS);
+      } else if (ex != null) {
+        result.completeExceptionally(ex);
+      } else {
+        result.complete(response);
+      }
+    });
+  }
+
+  private long delay(int attempt, TransportResponse response, Throwable ex) {
+    if (ex != null) {
+      Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+        ? ex.getCause()
+        : ex;
+
+      return cause instanceof IOException ? delay(attempt, 0, null) : NO_RETRY;
+    }
+
+    return delay(attempt, response.getStatusCode(), response.getHeader(RETRY_AFTER));
+  }
+
+  /**
+   * @param attempt    the number of the attempt which has just completed, starting from 1
+   * @param statusCode the status code of the response or {@code 0} if there's no response
+   * @param retryAfter the value of the {@code Retry-After} header, if any
+   * @return the delay in nanoseconds before the next attempt or a negative value if the request
+   * shouldn't be retried
+   */
+  long delay(int attempt, int statusCode, String retryAfter) {
+    if (attempt >= policy.maxAttempts() || (statusCode != 0 && !isRetryable(statusCode))) {
+      return NO_RETRY;
+    }
+
+    long maxBackoff = policy.maxBackoff().toNanos();
+    long backoff = policy.initialBackoff().toNanos();
+
+    for (int i = 1; i < attempt && backoff < maxBackoff; i++) {
+      backoff <<= 1;
+    }
+
+    long jitter = ThreadLocalRandom.current().nextLong(Math.min(backoff, maxBackoff) + 1);
+
+    return Math.max(jitter, parseRetryAfter(retryAfter));
+  }
+
+  private boolean withinDeadline(long startedAt, long delay) {
+    Duration deadline = policy.deadline();
+
+    return deadline == null || System.nanoTime() + delay - startedAt <= deadline.toNanos();
+  }
+
+  private static boolean isRetryable(int statusCode) {
+    return statusCode == HttpCode.TOO_MANY_REQUESTS.getCode() || statusCode >= 500;
+  }
+
+  static long parseRetryAfter(String retryAfter) {
+    if (retryAfter == null || retryAfter.isEmpty()) {
+      return 0;
+    }
+
+    try {
+      return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+    } catch (NumberFormatException ex) {
+      // Retry-After may be an HTTP date as well
+    }
+
+    try {
+      ZonedDateTime retryAt =
+        ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+
+      return Math.max(0, Duration.between(ZonedDateTime.now(), retryAt).toNanos());
+    } catch (DateTimeException ex) {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package io.github.maseev.alpaca.http.retry;
+
+import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+/**
+ * Describes how requests which failed with {@code 429 Too Many Requests}, a {@code 5xx} status or
+ * an I/O error are retried. The delay between attempts grows exponentially and is randomized
+ * ("full jitter"), unless the server asks for a longer one via the {@code Retry-After} header.
+ */
+@Value.Immutable
+public interface RetryPolicy {
+
+  /**
+   * @return The maximum number of attempts including the first one
+   */
+  @Value.Default
+  default int maxAttempts() {
+    return 3;
+  }
+
+  /**
+   * @return The upper bound of the delay before the second attempt; it doubles with every
+   * subsequent attempt
+   */
+  @Value.Default
+  default Duration initialBackoff() {
+    return Duration.ofMillis(100);
+  }
+
+  /**
+   * @return The upper bound of the delay between any two attempts. It doesn't apply to delays
+   * requested by the server via {@code Retry-After}
+   */
+  @Value.Default
+  default Duration maxBackoff() {
+    return Duration.ofSeconds(10);
+  }
+
+  /**
+   * @return The time after the first attempt beyond which no more attempts are made; the last
+   * response is returned as is. {@code null} means there's no deadline
+   */
+  @Nullable
+  Duration deadline();
+
+  /**
+   * @return Whether or not requests with non-idempotent methods (e.g. {@code POST}) are retried.
+   * Requests which are explicitly marked as safe to retry (e.g. orders with a client order ID) are
+   * retried regardless
+   */
+  @Value.Default
+  default boolean retryNonIdempotent() {
+    return false;
+  }
+
+  @Value.Check
+  default void check() {
+    if (maxAttempts() <= 0) {
+      throw new IllegalStateException(
+        format("'maxAttempts' must be positive; maxAttempts: %s", maxAttempts()));
+    }
+
+    if (initialBackoff().isNegative() || maxBackoff().isNegative()) {
+      throw new IllegalStateException(
+        format("backoff can't be negative; initialBackoff: %s, maxBackoff: %s",
+          initialBackoff(), maxBackoff()));
+    }
+  }
+}
@@ -1,21 +1,39 @@
 package io.github.maseev.alpaca.http.transformer;
 
-import static io.github.maseev.alpaca.http.json.util.JsonUtil.fromJson;
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.readerFor;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.github.maseev.alpaca.http.exception.APIException;
+import io.github.maseev.alpaca.http.json.JsonProfile;
 import java.io.IOException;
 
 public class GenericTransformer<T> extends Transformer<T> {
 
   private final TypeReference<T> typeReference;
+  private final ObjectReader reader;
 
   public GenericTransformer(TypeReference<T> typeReference) {
+    this(typeReference, readerFor(typeReference));
+  }
+
+  private GenericTransformer(TypeReference<T> typeReference, ObjectReader reader) {
     this.typeReference = typeReference;
+    this.reader = reader;
+  }
+
+  @Override
+  public Transformer<T> withAttribute(Object key, Object value) {
+    return new GenericTransformer<>(typeReference, reader.withAttribute(key, value));
+  }
+
+  @Override
+  public Transformer<T> withProfile(JsonProfile profile) {
+    return new GenericTransformer<>(typeReference, readerFor(profile, typeReference));
   }
 
   @Override
-  public T transform(String responseBody) throws APIException, IOException {
-    return fromJson(responseBody, typeReference);
+  public T transform(byte[] content, int offset, int length) throws APIException, IOException {
+    return reader.readValue(content, offset, length);
   }
 }
@@ -0,0 +1,20 @@
+package io.github.maseev.alpaca.http.transformer;
+
+import io.github.maseev.alpaca.api.order.entity.LazyOrder;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a list of orders into {@link LazyOrder lazy orders}. The orders share a single copy of
+ * the response body, since the buffer the body arrives in may be reused by the transport.
+ */
+final class LazyOrdersTransformer extends Transformer<List<Order>> {
+
+  @Override
+  public List<Order> transform(byte[] content, int offset, int length) {
+    byte[] json = Arrays.copyOfRange(content, offset, offset + length);
+
+    return LazyOrder.listOf(json, 0, json.length);
+  }
+}
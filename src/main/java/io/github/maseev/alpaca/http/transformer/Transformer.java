@@ -3,24 +3,115 @@ package io.github.maseev.alpaca.http.transformer;
 import io.github.maseev.alpaca.http.HttpCode;
 import io.github.maseev.alpaca.http.exception.APIException;
 import io.github.maseev.alpaca.http.exception.ParsingException;
+import io.github.maseev.alpaca.http.json.JsonProfile;
+import io.github.maseev.alpaca.http.metrics.RequestTrace;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
 import java.io.IOException;
-import org.asynchttpclient.Response;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public abstract class Transformer<T> {
 
-  public abstract T transform(String responseBody) throws APIException, IOException;
+  /**
+   * Decodes a response body straight from its UTF-8 bytes without materializing it as a
+   * {@link String} first.
+   *
+   * @param content the buffer which holds the response body
+   * @param offset  the offset of the first byte of the response body within {@code content}
+   * @param length  the length of the response body
+   * @return the decoded value
+   */
+  public abstract T transform(byte[] content, int offset, int length)
+    throws APIException, IOException;
 
-  public final T transform(Response response) throws APIException {
-    validate(response);
+  /**
+   * Returns a transformer which decodes with the given
+   * {@link com.fasterxml.jackson.databind.DeserializationContext#getAttribute(Object) context
+   * attribute}, e.g. a {@link io.github.maseev.alpaca.http.json.SymbolTable}. Transformers which
+   * don't go through Jackson ignore attributes and return themselves.
+   */
+  public Transformer<T> withAttribute(Object key, Object value) {
+    return this;
+  }
+
+  /**
+   * Returns a transformer which decodes through the mapper of the given {@link JsonProfile}.
+   * Transformers which don't go through Jackson ignore profiles and return themselves.
+   */
+  public Transformer<T> withProfile(JsonProfile profile) {
+    return this;
+  }
+
+  public T transform(String responseBody) throws APIException, IOException {
+    byte[] content = responseBody.getBytes(StandardCharsets.UTF_8);
+
+    return transform(content, 0, content.length);
+  }
+
+  public final T transform(TransportResponse response) throws APIException {
+    return transform(response, null);
+  }
+
+  /**
+   * Decodes the response once it arrives.
+   *
+   * @param response the pending response
+   * @return the pending decoded value. It completes exceptionally with a
+   * {@link CompletionException} which wraps an {@link APIException} if the request fails
+   */
+  public final CompletableFuture<T> transform(CompletableFuture<TransportResponse> response) {
+    return transform(response, null);
+  }
+
+  /**
+   * Decodes the response once it arrives and records the decoding time and the response size.
+   *
+   * @param response the pending response
+   * @param trace    the trace of the request the measurements are added to; may be {@code null}
+   * @return the pending decoded value. It completes exceptionally with a
+   * {@link CompletionException} which wraps an {@link APIException} if the request fails
+   */
+  public final CompletableFuture<T> transform(CompletableFuture<TransportResponse> response,
+                                              RequestTrace trace) {
+    return response.thenApply(x -> {
+      try {
+        return transform(x, trace);
+      } catch (APIException e) {
+        throw new CompletionException(e);
+      }
+    });
+  }
+
+  private T transform(TransportResponse response, RequestTrace trace) throws APIException {
+    long start = System.nanoTime();
+    int size = 0;
 
     try {
-      return transform(response.getResponseBody());
+      validate(response);
+
+      ByteBuffer body = response.getResponseBodyAsByteBuffer();
+      size = body.remaining();
+
+      if (body.hasArray()) {
+        return transform(body.array(), body.arrayOffset() + body.position(), body.remaining());
+      }
+
+      byte[] content = new byte[body.remaining()];
+      body.get(content);
+
+      return transform(content, 0, content.length);
     } catch (IOException e) {
       throw new ParsingException(e);
+    } finally {
+      if (trace != null) {
+        trace.decoded(System.nanoTime() - start, size);
+      }
     }
   }
 
-  private static void validate(Response response) throws APIException {
+  private static void validate(TransportResponse response) throws APIException {
     HttpCode httpCode = HttpCode.valueOf(response.getStatusCode());
 
     httpCode.doThrow(response);
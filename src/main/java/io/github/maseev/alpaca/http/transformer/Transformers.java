@@ -0,0 +1,73 @@
+package io.github.maseev.alpaca.http.transformer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.github.maseev.alpaca.api.account.entity.Account;
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.calendar.entity.Calendar;
+import io.github.maseev.alpaca.api.clock.entity.Clock;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.position.entity.Position;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared, thread-safe transformers for every entity the REST API returns. Each of them is backed
+ * by an {@link com.fasterxml.jackson.databind.ObjectReader} built once, so a request neither
+ * allocates a transformer nor resolves the target type again.
+ */
+public final class Transformers {
+
+  public static final Transformer<Account> ACCOUNT = new ValueTransformer<>(Account.class);
+
+  public static final Transformer<Asset> ASSET = new ValueTransformer<>(Asset.class);
+
+  public static final Transformer<List<Asset>> ASSETS =
+    new GenericTransformer<>(new TypeReference<List<Asset>>() {});
+
+  public static final Transformer<Map<String, List<Bar>>> BARS =
+    new GenericTransformer<>(new TypeReference<Map<String, List<Bar>>>() {});
+
+  /**
+   * Decodes bars in the {@link io.github.maseev.alpaca.http.json.PriceMode#FIXED_POINT
+   * fixed-point} mode, i.e. into {@link FixedPointBar} instances.
+   */
+  @SuppressWarnings("unchecked")
+  public static final Transformer<Map<String, List<Bar>>> FIXED_POINT_BARS =
+    (Transformer<Map<String, List<Bar>>>) (Transformer<?>)
+      new GenericTransformer<>(new TypeReference<Map<String, List<FixedPointBar>>>() {});
+
+  /**
+   * Decodes bars straight into a {@link BarSeries} per symbol.
+   */
+  public static final Transformer<Map<String, BarSeries>> BAR_SERIES =
+    new GenericTransformer<>(new TypeReference<Map<String, BarSeries>>() {});
+
+  public static final Transformer<List<Calendar>> CALENDARS =
+    new GenericTransformer<>(new TypeReference<List<Calendar>>() {});
+
+  public static final Transformer<Clock> CLOCK = new ValueTransformer<>(Clock.class);
+
+  public static final Transformer<Order> ORDER = new ValueTransformer<>(Order.class);
+
+  public static final Transformer<List<Order>> ORDERS =
+    new GenericTransformer<>(new TypeReference<List<Order>>() {});
+
+  /**
+   * Reads orders into {@link io.github.maseev.alpaca.api.order.entity.LazyOrder lazy orders}
+   * which decode their fields on first use.
+   */
+  public static final Transformer<List<Order>> LAZY_ORDERS = new LazyOrdersTransformer();
+
+  public static final Transformer<Position> POSITION = new ValueTransformer<>(Position.class);
+
+  public static final Transformer<List<Position>> POSITIONS =
+    new GenericTransformer<>(new TypeReference<List<Position>>() {});
+
+  public static final Transformer<Void> VOID = new ValueTransformer<>(Void.class);
+
+  private Transformers() {
+  }
+}
@@ -1,24 +1,44 @@
 package io.github.maseev.alpaca.http.transformer;
 
-import static io.github.maseev.alpaca.http.json.util.JsonUtil.fromJson;
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.readerFor;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.github.maseev.alpaca.http.exception.APIException;
+import io.github.maseev.alpaca.http.json.JsonProfile;
 import java.io.IOException;
 
 public class ValueTransformer<T> extends Transformer<T> {
 
   private final Class<T> clazz;
+  private final ObjectReader reader;
 
   public ValueTransformer(Class<T> clazz) {
+    this(clazz, clazz == void.class || clazz == Void.class ? null : readerFor(clazz));
+  }
+
+  private ValueTransformer(Class<T> clazz, ObjectReader reader) {
     this.clazz = clazz;
+    this.reader = reader;
+  }
+
+  @Override
+  public Transformer<T> withAttribute(Object key, Object value) {
+    return reader == null
+      ? this
+      : new ValueTransformer<>(clazz, reader.withAttribute(key, value));
+  }
+
+  @Override
+  public Transformer<T> withProfile(JsonProfile profile) {
+    return reader == null ? this : new ValueTransformer<>(clazz, readerFor(profile, clazz));
   }
 
   @Override
-  public T transform(String responseBody) throws APIException, IOException {
-    if (clazz == void.class || clazz == Void.class) {
+  public T transform(byte[] content, int offset, int length) throws APIException, IOException {
+    if (reader == null) {
       return null;
     }
 
-    return fromJson(responseBody, clazz);
+    return reader.readValue(content, offset, length);
   }
 }
@@ -0,0 +1,93 @@
+package io.github.maseev.alpaca.http.transport;
+
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.BoundRequestBuilder;
+import org.asynchttpclient.ClientStats;
+import org.asynchttpclient.HostStats;
+import org.asynchttpclient.Response;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The default transport built on top of {@link AsyncHttpClient}. It uses HTTP/1.1 and a pool of
+ * keep-alive connections.
+ */
+public class AsyncHttpClientTransport implements Transport {
+
+  private final AsyncHttpClient client;
+
+  public AsyncHttpClientTransport(AsyncHttpClient client) {
+    this.client = client;
+  }
+
+  public AsyncHttpClient getClient() {
+    return client;
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> execute(TransportRequest request) {
+    BoundRequestBuilder requestBuilder = client.prepare(request.getMethod(), request.getUrl());
+
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      requestBuilder.addHeader(header.getKey(), header.getValue());
+    }
+
+    if (request.getBody() != null) {
+      requestBuilder.setBody(request.getBody());
+    }
+
+    return requestBuilder.execute().toCompletableFuture().thenApply(AsyncHttpClientResponse::new);
+  }
+
+  @Override
+  public PoolStats poolStats() {
+    ClientStats clientStats = client.getClientStats();
+    ImmutablePoolStats.Builder poolStats = ImmutablePoolStats.builder();
+
+    for (Map.Entry<String, HostStats> entry : clientStats.getStatsPerHost().entrySet()) {
+      poolStats.putHosts(entry.getKey(), ImmutableHostPoolStats.builder()
+        .activeConnections(entry.getValue().getHostActiveConnectionCount())
+        .idleConnections(entry.getValue().getHostIdleConnectionCount())
+        .build());
+    }
+
+    return poolStats.build();
+  }
+
+  @Override
+  public void close() throws IOException {
+    client.close();
+  }
+
+  private static final class AsyncHttpClientResponse implements TransportResponse {
+
+    private final Response response;
+
+    AsyncHttpClientResponse(Response response) {
+      this.response = response;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return response.getStatusCode();
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return response.getHeader(name);
+    }
+
+    @Override
+    public ByteBuffer getResponseBodyAsByteBuffer() {
+      return response.getResponseBodyAsByteBuffer();
+    }
+
+    @Override
+    public String getResponseBody() {
+      return response.getResponseBody();
+    }
+  }
+}
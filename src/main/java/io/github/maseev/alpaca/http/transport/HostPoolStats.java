@@ -0,0 +1,17 @@
+package io.github.maseev.alpaca.http.transport;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface HostPoolStats {
+
+  /**
+   * @return The number of connections which are serving a request
+   */
+  long activeConnections();
+
+  /**
+   * @return The number of open connections which are ready to serve a request right away
+   */
+  long idleConnections();
+}
@@ -0,0 +1,25 @@
+package io.github.maseev.alpaca.http.transport;
+
+import org.immutables.value.Value;
+
+import java.util.Map;
+
+/**
+ * A snapshot of the connections pooled by a {@link Transport}.
+ */
+@Value.Immutable
+public interface PoolStats {
+
+  /**
+   * @return Connection counts keyed by the host, e.g. {@code https://paper-api.alpaca.markets:443}
+   */
+  Map<String, HostPoolStats> hosts();
+
+  default long activeConnections() {
+    return hosts().values().stream().mapToLong(HostPoolStats::activeConnections).sum();
+  }
+
+  default long idleConnections() {
+    return hosts().values().stream().mapToLong(HostPoolStats::idleConnections).sum();
+  }
+}
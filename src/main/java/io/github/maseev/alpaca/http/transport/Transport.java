@@ -0,0 +1,21 @@
+package io.github.maseev.alpaca.http.transport;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends HTTP requests on behalf of {@link io.github.maseev.alpaca.http.HttpClient}. Implementations
+ * must be thread-safe and must never block the calling thread.
+ */
+public interface Transport extends Closeable {
+
+  CompletableFuture<TransportResponse> execute(TransportRequest request);
+
+  /**
+   * @return the current state of the connection pool or {@code null} if the transport doesn't
+   * expose it
+   */
+  default PoolStats poolStats() {
+    return null;
+  }
+}
@@ -0,0 +1,40 @@
+package io.github.maseev.alpaca.http.transport;
+
+import java.util.Map;
+
+public final class TransportRequest {
+
+  private final String method;
+  private final String url;
+  private final Map<String, String> headers;
+  private final byte[] body;
+
+  /**
+   * @param method  HTTP method
+   * @param url     absolute URL including the encoded query string
+   * @param headers request headers
+   * @param body    request body or {@code null} if the request doesn't have one
+   */
+  public TransportRequest(String method, String url, Map<String, String> headers, byte[] body) {
+    this.method = method;
+    this.url = url;
+    this.headers = headers;
+    this.body = body;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  public byte[] getBody() {
+    return body;
+  }
+}
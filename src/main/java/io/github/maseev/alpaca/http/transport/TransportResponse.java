@@ -0,0 +1,17 @@
+package io.github.maseev.alpaca.http.transport;
+
+import java.nio.ByteBuffer;
+
+public interface TransportResponse {
+
+  int getStatusCode();
+
+  /**
+   * @return the first value of the header or {@code null} if there's no such header
+   */
+  String getHeader(String name);
+
+  ByteBuffer getResponseBodyAsByteBuffer();
+
+  String getResponseBody();
+}
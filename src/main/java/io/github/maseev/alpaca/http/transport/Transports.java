@@ -0,0 +1,35 @@
+package io.github.maseev.alpaca.http.transport;
+
+import java.lang.reflect.InvocationTargetException;
+
+public final class Transports {
+
+  private static final String JAVA_HTTP_CLIENT_TRANSPORT =
+    "io.github.maseev.alpaca.http.transport.JavaHttpClientTransport";
+
+  private Transports() {
+  }
+
+  /**
+   * Creates a transport built on top of {@code java.net.http.HttpClient} which multiplexes
+   * concurrent requests over a few HTTP/2 connections. It's shipped in the Java 11 part of the
+   * multi-release jar, so it's only available when running on Java 11 or newer.
+   *
+   * @return a new HTTP/2 transport
+   * @throws UnsupportedOperationException if the runtime doesn't provide
+   *                                       {@code java.net.http.HttpClient}
+   */
+  public static Transport javaHttpClient() {
+    try {
+      return (Transport) Class.forName(JAVA_HTTP_CLIENT_TRANSPORT)
+        .getConstructor()
+        .newInstance();
+    } catch (ClassNotFoundException | NoClassDefFoundError ex) {
+      throw new UnsupportedOperationException(
+        "java.net.http.HttpClient based transport requires Java 11 or newer", ex);
+    } catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+      | InvocationTargetException ex) {
+      throw new IllegalStateException("couldn't create java.net.http.HttpClient transport", ex);
+    }
+  }
+}
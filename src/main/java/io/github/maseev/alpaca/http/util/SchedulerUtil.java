@@ -0,0 +1,26 @@
+package io.github.maseev.alpaca.http.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+public final class SchedulerUtil {
+
+  private static final ScheduledExecutorService SCHEDULER =
+    Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "alpaca-scheduler");
+      thread.setDaemon(true);
+
+      return thread;
+    });
+
+  private SchedulerUtil() {
+  }
+
+  /**
+   * @return a shared scheduler for delayed work. It only runs short, non-blocking tasks, so it
+   * doesn't need to be shut down and it doesn't keep the JVM alive
+   */
+  public static ScheduledExecutorService scheduler() {
+    return SCHEDULER;
+  }
+}
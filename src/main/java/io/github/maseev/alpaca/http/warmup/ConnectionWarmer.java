@@ -0,0 +1,95 @@
+package io.github.maseev.alpaca.http.warmup;
+
+import io.github.maseev.alpaca.http.HttpClient;
+import io.github.maseev.alpaca.http.util.SchedulerUtil;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens pooled connections ahead of time, so the first real request (e.g. placing an order)
+ * doesn't pay for DNS, TCP and TLS setup, and keeps them from being closed for being idle.
+ *
+ * <p>A connection is opened (or touched) by a {@code HEAD} request for the client's base URL;
+ * sending several of them at once makes the transport open that many connections. The responses
+ * are ignored, so a host doesn't have to serve any particular endpoint. The requests go straight
+ * to the transport, so they neither count against the rate limit nor show up in the metrics.
+ *
+ * @see HttpClient#touchConnection()
+ */
+public class ConnectionWarmer implements Closeable {
+
+  private final List<HttpClient> clients;
+  private final WarmUp warmUp;
+  private final ScheduledExecutorService scheduler;
+
+  private ScheduledFuture<?> keepAlive;
+
+  /**
+   * @param clients the clients whose hosts should be kept warm
+   * @param warmUp  the number of connections and how often to touch them
+   */
+  public ConnectionWarmer(List<HttpClient> clients, WarmUp warmUp) {
+    this(clients, warmUp, SchedulerUtil.scheduler());
+  }
+
+  ConnectionWarmer(List<HttpClient> clients, WarmUp warmUp, ScheduledExecutorService scheduler) {
+    this.clients = clients;
+    this.warmUp = warmUp;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Opens the connections and starts keeping them alive.
+   *
+   * @return a future which completes once every connection has been opened or has failed to
+   */
+  public synchronized CompletableFuture<Void> start() {
+    CompletableFuture<Void> warmedUp = touchConnections();
+
+    if (keepAlive == null && !warmUp.keepAliveInterval().isZero()) {
+      long interval = warmUp.keepAliveInterval().toNanos();
+
+      keepAlive = scheduler.scheduleAtFixedRate(this::keepAlive, interval, interval,
+        TimeUnit.NANOSECONDS);
+    }
+
+    return warmedUp;
+  }
+
+  /**
+   * Stops keeping the connections alive.
+   */
+  @Override
+  public synchronized void close() {
+    if (keepAlive != null) {
+      keepAlive.cancel(false);
+      keepAlive = null;
+    }
+  }
+
+  CompletableFuture<Void> touchConnections() {
+    List<CompletableFuture<?>> requests = new ArrayList<>();
+
+    for (HttpClient client : clients) {
+      for (int i = 0; i < warmUp.connections(); ++i) {
+        requests.add(client.touchConnection().handle((response, ex) -> null));
+      }
+    }
+
+    return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]));
+  }
+
+  private void keepAlive() {
+    try {
+      touchConnections();
+    } catch (RuntimeException ex) {
+      // an exception would cancel the periodic task, but the next round may well succeed
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.maseev.alpaca.http.warmup;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+@Value.Immutable
+public interface WarmUp {
+
+  /**
+   * @return The number of connections opened to every host at startup and kept alive afterwards;
+   * it's worth matching the number of orders which are usually placed at once
+   */
+  @Value.Default
+  default int connections() {
+    return 2;
+  }
+
+  /**
+   * @return How often the connections are touched with a {@code HEAD} request to the base URL, so
+   * they aren't closed for being idle. It must be shorter than the pooled connection idle
+   * timeout of the transport (a minute for {@code AsyncHttpClient} by default).
+   * {@link Duration#ZERO} turns keep-alive off
+   */
+  @Value.Default
+  default Duration keepAliveInterval() {
+    return Duration.ofSeconds(30);
+  }
+
+  /**
+   * @return Whether or not the streaming API should be connected at startup as well
+   */
+  @Value.Default
+  default boolean streaming() {
+    return false;
+  }
+
+  @Value.Check
+  default void check() {
+    if (connections() <= 0) {
+      throw new IllegalStateException(
+        format("'connections' must be positive; connections: %s", connections()));
+    }
+
+    if (keepAliveInterval().isNegative()) {
+      throw new IllegalStateException(
+        format("'keepAliveInterval' must not be negative; keepAliveInterval: %s",
+          keepAliveInterval()));
+    }
+  }
+}
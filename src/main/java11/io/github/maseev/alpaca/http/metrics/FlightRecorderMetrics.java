@@ -0,0 +1,81 @@
+package io.github.maseev.alpaca.http.metrics;
+
+/**
+ * Emits a Java Flight Recorder event for every REST request and every streaming update. An event
+ * spans the whole request (or frame), so it shows up on the recording's timeline next to the GC
+ * pauses and safepoints which happened meanwhile.
+ *
+ * @see FlightRecorder#metrics()
+ */
+public class FlightRecorderMetrics implements Metrics {
+
+  @Override
+  public void requestStarted(String method, String endpoint) {
+  }
+
+  @Override
+  public Object requestStartedWithContext(String method, String endpoint) {
+    RequestFlightEvent event = new RequestFlightEvent();
+
+    if (!event.isEnabled()) {
+      return null;
+    }
+
+    event.begin();
+
+    return event;
+  }
+
+  @Override
+  public void requestCompleted(RequestEvent requestEvent) {
+    if (!(requestEvent.getContext() instanceof RequestFlightEvent)) {
+      return;
+    }
+
+    RequestFlightEvent event = (RequestFlightEvent) requestEvent.getContext();
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.method = requestEvent.getMethod();
+      event.endpoint = requestEvent.getEndpoint();
+      event.statusCode = requestEvent.getStatusCode();
+      event.retries = Math.max(0, requestEvent.getAttempts() - 1);
+      event.responseSize = requestEvent.getResponseSize();
+      event.queueTime = requestEvent.getQueueTime();
+      event.networkTime = requestEvent.getNetworkTime();
+      event.decodeTime = requestEvent.getDecodeTime();
+      event.commit();
+    }
+  }
+
+  @Override
+  public Object frameReceived() {
+    StreamFrameFlightEvent event = new StreamFrameFlightEvent();
+
+    if (!event.isEnabled()) {
+      return null;
+    }
+
+    event.begin();
+
+    return event;
+  }
+
+  @Override
+  public void frameProcessed(FrameEvent frameEvent) {
+    if (!(frameEvent.getContext() instanceof StreamFrameFlightEvent)) {
+      return;
+    }
+
+    StreamFrameFlightEvent event = (StreamFrameFlightEvent) frameEvent.getContext();
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.stream = frameEvent.getStream();
+      event.payloadSize = frameEvent.getPayloadSize();
+      event.parseTime = frameEvent.getParseTime();
+      event.dispatchTime = frameEvent.getDispatchTime();
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("io.github.maseev.alpaca.Request")
+@Label("REST Request")
+@Category({"Alpaca", "HTTP"})
+@Description("A REST request from the first attempt till the decoded response")
+@StackTrace(false)
+class RequestFlightEvent extends Event {
+
+  @Label("Method")
+  String method;
+
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("Status Code")
+  @Description("The status code of the last response or 0 if no response was received")
+  int statusCode;
+
+  @Label("Retries")
+  int retries;
+
+  @Label("Response Size")
+  @DataAmount
+  int responseSize;
+
+  @Label("Queue Time")
+  @Description("The time spent waiting for the rate limiter")
+  @Timespan
+  long queueTime;
+
+  @Label("Network Time")
+  @Timespan
+  long networkTime;
+
+  @Label("Decode Time")
+  @Timespan
+  long decodeTime;
+}
@@ -0,0 +1,33 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("io.github.maseev.alpaca.StreamFrame")
+@Label("Stream Frame")
+@Category({"Alpaca", "Streaming"})
+@Description("A streaming update frame from its arrival till its listeners have run")
+@StackTrace(false)
+class StreamFrameFlightEvent extends Event {
+
+  @Label("Stream")
+  String stream;
+
+  @Label("Payload Size")
+  @DataAmount
+  int payloadSize;
+
+  @Label("Parse Time")
+  @Timespan
+  long parseTime;
+
+  @Label("Dispatch Time")
+  @Timespan
+  long dispatchTime;
+}
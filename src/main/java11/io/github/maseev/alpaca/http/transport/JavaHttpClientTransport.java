@@ -0,0 +1,94 @@
+package io.github.maseev.alpaca.http.transport;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A transport built on top of {@link HttpClient}. It negotiates HTTP/2, so concurrent requests to
+ * the same host share a few multiplexed connections instead of a connection each.
+ *
+ * <p>It's compiled for Java 11 into the multi-release part of the jar and is created through
+ * {@link Transports#javaHttpClient()}.
+ */
+public class JavaHttpClientTransport implements Transport {
+
+  private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+  // headers which java.net.http.HttpClient manages itself and rejects if they are set explicitly
+  private static final Set<String> RESTRICTED_HEADERS =
+    Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+  private final HttpClient client;
+
+  public JavaHttpClientTransport() {
+    this(HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_2)
+      .connectTimeout(CONNECT_TIMEOUT)
+      .build());
+  }
+
+  public JavaHttpClientTransport(HttpClient client) {
+    this.client = client;
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> execute(TransportRequest request) {
+    HttpRequest.BodyPublisher body = request.getBody() == null
+      ? HttpRequest.BodyPublishers.noBody()
+      : HttpRequest.BodyPublishers.ofByteArray(request.getBody());
+
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUrl()))
+      .method(request.getMethod(), body);
+
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+        builder.header(header.getKey(), header.getValue());
+      }
+    }
+
+    return client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+      .thenApply(JavaHttpClientResponse::new);
+  }
+
+  @Override
+  public void close() {
+    // java.net.http.HttpClient releases its connections once it's no longer reachable
+  }
+
+  private static final class JavaHttpClientResponse implements TransportResponse {
+
+    private final HttpResponse<byte[]> response;
+
+    JavaHttpClientResponse(HttpResponse<byte[]> response) {
+      this.response = response;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return response.statusCode();
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return response.headers().firstValue(name).orElse(null);
+    }
+
+    @Override
+    public ByteBuffer getResponseBodyAsByteBuffer() {
+      return ByteBuffer.wrap(response.body());
+    }
+
+    @Override
+    public String getResponseBody() {
+      return new String(response.body(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package io.github.maseev.alpaca.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.github.maseev.alpaca.api.order.entity.ImmutableOrder;
+import io.github.maseev.alpaca.api.order.entity.ImmutableOrderRequest;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.order.entity.OrderRequest;
+import io.github.maseev.alpaca.http.ImmutableClientOptions;
+import io.github.maseev.alpaca.http.exception.APIException;
+import io.github.maseev.alpaca.http.warmup.ImmutableWarmUp;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.maseev.alpaca.api.asset.entity.AssetClass.US_EQUITY;
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.toJson;
+
+/**
+ * Measures the time to the first order of a freshly created {@link AlpacaAPI}, with and without
+ * warming its connections up. The stand-in server is a local Jetty which delays the first request
+ * on every new connection by {@code setupLatencyMillis} to simulate the DNS, TCP and TLS round
+ * trips to a remote host.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 50)
+public class StartupBenchmark {
+
+  private static final byte[] CLOCK = ("{\"timestamp\":\"2019-04-01T12:00:00.000-04:00\","
+    + "\"is_open\":true,\"next_open\":\"2019-04-02T09:30:00.000-04:00\","
+    + "\"next_close\":\"2019-04-01T16:00:00.000-04:00\"}").getBytes(StandardCharsets.UTF_8);
+
+  private static final OrderRequest ORDER_REQUEST = ImmutableOrderRequest.builder()
+    .symbol("AAPL")
+    .qty(1)
+    .side(Order.Side.BUY)
+    .type(Order.Type.LIMIT)
+    .timeInForce(Order.TimeInForce.DAY)
+    .limitPrice(BigDecimal.valueOf(10))
+    .build();
+
+  @Param({"false", "true"})
+  private boolean warmUp;
+
+  @Param({"50"})
+  private int setupLatencyMillis;
+
+  private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+
+  private Server server;
+  private String baseUrl;
+  private byte[] order;
+  private AlpacaAPI api;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    LocalDateTime orderDate = LocalDateTime.now();
+
+    order = toJson(ImmutableOrder.builder()
+      .id(UUID.randomUUID().toString())
+      .clientOrderId(UUID.randomUUID().toString())
+      .createdAt(orderDate)
+      .updatedAt(orderDate)
+      .submittedAt(orderDate)
+      .assetId(UUID.randomUUID().toString())
+      .symbol(ORDER_REQUEST.symbol())
+      .assetClass(US_EQUITY)
+      .qty(ORDER_REQUEST.qty())
+      .filledQty(0)
+      .type(ORDER_REQUEST.type())
+      .orderType(ORDER_REQUEST.type())
+      .side(ORDER_REQUEST.side())
+      .timeInForce(ORDER_REQUEST.timeInForce())
+      .limitPrice(ORDER_REQUEST.limitPrice())
+      .status(Order.Status.NEW)
+      .extendedHours(false)
+      .build()).getBytes(StandardCharsets.UTF_8);
+
+    server = new Server();
+    ServerConnector connector = new ServerConnector(server);
+    server.addConnector(connector);
+    server.setHandler(new AbstractHandler() {
+      @Override
+      public void handle(String target, Request baseRequest, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        if (connections.add(request.getRemotePort())) {
+          try {
+            Thread.sleep(setupLatencyMillis);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json");
+        response.getOutputStream().write("POST".equals(request.getMethod()) ? order : CLOCK);
+        baseRequest.setHandled(true);
+      }
+    });
+    server.start();
+
+    baseUrl = "http://localhost:" + connector.getLocalPort();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    server.stop();
+  }
+
+  @Setup(Level.Invocation)
+  public void startApi() {
+    ImmutableClientOptions.Builder options = ImmutableClientOptions.builder();
+
+    if (warmUp) {
+      options.warmUp(ImmutableWarmUp.builder().build());
+    }
+
+    api = new AlpacaAPI(baseUrl + "/v2", baseUrl + "/v1", baseUrl, "keyId", "secretKey", null,
+      options.build());
+    api.warmedUp().join();
+  }
+
+  @TearDown(Level.Invocation)
+  public void stopApi() throws IOException {
+    api.close();
+  }
+
+  @Benchmark
+  public Order firstOrder() throws APIException, JsonProcessingException {
+    return api.orders().place(ORDER_REQUEST).await();
+  }
+}
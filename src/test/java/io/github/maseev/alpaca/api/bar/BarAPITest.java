@@ -2,27 +2,42 @@ package io.github.maseev.alpaca.api.bar;
 
 import com.google.common.net.MediaType;
 import io.github.maseev.alpaca.APITest;
+import io.github.maseev.alpaca.api.AlpacaAPI;
+import io.github.maseev.alpaca.api.bar.cache.BarCache;
 import io.github.maseev.alpaca.api.bar.entity.Bar;
 import io.github.maseev.alpaca.api.bar.entity.BarMimic;
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
 import io.github.maseev.alpaca.api.bar.entity.ImmutableBar;
+import io.github.maseev.alpaca.api.bar.store.BarStore;
+import io.github.maseev.alpaca.api.bar.store.StoredBars;
+import io.github.maseev.alpaca.api.bar.store.TimeRange;
 import io.github.maseev.alpaca.http.HttpClient;
 import io.github.maseev.alpaca.http.HttpCode;
+import io.github.maseev.alpaca.http.ImmutableClientOptions;
 import io.github.maseev.alpaca.http.exception.APIException;
 import io.github.maseev.alpaca.http.util.ContentType;
 import org.junit.jupiter.api.Test;
+import org.mockserver.matchers.Times;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.Month;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
 
 import static io.github.maseev.alpaca.http.json.util.DateFormatUtil.format;
 import static io.github.maseev.alpaca.http.json.util.JsonUtil.toJson;
 import static java.math.BigDecimal.valueOf;
 import static java.time.OffsetDateTime.of;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -134,6 +149,265 @@ public class BarAPITest extends APITest {
     assertThat(bars, is(equalTo(expectedBars)));
   }
 
+  @Test
+  public void gettingBarSeriesMustReturnSameBarsInColumns() throws Exception {
+    Bar firstBar =
+      ImmutableBar.builder()
+        .time(Instant.ofEpochSecond(1544129220))
+        .openPrice(valueOf(172.26))
+        .highPrice(valueOf(172.3))
+        .lowPrice(valueOf(172.16))
+        .closePrice(valueOf(172.18))
+        .volume(3892)
+        .build();
+    Bar secondBar =
+      ImmutableBar.builder()
+        .time(Instant.ofEpochSecond(1544129280))
+        .openPrice(valueOf(172.18))
+        .highPrice(valueOf(172.2))
+        .lowPrice(valueOf(172.1))
+        .closePrice(valueOf(172.15))
+        .volume(1200)
+        .build();
+
+    String symbol = "AAPL";
+    BarAPI.Timeframe timeframe = BarAPI.Timeframe.MINUTE;
+    OffsetDateTime start =
+      of(2019, Month.FEBRUARY.getValue(), 10, 12, 30, 00, 0, ZoneOffset.UTC);
+    OffsetDateTime end = start.plusWeeks(3);
+    int limit = 10;
+
+    mockServer()
+      .when(
+        request(BarAPI.ENDPOINT + '/' + timeframe)
+          .withMethod(HttpClient.HttpMethod.GET.toString())
+          .withQueryStringParameter("symbols", symbol)
+          .withQueryStringParameter("limit", Integer.toString(limit))
+      )
+      .respond(
+        response()
+          .withStatusCode(HttpCode.OK.getCode())
+          .withBody(toJson(singletonMap(symbol,
+            asList(new BarMimic(firstBar), new BarMimic(secondBar)))), MediaType.JSON_UTF_8)
+      );
+
+    Map<String, BarSeries> series =
+      api.bars()
+        .getSeries(symbol, timeframe, start, end, true, limit)
+        .get();
+
+    BarSeries expectedSeries = BarSeries.builder().add(firstBar).add(secondBar).build();
+
+    assertThat(series, is(equalTo(singletonMap(symbol, expectedSeries))));
+  }
+
+  @Test
+  public void barsMustBeReadThroughStoreAndFetchedOnlyOnce() throws Exception {
+    Bar expectedBar =
+      ImmutableBar.builder()
+        .time(Instant.parse("2019-02-11T05:00:00Z"))
+        .openPrice(valueOf(172.26))
+        .highPrice(valueOf(172.3))
+        .lowPrice(valueOf(172.16))
+        .closePrice(valueOf(172.18))
+        .volume(3892)
+        .build();
+
+    String symbol = "AAPL";
+    BarAPI.Timeframe timeframe = BarAPI.Timeframe.DAY;
+    OffsetDateTime start =
+      of(2019, Month.FEBRUARY.getValue(), 10, 12, 30, 00, 0, ZoneOffset.UTC);
+    OffsetDateTime end = start.plusWeeks(3);
+
+    mockServer()
+      .when(
+        request(BarAPI.ENDPOINT + '/' + timeframe)
+          .withMethod(HttpClient.HttpMethod.GET.toString())
+          .withQueryStringParameter("symbols", symbol)
+          .withQueryStringParameter("limit", "1000")
+          .withQueryStringParameter("start", format(start).toString())
+          .withQueryStringParameter("end", format(end).toString()),
+        Times.once()
+      )
+      .respond(
+        response()
+          .withStatusCode(HttpCode.OK.getCode())
+          .withBody(toJson(singletonMap(symbol, singletonList(new BarMimic(expectedBar)))),
+            MediaType.JSON_UTF_8)
+      );
+
+    Path directory = Files.createTempDirectory("bars");
+
+    try (BarStore store = new BarStore(directory)) {
+      StoredBars bars = api.bars().get(store, symbol, timeframe, start, end).get();
+      StoredBars storedBars =
+        api.bars().get(store, symbol, timeframe, start.plusHours(1), end).get();
+
+      assertThat(bars.size(), is(1));
+      assertThat(bars.bar(0), is(equalTo(FixedPointBar.of(expectedBar))));
+      assertThat(storedBars.size(), is(1));
+    } finally {
+      try (Stream<Path> paths = Files.walk(directory)) {
+        paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+      }
+    }
+  }
+
+  @Test
+  public void rangeFarFromStoredOneMustBypassStore() throws Exception {
+    Bar expectedBar =
+      ImmutableBar.builder()
+        .time(Instant.parse("2024-03-05T05:00:00Z"))
+        .openPrice(valueOf(172.26))
+        .highPrice(valueOf(172.3))
+        .lowPrice(valueOf(172.16))
+        .closePrice(valueOf(172.18))
+        .volume(3892)
+        .build();
+
+    String symbol = "AAPL";
+    BarAPI.Timeframe timeframe = BarAPI.Timeframe.DAY;
+    OffsetDateTime start =
+      of(2024, Month.MARCH.getValue(), 4, 12, 30, 00, 0, ZoneOffset.UTC);
+    OffsetDateTime end = start.plusDays(2);
+    TimeRange covered =
+      TimeRange.of(Instant.parse("2019-01-01T00:00:00Z"), Instant.parse("2019-02-01T00:00:00Z"));
+
+    mockServer()
+      .when(
+        request(BarAPI.ENDPOINT + '/' + timeframe)
+          .withMethod(HttpClient.HttpMethod.GET.toString())
+          .withQueryStringParameter("symbols", symbol)
+          .withQueryStringParameter("limit", "1000")
+          .withQueryStringParameter("start", format(start).toString())
+          .withQueryStringParameter("end", format(end).toString()),
+        Times.once()
+      )
+      .respond(
+        response()
+          .withStatusCode(HttpCode.OK.getCode())
+          .withBody(toJson(singletonMap(symbol, singletonList(new BarMimic(expectedBar)))),
+            MediaType.JSON_UTF_8)
+      );
+
+    Path directory = Files.createTempDirectory("bars");
+
+    try (BarStore store = new BarStore(directory)) {
+      store.write(symbol, timeframe, covered, emptyList());
+
+      StoredBars bars = api.bars().get(store, symbol, timeframe, start, end).get();
+
+      assertThat(bars.size(), is(1));
+      assertThat(bars.bar(0), is(equalTo(FixedPointBar.of(expectedBar))));
+      assertThat(store.missing(symbol, timeframe, covered).isEmpty(), is(true));
+      assertThat(store.read(symbol, timeframe, start.toInstant(), end.toInstant()).isEmpty(),
+        is(true));
+    } finally {
+      try (Stream<Path> paths = Files.walk(directory)) {
+        paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+      }
+    }
+  }
+
+  @Test
+  public void barsMustBeReadThroughCacheAndFetchedOnlyOnce() throws Exception {
+    Bar expectedBar =
+      ImmutableBar.builder()
+        .time(Instant.parse("2019-02-11T05:00:00Z"))
+        .openPrice(valueOf(172.26))
+        .highPrice(valueOf(172.3))
+        .lowPrice(valueOf(172.16))
+        .closePrice(valueOf(172.18))
+        .volume(3892)
+        .build();
+
+    String symbol = "AAPL";
+    BarAPI.Timeframe timeframe = BarAPI.Timeframe.DAY;
+    OffsetDateTime start =
+      of(2019, Month.FEBRUARY.getValue(), 10, 12, 30, 00, 0, ZoneOffset.UTC);
+    OffsetDateTime end = start.plusWeeks(3);
+
+    mockServer()
+      .when(
+        request(BarAPI.ENDPOINT + '/' + timeframe)
+          .withMethod(HttpClient.HttpMethod.GET.toString())
+          .withQueryStringParameter("symbols", symbol)
+          .withQueryStringParameter("limit", "1000")
+          .withQueryStringParameter("start", format(start).toString())
+          .withQueryStringParameter("end", format(end).toString()),
+        Times.once()
+      )
+      .respond(
+        response()
+          .withStatusCode(HttpCode.OK.getCode())
+          .withBody(toJson(singletonMap(symbol, singletonList(new BarMimic(expectedBar)))),
+            MediaType.JSON_UTF_8)
+      );
+
+    BarCache cache = new BarCache(1024);
+    AlpacaAPI cachedApi = new AlpacaAPI(getBaseURL(), getBaseURL(), getBaseURL(), keyId,
+      secretKey, null, ImmutableClientOptions.builder().barCache(cache).build());
+
+    Map<String, List<Bar>> bars =
+      cachedApi.bars().get(symbol, timeframe, start, end, true, 30).get();
+    Map<String, List<Bar>> cachedBars =
+      cachedApi.bars().get(symbol, timeframe, start.plusHours(1), end, true, 30).get();
+
+    Map<String, List<Bar>> expectedBars =
+      singletonMap(symbol, singletonList(FixedPointBar.of(expectedBar)));
+
+    assertThat(bars, is(equalTo(expectedBars)));
+    assertThat(cachedBars, is(equalTo(expectedBars)));
+    assertThat(cache.hits(), is(1L));
+    assertThat(cache.misses(), is(1L));
+  }
+
+  @Test
+  public void limitedRequestMustBypassCache() throws Exception {
+    Bar expectedBar =
+      ImmutableBar.builder()
+        .time(Instant.parse("2019-03-01T05:00:00Z"))
+        .openPrice(valueOf(172.26))
+        .highPrice(valueOf(172.3))
+        .lowPrice(valueOf(172.16))
+        .closePrice(valueOf(172.18))
+        .volume(3892)
+        .build();
+
+    String symbol = "AAPL";
+    BarAPI.Timeframe timeframe = BarAPI.Timeframe.DAY;
+    OffsetDateTime start =
+      of(2019, Month.FEBRUARY.getValue(), 10, 12, 30, 00, 0, ZoneOffset.UTC);
+    OffsetDateTime end = start.plusWeeks(3);
+
+    mockServer()
+      .when(
+        request(BarAPI.ENDPOINT + '/' + timeframe)
+          .withMethod(HttpClient.HttpMethod.GET.toString())
+          .withQueryStringParameter("symbols", symbol)
+          .withQueryStringParameter("limit", "2")
+      )
+      .respond(
+        response()
+          .withStatusCode(HttpCode.OK.getCode())
+          .withBody(toJson(singletonMap(symbol, singletonList(new BarMimic(expectedBar)))),
+            MediaType.JSON_UTF_8)
+      );
+
+    BarCache cache = new BarCache(1024);
+    AlpacaAPI cachedApi = new AlpacaAPI(getBaseURL(), getBaseURL(), getBaseURL(), keyId,
+      secretKey, null, ImmutableClientOptions.builder().barCache(cache).build());
+
+    Map<String, List<Bar>> bars =
+      cachedApi.bars().get(symbol, timeframe, start, end, true, 2).get();
+
+    assertThat(bars.get(symbol).size(), is(1));
+    assertThat(mockServer().retrieveRecordedRequests(
+      request(BarAPI.ENDPOINT + '/' + timeframe)).length, is(1));
+    assertThat(cache.hits(), is(0L));
+    assertThat(cache.misses(), is(0L));
+  }
+
   @Test
   public void gettingNonExistentSymbolBarsMustThrowException() throws APIException {
     String symbol = "ZZZZ";
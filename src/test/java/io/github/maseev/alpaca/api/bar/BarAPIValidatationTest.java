@@ -1,15 +1,23 @@
 package io.github.maseev.alpaca.api.bar;
 
 import io.github.maseev.alpaca.api.AlpacaAPI;
+import io.github.maseev.alpaca.http.HttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.Month;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
 import static java.time.OffsetDateTime.of;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
 
 public class BarAPIValidatationTest {
 
@@ -86,4 +94,27 @@ public class BarAPIValidatationTest {
     assertThrows(IllegalArgumentException.class,
       () -> api.bars().get("AAPL", BarAPI.Timeframe.DAY, start, end, true, 9000));
   }
+
+  @Test
+  public void backfillWithoutParallelismMustThrowException() {
+    OffsetDateTime start =
+      of(2019, Month.FEBRUARY.getValue(), 10, 12, 30, 00, 0, ZoneOffset.UTC);
+    OffsetDateTime end = start.plusDays(1);
+
+    assertThrows(IllegalArgumentException.class,
+      () -> api.bars().backfill(singletonList("AAPL"), BarAPI.Timeframe.DAY, start, end, 0,
+        (symbol, bars) -> { }));
+  }
+
+  @Test
+  public void dailyBarsMustBeCompleteUntilPreviousMidnightInExchangeTimeZone() {
+    // 01:30 in UTC is still the previous evening in New York
+    Clock clock = Clock.fixed(Instant.parse("2019-02-12T01:30:00Z"), ZoneOffset.UTC);
+    BarAPI bars = new BarAPI(mock(HttpClient.class), clock);
+
+    assertThat(bars.complete(BarAPI.Timeframe.DAY),
+      is(equalTo(Instant.parse("2019-02-10T05:00:00Z"))));
+    assertThat(bars.complete(BarAPI.Timeframe.FIVE_MINUTES),
+      is(equalTo(Instant.parse("2019-02-12T01:25:00Z"))));
+  }
 }
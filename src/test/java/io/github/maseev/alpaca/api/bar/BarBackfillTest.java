@@ -0,0 +1,187 @@
+package io.github.maseev.alpaca.api.bar;
+
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.ImmutableBar;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BarBackfillTest {
+
+  private static final OffsetDateTime START =
+    OffsetDateTime.of(2019, Month.FEBRUARY.getValue(), 10, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  private final List<Request> requests = new ArrayList<>();
+
+  @Test
+  public void backfillMustBeSplitIntoSymbolBatchesAndTimeWindows() {
+    List<String> symbols = new ArrayList<>();
+
+    for (int i = 0; i < 450; ++i) {
+      symbols.add("S" + i);
+    }
+
+    OffsetDateTime end = START.plusDays(2500);
+
+    new BarBackfill(symbols, Duration.ofDays(1), START, end, 100, this::fetch, (s, b) -> { })
+      .start();
+
+    assertThat(requests.size(), is(9));
+    assertThat(requests.get(0).symbols.length, is(200));
+    assertThat(requests.get(2).symbols.length, is(50));
+    assertThat(requests.get(0).start, is(equalTo(START)));
+    assertThat(requests.get(0).end, is(equalTo(START.plusDays(1000).minusSeconds(1))));
+    assertThat(requests.get(3).start, is(equalTo(START.plusDays(1000))));
+    assertThat(requests.get(8).start, is(equalTo(START.plusDays(2000))));
+    assertThat(requests.get(8).end, is(equalTo(end)));
+  }
+
+  @Test
+  public void requestsInFlightMustNotExceedParallelism() {
+    OffsetDateTime end = START.plusMinutes(10_000);
+    CompletableFuture<Void> result = new BarBackfill(singletonList("AAPL"), Duration.ofMinutes(1),
+      START, end, 3, this::fetch, (s, b) -> { }).start();
+
+    for (int completed = 0; completed < 10; ++completed) {
+      assertThat(requests.size(), is(Math.min(completed + 3, 11)));
+
+      requests.get(completed).bars.complete(singletonMap("AAPL", singletonList(bar(completed))));
+    }
+
+    assertThat(result.isDone(), is(false));
+
+    requests.get(10).bars.complete(singletonMap("AAPL", singletonList(bar(10))));
+
+    assertThat(result.isDone(), is(true));
+  }
+
+  @Test
+  public void barsOfSymbolMustBeDeliveredInTimeOrderAsTheyArrive() {
+    Map<String, List<Bar>> delivered = new HashMap<>();
+    OffsetDateTime end = START.plusMinutes(2999);
+
+    new BarBackfill(asList("AAPL", "MSFT"), Duration.ofMinutes(1), START, end, 3, this::fetch,
+      (symbol, bars) -> delivered.computeIfAbsent(symbol, x -> new ArrayList<>()).addAll(bars))
+      .start();
+
+    Map<String, List<Bar>> third = new HashMap<>();
+    third.put("AAPL", singletonList(bar(2)));
+    third.put("MSFT", singletonList(bar(2)));
+
+    requests.get(2).bars.complete(third);
+
+    assertThat(delivered.isEmpty(), is(true));
+
+    requests.get(0).bars.complete(singletonMap("AAPL", singletonList(bar(0))));
+
+    assertThat(delivered.get("AAPL"), is(equalTo(singletonList(bar(0)))));
+    assertThat(delivered.containsKey("MSFT"), is(false));
+
+    requests.get(1).bars.complete(singletonMap("AAPL", singletonList(bar(1))));
+
+    assertThat(delivered.get("AAPL"), is(equalTo(asList(bar(0), bar(1), bar(2)))));
+    assertThat(delivered.get("MSFT"), is(equalTo(singletonList(bar(2)))));
+  }
+
+  @Test
+  public void failedRequestMustFailBackfillAndStopIssuingRequests() {
+    OffsetDateTime end = START.plusMinutes(10_000);
+    CompletableFuture<Void> result = new BarBackfill(singletonList("AAPL"), Duration.ofMinutes(1),
+      START, end, 2, this::fetch, (s, b) -> { }).start();
+
+    IllegalStateException failure = new IllegalStateException("unavailable");
+    requests.get(0).bars.completeExceptionally(failure);
+    requests.get(1).bars.complete(singletonMap("AAPL", singletonList(bar(1))));
+
+    assertThat(requests.size(), is(2));
+
+    ExecutionException ex = assertThrows(ExecutionException.class, result::get);
+
+    assertThat(ex.getCause(), is(equalTo(failure)));
+  }
+
+  @Test
+  public void completedRequestsMustNotGrowStack() {
+    OffsetDateTime end = START.plusMinutes(100_000_000);
+    List<Bar> delivered = new ArrayList<>();
+
+    CompletableFuture<Void> result = new BarBackfill(singletonList("AAPL"), Duration.ofMinutes(1),
+      START, end, 1,
+      (symbols, start, until) -> CompletableFuture.completedFuture(
+        singletonMap("AAPL", singletonList(bar(0)))),
+      (symbol, bars) -> delivered.addAll(bars)).start();
+
+    assertThat(result.isDone(), is(true));
+    assertThat(result.isCompletedExceptionally(), is(false));
+    assertThat(delivered.size(), is(100_001));
+  }
+
+  @Test
+  public void failureMustBeUnwrapped() {
+    OffsetDateTime end = START.plusMinutes(10_000);
+    CompletableFuture<Void> result = new BarBackfill(singletonList("AAPL"), Duration.ofMinutes(1),
+      START, end, 1, (symbols, start, until) -> fetch(symbols, start, until).thenApply(x -> x),
+      (s, b) -> { }).start();
+
+    IllegalStateException failure = new IllegalStateException("unavailable");
+    requests.get(0).bars.completeExceptionally(failure);
+
+    ExecutionException ex = assertThrows(ExecutionException.class, result::get);
+
+    assertThat(ex.getCause(), is(equalTo(failure)));
+  }
+
+  private CompletableFuture<Map<String, List<Bar>>> fetch(String[] symbols,
+                                                          OffsetDateTime start,
+                                                          OffsetDateTime end) {
+    Request request = new Request(symbols, start, end);
+    requests.add(request);
+
+    return request.bars;
+  }
+
+  private static Bar bar(int minute) {
+    BigDecimal price = BigDecimal.valueOf(100 + minute);
+
+    return ImmutableBar.builder()
+      .time(START.plusMinutes(minute).toInstant())
+      .openPrice(price)
+      .highPrice(price)
+      .lowPrice(price)
+      .closePrice(price)
+      .volume(minute)
+      .build();
+  }
+
+  private static final class Request {
+
+    private final String[] symbols;
+    private final OffsetDateTime start;
+    private final OffsetDateTime end;
+    private final CompletableFuture<Map<String, List<Bar>>> bars = new CompletableFuture<>();
+
+    private Request(String[] symbols, OffsetDateTime start, OffsetDateTime end) {
+      this.symbols = symbols;
+      this.start = start;
+      this.end = end;
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package io.github.maseev.alpaca.api.bar;
+
+import io.github.maseev.alpaca.api.bar.BarAPI.Timeframe;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.ImmutableBar;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.synchronizedList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BarBatcherTest {
+
+  private static final OffsetDateTime START =
+    OffsetDateTime.of(2019, Month.FEBRUARY.getValue(), 10, 0, 0, 0, 0, ZoneOffset.UTC);
+  private static final OffsetDateTime END = START.plusDays(1);
+
+  private final List<Runnable> scheduledTasks = synchronizedList(new ArrayList<>());
+  private final List<Request> requests = synchronizedList(new ArrayList<>());
+  private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1) {
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+      scheduledTasks.add(command);
+
+      return null;
+    }
+  };
+  private final BarBatcher batcher =
+    new BarBatcher(Duration.ofMillis(10), scheduler, this::fetch);
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  public void requestsWithinWindowMustBeSentAsOneRequest() throws Exception {
+    CompletableFuture<Map<String, List<Bar>>> aapl = get("AAPL", START);
+    CompletableFuture<Map<String, List<Bar>>> msft = get("MSFT", START);
+    CompletableFuture<Map<String, List<Bar>>> sameAapl = get("AAPL", START);
+    CompletableFuture<Map<String, List<Bar>>> tsla = get("TSLA", START);
+
+    assertThat(requests.size(), is(0));
+
+    scheduledTasks.forEach(Runnable::run);
+
+    assertThat(scheduledTasks.size(), is(1));
+    assertThat(requests.size(), is(1));
+    assertThat(asList(requests.get(0).symbols), is(equalTo(asList("AAPL", "MSFT", "TSLA"))));
+
+    Map<String, List<Bar>> bars = new HashMap<>();
+    bars.put("AAPL", singletonList(bar(0)));
+    bars.put("MSFT", singletonList(bar(1)));
+
+    requests.get(0).bars.complete(bars);
+
+    assertThat(aapl.get(), is(equalTo(singletonMap("AAPL", singletonList(bar(0))))));
+    assertThat(sameAapl.get(), is(equalTo(singletonMap("AAPL", singletonList(bar(0))))));
+    assertThat(msft.get(), is(equalTo(singletonMap("MSFT", singletonList(bar(1))))));
+    assertThat(tsla.get(), is(equalTo(emptyMap())));
+    assertThat(batcher.sentRequests(), is(1L));
+    assertThat(batcher.mergedRequests(), is(3L));
+  }
+
+  @Test
+  public void requestsWithDifferentParametersMustNotBeMerged() {
+    get("AAPL", START);
+    get("MSFT", START.plusHours(1));
+
+    scheduledTasks.forEach(Runnable::run);
+
+    assertThat(requests.size(), is(2));
+    assertThat(batcher.mergedRequests(), is(0L));
+  }
+
+  @Test
+  public void fullBatchMustBeSentWithoutWaitingForWindow() {
+    for (int i = 0; i < BarBackfill.MAX_SYMBOLS + 1; ++i) {
+      get("S" + i, START);
+    }
+
+    assertThat(requests.size(), is(1));
+    assertThat(requests.get(0).symbols.length, is(BarBackfill.MAX_SYMBOLS));
+
+    scheduledTasks.forEach(Runnable::run);
+
+    assertThat(requests.size(), is(2));
+    assertThat(asList(requests.get(1).symbols), is(equalTo(singletonList("S200"))));
+  }
+
+  @Test
+  public void batchMustNotExceedMaxSymbolsUnderConcurrentRequests() throws Exception {
+    int threads = 16;
+    int symbolsPerThread = 5000;
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> workers = new ArrayList<>();
+
+    for (int t = 0; t < threads; ++t) {
+      String prefix = "T" + t + '_';
+      Thread worker = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+
+        for (int i = 0; i < symbolsPerThread; ++i) {
+          get(prefix + i, START);
+        }
+      });
+
+      worker.start();
+      workers.add(worker);
+    }
+
+    start.countDown();
+
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    new ArrayList<>(scheduledTasks).forEach(Runnable::run);
+
+    int symbols = 0;
+
+    for (Request request : requests) {
+      assertThat(request.symbols.length <= BarBackfill.MAX_SYMBOLS, is(true));
+      symbols += request.symbols.length;
+    }
+
+    assertThat(symbols, is(threads * symbolsPerThread));
+  }
+
+  @Test
+  public void requestsForSameSymbolMustGetTheirOwnBars() throws Exception {
+    CompletableFuture<Map<String, List<Bar>>> first = get("AAPL", START);
+    CompletableFuture<Map<String, List<Bar>>> second = get("AAPL", START);
+
+    scheduledTasks.forEach(Runnable::run);
+
+    requests.get(0).bars.complete(singletonMap("AAPL", new ArrayList<>(asList(bar(0), bar(1)))));
+
+    first.get().get("AAPL").clear();
+
+    assertThat(second.get(), is(equalTo(singletonMap("AAPL", asList(bar(0), bar(1))))));
+  }
+
+  @Test
+  public void failedRequestMustFailEveryMergedRequest() {
+    CompletableFuture<Map<String, List<Bar>>> aapl = get("AAPL", START);
+    CompletableFuture<Map<String, List<Bar>>> msft = get("MSFT", START);
+
+    scheduledTasks.forEach(Runnable::run);
+
+    IllegalStateException failure = new IllegalStateException("unavailable");
+    requests.get(0).bars.completeExceptionally(failure);
+
+    assertThat(assertThrows(ExecutionException.class, aapl::get).getCause(),
+      is(equalTo(failure)));
+    assertThat(assertThrows(ExecutionException.class, msft::get).getCause(),
+      is(equalTo(failure)));
+  }
+
+  private CompletableFuture<Map<String, List<Bar>>> get(String symbol, OffsetDateTime start) {
+    return batcher.get(symbol, Timeframe.MINUTE, start, END, true, 100);
+  }
+
+  private CompletableFuture<Map<String, List<Bar>>> fetch(String[] symbols, Timeframe timeframe,
+                                                          OffsetDateTime start,
+                                                          OffsetDateTime end,
+                                                          boolean timeInclusive, int limit) {
+    Request request = new Request(symbols);
+    requests.add(request);
+
+    return request.bars;
+  }
+
+  private static Bar bar(int minute) {
+    BigDecimal price = BigDecimal.valueOf(100 + minute);
+
+    return ImmutableBar.builder()
+      .time(START.plusMinutes(minute).toInstant())
+      .openPrice(price)
+      .highPrice(price)
+      .lowPrice(price)
+      .closePrice(price)
+      .volume(minute)
+      .build();
+  }
+
+  private static final class Request {
+
+    private final String[] symbols;
+    private final CompletableFuture<Map<String, List<Bar>>> bars = new CompletableFuture<>();
+
+    private Request(String[] symbols) {
+      this.symbols = symbols;
+    }
+  }
+}
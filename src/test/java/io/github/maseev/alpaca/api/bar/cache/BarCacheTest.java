@@ -0,0 +1,136 @@
+package io.github.maseev.alpaca.api.bar.cache;
+
+import io.github.maseev.alpaca.api.bar.BarAPI.Timeframe;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.bar.store.TimeRange;
+import io.github.maseev.alpaca.api.util.Price;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BarCacheTest {
+
+  private static final Instant T0 = Instant.ofEpochSecond(1544129220);
+  private static final int BAR_SIZE = 48;
+
+  @Test
+  public void cachedBarsMustBeReadBack() {
+    BarCache cache = new BarCache(1024);
+    List<Bar> bars = asList(bar(0), bar(1), bar(2), bar(7));
+
+    cache.put("AAPL", Timeframe.MINUTE, range(0, 10), bars);
+
+    BarCache.Lookup lookup = cache.lookup("AAPL", Timeframe.MINUTE, range(1, 8));
+
+    assertThat(lookup.bars(), is(equalTo(asList(bar(1), bar(2), bar(7)))));
+    assertThat(lookup.missing(), is(equalTo(emptyList())));
+    assertThat(cache.hits(), is(1L));
+    assertThat(cache.misses(), is(0L));
+    assertThat(cache.size(), is(BarCache.SEGMENT_OVERHEAD + 4L * BAR_SIZE));
+  }
+
+  @Test
+  public void lookupMustReturnTheRangesWhichAreNotCovered() {
+    BarCache cache = new BarCache(1024);
+
+    cache.put("AAPL", Timeframe.MINUTE, range(2, 4), asList(bar(2), bar(3)));
+    cache.put("AAPL", Timeframe.MINUTE, range(6, 8), emptyList());
+    cache.put("MSFT", Timeframe.MINUTE, range(0, 10), singletonList(bar(5)));
+
+    BarCache.Lookup lookup = cache.lookup("AAPL", Timeframe.MINUTE, range(0, 10));
+
+    assertThat(lookup.bars(), is(equalTo(asList(bar(2), bar(3)))));
+    assertThat(lookup.missing(), is(equalTo(asList(range(0, 2), range(4, 6), range(8, 10)))));
+    assertThat(cache.lookup("AAPL", Timeframe.DAY, range(0, 10)).missing(),
+      is(equalTo(singletonList(range(0, 10)))));
+    assertThat(cache.hits(), is(0L));
+    assertThat(cache.misses(), is(2L));
+  }
+
+  @Test
+  public void overlappingRangesMustOnlyCacheTheMissingParts() {
+    BarCache cache = new BarCache(1024);
+
+    cache.put("AAPL", Timeframe.MINUTE, range(2, 4), asList(bar(2), bar(3)));
+    cache.put("AAPL", Timeframe.MINUTE, range(0, 6), asList(bar(0), bar(2), bar(3), bar(5)));
+
+    BarCache.Lookup lookup = cache.lookup("AAPL", Timeframe.MINUTE, range(0, 6));
+
+    assertThat(lookup.bars(), is(equalTo(asList(bar(0), bar(2), bar(3), bar(5)))));
+    assertThat(lookup.missing(), is(equalTo(emptyList())));
+    assertThat(cache.size(), is(3L * BarCache.SEGMENT_OVERHEAD + 4L * BAR_SIZE));
+  }
+
+  @Test
+  public void leastRecentlyUsedRangesMustBeEvicted() {
+    BarCache cache = new BarCache(2 * (BarCache.SEGMENT_OVERHEAD + 2 * BAR_SIZE));
+
+    cache.put("AAPL", Timeframe.MINUTE, range(0, 2), asList(bar(0), bar(1)));
+    cache.put("MSFT", Timeframe.MINUTE, range(0, 2), asList(bar(0), bar(1)));
+    cache.lookup("AAPL", Timeframe.MINUTE, range(0, 2));
+    cache.put("TSLA", Timeframe.MINUTE, range(0, 2), asList(bar(0), bar(1)));
+
+    assertThat(cache.evictions(), is(1L));
+    assertThat(cache.size(), is(2L * (BarCache.SEGMENT_OVERHEAD + 2 * BAR_SIZE)));
+    assertThat(cache.lookup("AAPL", Timeframe.MINUTE, range(0, 2)).missing(),
+      is(equalTo(emptyList())));
+    assertThat(cache.lookup("MSFT", Timeframe.MINUTE, range(0, 2)).missing(),
+      is(equalTo(singletonList(range(0, 2)))));
+  }
+
+  @Test
+  public void rangesLargerThanTheCacheMustNotBeCached() {
+    BarCache cache = new BarCache(BAR_SIZE);
+
+    cache.put("AAPL", Timeframe.MINUTE, range(0, 2), asList(bar(0), bar(1)));
+
+    assertThat(cache.size(), is(0L));
+    assertThat(cache.evictions(), is(0L));
+    assertThat(cache.lookup("AAPL", Timeframe.MINUTE, range(0, 2)).missing(),
+      is(equalTo(singletonList(range(0, 2)))));
+  }
+
+  @Test
+  public void rangesWithoutBarsMustCountAgainstTheSize() {
+    BarCache cache = new BarCache(2 * BarCache.SEGMENT_OVERHEAD);
+
+    cache.put("AAPL", Timeframe.MINUTE, range(0, 2), emptyList());
+    cache.put("AAPL", Timeframe.MINUTE, range(4, 6), emptyList());
+    cache.put("AAPL", Timeframe.MINUTE, range(8, 10), emptyList());
+
+    assertThat(cache.size(), is(2L * BarCache.SEGMENT_OVERHEAD));
+    assertThat(cache.evictions(), is(1L));
+    assertThat(cache.lookup("AAPL", Timeframe.MINUTE, range(0, 2)).missing(),
+      is(equalTo(singletonList(range(0, 2)))));
+  }
+
+  @Test
+  public void nonPositiveSizeMustBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new BarCache(0));
+  }
+
+  private static Instant minute(int minute) {
+    return T0.plusSeconds(minute * 60L);
+  }
+
+  private static TimeRange range(int from, int to) {
+    return TimeRange.of(minute(from), minute(to));
+  }
+
+  private static Bar bar(int minute) {
+    long price = Price.ONE * 100 + minute;
+
+    return new FixedPointBar(minute(minute).getEpochSecond(), price, price + 5, price - 5,
+      price + 1, 1000 + minute);
+  }
+}
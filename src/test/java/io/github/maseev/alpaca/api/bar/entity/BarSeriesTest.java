@@ -0,0 +1,88 @@
+package io.github.maseev.alpaca.api.bar.entity;
+
+import io.github.maseev.alpaca.api.util.Price;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BarSeriesTest {
+
+  private static final long START = 1544129220;
+  private static final int BARS = 100;
+
+  private final BarSeries series = newSeries(BARS);
+
+  @Test
+  public void seriesMustKeepEveryBar() {
+    assertThat(series.size(), is(equalTo(BARS)));
+
+    for (int i = 0; i < BARS; ++i) {
+      assertThat(series.epochSecond(i), is(equalTo(START + i * 60)));
+      assertThat(series.closePriceE8(i), is(equalTo((100 + i) * Price.ONE + 1)));
+      assertThat(series.bar(i), is(equalTo(new FixedPointBar(START + i * 60, (100 + i) * Price.ONE,
+        (101 + i) * Price.ONE, (99 + i) * Price.ONE, (100 + i) * Price.ONE + 1, i))));
+    }
+  }
+
+  @Test
+  public void windowMustShareTheBarsOfTheSeries() {
+    BarSeries window = series.window(10, 20);
+
+    assertThat(window.size(), is(equalTo(10)));
+    assertThat(window.epochSecond(0), is(equalTo(series.epochSecond(10))));
+    assertThat(window.window(5, 10), is(equalTo(series.window(15, 20))));
+    assertThat(series.last(3), is(equalTo(series.window(BARS - 3, BARS))));
+    assertThat(series.last(BARS + 1), is(equalTo(series)));
+    assertThrows(IndexOutOfBoundsException.class, () -> window.epochSecond(10));
+    assertThrows(IndexOutOfBoundsException.class, () -> window.window(5, 11));
+  }
+
+  @Test
+  public void windowByTimeMustIncludeStartAndExcludeEnd() {
+    BarSeries window = series.window(Instant.ofEpochSecond(START + 60 * 10 - 1),
+      Instant.ofEpochSecond(START + 60 * 20));
+
+    assertThat(window, is(equalTo(series.window(10, 20))));
+    assertThat(series.window(Instant.ofEpochSecond(START + 60 * BARS),
+      Instant.ofEpochSecond(START + 60 * (BARS + 10))).size(), is(equalTo(0)));
+  }
+
+  @Test
+  public void cursorMustVisitEveryBarOfWindowInOrder() {
+    BarSeries window = series.window(30, 40);
+    BarSeries.Cursor cursor = window.cursor();
+    int visited = 0;
+
+    while (cursor.next()) {
+      assertThat(cursor.index(), is(equalTo(visited)));
+      assertThat(cursor.epochSecond(), is(equalTo(window.epochSecond(visited))));
+      assertThat(cursor.volume(), is(equalTo(30L + visited)));
+      ++visited;
+    }
+
+    assertThat(visited, is(equalTo(window.size())));
+    assertThat(cursor.next(), is(false));
+  }
+
+  @Test
+  public void barsOutOfOrderMustBeRejected() {
+    assertThrows(IllegalArgumentException.class,
+      () -> BarSeries.builder().add(START, 1, 1, 1, 1, 1).add(START - 60, 1, 1, 1, 1, 1));
+  }
+
+  private static BarSeries newSeries(int size) {
+    BarSeries.Builder builder = BarSeries.builder();
+
+    for (int i = 0; i < size; ++i) {
+      builder.add(START + i * 60, (100 + i) * Price.ONE, (101 + i) * Price.ONE,
+        (99 + i) * Price.ONE, (100 + i) * Price.ONE + 1, i);
+    }
+
+    return builder.build();
+  }
+}
@@ -0,0 +1,68 @@
+package io.github.maseev.alpaca.api.bar.resample;
+
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.util.Price;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resampling 100,000 1-minute bars incrementally into a sink. The
+ * allocations per built bar must not depend on the number of input bars.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BarResamplerBenchmark {
+
+  private static final int BARS = 100_000;
+
+  @Param({"5", "60", "DAY"})
+  private String resolution;
+
+  private BarSeries bars;
+  private Resolution target;
+
+  @Setup
+  public void setUp() {
+    BarSeries.Builder builder = BarSeries.builder();
+    long time = 1549893600;
+    long price = 172 * Price.ONE;
+
+    for (int i = 0; i < BARS; ++i) {
+      builder.add(time + i * 60L, price, price + Price.ONE, price - Price.ONE, price, 100);
+    }
+
+    bars = builder.build();
+    target = "DAY".equals(resolution)
+      ? Resolution.DAY
+      : Resolution.minutes(Integer.parseInt(resolution));
+  }
+
+  @Benchmark
+  public void resample(Blackhole blackhole) {
+    BarResampler resampler = new BarResampler(target, (time, open, high, low, close, volume) ->
+      blackhole.consume(close));
+
+    for (int i = 0; i < bars.size(); ++i) {
+      resampler.add(bars.epochSecond(i), bars.openPriceE8(i), bars.highPriceE8(i),
+        bars.lowPriceE8(i), bars.closePriceE8(i), bars.volume(i));
+    }
+
+    resampler.flush();
+  }
+}
@@ -0,0 +1,146 @@
+package io.github.maseev.alpaca.api.bar.resample;
+
+import io.github.maseev.alpaca.api.bar.entity.BarSeries;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.calendar.entity.Calendar;
+import io.github.maseev.alpaca.api.calendar.entity.ImmutableCalendar;
+import io.github.maseev.alpaca.api.util.Price;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BarResamplerTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2019, 2, 11);
+
+  private final List<FixedPointBar> bars = new ArrayList<>();
+
+  @Test
+  public void seriesMustBeResampledIntoMultiplesOfMinute() {
+    long start = MONDAY.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    BarSeries.Builder minutes = BarSeries.builder();
+
+    for (int i = 0; i < 5; ++i) {
+      minutes.add(start + i * 60, price(10 + i), price(20 + i), price(i), price(11 + i), 100);
+    }
+
+    BarSeries resampled =
+      BarResampler.resample(minutes.build(), Resolution.minutes(2), ZoneOffset.UTC, null);
+
+    assertThat(resampled.size(), is(3));
+    assertThat(resampled.bar(0),
+      is(equalTo(new FixedPointBar(start, price(10), price(21), price(0), price(12), 200))));
+    assertThat(resampled.bar(1),
+      is(equalTo(new FixedPointBar(start + 120, price(12), price(23), price(2), price(14), 200))));
+    assertThat(resampled.bar(2),
+      is(equalTo(new FixedPointBar(start + 240, price(14), price(24), price(4), price(15), 100))));
+  }
+
+  @Test
+  public void barMustBeHandedOverOnceItsLastMinuteIsAdded() {
+    BarResampler resampler = new BarResampler(Resolution.minutes(5), this::collect);
+    long start = at(MONDAY, 9, 0);
+
+    for (int i = 0; i < 4; ++i) {
+      add(resampler, start + i * 60, i);
+    }
+
+    assertThat(bars.isEmpty(), is(true));
+    assertThat(resampler.current(), is(equalTo(
+      new FixedPointBar(start, price(0), price(3), price(0), price(3), 6))));
+
+    add(resampler, start + 4 * 60, 4);
+
+    assertThat(bars.size(), is(1));
+    assertThat(resampler.current(), is(nullValue()));
+
+    add(resampler, start + 5 * 60, 5);
+    resampler.flush();
+
+    assertThat(bars.get(1).epochSecond(), is(start + 5 * 60));
+    assertThrows(IllegalArgumentException.class, () -> add(resampler, start, 0));
+  }
+
+  @Test
+  public void hourlyBarsMustBeAlignedToSessions() {
+    Sessions sessions = Sessions.of(asList(day(MONDAY), day(MONDAY.plusDays(1))));
+    BarResampler resampler =
+      new BarResampler(Resolution.hours(1), Sessions.MARKET_ZONE, sessions, this::collect);
+
+    add(resampler, at(MONDAY, 9, 29), 1);
+    add(resampler, at(MONDAY, 9, 30), 2);
+    add(resampler, at(MONDAY, 10, 29), 3);
+    add(resampler, at(MONDAY, 10, 30), 4);
+    add(resampler, at(MONDAY, 15, 59), 5);
+    add(resampler, at(MONDAY, 16, 0), 6);
+    add(resampler, at(MONDAY.plusDays(1), 9, 30), 7);
+    resampler.flush();
+
+    assertThat(bars.size(), is(4));
+    assertThat(bars.get(0),
+      is(equalTo(new FixedPointBar(at(MONDAY, 9, 30), price(2), price(3), price(2), price(3), 5))));
+    assertThat(bars.get(1).epochSecond(), is(at(MONDAY, 10, 30)));
+    assertThat(bars.get(2).epochSecond(), is(at(MONDAY, 15, 30)));
+    assertThat(bars.get(3).epochSecond(), is(at(MONDAY.plusDays(1), 9, 30)));
+  }
+
+  @Test
+  public void weeklyBarsMustOnlyHoldSessionBars() {
+    Sessions sessions = Sessions.of(asList(day(MONDAY.plusWeeks(1)), day(MONDAY),
+      day(MONDAY.plusDays(1))));
+    BarResampler resampler =
+      new BarResampler(Resolution.WEEK, Sessions.MARKET_ZONE, sessions, this::collect);
+
+    add(resampler, at(MONDAY, 10, 0), 1);
+    add(resampler, at(MONDAY, 20, 0), 100);
+    add(resampler, at(MONDAY.plusDays(1), 15, 59), 2);
+    add(resampler, at(MONDAY.plusWeeks(1), 12, 0), 3);
+    resampler.flush();
+
+    long week = MONDAY.atStartOfDay(Sessions.MARKET_ZONE).toEpochSecond();
+
+    assertThat(bars.size(), is(2));
+    assertThat(bars.get(0),
+      is(equalTo(new FixedPointBar(week, price(1), price(2), price(1), price(2), 3))));
+    assertThat(bars.get(1).epochSecond(), is(week + 7 * 24 * 3600));
+  }
+
+  private void collect(long epochSecond, long openPrice, long highPrice, long lowPrice,
+                       long closePrice, long volume) {
+    bars.add(new FixedPointBar(epochSecond, openPrice, highPrice, lowPrice, closePrice, volume));
+  }
+
+  private static void add(BarResampler resampler, long epochSecond, int value) {
+    resampler.add(epochSecond, price(value), price(value), price(value), price(value), value);
+  }
+
+  private static long at(LocalDate date, int hour, int minute) {
+    return LocalDateTime.of(date, LocalTime.of(hour, minute))
+      .atZone(Sessions.MARKET_ZONE)
+      .toEpochSecond();
+  }
+
+  private static Calendar day(LocalDate date) {
+    return ImmutableCalendar.builder()
+      .date(date)
+      .open(LocalTime.of(9, 30))
+      .close(LocalTime.of(16, 0))
+      .build();
+  }
+
+  private static long price(int price) {
+    return price * Price.ONE;
+  }
+}
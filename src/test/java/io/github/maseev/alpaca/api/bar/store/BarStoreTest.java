@@ -0,0 +1,192 @@
+package io.github.maseev.alpaca.api.bar.store;
+
+import io.github.maseev.alpaca.api.bar.BarAPI.Timeframe;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.util.Price;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BarStoreTest {
+
+  private static final Instant T0 = Instant.ofEpochSecond(1544129220);
+
+  private Path directory;
+  private BarStore store;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("bars");
+    store = new BarStore(directory);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    store.close();
+
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Test
+  public void storedBarsMustBeReadBack() throws IOException {
+    List<Bar> bars = asList(bar(0), bar(1), bar(2), bar(7));
+
+    store.write("AAPL", Timeframe.MINUTE, range(0, 10), bars);
+
+    StoredBars stored = store.read("AAPL", Timeframe.MINUTE, minute(0), minute(10));
+
+    assertThat(stored.size(), is(4));
+
+    for (int i = 0; i < bars.size(); ++i) {
+      assertThat(stored.bar(i), is(equalTo(FixedPointBar.of(bars.get(i)))));
+    }
+
+    assertThat(stored.indexOf(minute(3).getEpochSecond()), is(3));
+    assertThat(store.read("AAPL", Timeframe.MINUTE, minute(1), minute(7)).size(), is(2));
+    assertThat(store.read("AAPL", Timeframe.DAY, minute(0), minute(10)).size(), is(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> stored.epochSecond(4));
+  }
+
+  @Test
+  public void coveredRangesMustNotBeMissingEvenWithoutBars() throws IOException {
+    assertThat(store.missing("AAPL", Timeframe.MINUTE, range(0, 10)),
+      is(equalTo(singletonList(range(0, 10)))));
+
+    store.write("AAPL", Timeframe.MINUTE, range(10, 20), emptyList());
+
+    assertThat(store.missing("AAPL", Timeframe.MINUTE, range(12, 18)), is(equalTo(emptyList())));
+    assertThat(store.missing("AAPL", Timeframe.MINUTE, range(0, 30)),
+      is(equalTo(asList(range(0, 10), range(20, 30)))));
+  }
+
+  @Test
+  public void olderAndNewerRangesMustBeMergedInTimeOrder() throws IOException {
+    store.write("AAPL", Timeframe.MINUTE, range(10, 20), asList(bar(10), bar(15)));
+    StoredBars before = store.read("AAPL", Timeframe.MINUTE, minute(0), minute(30));
+
+    store.write("AAPL", Timeframe.MINUTE, range(20, 30), asList(bar(12), bar(20), bar(29)));
+    store.write("AAPL", Timeframe.MINUTE, range(0, 12), asList(bar(3), bar(10), bar(11)));
+
+    StoredBars after = store.read("AAPL", Timeframe.MINUTE, minute(0), minute(30));
+    List<Long> times = new ArrayList<>();
+
+    for (int i = 0; i < after.size(); ++i) {
+      times.add(after.epochSecond(i));
+    }
+
+    assertThat(times, is(equalTo(asList(minute(3).getEpochSecond(), minute(10).getEpochSecond(),
+      minute(15).getEpochSecond(), minute(20).getEpochSecond(), minute(29).getEpochSecond()))));
+    assertThat(store.missing("AAPL", Timeframe.MINUTE, range(0, 30)), is(equalTo(emptyList())));
+    assertThat(before.size(), is(2));
+    assertThat(before.bar(1), is(equalTo(FixedPointBar.of(bar(15)))));
+  }
+
+  @Test
+  public void rangeWhichLeavesGapMustBeRejected() throws IOException {
+    store.write("AAPL", Timeframe.MINUTE, range(10, 20), singletonList(bar(10)));
+
+    assertThrows(IllegalArgumentException.class,
+      () -> store.write("AAPL", Timeframe.MINUTE, range(21, 30), singletonList(bar(25))));
+    assertThrows(IllegalArgumentException.class,
+      () -> store.write("AAPL", Timeframe.MINUTE, range(0, 9), singletonList(bar(5))));
+  }
+
+  @Test
+  public void rangeBeforeCoveredOneMustBeExtendedUpToIt() throws IOException {
+    store.write("AAPL", Timeframe.MINUTE, range(10, 20), singletonList(bar(10)));
+
+    List<TimeRange> missing = store.missing("AAPL", Timeframe.MINUTE, range(0, 5));
+
+    assertThat(missing, is(equalTo(singletonList(range(0, 10)))));
+
+    store.write("AAPL", Timeframe.MINUTE, missing.get(0), asList(bar(2), bar(7)));
+
+    assertThat(store.missing("AAPL", Timeframe.MINUTE, range(0, 5)), is(equalTo(emptyList())));
+    assertThat(store.read("AAPL", Timeframe.MINUTE, minute(0), minute(20)).size(), is(3));
+  }
+
+  @Test
+  public void rangeAfterCoveredOneMustBeExtendedUpToIt() throws IOException {
+    store.write("AAPL", Timeframe.MINUTE, range(10, 20), singletonList(bar(10)));
+
+    List<TimeRange> missing = store.missing("AAPL", Timeframe.MINUTE, range(25, 30));
+
+    assertThat(missing, is(equalTo(singletonList(range(20, 30)))));
+
+    store.write("AAPL", Timeframe.MINUTE, missing.get(0), asList(bar(22), bar(27)));
+
+    assertThat(store.missing("AAPL", Timeframe.MINUTE, range(25, 30)), is(equalTo(emptyList())));
+    assertThat(store.read("AAPL", Timeframe.MINUTE, minute(0), minute(30)).size(), is(3));
+  }
+
+  @Test
+  public void reopenedStoreMustHoldTheSameBars() throws IOException {
+    List<Bar> bars = new ArrayList<>();
+
+    for (int i = 0; i < 5000; ++i) {
+      bars.add(bar(i));
+    }
+
+    store.write("BRK.B", Timeframe.MINUTE, range(0, 2500), bars);
+    store.write("BRK.B", Timeframe.MINUTE, range(2500, 6000), bars);
+    store.close();
+
+    store = new BarStore(directory);
+
+    StoredBars stored = store.read("BRK.B", Timeframe.MINUTE, minute(0), minute(6000));
+
+    assertThat(stored.size(), is(5000));
+    assertThat(stored.bar(4999), is(equalTo(FixedPointBar.of(bar(4999)))));
+    assertThat(store.missing("BRK.B", Timeframe.MINUTE, range(0, 7000)),
+      is(equalTo(singletonList(range(6000, 7000)))));
+  }
+
+  @Test
+  public void foreignFileMustBeRejected() throws IOException {
+    Files.write(directory.resolve("AAPL-1D.bars"),
+      "not a bar file, but long enough to hold a header of 64 bytes......"
+        .getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(StreamCorruptedException.class,
+      () -> store.read("AAPL", Timeframe.DAY, minute(0), minute(1)));
+    assertThrows(IllegalArgumentException.class,
+      () -> store.read("../AAPL", Timeframe.DAY, minute(0), minute(1)));
+  }
+
+  private static Instant minute(int minute) {
+    return T0.plusSeconds(minute * 60L);
+  }
+
+  private static TimeRange range(int from, int to) {
+    return TimeRange.of(minute(from), minute(to));
+  }
+
+  private static Bar bar(int minute) {
+    long price = Price.ONE * 100 + minute;
+
+    return new FixedPointBar(minute(minute).getEpochSecond(), price, price + 5, price - 5,
+      price + 1, 1000 + minute);
+  }
+}
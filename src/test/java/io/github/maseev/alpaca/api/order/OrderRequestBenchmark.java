@@ -0,0 +1,77 @@
+package io.github.maseev.alpaca.api.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.maseev.alpaca.api.order.entity.ImmutableOrderRequest;
+import io.github.maseev.alpaca.api.order.entity.OrderRequest;
+import io.github.maseev.alpaca.http.json.util.JsonUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.maseev.alpaca.api.order.entity.Order.Side.BUY;
+import static io.github.maseev.alpaca.api.order.entity.Order.TimeInForce.GTC;
+import static io.github.maseev.alpaca.api.order.entity.Order.Type.LIMIT;
+import static java.math.BigDecimal.valueOf;
+
+/**
+ * Compares encoding an order request through a {@link String} with encoding it straight to UTF-8
+ * bytes, and straight into a pooled Netty buffer the way WebSocket messages are sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class OrderRequestBenchmark {
+
+  private final OrderRequest request = ImmutableOrderRequest.builder()
+    .symbol("AAPL")
+    .qty(1)
+    .side(BUY)
+    .type(LIMIT)
+    .limitPrice(valueOf(172.26))
+    .timeInForce(GTC)
+    .clientOrderId("904837e3-3b76-47ec-b432-046db621571b")
+    .build();
+
+  private final ObjectWriter writer = JsonUtil.writerFor(OrderRequest.class);
+
+  @Benchmark
+  public byte[] throughString() throws JsonProcessingException {
+    return JsonUtil.toJson(request).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] toBytes() throws JsonProcessingException {
+    return writer.writeValueAsBytes(request);
+  }
+
+  @Benchmark
+  public int toPooledBuffer() throws IOException {
+    ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+
+    try (OutputStream out = new ByteBufOutputStream(buffer)) {
+      writer.writeValue(out, request);
+
+      return buffer.readableBytes();
+    } finally {
+      buffer.release();
+    }
+  }
+}
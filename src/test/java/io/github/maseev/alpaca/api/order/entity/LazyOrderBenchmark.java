@@ -0,0 +1,62 @@
+package io.github.maseev.alpaca.api.order.entity;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.maseev.alpaca.api.streaming.entity.TradeUpdate;
+import io.github.maseev.alpaca.api.streaming.message.StreamUpdate;
+import io.github.maseev.alpaca.http.json.codec.CodecModuleTest;
+import io.github.maseev.alpaca.http.json.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a trade update whose order is read eagerly with one whose order is a
+ * {@link LazyOrder}, when the handler only looks at the id, the status, the filled quantity and
+ * the symbol of the order, so the fields it never reads are never decoded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LazyOrderBenchmark {
+
+  private final byte[] payload = ("{\"stream\":\"trade_updates\",\"data\":{\"event\":\"fill\","
+    + "\"price\":\"179.08\",\"timestamp\":\"2018-10-05T05:48:59.123456Z\",\"qty\":\"15\","
+    + "\"order\":" + CodecModuleTest.ORDER + "}}").getBytes(StandardCharsets.UTF_8);
+
+  private final ObjectReader eagerReader = JsonUtil.readerFor(StreamUpdate.class);
+  private final ObjectReader lazyReader =
+    JsonUtil.readerFor(StreamUpdate.class).withAttribute(LazyOrder.class, Boolean.TRUE);
+
+  @Benchmark
+  public void eager(Blackhole blackhole) throws IOException {
+    handle(eagerReader.readValue(payload), blackhole);
+  }
+
+  @Benchmark
+  public void lazy(Blackhole blackhole) throws IOException {
+    handle(lazyReader.readValue(payload), blackhole);
+  }
+
+  private static void handle(StreamUpdate update, Blackhole blackhole) {
+    Order order = ((TradeUpdate) update.data()).order();
+
+    blackhole.consume(order.id());
+    blackhole.consume(order.status());
+    blackhole.consume(order.filledQty());
+    blackhole.consume(order.symbol());
+  }
+}
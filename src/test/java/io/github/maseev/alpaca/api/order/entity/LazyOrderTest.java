@@ -0,0 +1,100 @@
+package io.github.maseev.alpaca.api.order.entity;
+
+import static io.github.maseev.alpaca.http.json.codec.CodecModuleTest.ORDER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.github.maseev.alpaca.api.asset.entity.AssetClass;
+import io.github.maseev.alpaca.http.json.util.JsonUtil;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LazyOrderTest {
+
+  @Test
+  public void lazyOrderMustBeReadLikeRegularOrder() throws IOException {
+    Order expected = JsonUtil.fromJson(ORDER, Order.class);
+    LazyOrder order = of(ORDER);
+
+    assertThat(order.id(), is(expected.id()));
+    assertThat(order.createdAt(), is(LocalDateTime.of(2018, 10, 5, 5, 48, 59, 123_456_000)));
+    assertThat(order.filledAt(), is(nullValue()));
+    assertThat(order.assetClass(), is(AssetClass.US_EQUITY));
+    assertThat(order.qty(), is(15L));
+    assertThat(order.type(), is(Order.Type.STOP_LIMIT));
+    assertThat(order.limitPrice(), is(new BigDecimal("107.00")));
+    assertThat(order.extendedHours(), is(false));
+    assertThat(order.toImmutable(), is(expected));
+  }
+
+  @Test
+  public void listOfLazyOrdersMustBeReadLikeListOfRegularOrders() throws IOException {
+    String json = " [ " + ORDER + " , " + ORDER + " ] ";
+    List<Order> expected = JsonUtil.fromJson(json, new TypeReference<List<Order>>() { });
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    List<Order> orders = LazyOrder.listOf(bytes, 0, bytes.length);
+
+    assertThat(orders.size(), is(expected.size()));
+
+    for (int i = 0; i < orders.size(); ++i) {
+      assertThat(((LazyOrder) orders.get(i)).toImmutable(), is(expected.get(i)));
+    }
+  }
+
+  @Test
+  public void unknownFieldsMustBeSkipped() {
+    LazyOrder order = of("{\"legs\":[{\"id\":\"1\",\"qty\":\"2\"}],\"note\":\"a \\\"}\\\" b\","
+      + ORDER.substring(1));
+
+    assertThat(order.id(), is("904837e3-3b76-47ec-b432-046db621571b"));
+    assertThat(order.qty(), is(15L));
+  }
+
+  @Test
+  public void escapedStringsMustBeUnescaped() {
+    LazyOrder order = of(ORDER.replace("\"symbol\":\"AAPL\"", "\"symbol\":\"A\\u0041PL\\n\""));
+
+    assertThat(order.symbol(), is("AAPL\n"));
+  }
+
+  @Test
+  public void missingRequiredFieldMustFailToBeRead() {
+    assertThrows(IllegalArgumentException.class,
+      () -> of(ORDER.replace("\"symbol\":\"AAPL\",", "")));
+  }
+
+  @Test
+  public void nullRequiredFieldMustFailToBeRead() {
+    assertThrows(IllegalArgumentException.class,
+      () -> of(ORDER.replace("\"symbol\":\"AAPL\"", "\"symbol\":null")));
+    assertThrows(IllegalArgumentException.class,
+      () -> of(ORDER.replace("\"qty\":\"15\"", "\"qty\": null ")));
+  }
+
+  @Test
+  public void malformedJsonMustFailToBeRead() {
+    assertThrows(IllegalArgumentException.class, () -> of(ORDER.substring(0, ORDER.length() - 1)));
+    assertThrows(IllegalArgumentException.class, () -> of(ORDER + "}"));
+  }
+
+  @Test
+  public void malformedValueMustOnlyFailItsAccessor() {
+    LazyOrder order = of(ORDER.replace("\"qty\":\"15\"", "\"qty\":\"fifteen\""));
+
+    assertThat(order.symbol(), is("AAPL"));
+    assertThrows(IllegalStateException.class, order::qty);
+  }
+
+  private static LazyOrder of(String json) {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+    return LazyOrder.of(bytes, 0, bytes.length);
+  }
+}
@@ -10,10 +10,16 @@ import io.github.maseev.alpaca.api.streaming.exception.SubscriptionException;
 import io.github.maseev.alpaca.api.streaming.listener.EventListener;
 import io.github.maseev.alpaca.api.streaming.message.*;
 import io.github.maseev.alpaca.http.HttpClient;
+import io.github.maseev.alpaca.http.metrics.FrameEvent;
+import io.github.maseev.alpaca.http.metrics.Metrics;
+import io.netty.buffer.ByteBuf;
+import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.ws.WebSocket;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.UUID;
@@ -31,8 +37,11 @@ import static java.math.BigDecimal.valueOf;
 import static java.time.LocalDateTime.of;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -53,7 +62,8 @@ public class StreamUpdateListenerTest {
     websocket = mock(WebSocket.class);
     HttpClient httpClient = mock(HttpClient.class);
 
-    streamingAPI = new StreamingAPI(httpClient, keyId, secretKey, subscriptionManager);
+    streamingAPI = new StreamingAPI(httpClient, mock(AsyncHttpClient.class), keyId, secretKey,
+      subscriptionManager);
   }
 
   @Test
@@ -97,7 +107,7 @@ public class StreamUpdateListenerTest {
           .build())
         .build();
 
-    verify(websocket).sendTextFrame(toJson(authenticationMessage));
+    verifyFrameSent(authenticationMessage);
 
     AtomicReference<Throwable> exception = new AtomicReference<>();
 
@@ -129,7 +139,7 @@ public class StreamUpdateListenerTest {
           .build())
         .build();
 
-    verify(websocket).sendTextFrame(toJson(authenticationMessage));
+    verifyFrameSent(authenticationMessage);
 
     AuthorizationResponse authorizationResponse =
       ImmutableAuthorizationResponse.builder()
@@ -147,7 +157,7 @@ public class StreamUpdateListenerTest {
           .build())
         .build();
 
-    verify(websocket).sendTextFrame(toJson(subscribtionMessage));
+    verifyFrameSent(subscribtionMessage);
 
 
     AtomicReference<Throwable> exception = new AtomicReference<>();
@@ -180,7 +190,7 @@ public class StreamUpdateListenerTest {
           .build())
         .build();
 
-    verify(websocket).sendTextFrame(toJson(authenticationMessage));
+    verifyFrameSent(authenticationMessage);
 
     AuthorizationResponse authorizationResponse =
       ImmutableAuthorizationResponse.builder()
@@ -198,7 +208,7 @@ public class StreamUpdateListenerTest {
           .build())
         .build();
 
-    verify(websocket).sendTextFrame(toJson(subscribtionMessage));
+    verifyFrameSent(subscribtionMessage);
 
     SubscriptionResponse subscribtionResponse =
       ImmutableSubscriptionResponse.builder()
@@ -288,6 +298,43 @@ public class StreamUpdateListenerTest {
     assertThat(tradeUpdateEvent.get(), is(equalTo(tradeUpdate)));
   }
 
+  @Test
+  public void frameWhichCouldNotBeParsedMustStillBeMeasured() throws JsonProcessingException {
+    Metrics metrics = mock(Metrics.class);
+    streamUpdateListener = new StreamUpdateListener(keyId, secretKey, subscriptionManager, metrics);
+    streamUpdateListener.onOpen(websocket);
+
+    AuthorizationResponse authorizationResponse =
+      ImmutableAuthorizationResponse.builder()
+        .details(ImmutableAuthorizationDetails.builder()
+          .status(AUTHORIZED)
+          .build())
+        .build();
+
+    streamUpdateListener.onBinaryFrame(toJson(authorizationResponse).getBytes(), false, 0);
+
+    SubscriptionResponse subscribtionResponse =
+      ImmutableSubscriptionResponse.builder()
+        .subscription(ImmutableSubscription.builder()
+          .addStreams(ACCOUNT_UPDATES, TRADE_UPDATES)
+          .build())
+        .build();
+
+    streamUpdateListener.onBinaryFrame(toJson(subscribtionResponse).getBytes(), false, 0);
+
+    byte[] payload = "{\"stream\":".getBytes(StandardCharsets.UTF_8);
+
+    streamUpdateListener.onBinaryFrame(payload, false, 0);
+
+    ArgumentCaptor<FrameEvent> event = ArgumentCaptor.forClass(FrameEvent.class);
+
+    verify(metrics).frameProcessed(event.capture());
+
+    assertThat(event.getValue().getStream(), is(nullValue()));
+    assertThat(event.getValue().getPayloadSize(), is(equalTo(payload.length)));
+    assertThat(event.getValue().getDispatchTime(), is(equalTo(0L)));
+  }
+
   @Test
   public void receivingPingPongFramesMustRespondRespectively() throws JsonProcessingException {
     streamUpdateListener.onOpen(websocket);
@@ -300,7 +347,7 @@ public class StreamUpdateListenerTest {
           .build())
         .build();
 
-    verify(websocket).sendTextFrame(toJson(authenticationMessage));
+    verifyFrameSent(authenticationMessage);
 
     byte[] payload = {1, 2, 3};
 
@@ -325,7 +372,7 @@ public class StreamUpdateListenerTest {
           .build())
         .build();
 
-    verify(websocket).sendTextFrame(toJson(authenticationMessage));
+    verifyFrameSent(authenticationMessage);
 
     AtomicReference<ConnectionClose> connectionClose = new AtomicReference<>();
 
@@ -344,4 +391,12 @@ public class StreamUpdateListenerTest {
 
     assertThat(connectionClose.get(), is(equalTo(expectedConnectionClose)));
   }
-}
\ No newline at end of file
+
+  private void verifyFrameSent(Object message) throws JsonProcessingException {
+    ArgumentCaptor<ByteBuf> frame = ArgumentCaptor.forClass(ByteBuf.class);
+
+    verify(websocket, atLeastOnce()).sendTextFrame(frame.capture(), eq(true), eq(0));
+
+    assertThat(frame.getValue().toString(StandardCharsets.UTF_8), is(equalTo(toJson(message))));
+  }
+}
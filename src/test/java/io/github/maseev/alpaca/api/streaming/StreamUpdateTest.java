@@ -1,8 +1,10 @@
 package io.github.maseev.alpaca.api.streaming;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
 import io.github.maseev.alpaca.api.account.entity.Account;
 import io.github.maseev.alpaca.api.account.entity.ImmutableAccount;
 import io.github.maseev.alpaca.api.order.entity.ImmutableOrder;
+import io.github.maseev.alpaca.api.order.entity.LazyOrder;
 import io.github.maseev.alpaca.api.order.entity.Order;
 import io.github.maseev.alpaca.api.streaming.entity.AccountUpdate;
 import io.github.maseev.alpaca.api.streaming.entity.ImmutableAccountUpdate;
@@ -10,21 +12,26 @@ import io.github.maseev.alpaca.api.streaming.entity.ImmutableTradeUpdate;
 import io.github.maseev.alpaca.api.streaming.entity.TradeUpdate;
 import io.github.maseev.alpaca.api.streaming.message.ImmutableStreamUpdate;
 import io.github.maseev.alpaca.api.streaming.message.StreamUpdate;
+import io.github.maseev.alpaca.http.json.codec.CodecModuleTest;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.UUID;
 
 import static io.github.maseev.alpaca.api.asset.entity.AssetClass.US_EQUITY;
 import static io.github.maseev.alpaca.http.json.util.JsonUtil.fromJson;
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.readerFor;
 import static io.github.maseev.alpaca.http.json.util.JsonUtil.toJson;
 import static java.math.BigDecimal.valueOf;
 import static java.time.LocalDateTime.of;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class StreamUpdateTest {
 
@@ -125,4 +132,102 @@ public class StreamUpdateTest {
 
     assertThat(streamUpdate, is(equalTo(expectedStreamUpdate)));
   }
+
+  @Test
+  public void dataBeforeStreamMustBeReadLikeStreamBeforeData() throws IOException {
+    AccountUpdate accountUpdate =
+      ImmutableAccountUpdate.builder()
+        .id(UUID.randomUUID().toString())
+        .createdAt(of(2008, Month.JULY, 9, 12, 30, 00))
+        .updatedAt(of(2008, Month.JULY, 10, 12, 30, 00))
+        .status(Account.Status.ACTIVE)
+        .currency("USD")
+        .cash(valueOf(1))
+        .cashWithdrawable(valueOf(2))
+        .build();
+
+    StreamUpdate expectedStreamUpdate =
+      ImmutableStreamUpdate.builder()
+        .stream(Stream.ACCOUNT_UPDATES)
+        .data(accountUpdate)
+        .build();
+
+    String json = "{\"data\":" + toJson(accountUpdate) + ",\"extra\":{\"a\":[1]},"
+      + "\"stream\":\"account_updates\"}";
+
+    assertThat(fromJson(json, StreamUpdate.class), is(equalTo(expectedStreamUpdate)));
+  }
+
+  @Test
+  public void streamUpdateWithoutDataMustFailToBeRead() {
+    assertThrows(JsonMappingException.class,
+      () -> fromJson("{\"stream\":\"trade_updates\"}", StreamUpdate.class));
+    assertThrows(JsonMappingException.class,
+      () -> fromJson("{\"stream\":\"quotes\",\"data\":{}}", StreamUpdate.class));
+  }
+
+  @Test
+  public void tradeUpdateOrderMustBeReadLazilyIfRequested() throws IOException {
+    LocalDateTime orderDate = of(2008, Month.JULY, 9, 12, 30, 00, 123_000_000);
+
+    Order order = ImmutableOrder.builder()
+      .id(UUID.randomUUID().toString())
+      .clientOrderId(UUID.randomUUID().toString())
+      .createdAt(orderDate)
+      .assetId(UUID.randomUUID().toString())
+      .symbol("AAPL")
+      .assetClass(US_EQUITY)
+      .qty(1)
+      .filledQty(0)
+      .type(Order.Type.LIMIT)
+      .orderType(Order.Type.LIMIT)
+      .side(Order.Side.SELL)
+      .timeInForce(Order.TimeInForce.GTC)
+      .limitPrice(valueOf(3))
+      .status(Order.Status.NEW)
+      .build();
+
+    StreamUpdate expectedStreamUpdate =
+      ImmutableStreamUpdate.builder()
+        .stream(Stream.TRADE_UPDATES)
+        .data(ImmutableTradeUpdate.builder()
+          .event(TradeUpdate.EventType.NEW)
+          .order(order)
+          .build())
+        .build();
+
+    StreamUpdate streamUpdate = readerFor(StreamUpdate.class)
+      .withAttribute(LazyOrder.class, Boolean.TRUE)
+      .readValue(toJson(expectedStreamUpdate));
+    Order lazyOrder = ((TradeUpdate) streamUpdate.data()).order();
+
+    assertThat(lazyOrder, is(instanceOf(LazyOrder.class)));
+    assertThat(((LazyOrder) lazyOrder).toImmutable(), is(equalTo(order)));
+    assertThat(toJson(streamUpdate), is(equalTo(toJson(expectedStreamUpdate))));
+  }
+
+  @Test
+  public void lazyTradeUpdateOrderMustPointIntoPayload() throws IOException {
+    String json = "{\"stream\":\"trade_updates\",\"data\":{\"event\":\"fill\","
+      + "\"price\":179.08,\"order\":" + CodecModuleTest.ORDER + "}}";
+    byte[] payload = json.getBytes(StandardCharsets.UTF_8);
+
+    StreamUpdate streamUpdate = readerFor(StreamUpdate.class)
+      .withAttribute(LazyOrder.class, Boolean.TRUE)
+      .readValue(payload);
+    Order lazyOrder = ((TradeUpdate) streamUpdate.data()).order();
+
+    assertThat(lazyOrder, is(instanceOf(LazyOrder.class)));
+    assertThat(((LazyOrder) lazyOrder).toImmutable(),
+      is(equalTo(fromJson(CodecModuleTest.ORDER, Order.class))));
+
+    StreamUpdate changed = readerFor(StreamUpdate.class)
+      .withAttribute(LazyOrder.class, Boolean.TRUE)
+      .readValue(payload);
+
+    // the order isn't copied out of the payload, so a field decoded afterwards sees the change
+    payload[json.indexOf("\"AAPL\"") + 1] = 'X';
+
+    assertThat(((TradeUpdate) changed.data()).order().symbol(), is(equalTo("XAPL")));
+  }
 }
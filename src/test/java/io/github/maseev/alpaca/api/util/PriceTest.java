@@ -0,0 +1,59 @@
+package io.github.maseev.alpaca.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PriceTest {
+
+  @Test
+  public void pricesOfEveryTickSizeMustRoundTripExactly() {
+    String[] prices = {
+      "0", "1", "172.26", "172.3", "0.01", "0.0001", "0.9999", "0.00000001", "-0.0001",
+      "123456.78901234", "9999999999.99999999"
+    };
+
+    for (String price : prices) {
+      long e8 = Price.parse(price);
+
+      assertThat(price, e8, is(equalTo(Price.toE8(new BigDecimal(price)))));
+      assertThat(price, Price.toBigDecimal(e8).compareTo(new BigDecimal(price)), is(equalTo(0)));
+      assertThat(price, Price.parse(Price.toString(e8)), is(equalTo(e8)));
+    }
+  }
+
+  @Test
+  public void scaledPriceMustKeepItsValue() {
+    assertThat(Price.parse("172.26"), is(equalTo(17_226_000_000L)));
+    assertThat(Price.parse("172.260000000"), is(equalTo(17_226_000_000L)));
+    assertThat(Price.parse("-5"), is(equalTo(-5 * Price.ONE)));
+    assertThat(Price.toBigDecimal(17_230_000_000L), is(equalTo(new BigDecimal("172.3"))));
+    assertThat(Price.toBigDecimal(100 * Price.ONE), is(equalTo(new BigDecimal("100"))));
+    assertThat(Price.toString(17_230_000_000L), is(equalTo("172.3")));
+  }
+
+  @Test
+  public void missingPriceMustBeNone() {
+    assertThat(Price.toE8(null), is(equalTo(Price.NONE)));
+    assertThat(Price.toBigDecimal(Price.NONE), is(nullValue()));
+  }
+
+  @Test
+  public void priceWhichIsNotExactMustBeRejected() {
+    String[] prices = {
+      "", "-", ".", "1.000000001", "1e2", "17 2", "100000000000", "1234567890123456789"
+    };
+
+    for (String price : prices) {
+      assertThrows(NumberFormatException.class, () -> Price.parse(price), price);
+    }
+
+    assertThrows(ArithmeticException.class, () -> Price.toE8(new BigDecimal("1.000000001")));
+  }
+}
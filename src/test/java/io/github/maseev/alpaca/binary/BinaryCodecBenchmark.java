@@ -0,0 +1,145 @@
+package io.github.maseev.alpaca.binary;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.ImmutableBar;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.http.json.codec.CodecModuleTest;
+import io.github.maseev.alpaca.http.json.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BinaryWriter} and {@link BinaryReader} with JSON on 1000 bars or 1000 orders:
+ * encoding and decoding. The encoded sizes of both formats are printed at the start of every
+ * trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BinaryCodecBenchmark {
+
+  private static final int ENTITIES = 1000;
+
+  @Param({"bars", "orders"})
+  public String entities;
+
+  private List<?> list;
+  private ObjectWriter jsonWriter;
+  private ObjectReader jsonReader;
+  private byte[] json;
+  private byte[] binary;
+
+  @Setup
+  public void setUp() throws IOException {
+    if ("bars".equals(entities)) {
+      list = bars();
+      jsonWriter = JsonUtil.writerFor(List.class);
+      jsonReader = JsonUtil.readerFor(new TypeReference<List<Bar>>() { });
+    } else {
+      list = orders();
+      jsonWriter = JsonUtil.writerFor(List.class);
+      jsonReader = JsonUtil.readerFor(new TypeReference<List<Order>>() { });
+    }
+
+    json = jsonWriter.writeValueAsBytes(list);
+    binary = encodeBinary();
+
+    System.out.printf("%n%s %s: JSON %d bytes, binary %d bytes%n", ENTITIES, entities,
+      json.length, binary.length);
+  }
+
+  @Benchmark
+  public byte[] encodeJson() throws IOException {
+    return jsonWriter.writeValueAsBytes(list);
+  }
+
+  @Benchmark
+  public byte[] encodeBinary() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(json == null ? 8192 : json.length);
+
+    try (BinaryWriter writer = new BinaryWriter(out)) {
+      for (Object entity : list) {
+        if (entity instanceof Bar) {
+          writer.write((Bar) entity);
+        } else {
+          writer.write((Order) entity);
+        }
+      }
+    }
+
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public Object decodeJson() throws IOException {
+    return jsonReader.readValue(json);
+  }
+
+  @Benchmark
+  public void decodeBinary(Blackhole blackhole) throws IOException {
+    try (BinaryReader reader = new BinaryReader(new ByteArrayInputStream(binary))) {
+      Object entity;
+
+      while ((entity = reader.read()) != null) {
+        blackhole.consume(entity);
+      }
+    }
+  }
+
+  private static List<Bar> bars() {
+    List<Bar> bars = new ArrayList<>(ENTITIES);
+    long time = 1544129220;
+    BigDecimal price = new BigDecimal("172.26");
+
+    for (int i = 0; i < ENTITIES; ++i) {
+      bars.add(ImmutableBar.builder()
+        .time(Instant.ofEpochSecond(time + i * 60L))
+        .openPrice(price)
+        .highPrice(price.add(new BigDecimal("0.04")))
+        .lowPrice(price.subtract(new BigDecimal("0.1")))
+        .closePrice(price.add(new BigDecimal("0.01")))
+        .volume(3892 + i)
+        .build());
+
+      price = price.add(new BigDecimal("0.01"));
+    }
+
+    return bars;
+  }
+
+  private static List<Order> orders() throws IOException {
+    Order order = JsonUtil.fromJson(CodecModuleTest.ORDER, Order.class);
+    List<Order> orders = new ArrayList<>(ENTITIES);
+
+    for (int i = 0; i < ENTITIES; ++i) {
+      orders.add(order);
+    }
+
+    return orders;
+  }
+}
@@ -0,0 +1,190 @@
+package io.github.maseev.alpaca.binary;
+
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.asset.entity.AssetClass;
+import io.github.maseev.alpaca.api.asset.entity.ImmutableAsset;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.ImmutableBar;
+import io.github.maseev.alpaca.api.entity.Exchange;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.position.entity.ImmutablePosition;
+import io.github.maseev.alpaca.api.position.entity.Position;
+import io.github.maseev.alpaca.http.json.codec.CodecModuleTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.fromJson;
+import static java.math.BigDecimal.valueOf;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryCodecTest {
+
+  private static final Position POSITION = ImmutablePosition.builder()
+    .assetId("904837e3-3b76-47ec-b432-046db621571b")
+    .symbol("AAPL")
+    .exchange(Exchange.NASDAQ)
+    .assetClass(AssetClass.US_EQUITY)
+    .avgEntryPrice(new BigDecimal("172.2600"))
+    .qty(-15)
+    .side(Position.Side.SHORT)
+    .marketValue(valueOf(2.22))
+    .costBasis(valueOf(3.33))
+    .unrealizedPl(valueOf(-4.44))
+    .unrealizedPlpc(new BigDecimal("0.0000000000000000000012345678901234567890"))
+    .unrealizedIntradayPl(new BigDecimal("123456789012345678901234567890.5"))
+    .unrealizedIntradayPlpc(new BigDecimal("1E+3"))
+    .currentPrice(valueOf(8.88))
+    .lastdayPrice(valueOf(9.99))
+    .changeToday(BigDecimal.ZERO)
+    .build();
+
+  private static final Bar BAR = ImmutableBar.builder()
+    .time(Instant.ofEpochSecond(1544129220))
+    .openPrice(new BigDecimal("172.26"))
+    .highPrice(new BigDecimal("172.3"))
+    .lowPrice(new BigDecimal("172.16"))
+    .closePrice(new BigDecimal("172.18"))
+    .volume(3892)
+    .build();
+
+  private static final Asset ASSET = ImmutableAsset.builder()
+    .id("904837e3-3b76-47ec-b432-046db621571b")
+    .clazz(AssetClass.US_EQUITY)
+    .exchange(Exchange.NASDAQ)
+    .symbol("AAPL")
+    .status(Asset.Status.ACTIVE)
+    .tradable(true)
+    .marginable(true)
+    .shortable(false)
+    .build();
+
+  @Test
+  public void entitiesMustBeReadAsTheyWereWritten() throws IOException {
+    Order order = fromJson(CodecModuleTest.ORDER, Order.class);
+    Order canceledOrder = fromJson(CodecModuleTest.ORDER
+      .replace("\"client_order_id\":\"904837e3-3b76-47ec-b432-046db621571b\"",
+        "\"client_order_id\":\"my order \\u00e9\"")
+      .replace("\"canceled_at\":null", "\"canceled_at\":\"1969-12-31T23:59:59.999000Z\"")
+      .replace("\"accepted\"", "\"canceled\""), Order.class);
+
+    byte[] bytes = write(order, POSITION, BAR, ASSET, canceledOrder);
+
+    try (BinaryReader reader = new BinaryReader(new ByteArrayInputStream(bytes))) {
+      assertThat(reader.version(), is(1));
+      assertThat(reader.read(Order.class), is(equalTo(order)));
+      assertThat(reader.read(Position.class), is(equalTo(POSITION)));
+      assertThat(reader.read(Bar.class), is(equalTo(BAR)));
+      assertThat(reader.read(Asset.class), is(equalTo(ASSET)));
+      assertThat(reader.read(Order.class), is(equalTo(canceledOrder)));
+      assertThat(reader.read(), is(nullValue()));
+    }
+  }
+
+  @Test
+  public void repeatedSymbolsMustBeWrittenOnce() throws IOException {
+    int first = write(BAR, ASSET).length - write(BAR).length;
+    int second = write(BAR, ASSET, ASSET).length - write(BAR, ASSET).length;
+
+    // the tag and every field, including the id, the symbol and the enum constants, take a byte
+    assertThat(second, is(11));
+    assertTrue(first > second + "AAPL".length() + 16);
+  }
+
+  @Test
+  public void binaryStreamMustBeSmallerThanJson() throws IOException {
+    Order order = fromJson(CodecModuleTest.ORDER, Order.class);
+
+    assertTrue(write(order).length * 3 < CodecModuleTest.ORDER.length());
+  }
+
+  @Test
+  public void unexpectedEntityTypeMustFailToBeRead() throws IOException {
+    try (BinaryReader reader = new BinaryReader(new ByteArrayInputStream(write(BAR)))) {
+      assertThrows(StreamCorruptedException.class, () -> reader.read(Order.class));
+    }
+  }
+
+  @Test
+  public void truncatedStreamMustFailToBeRead() throws IOException {
+    byte[] bytes = write(POSITION);
+
+    try (BinaryReader reader =
+           new BinaryReader(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)))) {
+      assertThrows(EOFException.class, reader::read);
+    }
+  }
+
+  @Test
+  public void foreignOrNewerStreamMustFailToBeRead() throws IOException {
+    byte[] bytes = write(BAR);
+
+    assertThrows(StreamCorruptedException.class,
+      () -> new BinaryReader(new ByteArrayInputStream("{\"a\":1}".getBytes())));
+
+    bytes[BinaryFormat.MAGIC.length] = BinaryFormat.VERSION + 1;
+
+    assertThrows(StreamCorruptedException.class,
+      () -> new BinaryReader(new ByteArrayInputStream(bytes)));
+  }
+
+  @Test
+  public void symbolIndexOutsideOfDictionaryMustFailToBeRead() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(BinaryFormat.MAGIC);
+    out.write(BinaryFormat.VERSION);
+    out.write(BinaryFormat.ASSET);
+
+    // a ten-byte varint which overflows into a negative index
+    for (int i = 0; i < 9; ++i) {
+      out.write(0xFF);
+    }
+    out.write(0x01);
+
+    try (BinaryReader reader = new BinaryReader(new ByteArrayInputStream(out.toByteArray()))) {
+      assertThrows(StreamCorruptedException.class, reader::read);
+    }
+
+    out.reset();
+    out.write(BinaryFormat.MAGIC);
+    out.write(BinaryFormat.VERSION);
+    out.write(BinaryFormat.ASSET);
+    out.write(BinaryFormat.SYMBOL_INDEX_OFFSET);
+
+    try (BinaryReader reader = new BinaryReader(new ByteArrayInputStream(out.toByteArray()))) {
+      assertThrows(StreamCorruptedException.class, reader::read);
+    }
+  }
+
+  private static byte[] write(Object... entities) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    try (BinaryWriter writer = new BinaryWriter(out)) {
+      for (Object entity : entities) {
+        if (entity instanceof Order) {
+          writer.write((Order) entity);
+        } else if (entity instanceof Position) {
+          writer.write((Position) entity);
+        } else if (entity instanceof Bar) {
+          writer.write((Bar) entity);
+        } else {
+          writer.write((Asset) entity);
+        }
+      }
+    }
+
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,156 @@
+package io.github.maseev.alpaca.http;
+
+import io.github.maseev.alpaca.http.exception.APIException;
+import io.github.maseev.alpaca.http.exception.InternalException;
+import io.github.maseev.alpaca.http.exception.ParsingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ListenableTest {
+
+  private static final String CALLBACK_THREAD = "callback-thread";
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void before() {
+    executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, CALLBACK_THREAD));
+  }
+
+  @AfterEach
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void callbacksMustRunOnCallbackExecutor() throws InterruptedException {
+    AtomicReference<String> thread = new AtomicReference<>();
+    CompletableFuture<String> future = new CompletableFuture<>();
+    Listenable<String> listenable = Listenable.of(future, executor);
+
+    listenable.onComplete(new ResponseHandler<String>() {
+      @Override
+      public void onSuccess(String result) {
+        thread.set(Thread.currentThread().getName());
+      }
+
+      @Override
+      public void onError(Exception ex) {
+      }
+    });
+
+    future.complete("value");
+
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.SECONDS);
+
+    assertThat(thread.get(), is(equalTo(CALLBACK_THREAD)));
+  }
+
+  @Test
+  public void awaitMustUnwrapAPIException() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    future.completeExceptionally(new CompletionException(new ParsingException(new IOException())));
+
+    assertThrows(ParsingException.class, () -> Listenable.of(future, executor).await());
+  }
+
+  @Test
+  public void awaitMustWrapOtherFailures() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    future.completeExceptionally(new IOException());
+
+    APIException ex =
+      assertThrows(APIException.class, () -> Listenable.of(future, executor).await());
+
+    assertThat(ex, is(instanceOf(InternalException.class)));
+  }
+
+  @Test
+  public void listenableMustBeComposable() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    CompletableFuture<Integer> length =
+      Listenable.of(future, executor).thenApply(String::length);
+
+    future.complete("value");
+
+    assertThat(length.join(), is(equalTo(5)));
+  }
+
+  @Test
+  public void callersMustNotBeAbleToReplaceResponse() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    Listenable<String> listenable = Listenable.of(future, executor);
+
+    assertThrows(UnsupportedOperationException.class, () -> listenable.complete("forged"));
+    assertThrows(UnsupportedOperationException.class,
+      () -> listenable.completeExceptionally(new IOException()));
+    assertThrows(UnsupportedOperationException.class, () -> listenable.obtrudeValue("forged"));
+
+    future.complete("value");
+
+    assertThat(listenable.join(), is(equalTo("value")));
+  }
+
+  @Test
+  public void orTimeoutMustFailDependentFuture() throws Exception {
+    Listenable<String> listenable = Listenable.of(new CompletableFuture<>(), executor);
+    CompletableFuture<String> timed = listenable.orTimeout(50, TimeUnit.MILLISECONDS);
+
+    ExecutionException ex =
+      assertThrows(ExecutionException.class, () -> timed.get(1, TimeUnit.SECONDS));
+
+    assertThat(ex.getCause(), is(instanceOf(TimeoutException.class)));
+    assertThat(listenable.isDone(), is(false));
+  }
+
+  @Test
+  public void completeOnTimeoutMustCompleteDependentFuture() throws Exception {
+    Listenable<String> listenable = Listenable.of(new CompletableFuture<>(), executor);
+    CompletableFuture<String> timed =
+      listenable.completeOnTimeout("fallback", 50, TimeUnit.MILLISECONDS);
+
+    assertThat(timed.get(1, TimeUnit.SECONDS), is(equalTo("fallback")));
+    assertThat(listenable.isDone(), is(false));
+  }
+
+  @Test
+  public void responseWithinTimeoutMustBeKept() throws Exception {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    CompletableFuture<String> timed =
+      Listenable.of(future, executor).orTimeout(1, TimeUnit.MINUTES);
+
+    future.complete("value");
+
+    assertThat(timed.get(1, TimeUnit.SECONDS), is(equalTo("value")));
+  }
+
+  @Test
+  public void joinMustWrapAPIException() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    ParsingException failure = new ParsingException(new IOException());
+    future.completeExceptionally(failure);
+
+    CompletionException ex =
+      assertThrows(CompletionException.class, () -> Listenable.of(future, executor).join());
+
+    assertThat(ex.getCause(), is(equalTo(failure)));
+  }
+}
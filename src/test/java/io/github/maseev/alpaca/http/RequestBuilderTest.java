@@ -0,0 +1,73 @@
+package io.github.maseev.alpaca.http;
+
+import io.github.maseev.alpaca.http.transport.Transport;
+import io.github.maseev.alpaca.http.transport.TransportRequest;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
+import io.github.maseev.alpaca.http.util.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class RequestBuilderTest {
+
+  private static final String BASE_URL = "http://localhost:8080/v2";
+
+  private final RecordingTransport transport = new RecordingTransport();
+  private final HttpClient httpClient =
+    new HttpClient(BASE_URL, "keyId", "secretKey", transport,
+      ImmutableClientOptions.builder().build(), null);
+
+  @Test
+  public void queryParametersMustBeEncoded() {
+    httpClient.prepare(HttpClient.HttpMethod.GET, "/bars", "day")
+      .addQueryParam("symbols", "AAPL,MSFT")
+      .addQueryParam("start", "2019-02-10T12:30:00+00:00")
+      .execute();
+
+    assertThat(transport.request.getUrl(), is(equalTo(BASE_URL
+      + "/bars/day?symbols=AAPL%2CMSFT&start=2019-02-10T12%3A30%3A00%2B00%3A00")));
+    assertThat(transport.request.getMethod(), is(equalTo("GET")));
+    assertThat(transport.request.getBody(), is(nullValue()));
+  }
+
+  @Test
+  public void requestMustCarryCredentialsAndBody() {
+    httpClient.prepare(HttpClient.HttpMethod.POST, "/orders")
+      .setBody("{}")
+      .execute();
+
+    assertThat(transport.request.getHeaders().get("APCA-API-KEY-ID"), is(equalTo("keyId")));
+    assertThat(transport.request.getHeaders().get("APCA-API-SECRET-KEY"),
+      is(equalTo("secretKey")));
+    assertThat(new String(transport.request.getBody(), StandardCharsets.UTF_8), is(equalTo("{}")));
+  }
+
+  @Test
+  public void deleteRequestMustNotHaveContentType() {
+    httpClient.prepare(HttpClient.HttpMethod.DELETE, "/orders", "id").execute();
+
+    assertThat(transport.request.getHeaders().containsKey(ContentType.CONTENT_TYPE_HEADER), is(false));
+  }
+
+  private static final class RecordingTransport implements Transport {
+
+    private TransportRequest request;
+
+    @Override
+    public CompletableFuture<TransportResponse> execute(TransportRequest request) {
+      this.request = request;
+
+      return new CompletableFuture<>();
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
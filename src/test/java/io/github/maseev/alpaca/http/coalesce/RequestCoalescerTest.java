@@ -0,0 +1,130 @@
+package io.github.maseev.alpaca.http.coalesce;
+
+import io.github.maseev.alpaca.http.transformer.Transformer;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequestCoalescerTest {
+
+  private static final Transformer<String> TRANSFORMER = new Transformer<String>() {
+    @Override
+    public String transform(byte[] content, int offset, int length) {
+      return new String(content, offset, length, StandardCharsets.UTF_8);
+    }
+  };
+
+  private static final Transformer<List<String>> LIST_TRANSFORMER =
+    new Transformer<List<String>>() {
+      @Override
+      public List<String> transform(byte[] content, int offset, int length) {
+        return new ArrayList<>(
+          asList(new String(content, offset, length, StandardCharsets.UTF_8).split(",")));
+      }
+    };
+
+  private final RequestCoalescer coalescer = new RequestCoalescer();
+  private final AtomicInteger sentRequests = new AtomicInteger();
+
+  @Test
+  public void identicalConcurrentRequestsMustShareResponse() {
+    CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+
+    CompletableFuture<String> first = execute("GET /clock", response);
+    CompletableFuture<String> second = execute("GET /clock", response);
+
+    response.complete(response("{}"));
+
+    assertThat(sentRequests.get(), is(equalTo(1)));
+    assertThat(first.join(), is(sameInstance(second.join())));
+    assertThat(coalescer.sentRequests(), is(equalTo(1L)));
+    assertThat(coalescer.mergedRequests(), is(equalTo(1L)));
+    assertThat(coalescer.inFlightRequests(), is(equalTo(0)));
+  }
+
+  @Test
+  public void differentRequestsMustNotBeMerged() {
+    CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+
+    execute("GET /orders?status=open", response);
+    execute("GET /orders?status=closed", response);
+
+    assertThat(sentRequests.get(), is(equalTo(2)));
+    assertThat(coalescer.mergedRequests(), is(equalTo(0L)));
+  }
+
+  @Test
+  public void completedRequestMustNotBeReused() {
+    CompletableFuture<TransportResponse> response = CompletableFuture.completedFuture(response("{}"));
+
+    execute("GET /clock", response).join();
+    execute("GET /clock", response).join();
+
+    assertThat(sentRequests.get(), is(equalTo(2)));
+    assertThat(coalescer.mergedRequests(), is(equalTo(0L)));
+  }
+
+  @Test
+  public void cancellingOneCallerMustNotAffectOthers() {
+    CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+
+    CompletableFuture<String> first = execute("GET /clock", response);
+    CompletableFuture<String> second = execute("GET /clock", response);
+
+    first.cancel(false);
+    response.complete(response("{}"));
+
+    assertThat(second.join(), is(equalTo("{}")));
+  }
+
+  @Test
+  public void modifyingOneCallersListMustNotAffectOthers() {
+    CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+
+    CompletableFuture<List<String>> first = execute("GET /assets", LIST_TRANSFORMER, response);
+    CompletableFuture<List<String>> second = execute("GET /assets", LIST_TRANSFORMER, response);
+
+    response.complete(response("AAPL,MSFT"));
+
+    first.join().clear();
+
+    assertThat(second.join(), is(equalTo(asList("AAPL", "MSFT"))));
+    assertThat(coalescer.mergedRequests(), is(equalTo(1L)));
+  }
+
+  private CompletableFuture<String> execute(String key, CompletableFuture<TransportResponse> response) {
+    return execute(key, TRANSFORMER, response);
+  }
+
+  private <T> CompletableFuture<T> execute(String key, Transformer<T> transformer,
+                                           CompletableFuture<TransportResponse> response) {
+    return coalescer.execute(key, transformer, () -> {
+      sentRequests.incrementAndGet();
+      return response;
+    });
+  }
+
+  private static TransportResponse response(String body) {
+    TransportResponse response = mock(TransportResponse.class);
+
+    when(response.getStatusCode()).thenReturn(200);
+    when(response.getResponseBodyAsByteBuffer())
+      .thenReturn(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+
+    return response;
+  }
+}
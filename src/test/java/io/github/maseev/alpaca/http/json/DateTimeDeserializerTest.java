@@ -0,0 +1,84 @@
+package io.github.maseev.alpaca.http.json;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.maseev.alpaca.http.json.util.DateFormatUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DateTimeDeserializerTest {
+
+  private static final DateTimeFormatter FORMATTER =
+    DateTimeFormatter.ofPattern(DateFormatUtil.DATE_TIME_FORMAT);
+
+  private final ObjectMapper mapper = new ObjectMapper().registerModule(new SimpleModule()
+    .addDeserializer(LocalDateTime.class, new DateTimeDeserializer())
+    .addDeserializer(Instant.class, new UnixTimeDeserializer()));
+
+  @Test
+  public void timestampsMustBeReadLikeWithFormatter() throws IOException {
+    String[] timestamps = {
+      "2018-10-05T05:48:59.Z",
+      "2018-10-05T05:48:59.1234Z",
+      "2018-10-05T05:48:59.000100Z",
+      "2018-10-05T05:48:59.123456789Z",
+      "2000-02-29T23:59:59.999999999Z",
+      "2018-02-30T00:00:00.123456Z",
+      " 2018-10-05T05:48:59.123456Z ",
+    };
+
+    for (String timestamp : timestamps) {
+      assertThat(timestamp, readDateTime(timestamp),
+        is(equalTo(LocalDateTime.parse(timestamp.trim(), FORMATTER))));
+    }
+  }
+
+  @Test
+  public void emptyOrNullTimestampMustBeReadAsNull() throws IOException {
+    assertThat(readDateTime(" "), is(nullValue()));
+    assertThat(mapper.readValue("null", LocalDateTime.class), is(nullValue()));
+  }
+
+  @Test
+  public void malformedTimestampMustFailToBeRead() {
+    String[] timestamps = {
+      "2018-10-05T05:48:59.12345Z",
+      "2018-10-05T05:48:59.1234",
+      "2018-1a-05T05:48:59.1234Z",
+      "2018-13-05T05:48:59.1234Z",
+      "2018-10-05 05:48:59.1234Z",
+    };
+
+    for (String timestamp : timestamps) {
+      assertThrows(JsonMappingException.class, () -> readDateTime(timestamp), timestamp);
+    }
+  }
+
+  @Test
+  public void unixTimeMustBeReadFromNumbersAndStrings() throws IOException {
+    Instant expected = Instant.ofEpochSecond(1544129220);
+
+    assertThat(mapper.readValue("1544129220", Instant.class), is(equalTo(expected)));
+    assertThat(mapper.readValue("\"1544129220\"", Instant.class), is(equalTo(expected)));
+    assertThat(mapper.readValue("\" 1544129220 \"", Instant.class), is(equalTo(expected)));
+    assertThat(mapper.readValue("\"-60\"", Instant.class),
+      is(equalTo(Instant.ofEpochSecond(-60))));
+    assertThrows(NumberFormatException.class,
+      () -> mapper.readValue("\"15441x9220\"", Instant.class));
+  }
+
+  private LocalDateTime readDateTime(String timestamp) throws IOException {
+    return mapper.readValue('"' + timestamp + '"', LocalDateTime.class);
+  }
+}
@@ -0,0 +1,73 @@
+package io.github.maseev.alpaca.http.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.maseev.alpaca.api.streaming.Stream;
+import io.github.maseev.alpaca.api.streaming.message.StreamUpdate;
+import io.github.maseev.alpaca.http.json.codec.CodecModule;
+import io.github.maseev.alpaca.http.json.codec.CodecModuleTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass {@link StreamUpdateDeserializer} with reading a trade update into a
+ * JSON tree first and then binding its {@code data} field, which is what the deserializer used to
+ * do, so the intermediate tree is what the allocation figures tell apart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StreamUpdateBenchmark {
+
+  @Param({"true", "false"})
+  private boolean streamFirst;
+
+  private final ObjectMapper mapper = new ObjectMapper()
+    .registerModule(new JavaTimeModule())
+    .registerModule(new CodecModule());
+
+  private byte[] message;
+  private ObjectReader reader;
+
+  @Setup
+  public void setUp() {
+    String stream = "\"stream\":\"trade_updates\"";
+    String data = "\"data\":{\"event\":\"fill\",\"qty\":\"1\",\"price\":\"106.25\","
+      + "\"timestamp\":\"2018-10-05T05:48:59.123456Z\",\"order\":" + CodecModuleTest.ORDER + "}";
+
+    message = (streamFirst ? "{" + stream + "," + data + "}" : "{" + data + "," + stream + "}")
+      .getBytes(StandardCharsets.UTF_8);
+    reader = mapper.readerFor(StreamUpdate.class);
+  }
+
+  @Benchmark
+  public Object readTree() throws IOException {
+    ObjectNode obj = (ObjectNode) mapper.readTree(message);
+    Stream stream = Stream.valueOf(obj.get("stream").asText().toUpperCase());
+
+    return mapper.readValue(obj.get("data").traverse(mapper), stream.getTargetClass());
+  }
+
+  @Benchmark
+  public Object readStreaming() throws IOException {
+    return reader.readValue(message);
+  }
+}
@@ -0,0 +1,111 @@
+package io.github.maseev.alpaca.http.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SymbolTableTest {
+
+  @Test
+  public void equalValuesMustBeInternedIntoTheSameInstance() {
+    SymbolTable table = new SymbolTable(16);
+    char[] buffer = "{\"symbol\":\"AAPL\"}".toCharArray();
+
+    String first = table.intern(buffer, 11, 4);
+    String second = table.intern(new String("AAPL"));
+
+    assertThat(first, is(equalTo("AAPL")));
+    assertThat(second, is(sameInstance(first)));
+    assertThat(table.intern(buffer, 11, 4), is(sameInstance(first)));
+    assertThat(table.size(), is(1));
+  }
+
+  @Test
+  public void idsMustBeAssignedInTheOrderValuesAreSeen() {
+    SymbolTable table = new SymbolTable(16);
+
+    table.intern("AAPL");
+    table.intern("MSFT");
+    table.intern("AAPL");
+
+    assertThat(table.id("AAPL"), is(0));
+    assertThat(table.id("MSFT"), is(1));
+    assertThat(table.id("TSLA"), is(SymbolTable.NO_ID));
+    assertThat(table.value(1), is(equalTo("MSFT")));
+    assertThrows(IndexOutOfBoundsException.class, () -> table.value(2));
+  }
+
+  @Test
+  public void fullTableMustStopInterningNewValues() {
+    SymbolTable table = new SymbolTable(2);
+
+    table.intern("AAPL");
+    table.intern("MSFT");
+    String tsla = new String("TSLA");
+
+    assertThat(table.intern(tsla), is(sameInstance(tsla)));
+    assertThat(table.intern("TSLA".toCharArray(), 0, 4), is(equalTo("TSLA")));
+    assertThat(table.id("TSLA"), is(SymbolTable.NO_ID));
+    assertThat(table.id("MSFT"), is(1));
+    assertThat(table.size(), is(2));
+  }
+
+  @Test
+  public void invalidCapacityMustThrowException() {
+    assertThrows(IllegalArgumentException.class, () -> new SymbolTable(0));
+  }
+
+  @Test
+  public void concurrentlyInternedValuesMustGetUniqueIds() throws Exception {
+    int threads = 4;
+    int values = 1000;
+    SymbolTable table = new SymbolTable(values);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<String[]>> results = new ArrayList<>();
+
+    try {
+      for (int t = 0; t < threads; ++t) {
+        results.add(executor.submit(() -> {
+          start.await();
+          String[] interned = new String[values];
+
+          for (int i = 0; i < values; ++i) {
+            interned[i] = table.intern(Integer.toString(i));
+          }
+
+          return interned;
+        }));
+      }
+
+      start.countDown();
+
+      String[] expected = results.get(0).get(10, TimeUnit.SECONDS);
+
+      for (Future<String[]> result : results) {
+        String[] interned = result.get(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < values; ++i) {
+          assertThat(interned[i], is(sameInstance(expected[i])));
+          assertThat(table.value(table.id(interned[i])), is(sameInstance(expected[i])));
+        }
+      }
+
+      assertThat(table.size(), is(values));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package io.github.maseev.alpaca.http.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.http.json.codec.CodecModuleTest;
+import io.github.maseev.alpaca.http.json.util.DateFormatUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link DateTimeDeserializer} with the {@link DateTimeFormatter} based deserializer
+ * {@code @JsonFormat(pattern = DATE_TIME_FORMAT)} resolves to. {@code timestamps*} walk a
+ * response with 500 orders and read only their {@code *_at} fields, so the difference isn't
+ * diluted by the rest of the entity; {@code readOrders} decodes the same response in full.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TimestampBenchmark {
+
+  private static final int ORDERS = 500;
+
+  private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+  private final JsonFactory factory = mapper.getFactory();
+  private final JsonDeserializer<?> formatterDeserializer =
+    new LocalDateTimeDeserializer(DateTimeFormatter.ofPattern(DateFormatUtil.DATE_TIME_FORMAT));
+  private final JsonDeserializer<?> handWrittenDeserializer = new DateTimeDeserializer();
+
+  private byte[] body;
+  private ObjectReader ordersReader;
+
+  @Setup
+  public void setUp() {
+    StringBuilder json = new StringBuilder("[");
+
+    for (int i = 0; i < ORDERS; ++i) {
+      json.append(i == 0 ? "" : ",").append(CodecModuleTest.ORDER);
+    }
+
+    body = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    ordersReader = mapper.readerFor(new TypeReference<List<Order>>() { });
+  }
+
+  @Benchmark
+  public void timestampsFormatter(Blackhole blackhole) throws IOException {
+    readTimestamps(formatterDeserializer, blackhole);
+  }
+
+  @Benchmark
+  public void timestampsHandWritten(Blackhole blackhole) throws IOException {
+    readTimestamps(handWrittenDeserializer, blackhole);
+  }
+
+  @Benchmark
+  public Object readOrders() throws IOException {
+    return ordersReader.readValue(body);
+  }
+
+  private void readTimestamps(JsonDeserializer<?> deserializer, Blackhole blackhole)
+    throws IOException {
+    try (JsonParser parser = factory.createParser(body)) {
+      DeserializationContext ctxt =
+        ((DefaultDeserializationContext) mapper.getDeserializationContext())
+          .createInstance(mapper.getDeserializationConfig(), parser, null);
+
+      JsonToken token;
+
+      while ((token = parser.nextToken()) != null) {
+        if (token == JsonToken.FIELD_NAME && parser.getCurrentName().endsWith("_at")) {
+          parser.nextToken();
+          blackhole.consume(deserializer.deserialize(parser, ctxt));
+        }
+      }
+    }
+  }
+}
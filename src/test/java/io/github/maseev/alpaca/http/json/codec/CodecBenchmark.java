@@ -0,0 +1,117 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written deserializers of {@link CodecModule} with reflective binding.
+ * {@code read*} measure steady-state decoding of a response with 500 entities; {@code firstRead*}
+ * measure the very first response a fresh mapper decodes, which includes building its
+ * deserializers and is what an application pays for at startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CodecBenchmark {
+
+  private static final int ENTITIES = 500;
+
+  @Param({"ORDERS", "BARS"})
+  private String payload;
+
+  private TypeReference<?> type;
+  private byte[] body;
+  private ObjectReader reflectiveReader;
+  private ObjectReader codecReader;
+
+  @Setup
+  public void setUp() {
+    StringBuilder json = new StringBuilder();
+
+    if ("ORDERS".equals(payload)) {
+      type = new TypeReference<List<Order>>() { };
+      json.append('[');
+
+      for (int i = 0; i < ENTITIES; ++i) {
+        json.append(i == 0 ? "" : ",").append(CodecModuleTest.ORDER);
+      }
+
+      json.append(']');
+    } else {
+      type = new TypeReference<Map<String, List<Bar>>>() { };
+      json.append("{\"AAPL\":[");
+
+      for (int i = 0; i < ENTITIES; ++i) {
+        json.append(i == 0 ? "" : ",")
+          .append("{\"t\":").append(1544129220 + i * 60)
+          .append(",\"o\":172.26,\"h\":172.3,\"l\":172.16,\"c\":172.18,\"v\":3892}");
+      }
+
+      json.append("]}");
+    }
+
+    body = json.toString().getBytes(StandardCharsets.UTF_8);
+    reflectiveReader = reflectiveMapper().readerFor(type);
+    codecReader = codecMapper().readerFor(type);
+  }
+
+  @Benchmark
+  public Object readReflective() throws IOException {
+    return reflectiveReader.readValue(body);
+  }
+
+  @Benchmark
+  public Object readCodec() throws IOException {
+    return codecReader.readValue(body);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 20)
+  @Fork(5)
+  public Object firstReadReflective() throws IOException {
+    return reflectiveMapper().readerFor(type).readValue(body);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 20)
+  @Fork(5)
+  public Object firstReadCodec() throws IOException {
+    return codecMapper().readerFor(type).readValue(body);
+  }
+
+  private static ObjectMapper reflectiveMapper() {
+    return new ObjectMapper().registerModule(new JavaTimeModule());
+  }
+
+  private static ObjectMapper codecMapper() {
+    return new ObjectMapper().registerModule(new JavaTimeModule()).registerModule(new CodecModule());
+  }
+}
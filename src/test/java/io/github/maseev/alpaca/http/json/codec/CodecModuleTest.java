@@ -0,0 +1,197 @@
+package io.github.maseev.alpaca.http.json.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.maseev.alpaca.api.account.entity.Account;
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.bar.entity.Bar;
+import io.github.maseev.alpaca.api.bar.entity.FixedPointBar;
+import io.github.maseev.alpaca.api.calendar.entity.Calendar;
+import io.github.maseev.alpaca.api.clock.entity.Clock;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.position.entity.Position;
+import io.github.maseev.alpaca.api.streaming.entity.AccountUpdate;
+import io.github.maseev.alpaca.api.streaming.entity.TradeUpdate;
+import io.github.maseev.alpaca.http.json.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the hand-written deserializers read the entities exactly like the reflective
+ * binding does.
+ */
+public class CodecModuleTest {
+
+  public static final String ORDER = "{\"id\":\"904837e3-3b76-47ec-b432-046db621571b\","
+    + "\"client_order_id\":\"904837e3-3b76-47ec-b432-046db621571b\","
+    + "\"created_at\":\"2018-10-05T05:48:59.123456Z\","
+    + "\"updated_at\":\"2018-10-05T05:48:59.123456789Z\","
+    + "\"submitted_at\":\"2018-10-05T05:48:59.1234Z\","
+    + "\"filled_at\":null,\"expired_at\":null,\"canceled_at\":null,\"failed_at\":null,"
+    + "\"asset_id\":\"904837e3-3b76-47ec-b432-046db621571b\",\"symbol\":\"AAPL\","
+    + "\"asset_class\":\"us_equity\",\"qty\":\"15\",\"filled_qty\":\"0\","
+    + "\"type\":\"stop_limit\",\"order_type\":\"stop_limit\",\"side\":\"buy\","
+    + "\"time_in_force\":\"day\",\"limit_price\":\"107.00\",\"stop_price\":\"106.00\","
+    + "\"filled_avg_price\":\"106.25\",\"status\":\"accepted\",\"extended_hours\":false}";
+
+  static final String BARS = "{\"AAPL\":["
+    + "{\"t\":1544129220,\"o\":172.26,\"h\":172.3,\"l\":172.16,\"c\":172.18,\"v\":3892},"
+    + "{\"t\":\"1544129280\",\"o\":\"172.18\",\"h\":\"172.2\",\"l\":\"172.1\",\"c\":\"172.15\","
+    + "\"v\":\"1200\"}]}";
+
+  private final ObjectMapper reflectiveMapper = new ObjectMapper()
+    .registerModule(new JavaTimeModule());
+  private final ObjectMapper codecMapper = new ObjectMapper()
+    .registerModule(new JavaTimeModule())
+    .registerModule(new CodecModule());
+
+  @Test
+  public void orderMustBeReadLikeReflectiveBinding() throws IOException {
+    assertReadAlike(ORDER, Order.class);
+    assertReadAlike("[" + ORDER + "," + ORDER + "]", new TypeReference<List<Order>>() { });
+  }
+
+  @Test
+  public void barsMustBeReadLikeReflectiveBinding() throws IOException {
+    assertReadAlike(BARS, new TypeReference<Map<String, List<Bar>>>() { });
+  }
+
+  @Test
+  public void fixedPointBarsMustHoldTheSamePrices() throws IOException {
+    Map<String, List<Bar>> expected =
+      reflectiveMapper.readValue(BARS, new TypeReference<Map<String, List<Bar>>>() { });
+    Map<String, List<FixedPointBar>> actual =
+      codecMapper.readValue(BARS, new TypeReference<Map<String, List<FixedPointBar>>>() { });
+
+    List<FixedPointBar> bars = actual.get("AAPL");
+
+    assertThat(bars.size(), is(equalTo(expected.get("AAPL").size())));
+
+    for (int i = 0; i < bars.size(); ++i) {
+      assertThat(bars.get(i), is(equalTo(FixedPointBar.of(expected.get("AAPL").get(i)))));
+    }
+
+    assertThrows(JsonMappingException.class,
+      () -> codecMapper.readValue(BARS.replace("\"o\":172.26,", ""),
+        new TypeReference<Map<String, List<FixedPointBar>>>() { }));
+  }
+
+  @Test
+  public void accountMustBeReadLikeReflectiveBinding() throws IOException {
+    assertReadAlike("{\"id\":\"904837e3-3b76-47ec-b432-046db621571b\","
+      + "\"account_number\":\"010203ABCD\",\"status\":\"ACTIVE\",\"currency\":\"USD\","
+      + "\"buying_power\":\"4000.32\",\"regt_buying_power\":\"4000.32\","
+      + "\"daytrading_buying_power\":\"4000.32\",\"cash\":\"4000.32\","
+      + "\"cash_withdrawable\":\"4000.32\",\"portfolio_value\":\"4000.32\","
+      + "\"pattern_day_trader\":false,\"trading_blocked\":false,\"transfers_blocked\":false,"
+      + "\"account_blocked\":false,\"trade_suspended_by_user\":false,"
+      + "\"created_at\":\"2018-10-01T13:35:25.123456Z\",\"shorting_enabled\":true,"
+      + "\"multiplier\":\"4\",\"long_market_value\":\"7600.12\",\"short_market_value\":\"0\","
+      + "\"equity\":\"11600.44\",\"last_equity\":\"11000\",\"initial_margin\":\"0\","
+      + "\"maintenance_margin\":\"0\",\"last_maintenance_margin\":\"0\","
+      + "\"daytrade_count\":\"0\",\"sma\":\"0\"}", Account.class);
+  }
+
+  @Test
+  public void positionMustBeReadLikeReflectiveBinding() throws IOException {
+    assertReadAlike("{\"asset_id\":\"904837e3-3b76-47ec-b432-046db621571b\",\"symbol\":\"AAPL\","
+      + "\"exchange\":\"NASDAQ\",\"asset_class\":\"us_equity\",\"avg_entry_price\":\"100.0\","
+      + "\"qty\":\"5\",\"side\":\"long\",\"market_value\":\"600.0\",\"cost_basis\":\"500.0\","
+      + "\"unrealized_pl\":\"100.0\",\"unrealized_plpc\":\"0.20\","
+      + "\"unrealized_intraday_pl\":\"10.0\",\"unrealized_intraday_plpc\":\"0.0084\","
+      + "\"current_price\":\"120.0\",\"lastday_price\":\"119.0\",\"change_today\":\"0.0084\"}",
+      Position.class);
+  }
+
+  @Test
+  public void assetMustBeReadLikeReflectiveBinding() throws IOException {
+    assertReadAlike("[{\"id\":\"904837e3-3b76-47ec-b432-046db621571b\",\"class\":\"us_equity\","
+      + "\"exchange\":\"NASDAQ\",\"symbol\":\"AAPL\",\"status\":\"active\",\"tradable\":true,"
+      + "\"marginable\":true,\"shortable\":true,\"easy_to_borrow\":true},"
+      + "{\"id\":\"904837e3-3b76-47ec-b432-046db621571c\",\"asset_class\":\"us_equity\","
+      + "\"exchange\":\"NYSE\",\"symbol\":\"T\",\"status\":\"inactive\",\"tradable\":false}]",
+      new TypeReference<List<Asset>>() { });
+  }
+
+  @Test
+  public void calendarAndClockMustBeReadLikeReflectiveBinding() throws IOException {
+    assertReadAlike("[{\"date\":\"2018-01-03\",\"open\":\"09:30\",\"close\":\"16:00\"}]",
+      new TypeReference<List<Calendar>>() { });
+    assertReadAlike("{\"timestamp\":\"2018-04-01T12:00:00.000-04:00\",\"is_open\":true,"
+      + "\"next_open\":\"2018-04-01T12:00:00.000-04:00\","
+      + "\"next_close\":\"2018-04-01T12:00:00.000Z\"}", Clock.class);
+  }
+
+  @Test
+  public void streamingUpdatesMustBeReadLikeReflectiveBinding() throws IOException {
+    assertReadAlike("{\"event\":\"fill\",\"qty\":\"15\",\"price\":\"106.25\","
+      + "\"timestamp\":\"2018-10-05T05:48:59.123456Z\",\"order\":" + ORDER + "}",
+      TradeUpdate.class);
+    assertReadAlike("{\"id\":\"ef505a9a-2f3c-4b8a-be95-6b6f185f8a03\","
+      + "\"created_at\":\"2018-10-01T13:35:25.123456Z\","
+      + "\"updated_at\":\"2018-10-01T13:35:25.123456Z\",\"deleted_at\":null,"
+      + "\"status\":\"ACTIVE\",\"currency\":\"USD\",\"cash\":\"1241.54\","
+      + "\"cash_withdrawable\":\"523.71\"}", AccountUpdate.class);
+  }
+
+  @Test
+  public void unknownFieldsMustBeHandledLikeReflectiveBinding() throws IOException {
+    String order = ORDER.replace("{\"id\"", "{\"legs\":[{\"id\":1}],\"id\"");
+
+    assertThrows(JsonMappingException.class, () -> codecMapper.readValue(order, Order.class));
+
+    codecMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    reflectiveMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    assertReadAlike(order, Order.class);
+  }
+
+  @Test
+  public void missingRequiredFieldMustFailToBeRead() {
+    String order = ORDER.replace("\"symbol\":\"AAPL\",", "");
+
+    assertThrows(JsonMappingException.class, () -> codecMapper.readValue(order, Order.class));
+    assertThrows(JsonMappingException.class,
+      () -> codecMapper.readValue(ORDER.replace("\"buy\"", "\"hold\""), Order.class));
+  }
+
+  @Test
+  public void symbolsMustBeInternedIfSymbolTableIsSet() throws IOException {
+    SymbolTable symbolTable = new SymbolTable(16);
+    ObjectReader reader = codecMapper.readerFor(new TypeReference<List<Order>>() { })
+      .withAttribute(SymbolTable.class, symbolTable);
+
+    List<Order> orders = reader.readValue("[" + ORDER + "," + ORDER + "]");
+
+    assertThat(orders.get(1).symbol(), is(sameInstance(orders.get(0).symbol())));
+    assertThat(orders.get(1).assetId(), is(sameInstance(orders.get(0).assetId())));
+    assertThat(symbolTable.id("AAPL"), is(1));
+    assertThat(orders, is(equalTo(
+      reflectiveMapper.readValue("[" + ORDER + "," + ORDER + "]",
+        new TypeReference<List<Order>>() { }))));
+  }
+
+  private void assertReadAlike(String json, Class<?> type) throws IOException {
+    assertThat(codecMapper.readValue(json, type),
+      is(equalTo(reflectiveMapper.readValue(json, type))));
+  }
+
+  private void assertReadAlike(String json, TypeReference<?> type) throws IOException {
+    Object expected = reflectiveMapper.readValue(json, type);
+
+    assertThat(codecMapper.readValue(json, type), is(equalTo(expected)));
+  }
+}
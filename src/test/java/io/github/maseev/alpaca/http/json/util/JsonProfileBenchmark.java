@@ -0,0 +1,125 @@
+package io.github.maseev.alpaca.http.json.util;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.maseev.alpaca.api.account.entity.Account;
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.clock.entity.Clock;
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.position.entity.Position;
+import io.github.maseev.alpaca.http.json.ImmutableJsonProfile;
+import io.github.maseev.alpaca.http.json.JsonProfile;
+import io.github.maseev.alpaca.http.json.codec.CodecModuleTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the decoding throughput of every entity with the mapper of the default
+ * {@link JsonProfile} and a lean one which neither discovers modules nor interns field names. The
+ * gain of a profile for an entity is its ops/s relative to
+ * {@code DEFAULT}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JsonProfileBenchmark {
+
+  private static final String ACCOUNT = "{\"id\":\"904837e3-3b76-47ec-b432-046db621571b\","
+    + "\"account_number\":\"010203ABCD\",\"status\":\"ACTIVE\",\"currency\":\"USD\","
+    + "\"buying_power\":\"4000.32\",\"regt_buying_power\":\"4000.32\","
+    + "\"daytrading_buying_power\":\"4000.32\",\"cash\":\"4000.32\","
+    + "\"cash_withdrawable\":\"4000.32\",\"portfolio_value\":\"4000.32\","
+    + "\"pattern_day_trader\":false,\"trading_blocked\":false,\"transfers_blocked\":false,"
+    + "\"account_blocked\":false,\"trade_suspended_by_user\":false,"
+    + "\"created_at\":\"2018-10-01T13:35:25.123456Z\",\"shorting_enabled\":true,"
+    + "\"multiplier\":\"4\",\"long_market_value\":\"7600.12\",\"short_market_value\":\"0\","
+    + "\"equity\":\"11600.44\",\"last_equity\":\"11000\",\"initial_margin\":\"0\","
+    + "\"maintenance_margin\":\"0\",\"last_maintenance_margin\":\"0\","
+    + "\"daytrade_count\":\"0\",\"sma\":\"0\"}";
+
+  private static final String ASSET = "{\"id\":\"904837e3-3b76-47ec-b432-046db621571b\","
+    + "\"class\":\"us_equity\",\"exchange\":\"NASDAQ\",\"symbol\":\"AAPL\",\"status\":\"active\","
+    + "\"tradable\":true,\"marginable\":true,\"shortable\":true,\"easy_to_borrow\":true}";
+
+  private static final String CLOCK = "{\"timestamp\":\"2018-04-01T12:00:00.000-04:00\","
+    + "\"is_open\":true,\"next_open\":\"2018-04-01T12:00:00.000-04:00\","
+    + "\"next_close\":\"2018-04-01T12:00:00.000Z\"}";
+
+  private static final String POSITION = "{\"asset_id\":\"904837e3-3b76-47ec-b432-046db621571b\","
+    + "\"symbol\":\"AAPL\",\"exchange\":\"NASDAQ\",\"asset_class\":\"us_equity\","
+    + "\"avg_entry_price\":\"100.0\",\"qty\":\"5\",\"side\":\"long\",\"market_value\":\"600.0\","
+    + "\"cost_basis\":\"500.0\",\"unrealized_pl\":\"100.0\",\"unrealized_plpc\":\"0.20\","
+    + "\"unrealized_intraday_pl\":\"10.0\",\"unrealized_intraday_plpc\":\"0.0084\","
+    + "\"current_price\":\"120.0\",\"lastday_price\":\"119.0\",\"change_today\":\"0.0084\"}";
+
+  @Param({"ACCOUNT", "ASSET", "CLOCK", "ORDER", "POSITION"})
+  private String entity;
+
+  @Param({"DEFAULT", "LEAN"})
+  private String profile;
+
+  private byte[] body;
+  private ObjectReader reader;
+
+  @Setup
+  public void setUp() {
+    Class<?> type;
+    String json;
+
+    switch (entity) {
+      case "ACCOUNT":
+        type = Account.class;
+        json = ACCOUNT;
+        break;
+      case "ASSET":
+        type = Asset.class;
+        json = ASSET;
+        break;
+      case "CLOCK":
+        type = Clock.class;
+        json = CLOCK;
+        break;
+      case "ORDER":
+        type = Order.class;
+        json = CodecModuleTest.ORDER;
+        break;
+      default:
+        type = Position.class;
+        json = POSITION;
+    }
+
+    body = json.getBytes(StandardCharsets.UTF_8);
+
+    if ("DEFAULT".equals(profile)) {
+      reader = JsonUtil.readerFor(type);
+    } else {
+      JsonProfile jsonProfile = ImmutableJsonProfile.builder()
+        .discoverModules(false)
+        .lean(true)
+        .warmUp(true)
+        .build();
+
+      reader = JsonUtil.readerFor(jsonProfile, type);
+    }
+  }
+
+  @Benchmark
+  public Object decode() throws IOException {
+    return reader.readValue(body);
+  }
+}
@@ -0,0 +1,56 @@
+package io.github.maseev.alpaca.http.json.util;
+
+import io.github.maseev.alpaca.api.order.entity.Order;
+import io.github.maseev.alpaca.api.order.entity.OrderRequest;
+import io.github.maseev.alpaca.http.json.ImmutableJsonProfile;
+import io.github.maseev.alpaca.http.json.JsonProfile;
+import io.github.maseev.alpaca.http.json.codec.CodecModuleTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class JsonUtilTest {
+
+  @Test
+  public void everyProfileMustDecodeEntitiesLikeTheDefaultMapper() throws IOException {
+    Order expected = JsonUtil.fromJson(CodecModuleTest.ORDER, Order.class);
+
+    JsonProfile lean = ImmutableJsonProfile.builder()
+      .discoverModules(false)
+      .lean(true)
+      .warmUp(true)
+      .build();
+    Order actual = JsonUtil.readerFor(lean, Order.class).readValue(CodecModuleTest.ORDER);
+
+    assertThat(actual, is(equalTo(expected)));
+  }
+
+  @Test
+  public void equalProfilesMustShareTheMapper() {
+    JsonProfile profile = ImmutableJsonProfile.builder().lean(true).build();
+    JsonProfile sameProfile = ImmutableJsonProfile.builder().lean(true).build();
+
+    assertThat(JsonUtil.readerFor(profile, Order.class).getFactory(),
+      is(sameInstance(JsonUtil.readerFor(sameProfile, Order.class).getFactory())));
+    assertThat(JsonUtil.readerFor(profile, Order.class).getFactory(),
+      is(not(sameInstance(JsonUtil.readerFor(Order.class).getFactory()))));
+    assertThat(JsonUtil.readerFor(ImmutableJsonProfile.builder().build(), Order.class).getFactory(),
+      is(sameInstance(JsonUtil.readerFor(Order.class).getFactory())));
+  }
+
+  @Test
+  public void writerMustBeBackedByMapperOfProfile() {
+    JsonProfile profile = ImmutableJsonProfile.builder().lean(true).build();
+
+    assertThat(JsonUtil.writerFor(profile, OrderRequest.class).getFactory(),
+      is(sameInstance(JsonUtil.readerFor(profile, Order.class).getFactory())));
+    assertThat(JsonUtil.writerFor(profile, OrderRequest.class).getFactory(),
+      is(not(sameInstance(JsonUtil.writerFor(OrderRequest.class).getFactory()))));
+  }
+}
@@ -0,0 +1,116 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnJre;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@DisabledOnJre(JRE.JAVA_8)
+public class FlightRecorderMetricsTest {
+
+  private static final String REQUEST_EVENT = "io.github.maseev.alpaca.Request";
+  private static final String FRAME_EVENT = "io.github.maseev.alpaca.StreamFrame";
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void completedRequestMustBeRecorded() throws IOException {
+    Metrics metrics = FlightRecorder.metrics();
+    List<RecordedEvent> events;
+
+    try (Recording recording = new Recording()) {
+      recording.enable(REQUEST_EVENT);
+      recording.start();
+
+      Object context = metrics.requestStartedWithContext("GET", "/orders/*");
+      metrics.requestCompleted(
+        new RequestEvent("GET", "/orders/*", 200, 3, 10, 20, 30, 60, 512, context));
+
+      recording.stop();
+      events = dump(recording);
+    }
+
+    assertThat(events.size(), is(equalTo(1)));
+
+    RecordedEvent event = events.get(0);
+
+    assertThat(event.getEventType().getName(), is(equalTo(REQUEST_EVENT)));
+    assertThat(event.getString("method"), is(equalTo("GET")));
+    assertThat(event.getString("endpoint"), is(equalTo("/orders/*")));
+    assertThat(event.getInt("statusCode"), is(equalTo(200)));
+    assertThat(event.getInt("retries"), is(equalTo(2)));
+    assertThat(event.getInt("responseSize"), is(equalTo(512)));
+    assertThat(event.getLong("queueTime"), is(equalTo(10L)));
+    assertThat(event.getLong("networkTime"), is(equalTo(20L)));
+    assertThat(event.getLong("decodeTime"), is(equalTo(30L)));
+  }
+
+  @Test
+  public void processedFrameMustBeRecorded() throws IOException {
+    Metrics metrics = FlightRecorder.metrics();
+    List<RecordedEvent> events;
+
+    try (Recording recording = new Recording()) {
+      recording.enable(FRAME_EVENT);
+      recording.start();
+
+      Object context = metrics.frameReceived();
+      metrics.frameProcessed(new FrameEvent("trade_updates", 128, 40, 50, context));
+
+      recording.stop();
+      events = dump(recording);
+    }
+
+    assertThat(events.size(), is(equalTo(1)));
+
+    RecordedEvent event = events.get(0);
+
+    assertThat(event.getEventType().getName(), is(equalTo(FRAME_EVENT)));
+    assertThat(event.getString("stream"), is(equalTo("trade_updates")));
+    assertThat(event.getInt("payloadSize"), is(equalTo(128)));
+    assertThat(event.getLong("parseTime"), is(equalTo(40L)));
+    assertThat(event.getLong("dispatchTime"), is(equalTo(50L)));
+  }
+
+  @Test
+  public void nothingMustBeRecordedWhenEventsAreDisabled() throws IOException {
+    Metrics metrics = FlightRecorder.metrics();
+    List<RecordedEvent> events;
+
+    try (Recording recording = new Recording()) {
+      recording.disable(REQUEST_EVENT);
+      recording.disable(FRAME_EVENT);
+      recording.start();
+
+      Object requestContext = metrics.requestStartedWithContext("GET", "/clock");
+      metrics.requestCompleted(
+        new RequestEvent("GET", "/clock", 200, 1, 0, 0, 0, 0, 0, requestContext));
+      Object frameContext = metrics.frameReceived();
+      metrics.frameProcessed(new FrameEvent("trade_updates", 1, 0, 0, frameContext));
+
+      recording.stop();
+      events = dump(recording);
+    }
+
+    assertThat(events.isEmpty(), is(true));
+  }
+
+  private List<RecordedEvent> dump(Recording recording) throws IOException {
+    Path file = directory.resolve("recording.jfr");
+    recording.dump(file);
+
+    return RecordingFile.readAllEvents(file);
+  }
+}
@@ -0,0 +1,137 @@
+package io.github.maseev.alpaca.http.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class InMemoryMetricsTest {
+
+  @Test
+  public void histogramMustKeepSmallValuesExact() {
+    for (long value = 0; value < 16; ++value) {
+      assertThat(Histogram.upperBound(Histogram.index(value)), is(equalTo(value)));
+    }
+  }
+
+  @Test
+  public void histogramBucketMustContainItsValue() {
+    for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+      long upperBound = Histogram.upperBound(Histogram.index(value));
+
+      assertThat(upperBound >= value, is(true));
+      assertThat(upperBound - value <= value / 16, is(true));
+    }
+
+    assertThat(Histogram.upperBound(Histogram.index(Long.MAX_VALUE)), is(equalTo(Long.MAX_VALUE)));
+  }
+
+  @Test
+  public void histogramMustReportPercentilesWithinItsPrecision() {
+    Histogram histogram = new Histogram();
+
+    for (long value = 1; value <= 10_000; ++value) {
+      histogram.record(value);
+    }
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getCount(), is(equalTo(10_000L)));
+    assertThat(snapshot.getMax(), is(equalTo(10_000L)));
+    assertThat(snapshot.getMean(), is(equalTo(5000.5)));
+    assertThat(snapshot.getPercentile(100), is(equalTo(10_000L)));
+    assertWithin(snapshot.getPercentile(50), 5000);
+    assertWithin(snapshot.getPercentile(99), 9900);
+  }
+
+  @Test
+  public void histogramMustNotLoseConcurrentSamples() throws InterruptedException {
+    Histogram histogram = new Histogram();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    for (int i = 0; i < 4; ++i) {
+      executor.execute(() -> {
+        for (int value = 0; value < 10_000; ++value) {
+          histogram.record(value);
+        }
+      });
+    }
+
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    assertThat(histogram.snapshot().getCount(), is(equalTo(40_000L)));
+    assertThat(histogram.snapshot().getMax(), is(equalTo(9_999L)));
+  }
+
+  @Test
+  public void metricsMustBeGroupedByEndpointAndStatus() {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+
+    complete(new RequestTrace(metrics, "GET", "/orders/*"), 200);
+    complete(new RequestTrace(metrics, "GET", "/orders/*"), 200);
+    complete(new RequestTrace(metrics, "GET", "/orders/*"), 404);
+
+    RequestTrace pending = new RequestTrace(metrics, "GET", "/clock");
+    pending.attemptQueued();
+
+    Map<String, EndpointSnapshot> snapshot = metrics.snapshot();
+    EndpointSnapshot orders = snapshot.get("GET /orders/*");
+
+    assertThat(orders.inFlight(), is(equalTo(0)));
+    assertThat(orders.statuses().get(200).requests(), is(equalTo(2L)));
+    assertThat(orders.statuses().get(200).totalTime().getCount(), is(equalTo(2L)));
+    assertThat(orders.statuses().get(404).requests(), is(equalTo(1L)));
+    assertThat(snapshot.get("GET /clock").inFlight(), is(equalTo(1)));
+    assertThat(snapshot.get("GET /clock").statuses().isEmpty(), is(true));
+  }
+
+  @Test
+  public void traceMustCountAttemptsAndReportOnce() {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+    RequestTrace trace = new RequestTrace(metrics, "POST", "/orders");
+
+    trace.attemptQueued();
+    trace.attemptSent();
+    trace.attemptCompleted(503);
+    trace.attemptQueued();
+    trace.attemptSent();
+    trace.attemptCompleted(200);
+    trace.decoded(1_000, 512);
+    trace.completed();
+    trace.completed();
+
+    StatusSnapshot status = metrics.snapshot().get("POST /orders").statuses().get(200);
+
+    assertThat(status.requests(), is(equalTo(1L)));
+    assertThat(status.attempts(), is(equalTo(2L)));
+    assertThat(status.decodeTime().getMax(), is(equalTo(1_000L)));
+    assertThat(metrics.snapshot().get("POST /orders").statuses().containsKey(503), is(false));
+  }
+
+  @Test
+  public void traceWhichWasNeverSentMustNotBeReported() {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+
+    new RequestTrace(metrics, "GET", "/clock").completed();
+
+    assertThat(metrics.snapshot().isEmpty(), is(true));
+  }
+
+  private static void complete(RequestTrace trace, int statusCode) {
+    trace.attemptQueued();
+    trace.attemptSent();
+    trace.attemptCompleted(statusCode);
+    trace.completed();
+  }
+
+  private static void assertWithin(long actual, long expected) {
+    assertThat(Math.abs(actual - expected) <= expected / 16, is(true));
+  }
+}
@@ -0,0 +1,129 @@
+package io.github.maseev.alpaca.http.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RateLimiterTest {
+
+  private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private ScheduledExecutorService scheduler;
+  private RateLimiter rateLimiter;
+
+  @BeforeEach
+  public void before() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    RateLimit rateLimit = ImmutableRateLimit.builder()
+      .permits(10)
+      .period(Duration.ofMillis(100))
+      .burst(3)
+      .build();
+
+    rateLimiter = new RateLimiter(rateLimit, clock::get, scheduler);
+  }
+
+  @AfterEach
+  public void after() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void requestsWithinBurstMustNotWait() {
+    assertThat(rateLimiter.reserve() <= 0, is(true));
+    assertThat(rateLimiter.reserve() <= 0, is(true));
+    assertThat(rateLimiter.reserve() <= 0, is(true));
+    assertThat(rateLimiter.reserve(), is(equalTo(INTERVAL)));
+    assertThat(rateLimiter.reserve(), is(equalTo(2 * INTERVAL)));
+  }
+
+  @Test
+  public void budgetMustBeReplenishedOverTime() {
+    for (int i = 0; i < 3; i++) {
+      rateLimiter.reserve();
+    }
+
+    clock.addAndGet(INTERVAL);
+
+    assertThat(rateLimiter.reserve() <= 0, is(true));
+    assertThat(rateLimiter.reserve(), is(equalTo(INTERVAL)));
+  }
+
+  @Test
+  public void exhaustedServerBudgetMustDelayRequestsUntilReset() {
+    rateLimiter.update(0, Duration.ofSeconds(1));
+
+    assertThat(rateLimiter.reserve(), is(equalTo(TimeUnit.SECONDS.toNanos(1))));
+  }
+
+  @Test
+  public void serverBudgetMustNotIncreaseLocalBudget() {
+    for (int i = 0; i < 3; i++) {
+      rateLimiter.reserve();
+    }
+
+    rateLimiter.update(100, Duration.ofSeconds(1));
+
+    assertThat(rateLimiter.reserve(), is(equalTo(INTERVAL)));
+  }
+
+  @Test
+  public void delayedRequestsMustBeQueued() {
+    for (int i = 0; i < 3; i++) {
+      assertThat(rateLimiter.acquire().isDone(), is(true));
+    }
+
+    CompletableFuture<Void> permit = rateLimiter.acquire();
+
+    assertThat(rateLimiter.queueDepth(), is(equalTo(1)));
+
+    permit.join();
+
+    assertThat(rateLimiter.queueDepth(), is(equalTo(0)));
+    assertThat(rateLimiter.delayedRequests(), is(equalTo(1L)));
+    assertThat(rateLimiter.totalWaitTime(), is(equalTo(Duration.ofNanos(INTERVAL))));
+  }
+
+  @Test
+  public void nonPositivePermitsMustThrowException() {
+    assertThrows(IllegalStateException.class, () -> RateLimit.perMinute(0));
+  }
+
+  @Test
+  public void limitersMustBeSharedPerKeyAndHost() {
+    RateLimit rateLimit = RateLimit.perMinute(200);
+    RateLimiter tradingLimiter = RateLimiter.forKey("shared-key", "api.alpaca.markets", rateLimit);
+
+    assertThat(RateLimiter.forKey("shared-key", "api.alpaca.markets", RateLimit.perMinute(200)),
+      is(sameInstance(tradingLimiter)));
+    assertThat(RateLimiter.forKey("shared-key", "data.alpaca.markets", rateLimit),
+      is(not(sameInstance(tradingLimiter))));
+    assertThat(RateLimiter.forKey("other-key", "api.alpaca.markets", rateLimit),
+      is(not(sameInstance(tradingLimiter))));
+  }
+
+  @Test
+  public void differentLimitForSameKeyAndHostMustThrowException() {
+    RateLimiter.forKey("limited-key", "api.alpaca.markets", RateLimit.perMinute(200));
+
+    assertThrows(IllegalStateException.class,
+      () -> RateLimiter.forKey("limited-key", "api.alpaca.markets", RateLimit.perMinute(100)));
+  }
+}
@@ -0,0 +1,132 @@
+package io.github.maseev.alpaca.http.retry;
+
+import io.github.maseev.alpaca.http.transport.TransportResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RetryExecutorTest {
+
+  private ScheduledExecutorService scheduler;
+
+  @BeforeEach
+  public void before() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterEach
+  public void after() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void backoffMustNotExceedExponentialBound() {
+    RetryExecutor executor = executor(ImmutableRetryPolicy.builder()
+      .maxAttempts(10)
+      .initialBackoff(Duration.ofMillis(100))
+      .maxBackoff(Duration.ofMillis(300))
+      .build());
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(executor.delay(1, 429, null) <= TimeUnit.MILLISECONDS.toNanos(100), is(true));
+      assertThat(executor.delay(2, 503, null) <= TimeUnit.MILLISECONDS.toNanos(200), is(true));
+      assertThat(executor.delay(9, 500, null) <= TimeUnit.MILLISECONDS.toNanos(300), is(true));
+    }
+  }
+
+  @Test
+  public void retryAfterMustBeHonored() {
+    RetryExecutor executor = executor(ImmutableRetryPolicy.builder()
+      .initialBackoff(Duration.ZERO)
+      .build());
+
+    assertThat(executor.delay(1, 429, "2"), is(equalTo(TimeUnit.SECONDS.toNanos(2))));
+  }
+
+  @Test
+  public void clientErrorsMustNotBeRetried() {
+    RetryExecutor executor = executor(ImmutableRetryPolicy.builder().build());
+
+    assertThat(executor.delay(1, 404, null) < 0, is(true));
+    assertThat(executor.delay(1, 422, null) < 0, is(true));
+  }
+
+  @Test
+  public void requestMustNotBeRetriedAfterLastAttempt() {
+    RetryExecutor executor = executor(ImmutableRetryPolicy.builder().maxAttempts(2).build());
+
+    assertThat(executor.delay(1, 500, null) >= 0, is(true));
+    assertThat(executor.delay(2, 500, null) < 0, is(true));
+  }
+
+  @Test
+  public void malformedRetryAfterMustBeIgnored() {
+    assertThat(RetryExecutor.parseRetryAfter("soon"), is(equalTo(0L)));
+    assertThat(RetryExecutor.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"), is(equalTo(0L)));
+  }
+
+  @Test
+  public void ioErrorsMustBeRetriedUntilAttemptsAreExhausted() {
+    RetryExecutor executor = executor(ImmutableRetryPolicy.builder()
+      .maxAttempts(3)
+      .initialBackoff(Duration.ofMillis(1))
+      .build());
+    AtomicInteger attempts = new AtomicInteger();
+
+    CompletableFuture<TransportResponse> response = executor.execute(() -> {
+      attempts.incrementAndGet();
+
+      CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+      future.completeExceptionally(new ConnectException());
+
+      return future;
+    });
+
+    CompletionException ex = assertThrows(CompletionException.class, response::join);
+
+    assertThat(ex.getCause(), is(instanceOf(IOException.class)));
+    assertThat(attempts.get(), is(equalTo(3)));
+  }
+
+  @Test
+  public void requestMustNotBeRetriedAfterDeadline() {
+    RetryExecutor executor = executor(ImmutableRetryPolicy.builder()
+      .maxAttempts(5)
+      .initialBackoff(Duration.ofMillis(1))
+      .deadline(Duration.ZERO)
+      .build());
+    AtomicInteger attempts = new AtomicInteger();
+
+    CompletableFuture<TransportResponse> response = executor.execute(() -> {
+      attempts.incrementAndGet();
+
+      CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+      future.completeExceptionally(new ConnectException());
+
+      return future;
+    });
+
+    assertThrows(CompletionException.class, response::join);
+    assertThat(attempts.get(), is(equalTo(1)));
+  }
+
+  private RetryExecutor executor(RetryPolicy policy) {
+    return new RetryExecutor(policy, scheduler);
+  }
+}
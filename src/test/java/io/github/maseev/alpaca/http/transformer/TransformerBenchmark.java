@@ -0,0 +1,81 @@
+package io.github.maseev.alpaca.http.transformer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.github.maseev.alpaca.api.asset.entity.Asset;
+import io.github.maseev.alpaca.api.asset.entity.AssetClass;
+import io.github.maseev.alpaca.api.asset.entity.ImmutableAsset;
+import io.github.maseev.alpaca.api.entity.Exchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.fromJson;
+import static io.github.maseev.alpaca.http.json.util.JsonUtil.toJson;
+
+/**
+ * Compares decoding a response body from its raw bytes with the former approach of turning the
+ * body into a {@link String} first, which copies every response once more before it's parsed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TransformerBenchmark {
+
+  private static final TypeReference<List<Asset>> ASSETS = new TypeReference<List<Asset>>() {};
+
+  @Param({"100", "5000"})
+  private int assets;
+
+  private Transformer<List<Asset>> transformer;
+  private byte[] body;
+
+  @Setup
+  public void setUp() throws IOException {
+    List<Asset> list = new ArrayList<>(assets);
+
+    for (int i = 0; i < assets; ++i) {
+      list.add(ImmutableAsset.builder()
+        .id(UUID.randomUUID().toString())
+        .clazz(AssetClass.US_EQUITY)
+        .exchange(Exchange.NASDAQ)
+        .symbol("SYM" + i)
+        .status(Asset.Status.ACTIVE)
+        .tradable(true)
+        .marginable(true)
+        .shortable(false)
+        .easyToBorrow(false)
+        .build());
+    }
+
+    transformer = new GenericTransformer<>(ASSETS);
+    body = toJson(list).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public List<Asset> decodeFromString() throws IOException {
+    return fromJson(new String(body, StandardCharsets.UTF_8), ASSETS);
+  }
+
+  @Benchmark
+  public List<Asset> decodeFromBytes() throws Exception {
+    return transformer.transform(body, 0, body.length);
+  }
+}
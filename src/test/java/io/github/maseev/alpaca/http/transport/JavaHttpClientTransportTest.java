@@ -0,0 +1,144 @@
+package io.github.maseev.alpaca.http.transport;
+
+import io.github.maseev.alpaca.http.HttpCode;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnJre;
+import org.junit.jupiter.api.condition.JRE;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The transport is compiled into the Java 11 part of the multi-release jar, so these tests only
+ * run with the {@code java11} profile, which puts that part on the test classpath.
+ */
+@DisabledOnJre(JRE.JAVA_8)
+public class JavaHttpClientTransportTest {
+
+  private Server server;
+  private String baseUrl;
+  private Transport transport;
+
+  private String method;
+  private String uri;
+  private final Map<String, String> headers = new LinkedHashMap<>();
+  private byte[] body;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    server = new Server(0);
+    server.setHandler(new AbstractHandler() {
+      @Override
+      public void handle(String target, Request baseRequest, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        method = request.getMethod();
+        uri = request.getRequestURI() + '?' + request.getQueryString();
+        headers.put("APCA-API-KEY-ID", request.getHeader("APCA-API-KEY-ID"));
+        headers.put("Host", request.getHeader("Host"));
+        body = readAll(request.getInputStream());
+
+        response.setStatus(HttpCode.TOO_MANY_REQUESTS.getCode());
+        response.setHeader("X-RateLimit-Remaining", "0");
+        response.getOutputStream().write("{\"code\":429}".getBytes(StandardCharsets.UTF_8));
+        baseRequest.setHandled(true);
+      }
+    });
+    server.start();
+
+    baseUrl = "http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+    transport = Transports.javaHttpClient();
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    transport.close();
+    server.stop();
+  }
+
+  @Test
+  public void requestMustBeSentWithItsMethodUrlHeadersAndBody() throws Exception {
+    Map<String, String> requestHeaders = new LinkedHashMap<>();
+    requestHeaders.put("APCA-API-KEY-ID", "key-id");
+    // java.net.http.HttpClient rejects the headers it manages itself, so they must be skipped
+    requestHeaders.put("Host", "forged.example.com");
+    requestHeaders.put("Content-Length", "1");
+
+    byte[] requestBody = "{\"symbol\":\"AAPL\"}".getBytes(StandardCharsets.UTF_8);
+
+    transport.execute(new TransportRequest("POST", baseUrl + "/orders?status=open",
+      requestHeaders, requestBody)).get();
+
+    assertThat(method, is(equalTo("POST")));
+    assertThat(uri, is(equalTo("/orders?status=open")));
+    assertThat(headers.get("APCA-API-KEY-ID"), is(equalTo("key-id")));
+    assertThat(headers.get("Host").startsWith("localhost:"), is(true));
+    assertThat(body, is(equalTo(requestBody)));
+  }
+
+  @Test
+  public void responseMustExposeStatusHeadersAndBody() throws Exception {
+    TransportResponse response = transport.execute(
+      new TransportRequest("GET", baseUrl + "/clock", new LinkedHashMap<>(), null)).get();
+
+    assertThat(response.getStatusCode(), is(equalTo(HttpCode.TOO_MANY_REQUESTS.getCode())));
+    assertThat(response.getHeader("x-ratelimit-remaining"), is(equalTo("0")));
+    assertThat(response.getHeader("X-RateLimit-Reset"), is(nullValue()));
+    assertThat(response.getResponseBody(), is(equalTo("{\"code\":429}")));
+
+    ByteBuffer buffer = response.getResponseBodyAsByteBuffer();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+
+    assertThat(new String(bytes, StandardCharsets.UTF_8), is(equalTo("{\"code\":429}")));
+    assertThat(body.length, is(0));
+  }
+
+  @Test
+  public void connectionFailureMustCompleteExceptionally() throws IOException {
+    int closedPort;
+
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+
+    ExecutionException ex = assertThrows(ExecutionException.class,
+      () -> transport.execute(new TransportRequest("GET",
+        "http://localhost:" + closedPort + "/clock", new LinkedHashMap<>(), null)).get());
+
+    assertThat(ex.getCause(), is(instanceOf(IOException.class)));
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int read;
+
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,121 @@
+package io.github.maseev.alpaca.http.transport;
+
+import io.github.maseev.alpaca.http.HttpClient;
+import io.github.maseev.alpaca.http.ImmutableClientOptions;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+
+/**
+ * Compares the {@code AsyncHttpClient} transport with the {@code java.net.http} HTTP/2 one under
+ * concurrent load. The stand-in server is a local Jetty which speaks both HTTP/1.1 and cleartext
+ * HTTP/2 (h2c) and answers every request with a canned {@code /clock} response after a simulated
+ * server-side latency.
+ *
+ * <p>{@link Mode#Throughput} gives requests per second, {@link Mode#SampleTime} gives the latency
+ * percentiles (p99 included); the number of connections the server had to accept is printed at
+ * the end of every trial. The HTTP/2 transport requires Java 11 or newer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TransportBenchmark {
+
+  private static final byte[] CLOCK = ("{\"timestamp\":\"2019-04-01T12:00:00.000-04:00\","
+    + "\"is_open\":true,\"next_open\":\"2019-04-02T09:30:00.000-04:00\","
+    + "\"next_close\":\"2019-04-01T16:00:00.000-04:00\"}").getBytes(StandardCharsets.UTF_8);
+
+  @Param({"ASYNC_HTTP_CLIENT", "JAVA_HTTP_CLIENT"})
+  private String transport;
+
+  @Param({"0", "5"})
+  private int serverLatencyMillis;
+
+  private Server server;
+  private ConnectionStatistics connections;
+  private Transport clientTransport;
+  private HttpClient httpClient;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    HttpConfiguration configuration = new HttpConfiguration();
+
+    server = new Server();
+    ServerConnector connector = new ServerConnector(server,
+      new HttpConnectionFactory(configuration), new HTTP2CServerConnectionFactory(configuration));
+    connections = new ConnectionStatistics();
+    connector.addBean(connections);
+    server.addConnector(connector);
+    server.setHandler(new AbstractHandler() {
+      @Override
+      public void handle(String target, Request baseRequest, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        if (serverLatencyMillis > 0) {
+          try {
+            Thread.sleep(serverLatencyMillis);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json");
+        response.getOutputStream().write(CLOCK);
+        baseRequest.setHandled(true);
+      }
+    });
+    server.start();
+
+    clientTransport = "JAVA_HTTP_CLIENT".equals(transport)
+      ? Transports.javaHttpClient()
+      : new AsyncHttpClientTransport(asyncHttpClient());
+
+    httpClient = new HttpClient("http://localhost:" + connector.getLocalPort(), "keyId",
+      "secretKey", clientTransport, ImmutableClientOptions.builder().build(), null);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    System.out.printf("%n%s: %d connections accepted, at most %d open at once%n",
+      transport, connections.getConnectionsTotal(), connections.getConnectionsMax());
+
+    clientTransport.close();
+    server.stop();
+  }
+
+  @Benchmark
+  public TransportResponse request() {
+    return httpClient.prepare(HttpClient.HttpMethod.GET, "/clock").execute().join();
+  }
+}
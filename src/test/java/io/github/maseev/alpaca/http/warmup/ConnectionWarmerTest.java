@@ -0,0 +1,163 @@
+package io.github.maseev.alpaca.http.warmup;
+
+import io.github.maseev.alpaca.http.HttpClient;
+import io.github.maseev.alpaca.http.ImmutableClientOptions;
+import io.github.maseev.alpaca.http.metrics.InMemoryMetrics;
+import io.github.maseev.alpaca.http.ratelimit.ImmutableRateLimit;
+import io.github.maseev.alpaca.http.transport.Transport;
+import io.github.maseev.alpaca.http.transport.TransportRequest;
+import io.github.maseev.alpaca.http.transport.TransportResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ConnectionWarmerTest {
+
+  private final RecordingTransport transport = new RecordingTransport();
+  private final List<HttpClient> clients = asList(client("http://trading"), client("http://data"));
+
+  private ScheduledExecutorService scheduler;
+
+  @BeforeEach
+  public void before() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterEach
+  public void after() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void warmUpMustOpenConnectionsToEveryHostAtOnce() {
+    WarmUp warmUp = ImmutableWarmUp.builder()
+      .connections(3)
+      .keepAliveInterval(Duration.ZERO)
+      .build();
+
+    CompletableFuture<Void> warmedUp =
+      new ConnectionWarmer(clients, warmUp, scheduler).start();
+
+    assertThat(warmedUp.isDone(), is(false));
+    assertThat(transport.count("http://trading"), is(equalTo(3L)));
+    assertThat(transport.count("http://data"), is(equalTo(3L)));
+
+    transport.completeAll();
+
+    assertThat(warmedUp.isDone(), is(true));
+  }
+
+  @Test
+  public void warmUpMustBypassRateLimiterAndMetrics() {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+    HttpClient client = new HttpClient("http://limited", "warmUpKeyId", "secretKey", transport,
+      ImmutableClientOptions.builder()
+        .metrics(metrics)
+        .rateLimit(ImmutableRateLimit.builder()
+          .permits(1)
+          .period(Duration.ofHours(1))
+          .build())
+        .build(), null);
+    WarmUp warmUp = ImmutableWarmUp.builder()
+      .connections(3)
+      .keepAliveInterval(Duration.ZERO)
+      .build();
+
+    new ConnectionWarmer(singletonList(client), warmUp, scheduler).start();
+
+    assertThat(transport.count("http://limited"), is(equalTo(3L)));
+    assertThat(transport.requests.get(0).getMethod(), is(equalTo("HEAD")));
+    assertThat(metrics.snapshot().isEmpty(), is(true));
+  }
+
+  @Test
+  public void failedRequestsMustNotFailWarmUp() {
+    WarmUp warmUp = ImmutableWarmUp.builder()
+      .keepAliveInterval(Duration.ZERO)
+      .build();
+
+    CompletableFuture<Void> warmedUp =
+      new ConnectionWarmer(clients, warmUp, scheduler).start();
+
+    transport.failAll();
+
+    assertThat(warmedUp.isCompletedExceptionally(), is(false));
+    assertThat(warmedUp.isDone(), is(true));
+  }
+
+  @Test
+  public void connectionsMustBeKeptAliveUntilClosed() throws Exception {
+    WarmUp warmUp = ImmutableWarmUp.builder()
+      .connections(1)
+      .keepAliveInterval(Duration.ofMillis(10))
+      .build();
+
+    ConnectionWarmer warmer = new ConnectionWarmer(clients, warmUp, scheduler);
+    warmer.start();
+
+    TimeUnit.MILLISECONDS.sleep(100);
+    warmer.close();
+    scheduler.submit(() -> { }).get();
+
+    long requests = transport.requests.size();
+
+    assertThat(requests > 4, is(true));
+
+    TimeUnit.MILLISECONDS.sleep(50);
+
+    assertThat((long) transport.requests.size(), is(equalTo(requests)));
+  }
+
+  private HttpClient client(String baseUrl) {
+    return new HttpClient(baseUrl, "keyId", "secretKey", transport,
+      ImmutableClientOptions.builder().build(), null);
+  }
+
+  private static final class RecordingTransport implements Transport {
+
+    private final List<TransportRequest> requests = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<TransportResponse>> responses =
+      new CopyOnWriteArrayList<>();
+
+    @Override
+    public CompletableFuture<TransportResponse> execute(TransportRequest request) {
+      CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+
+      requests.add(request);
+      responses.add(response);
+
+      return response;
+    }
+
+    long count(String url) {
+      return requests.stream().filter(request -> request.getUrl().equals(url)).count();
+    }
+
+    void completeAll() {
+      responses.forEach(response -> response.complete(null));
+    }
+
+    void failAll() {
+      responses.forEach(response -> response.completeExceptionally(new IOException()));
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}